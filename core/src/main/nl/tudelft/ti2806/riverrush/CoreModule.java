@@ -4,8 +4,10 @@ import com.google.inject.AbstractModule;
 import nl.tudelft.ti2806.riverrush.domain.event.*;
 import nl.tudelft.ti2806.riverrush.network.event.JoinTeamCommand;
 import nl.tudelft.ti2806.riverrush.network.event.JumpCommand;
+import nl.tudelft.ti2806.riverrush.network.event.SnapshotAckCommand;
 import nl.tudelft.ti2806.riverrush.network.event.VoteBoatMoveCommand;
-import nl.tudelft.ti2806.riverrush.network.protocol.BasicProtocol;
+import nl.tudelft.ti2806.riverrush.network.event.WorldSnapshotEvent;
+import nl.tudelft.ti2806.riverrush.network.protocol.CompactProtocol;
 import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
 
 /**
@@ -43,7 +45,7 @@ public abstract class CoreModule extends AbstractModule {
      * @return The fully configured protocol.
      */
     protected Protocol configureRendererProtocol() {
-        Protocol protocol = new BasicProtocol(RENDER_PORT_NUMBER);
+        Protocol protocol = new CompactProtocol(RENDER_PORT_NUMBER);
         // Register available network actions
         // protocol.registerNetworkMessage(...);
 
@@ -54,28 +56,31 @@ public abstract class CoreModule extends AbstractModule {
 
     /**
      * Register all the events allowed for this protocol.
+     * The binary ids of {@link CompactProtocol} follow this order, so new events go at the end.
      *
      * @param protocol The protocol for this server
      */
     private void registerStateMessages(final Protocol protocol) {
-        protocol.registerNetworkMessage(AddObstacleEvent.class, AddObstacleEvent::new);
-        protocol.registerNetworkMessage(AddRockEvent.class, AddRockEvent::new);
-        protocol.registerNetworkMessage(AnimalAddedEvent.class, AnimalAddedEvent::new);
-        protocol.registerNetworkMessage(AnimalCollidedEvent.class, AnimalCollidedEvent::new);
-        protocol.registerNetworkMessage(AnimalDroppedEvent.class, AnimalDroppedEvent::new);
-        protocol.registerNetworkMessage(AnimalFellOffEvent.class, AnimalFellOffEvent::new);
-        protocol.registerNetworkMessage(AnimalJumpedEvent.class, AnimalJumpedEvent::new);
-        protocol.registerNetworkMessage(AnimalMovedEvent.class, AnimalMovedEvent::new);
-        protocol.registerNetworkMessage(AnimalRemovedEvent.class, AnimalRemovedEvent::new);
-        protocol.registerNetworkMessage(AnimalReturnedToBoatEvent.class, AnimalReturnedToBoatEvent::new);
-        protocol.registerNetworkMessage(BoatCollidedEvent.class, BoatCollidedEvent::new);
-        protocol.registerNetworkMessage(GameAboutToStartEvent.class, GameAboutToStartEvent::new);
-        protocol.registerNetworkMessage(GameFinishedEvent.class, GameFinishedEvent::new);
-        protocol.registerNetworkMessage(GameStartedEvent.class, GameStartedEvent::new);
-        protocol.registerNetworkMessage(GameStoppedEvent.class, GameStoppedEvent::new);
-        protocol.registerNetworkMessage(GameWaitingEvent.class, GameWaitingEvent::new);
-        protocol.registerNetworkMessage(TeamProgressEvent.class, TeamProgressEvent::new);
-        protocol.registerNetworkMessage(GameAboutToWaitEvent.class, GameAboutToWaitEvent::new);
+        protocol.registerNetworkMessage(AddObstacleEvent.class);
+        protocol.registerNetworkMessage(AddRockEvent.class);
+        protocol.registerNetworkMessage(AnimalAddedEvent.class);
+        protocol.registerNetworkMessage(AnimalCollidedEvent.class);
+        protocol.registerNetworkMessage(AnimalDroppedEvent.class);
+        protocol.registerNetworkMessage(AnimalFellOffEvent.class);
+        protocol.registerNetworkMessage(AnimalJumpedEvent.class);
+        protocol.registerNetworkMessage(AnimalMovedEvent.class);
+        protocol.registerNetworkMessage(AnimalRemovedEvent.class);
+        protocol.registerNetworkMessage(AnimalReturnedToBoatEvent.class);
+        protocol.registerNetworkMessage(BoatCollidedEvent.class);
+        protocol.registerNetworkMessage(GameAboutToStartEvent.class);
+        protocol.registerNetworkMessage(GameFinishedEvent.class);
+        protocol.registerNetworkMessage(GameStartedEvent.class);
+        protocol.registerNetworkMessage(GameStoppedEvent.class);
+        protocol.registerNetworkMessage(GameWaitingEvent.class);
+        protocol.registerNetworkMessage(TeamProgressEvent.class);
+        protocol.registerNetworkMessage(GameAboutToWaitEvent.class);
+        protocol.registerNetworkMessage(WorldSnapshotEvent.class, WorldSnapshotEvent::new);
+        protocol.registerNetworkMessage(SnapshotAckCommand.class);
     }
 
     /**
@@ -84,13 +89,13 @@ public abstract class CoreModule extends AbstractModule {
      * @return The fully configured protocol.
      */
     protected Protocol configureClientProtocol() {
-        Protocol protocol = new BasicProtocol(CLIENT_PORT_NUMBER);
+        Protocol protocol = new CompactProtocol(CLIENT_PORT_NUMBER);
         // Register available network actions
         // protocol.registerNetworkMessage(...);
 
-        protocol.registerNetworkMessage(JumpCommand.class, JumpCommand::new);
-        protocol.registerNetworkMessage(JoinTeamCommand.class, JoinTeamCommand::new);
-        protocol.registerNetworkMessage(VoteBoatMoveCommand.class, VoteBoatMoveCommand::new);
+        protocol.registerNetworkMessage(JumpCommand.class);
+        protocol.registerNetworkMessage(JoinTeamCommand.class);
+        protocol.registerNetworkMessage(VoteBoatMoveCommand.class);
         this.registerStateMessages(protocol);
 
         this.registerStateMessages(protocol);
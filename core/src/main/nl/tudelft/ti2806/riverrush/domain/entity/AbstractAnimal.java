@@ -2,6 +2,7 @@ package nl.tudelft.ti2806.riverrush.domain.entity;
 
 import nl.tudelft.ti2806.riverrush.domain.entity.state.AnimalState;
 import nl.tudelft.ti2806.riverrush.domain.event.Direction;
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
 import nl.tudelft.ti2806.riverrush.domain.event.EventDispatcher;
 import nl.tudelft.ti2806.riverrush.failfast.FailIf;
 
@@ -17,13 +18,12 @@ public abstract class AbstractAnimal {
      */
     private AnimalState currentState;
 
-    private static final int BITS = 32;
-    private static Integer highestId = 0;
-    private final Integer animalID;
-    private Integer teamId;
+    private static int highestId = 0;
+    private final int animalID;
+    private int teamId = Event.BROADCAST;
     private Direction voteDirection = Direction.NEUTRAL;
     private Sector sectorOnBoat;
-    private Integer variation;
+    private int variation;
 
     private final EventDispatcher dispatcher;
 
@@ -45,7 +45,7 @@ public abstract class AbstractAnimal {
      * @param eventDispatcher - See {@link EventDispatcher}
      * @param animal          - Id of the animal
      */
-    public AbstractAnimal(final EventDispatcher eventDispatcher, final Integer animal) {
+    public AbstractAnimal(final EventDispatcher eventDispatcher, final int animal) {
         this.dispatcher = eventDispatcher;
         this.animalID = animal;
         this.variation = this.getRandomVariation();
@@ -77,9 +77,9 @@ public abstract class AbstractAnimal {
     /**
      * Sets the color of an animal to a random color from an array.
      *
-     * @return new random variation Integer.
+     * @return new random variation.
      */
-    public Integer getRandomVariation() {
+    public int getRandomVariation() {
         int[] variations = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
         int idx = new Random().nextInt(variations.length);
         return (variations[idx]);
@@ -90,7 +90,7 @@ public abstract class AbstractAnimal {
      *
      * @return The id
      */
-    public Integer getId() {
+    public int getId() {
         return this.animalID;
     }
 
@@ -99,7 +99,7 @@ public abstract class AbstractAnimal {
      *
      * @return the variation
      */
-    public Integer getVariation() {
+    public int getVariation() {
         return this.variation;
     }
 
@@ -108,8 +108,7 @@ public abstract class AbstractAnimal {
      *
      * @param aVariation the variation
      */
-    public void setVariation(final Integer aVariation) {
-        FailIf.isNull(aVariation);
+    public void setVariation(final int aVariation) {
         this.variation = aVariation;
     }
 
@@ -143,9 +142,9 @@ public abstract class AbstractAnimal {
     /**
      * Returns the team Id of the animal.
      *
-     * @return the team Id
+     * @return the team Id, {@link Event#BROADCAST} while the animal is in no team.
      */
-    public Integer getTeamId() {
+    public int getTeamId() {
         return this.teamId;
     }
 
@@ -154,8 +153,7 @@ public abstract class AbstractAnimal {
      *
      * @param id - Id of the team
      */
-    public void setTeamId(final Integer id) {
-        FailIf.isNull(id);
+    public void setTeamId(final int id) {
         this.teamId = id;
     }
 
@@ -218,12 +216,12 @@ public abstract class AbstractAnimal {
         }
 
         AbstractAnimal animal = (AbstractAnimal) o;
-        return this.animalID.equals(animal.animalID);
+        return this.animalID == animal.animalID;
 
     }
 
     @Override
     public int hashCode() {
-        return this.animalID ^ (this.animalID >>> BITS);
+        return this.animalID;
     }
 }
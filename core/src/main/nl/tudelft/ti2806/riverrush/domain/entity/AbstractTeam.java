@@ -10,8 +10,8 @@ import java.util.HashMap;
  */
 public abstract class AbstractTeam {
 
-    private static Integer highestId = 0;
-    private final Integer id;
+    private static int highestId = 0;
+    private final int id;
 
     private final HashMap<Integer, AbstractAnimal> animals;
 
@@ -39,7 +39,7 @@ public abstract class AbstractTeam {
      *
      * @return The id
      */
-    public Integer getId() {
+    public int getId() {
         return this.id;
     }
 
@@ -49,8 +49,7 @@ public abstract class AbstractTeam {
      * @param animalId The id of the animal
      * @return The animal
      */
-    public AbstractAnimal getAnimal(final Integer animalId) {
-        FailIf.isNull(animalId);
+    public AbstractAnimal getAnimal(final int animalId) {
         return this.animals.get(animalId);
     }
 
@@ -78,8 +77,7 @@ public abstract class AbstractTeam {
      *
      * @param animalId The id of the animal to remove.
      */
-    public void removeAnimal(final Integer animalId) {
-        FailIf.isNull(animalId);
+    public void removeAnimal(final int animalId) {
         this.animals.remove(animalId);
     }
 
@@ -0,0 +1,48 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
+
+/**
+ * Abstract class for the events that are sent to many connections.
+ * Such an event keeps the text it was serialized to, so it is serialized once instead of once
+ * per connection. This relies on an event not changing once it is dispatched.
+ */
+public abstract class AbstractEvent implements Event {
+
+    /**
+     * The text of this event and the protocol it was serialized with. Volatile, so a connection
+     * that reads it on another thread sees the whole text. Two threads may both serialize the
+     * event the first time, they make the same text.
+     */
+    private volatile Text text;
+
+    /**
+     * @param protocol - The protocol to serialize with.
+     * @return The text of this event, only serialized the first time it is sent with the protocol.
+     */
+    public final String getText(final Protocol protocol) {
+        Text cached = this.text;
+        if (cached == null || cached.protocol != protocol) {
+            cached = new Text(protocol, protocol.serialize(this));
+            this.text = cached;
+        }
+        return cached.value;
+    }
+
+    /**
+     * A text with the protocol it was made with, published as a whole.
+     */
+    private static final class Text {
+        private final Protocol protocol;
+        private final String value;
+
+        /**
+         * @param aProtocol - The protocol the text was made with.
+         * @param aValue    - The text.
+         */
+        Text(final Protocol aProtocol, final String aValue) {
+            this.protocol = aProtocol;
+            this.value = aValue;
+        }
+    }
+}
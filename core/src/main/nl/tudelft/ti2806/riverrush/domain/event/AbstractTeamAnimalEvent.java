@@ -1,55 +1,65 @@
 package nl.tudelft.ti2806.riverrush.domain.event;
 
-import nl.tudelft.ti2806.riverrush.network.protocol.InvalidProtocolException;
-import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
-
-import java.util.Map;
+import nl.tudelft.ti2806.riverrush.codegen.WireField;
 
 /**
  * Abstract class for all duplicate code of all events.
  */
-public abstract class AbstractTeamAnimalEvent implements Event {
+public abstract class AbstractTeamAnimalEvent extends AbstractEvent implements TeamEvent {
 
-    private Integer animalId;
+    @WireField("animal")
+    private int animalId = BROADCAST;
 
-    private Integer teamId;
+    @WireField("team")
+    private int teamId = BROADCAST;
 
-    @Override
-    public String serialize(final Protocol protocol) {
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append("animal")
-                .append(protocol.getKeyValueSeperator()).append(this.animalId.toString());
-        stringBuilder.append(protocol.getPairSeperator());
-        stringBuilder.append("team").append(protocol.getKeyValueSeperator()).append(this.teamId.toString());
-        return stringBuilder.toString();
+    /**
+     * Create an event that is not about an animal yet.
+     */
+    protected AbstractTeamAnimalEvent() {
     }
 
-    @Override
-    public Event deserialize(final Map<String, String> keyValuePairs) {
-        if (keyValuePairs.containsKey("animal") && keyValuePairs.containsKey("team")) {
-            this.animalId = Integer.parseInt(keyValuePairs.get("animal"));
-            this.teamId = Integer.parseInt(keyValuePairs.get("team"));
-        } else {
-            throw new InvalidProtocolException("Does not contain all the keys");
-        }
-        return this;
+    /**
+     * @param animal - The id of the animal.
+     * @param team   - The id of the team of the animal.
+     */
+    protected AbstractTeamAnimalEvent(final int animal, final int team) {
+        this.animalId = animal;
+        this.teamId = team;
     }
 
     @Override
-    public Integer getAnimal() {
+    public int getAnimal() {
         return this.animalId;
     }
 
-    @Override
-    public void setAnimal(final Integer aAnimal) {
+    void setAnimal(final int aAnimal) {
         this.animalId = aAnimal;
     }
 
-    public Integer getTeam() {
+    @Override
+    public AbstractTeamAnimalEvent withAnimal(final int animal) {
+        AbstractTeamAnimalEvent copy = (AbstractTeamAnimalEvent) this.copy();
+        copy.setAnimal(animal);
+        return copy;
+    }
+
+    @Override
+    public int getTeam() {
         return this.teamId;
     }
 
-    public void setTeam(final Integer team) {
+    void setTeam(final int team) {
         this.teamId = team;
     }
+
+    /**
+     * @param team - The id of the team.
+     * @return A copy of this event for the team, this event is left as it is.
+     */
+    public AbstractTeamAnimalEvent withTeam(final int team) {
+        AbstractTeamAnimalEvent copy = (AbstractTeamAnimalEvent) this.copy();
+        copy.setTeam(team);
+        return copy;
+    }
 }
@@ -1,52 +1,57 @@
 package nl.tudelft.ti2806.riverrush.domain.event;
 
-import nl.tudelft.ti2806.riverrush.network.protocol.InvalidProtocolException;
-import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
-
-import java.util.Map;
+import nl.tudelft.ti2806.riverrush.codegen.WireField;
 
 /**
  * Abstract class for all duplicate code of all events containing team.
  */
-public abstract class AbstractTeamEvent implements Event {
+public abstract class AbstractTeamEvent extends AbstractEvent implements TeamEvent {
 
-    private Integer teamId;
+    @WireField("team")
+    private int teamId = BROADCAST;
 
-    @Override
-    public String serialize(final Protocol protocol) {
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append("team").append(protocol.getKeyValueSeperator()).append(this.teamId.toString());
-        return stringBuilder.toString();
+    /**
+     * Create an event for every team.
+     */
+    protected AbstractTeamEvent() {
     }
 
-    @Override
-    public Event deserialize(final Map<String, String> keyValuePairs) {
-        if (keyValuePairs.containsKey("team")) {
-            this.teamId = Integer.parseInt(keyValuePairs.get("team"));
-        } else {
-            throw new InvalidProtocolException("Does not contain all the keys");
-        }
-        return this;
+    /**
+     * @param team - The id of the team.
+     */
+    protected AbstractTeamEvent(final int team) {
+        this.teamId = team;
     }
 
     @Override
-    public Integer getAnimal() {
-        return -1;
+    public int getAnimal() {
+        return BROADCAST;
     }
 
     @Override
-    public void setAnimal(final Integer aAnimal) {
-        // Has to be empty
+    public Event withAnimal(final int animal) {
+        return this.copy();
     }
 
-    public Integer getTeam() {
+    @Override
+    public int getTeam() {
         return this.teamId;
     }
 
-    public void setTeam(final Integer team) {
+    void setTeam(final int team) {
         this.teamId = team;
     }
 
+    /**
+     * @param team - The id of the team.
+     * @return A copy of this event for the team, this event is left as it is.
+     */
+    public AbstractTeamEvent withTeam(final int team) {
+        AbstractTeamEvent copy = (AbstractTeamEvent) this.copy();
+        copy.setTeam(team);
+        return copy;
+    }
+
     @Override
     public String toString() {
         return "AbstractTeamEvent{"
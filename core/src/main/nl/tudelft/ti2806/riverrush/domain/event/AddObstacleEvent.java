@@ -1,43 +1,37 @@
 package nl.tudelft.ti2806.riverrush.domain.event;
 
-import nl.tudelft.ti2806.riverrush.network.protocol.InvalidProtocolException;
-import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
-
-import java.util.Map;
+import nl.tudelft.ti2806.riverrush.codegen.WireEvent;
+import nl.tudelft.ti2806.riverrush.codegen.WireField;
 
 /**
  * This event is fired when an obstacle needs to be added to the screen.
  */
+@WireEvent
 public class AddObstacleEvent extends AbstractTeamEvent {
 
-    private Double location;
+    @WireField
+    private double location;
 
-    @Override
-    public String serialize(final Protocol protocol) {
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append(super.serialize(protocol));
-        stringBuilder.append(protocol.getPairSeperator());
-        stringBuilder.append("location").append(protocol.getKeyValueSeperator())
-                .append(this.location.toString());
-        return stringBuilder.toString();
+    /**
+     * Create an empty event, for the codec.
+     */
+    public AddObstacleEvent() {
     }
 
-    @Override
-    public Event deserialize(final Map<String, String> keyValuePairs) {
-        super.deserialize(keyValuePairs);
-        if (keyValuePairs.containsKey("location")) {
-            this.location = Double.parseDouble(keyValuePairs.get("location"));
-        } else {
-            throw new InvalidProtocolException("Does not contain all the keys");
-        }
-        return this;
+    /**
+     * @param team      - The id of the team to add the obstacle for.
+     * @param aLocation - The location of the obstacle across the river.
+     */
+    public AddObstacleEvent(final int team, final double aLocation) {
+        super(team);
+        this.location = aLocation;
     }
 
     public double getLocation() {
         return this.location;
     }
 
-    public void setLocation(final Double aLocation) {
+    void setLocation(final double aLocation) {
         this.location = aLocation;
     }
 
@@ -1,43 +1,37 @@
 package nl.tudelft.ti2806.riverrush.domain.event;
 
-import nl.tudelft.ti2806.riverrush.network.protocol.InvalidProtocolException;
-import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
-
-import java.util.Map;
+import nl.tudelft.ti2806.riverrush.codegen.WireEvent;
+import nl.tudelft.ti2806.riverrush.codegen.WireField;
 
 /**
  * This event is fired when an obstacle needs to be added to the screen.
  */
+@WireEvent
 public class AddRockEvent extends AbstractTeamEvent {
 
+    @WireField
     private Direction location;
 
-    @Override
-    public String serialize(final Protocol protocol) {
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append(super.serialize(protocol));
-        stringBuilder.append(protocol.getPairSeperator());
-        stringBuilder.append("location").append(protocol.getKeyValueSeperator())
-                .append(this.location.toString());
-        return stringBuilder.toString();
+    /**
+     * Create an empty event, for the codec.
+     */
+    public AddRockEvent() {
     }
 
-    @Override
-    public Event deserialize(final Map<String, String> keyValuePairs) {
-        super.deserialize(keyValuePairs);
-        if (keyValuePairs.containsKey("location")) {
-            this.location = Direction.valueOf(keyValuePairs.get("location").toUpperCase());
-        } else {
-            throw new InvalidProtocolException("Does not contain all the keys");
-        }
-        return this;
+    /**
+     * @param team      - The id of the team to add the rock for.
+     * @param aLocation - The side of the river the rock is on.
+     */
+    public AddRockEvent(final int team, final Direction aLocation) {
+        super(team);
+        this.location = aLocation;
     }
 
     public Direction getLocation() {
         return this.location;
     }
 
-    public void setLocation(final Direction aLocation) {
+    void setLocation(final Direction aLocation) {
         this.location = aLocation;
     }
 
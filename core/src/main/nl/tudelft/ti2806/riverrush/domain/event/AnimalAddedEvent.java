@@ -1,45 +1,44 @@
 package nl.tudelft.ti2806.riverrush.domain.event;
 
+import nl.tudelft.ti2806.riverrush.codegen.WireEvent;
+import nl.tudelft.ti2806.riverrush.codegen.WireField;
 import nl.tudelft.ti2806.riverrush.domain.entity.Sector;
-import nl.tudelft.ti2806.riverrush.network.protocol.InvalidProtocolException;
-import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
-
-import java.util.Map;
 
 /**
  * Domain event for when a player is added to the game.
  */
+@WireEvent
 public class AnimalAddedEvent extends AbstractTeamAnimalEvent {
 
-    private Integer variation;
+    @WireField
+    private int variation;
+    @WireField
     private Sector sector;
 
-    @Override
-    public String serialize(final Protocol protocol) {
-        String msg = super.serialize(protocol);
-        return msg + protocol.getPairSeperator()
-                + "variation" + protocol.getKeyValueSeperator() + this.variation.toString()
-                + protocol.getPairSeperator()
-                + "sector" + protocol.getKeyValueSeperator() + this.sector;
+    /**
+     * Create an empty event, for the codec.
+     */
+    public AnimalAddedEvent() {
     }
 
-    @Override
-    public Event deserialize(final Map<String, String> keyValuePairs) {
-        super.deserialize(keyValuePairs);
-        if (keyValuePairs.containsKey("variation") && keyValuePairs.containsKey("sector")) {
-            this.variation = Integer.parseInt(keyValuePairs.get("variation"));
-            this.sector = Sector.valueOf(keyValuePairs.get("sector").toUpperCase());
-        } else {
-            throw new InvalidProtocolException("Does not contain all the keys");
-        }
-        return this;
+    /**
+     * @param animal       - The id of the animal that was added.
+     * @param team         - The id of its team.
+     * @param newVariation - The variation of the animal.
+     * @param aSector      - The sector of the boat it sits in.
+     */
+    public AnimalAddedEvent(final int animal, final int team, final int newVariation,
+                            final Sector aSector) {
+        super(animal, team);
+        this.variation = newVariation;
+        this.sector = aSector;
     }
 
-    public void setVariation(final Integer newVariation) {
+    void setVariation(final int newVariation) {
         this.variation = newVariation;
     }
 
-    public Integer getVariation() {
+    public int getVariation() {
         return this.variation;
     }
 
@@ -47,7 +46,7 @@ public class AnimalAddedEvent extends AbstractTeamAnimalEvent {
         return sector;
     }
 
-    public void setSector(final Sector aSector) {
+    void setSector(final Sector aSector) {
         this.sector = aSector;
     }
 }
@@ -1,21 +1,24 @@
 package nl.tudelft.ti2806.riverrush.domain.event;
 
-import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
-
-import java.util.Map;
+import nl.tudelft.ti2806.riverrush.codegen.WireEvent;
 
 /**
  * Event for making an animal drop back to the boat.
  */
+@WireEvent
 public class AnimalDroppedEvent extends AbstractTeamAnimalEvent {
 
-    @Override
-    public String serialize(final Protocol protocol) {
-        return super.serialize(protocol);
+    /**
+     * Create an empty event, for the codec.
+     */
+    public AnimalDroppedEvent() {
     }
 
-    @Override
-    public Event deserialize(final Map<String, String> keyValuePairs) {
-        return super.deserialize(keyValuePairs);
+    /**
+     * @param animal - The id of the animal that was dropped.
+     * @param team   - The id of its team.
+     */
+    public AnimalDroppedEvent(final int animal, final int team) {
+        super(animal, team);
     }
 }
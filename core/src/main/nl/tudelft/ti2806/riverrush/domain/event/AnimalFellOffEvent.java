@@ -1,22 +1,25 @@
 package nl.tudelft.ti2806.riverrush.domain.event;
 
-import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
-
-import java.util.Map;
+import nl.tudelft.ti2806.riverrush.codegen.WireEvent;
 
 /**
  * This is the event that is sent from the server to the device and the renderer to say that the animal
  * has fallen off the boat.
  */
+@WireEvent
 public class AnimalFellOffEvent extends AbstractTeamAnimalEvent {
 
-    @Override
-    public String serialize(final Protocol protocol) {
-        return super.serialize(protocol);
+    /**
+     * Create an empty event, for the codec.
+     */
+    public AnimalFellOffEvent() {
     }
 
-    @Override
-    public Event deserialize(final Map<String, String> keyValuePairs) {
-        return super.deserialize(keyValuePairs);
+    /**
+     * @param animal - The id of the animal that fell off.
+     * @param team   - The id of its team.
+     */
+    public AnimalFellOffEvent(final int animal, final int team) {
+        super(animal, team);
     }
 }
@@ -1,43 +1,39 @@
 package nl.tudelft.ti2806.riverrush.domain.event;
 
-import nl.tudelft.ti2806.riverrush.network.protocol.InvalidProtocolException;
-import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
-
-import java.util.Map;
+import nl.tudelft.ti2806.riverrush.codegen.WireEvent;
+import nl.tudelft.ti2806.riverrush.codegen.WireField;
 
 /**
  * This event is sent when a player flicks or swipes left/right.
  */
+@EventPriority(Priority.LOW)
+@WireEvent
 public class AnimalMovedEvent extends AbstractTeamAnimalEvent {
 
+    @WireField
     private Direction direction;
 
-    @Override
-    public String serialize(final Protocol protocol) {
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append(super.serialize(protocol));
-        stringBuilder.append(protocol.getPairSeperator());
-        stringBuilder.append("direction").append(protocol.getKeyValueSeperator())
-                .append(this.direction.toString());
-        return stringBuilder.toString();
+    /**
+     * Create an empty event, for the codec.
+     */
+    public AnimalMovedEvent() {
     }
 
-    @Override
-    public Event deserialize(final Map<String, String> keyValuePairs) {
-        super.deserialize(keyValuePairs);
-        if (keyValuePairs.containsKey("direction")) {
-            this.direction = Direction.valueOf(keyValuePairs.get("direction").toUpperCase());
-        } else {
-            throw new InvalidProtocolException("Does not contain all the keys");
-        }
-        return this;
+    /**
+     * @param animal - The id of the animal that moved.
+     * @param team   - The id of its team.
+     * @param dir    - The direction it moved in.
+     */
+    public AnimalMovedEvent(final int animal, final int team, final Direction dir) {
+        super(animal, team);
+        this.direction = dir;
     }
 
     public Direction getDirection() {
         return this.direction;
     }
 
-    public void setDirection(final Direction dir) {
+    void setDirection(final Direction dir) {
         this.direction = dir;
     }
 }
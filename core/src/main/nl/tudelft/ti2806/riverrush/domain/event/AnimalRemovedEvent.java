@@ -1,21 +1,24 @@
 package nl.tudelft.ti2806.riverrush.domain.event;
 
-import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
-
-import java.util.Map;
+import nl.tudelft.ti2806.riverrush.codegen.WireEvent;
 
 /**
  * Messages that an animal has been removed from the game.
  */
+@WireEvent
 public class AnimalRemovedEvent extends AbstractTeamAnimalEvent {
 
-    @Override
-    public String serialize(final Protocol protocol) {
-        return super.serialize(protocol);
+    /**
+     * Create an empty event, for the codec.
+     */
+    public AnimalRemovedEvent() {
     }
 
-    @Override
-    public Event deserialize(final Map<String, String> keyValuePairs) {
-        return super.deserialize(keyValuePairs);
+    /**
+     * @param animal - The id of the animal that was removed.
+     * @param team   - The id of its team.
+     */
+    public AnimalRemovedEvent(final int animal, final int team) {
+        super(animal, team);
     }
 }
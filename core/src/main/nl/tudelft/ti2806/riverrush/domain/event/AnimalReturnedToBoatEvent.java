@@ -1,21 +1,24 @@
 package nl.tudelft.ti2806.riverrush.domain.event;
 
-import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
-
-import java.util.Map;
+import nl.tudelft.ti2806.riverrush.codegen.WireEvent;
 
 /**
  * The state where the animal gets back up on the boat after being knocked into the water.
  */
+@WireEvent
 public class AnimalReturnedToBoatEvent extends AbstractTeamAnimalEvent {
 
-    @Override
-    public String serialize(final Protocol protocol) {
-        return super.serialize(protocol);
+    /**
+     * Create an empty event, for the codec.
+     */
+    public AnimalReturnedToBoatEvent() {
     }
 
-    @Override
-    public Event deserialize(final Map<String, String> keyValuePairs) {
-        return super.deserialize(keyValuePairs);
+    /**
+     * @param animal - The id of the animal that returned to the boat.
+     * @param team   - The id of its team.
+     */
+    public AnimalReturnedToBoatEvent(final int animal, final int team) {
+        super(animal, team);
     }
 }
@@ -0,0 +1,849 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+import nl.tudelft.ti2806.riverrush.failfast.FailIf;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Handler that queues the events for another handler and runs it on an executor,
+ * so a slow handler does not hold up the dispatching thread or the handlers after it.
+ * The events reach the other handler one at a time, in the order they were handed over.
+ * The queue is bounded, the {@link OverflowPolicy} decides what happens when it is full.
+ * Only then the {@link Priority} of the events matters: dropping takes the oldest of the least
+ * urgent events, a new event that is less urgent than everything queued is dropped itself.
+ * A batched handler gets every event that is queued when it is ready for more at once, up to a
+ * batch size, so the events that arrive while it is busy are handled together.
+ * A handler that only needs the latest event of a kind can have the older one dropped as soon as
+ * the newer one is queued, instead of only when the queue is full. The queued events are indexed by
+ * their primitive key, so dropping the older one takes constant time and allocates nothing.
+ * A batched handler that is not {@link BatchHandler#isReady() ready} leaves its events in the queue,
+ * the queue looks again after {@link #PAUSE_MILLIS}.
+ *
+ * @param <T> The type of event to handle.
+ */
+public final class AsyncHandler<T extends Event> implements HandlerLambda<T> {
+
+    /**
+     * The capacity used by the factory methods that do not take one.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * How long a queue waits before it asks a handler that was not ready again.
+     */
+    public static final long PAUSE_MILLIS = 2;
+
+    /**
+     * The latest key of an event that supersedes no other event.
+     */
+    public static final long NO_KEY = LongIndex.EMPTY;
+
+    private static final Logger LOGGER = LogManager.getLogger(AsyncHandler.class);
+
+    /**
+     * Runs the queued handlers of the factory methods. A handler only takes a thread while it
+     * has events, a blocked one keeps its thread and the others get new ones.
+     */
+    private static final ExecutorService SHARED_EXECUTOR = Executors.newCachedThreadPool(
+            new DaemonThreadFactory("event-handler-"));
+
+    /**
+     * Restarts the queues whose handler was not ready, without holding a thread while they wait.
+     */
+    private static final ScheduledExecutorService PAUSE_SCHEDULER =
+            Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("event-handler-pause-"));
+
+    /**
+     * Nothing to run once the queue stops draining.
+     */
+    private static final Runnable NOTHING = () -> {
+    };
+
+    private final HandlerLambda<? super T> delegate;
+    private final BatchHandler<? super T> batchDelegate;
+    private final int batchSize;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final Function<? super T, ?> coalesceKey;
+    private final ToLongFunction<? super T> latestKey;
+    private final Runnable onOverflow;
+    private final Executor executor;
+
+    /**
+     * The events waiting for the delegate, also the lock for the fields below.
+     */
+    private final EventQueue<T> queue;
+    private boolean draining;
+    private boolean closed;
+    private long droppedCount;
+    private long coalescedCount;
+    private int peakDepth;
+
+    /**
+     * Runs once the queue is closed and the delegate no longer runs.
+     */
+    private Runnable onDrained;
+
+    /**
+     * Create a queued handler.
+     *
+     * @param aDelegate    - The handler to run on the executor.
+     * @param aCapacity    - The most events to queue.
+     * @param aPolicy      - What to do with an event when the queue is full.
+     * @param aCoalesceKey - Tells which events supersede each other, only used by
+     *                     {@link OverflowPolicy#COALESCE}.
+     * @param anOnOverflow - Called once when the queue overflows with {@link OverflowPolicy#DISCONNECT},
+     *                     on the thread that handed over the event. May be null for the other policies.
+     * @param anExecutor   - Runs the delegate.
+     */
+    public AsyncHandler(final HandlerLambda<? super T> aDelegate, final int aCapacity,
+                        final OverflowPolicy aPolicy, final Function<? super T, ?> aCoalesceKey,
+                        final Runnable anOnOverflow, final Executor anExecutor) {
+        this(aDelegate, null, 1, aCapacity, aPolicy, aCoalesceKey, null, anOnOverflow, anExecutor);
+        FailIf.isNull(aDelegate);
+    }
+
+    /**
+     * Create a queued handler that hands over the events in batches.
+     *
+     * @param aDelegate    - The handler to run on the executor.
+     * @param aBatchSize   - The most events to hand over at once.
+     * @param aCapacity    - The most events to queue.
+     * @param aPolicy      - What to do with an event when the queue is full.
+     * @param aCoalesceKey - Tells which events supersede each other, only used by
+     *                     {@link OverflowPolicy#COALESCE}.
+     * @param anOnOverflow - Called once when the queue overflows with {@link OverflowPolicy#DISCONNECT},
+     *                     on the thread that handed over the event. May be null for the other policies.
+     * @param anExecutor   - Runs the delegate.
+     */
+    public AsyncHandler(final BatchHandler<? super T> aDelegate, final int aBatchSize, final int aCapacity,
+                        final OverflowPolicy aPolicy, final Function<? super T, ?> aCoalesceKey,
+                        final Runnable anOnOverflow, final Executor anExecutor) {
+        this(null, aDelegate, aBatchSize, aCapacity, aPolicy, aCoalesceKey, null, anOnOverflow, anExecutor);
+        FailIf.isNull(aDelegate);
+    }
+
+    /**
+     * Create a queued handler with one of the two kinds of delegate.
+     *
+     * @param aDelegate      - The handler of single events, or null.
+     * @param aBatchDelegate - The handler of batches, or null.
+     * @param aBatchSize     - The most events to hand over at once.
+     * @param aCapacity      - The most events to queue.
+     * @param aPolicy        - What to do with an event when the queue is full.
+     * @param aCoalesceKey   - Tells which events supersede each other.
+     * @param aLatestKey     - Tells which events supersede each other as soon as they are queued,
+     *                       or null to keep every event.
+     * @param anOnOverflow   - Called once when the queue overflows.
+     * @param anExecutor     - Runs the delegate.
+     */
+    private AsyncHandler(final HandlerLambda<? super T> aDelegate,
+                         final BatchHandler<? super T> aBatchDelegate,
+                         final int aBatchSize, final int aCapacity,
+                         final OverflowPolicy aPolicy, final Function<? super T, ?> aCoalesceKey,
+                         final ToLongFunction<? super T> aLatestKey,
+                         final Runnable anOnOverflow, final Executor anExecutor) {
+        FailIf.isNull(aPolicy, anExecutor);
+        if (aBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size should be positive, got: " + aBatchSize);
+        }
+        if (aCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity should be positive, got: " + aCapacity);
+        }
+        if (aPolicy == OverflowPolicy.COALESCE && aCoalesceKey == null) {
+            throw new IllegalArgumentException("Coalescing needs a key function");
+        }
+        if (aPolicy == OverflowPolicy.DISCONNECT && anOnOverflow == null) {
+            throw new IllegalArgumentException("Disconnecting needs an overflow callback");
+        }
+
+        this.delegate = aDelegate;
+        this.batchDelegate = aBatchDelegate;
+        this.batchSize = aBatchSize;
+        this.capacity = aCapacity;
+        this.policy = aPolicy;
+        this.coalesceKey = aCoalesceKey;
+        this.latestKey = aLatestKey;
+        this.onOverflow = anOnOverflow;
+        this.executor = anExecutor;
+        this.onDrained = NOTHING;
+        this.queue = new EventQueue<>(aLatestKey != null);
+    }
+
+    /**
+     * Queue for a handler that drops the oldest events when it falls behind.
+     *
+     * @param delegate - The handler to run in the background.
+     * @param capacity - The most events to queue.
+     * @param <T>      - The type of event to handle.
+     * @return The queued handler.
+     */
+    public static <T extends Event> AsyncHandler<T> dropOldest(final HandlerLambda<? super T> delegate,
+                                                               final int capacity) {
+        return new AsyncHandler<>(delegate, capacity, OverflowPolicy.DROP_OLDEST, null, null,
+                SHARED_EXECUTOR);
+    }
+
+    /**
+     * Queue for a handler that only needs the latest event per key when it falls behind.
+     *
+     * @param delegate    - The handler to run in the background.
+     * @param capacity    - The most events to queue.
+     * @param coalesceKey - Events with equal keys supersede each other.
+     * @param <T>         - The type of event to handle.
+     * @return The queued handler.
+     */
+    public static <T extends Event> AsyncHandler<T> coalesce(final HandlerLambda<? super T> delegate,
+                                                             final int capacity,
+                                                             final Function<? super T, ?> coalesceKey) {
+        return new AsyncHandler<>(delegate, capacity, OverflowPolicy.COALESCE, coalesceKey, null,
+                SHARED_EXECUTOR);
+    }
+
+    /**
+     * Queue for a handler whose owner should be cut off when it falls behind.
+     *
+     * @param delegate   - The handler to run in the background.
+     * @param capacity   - The most events to queue.
+     * @param onOverflow - Called once when the queue overflows.
+     * @param <T>        - The type of event to handle.
+     * @return The queued handler.
+     */
+    public static <T extends Event> AsyncHandler<T> disconnect(final HandlerLambda<? super T> delegate,
+                                                               final int capacity,
+                                                               final Runnable onOverflow) {
+        return new AsyncHandler<>(delegate, capacity, OverflowPolicy.DISCONNECT, null, onOverflow,
+                SHARED_EXECUTOR);
+    }
+
+    /**
+     * Queue for a batched handler whose owner should be cut off when it falls behind.
+     *
+     * @param delegate   - The handler to run in the background.
+     * @param batchSize  - The most events to hand over at once.
+     * @param capacity   - The most events to queue.
+     * @param onOverflow - Called once when the queue overflows.
+     * @param <T>        - The type of event to handle.
+     * @return The queued handler.
+     */
+    public static <T extends Event> AsyncHandler<T> disconnect(final BatchHandler<? super T> delegate,
+                                                               final int batchSize,
+                                                               final int capacity,
+                                                               final Runnable onOverflow) {
+        return new AsyncHandler<>(delegate, batchSize, capacity, OverflowPolicy.DISCONNECT, null,
+                onOverflow, SHARED_EXECUTOR);
+    }
+
+    /**
+     * Queue for a batched handler that only needs the latest event of some kinds.
+     * An event with a key drops the queued event with an equal key, events without a key are all
+     * kept. A full queue drops the least urgent events, or is closed with
+     * {@link OverflowPolicy#DISCONNECT}. {@link OverflowPolicy#COALESCE} is not supported, the
+     * events are coalesced as they arrive.
+     *
+     * @param delegate   - The handler to run on the executor.
+     * @param batchSize  - The most events to hand over at once.
+     * @param capacity   - The most events to queue.
+     * @param policy     - What to do with an event when the queue is full.
+     * @param latestKey  - Events with equal keys supersede each other, {@link #NO_KEY} never does.
+     * @param onOverflow - Called once when the queue overflows with {@link OverflowPolicy#DISCONNECT}.
+     * @param executor   - Runs the delegate.
+     * @param <T>        - The type of event to handle.
+     * @return The queued handler.
+     */
+    public static <T extends Event> AsyncHandler<T> latest(final BatchHandler<? super T> delegate,
+                                                           final int batchSize, final int capacity,
+                                                           final OverflowPolicy policy,
+                                                           final ToLongFunction<? super T> latestKey,
+                                                           final Runnable onOverflow,
+                                                           final Executor executor) {
+        FailIf.isNull(delegate, latestKey);
+        return new AsyncHandler<>(null, delegate, batchSize, capacity, policy, null, latestKey,
+                onOverflow, executor);
+    }
+
+    /**
+     * @return The executor that runs the handlers of the factory methods that do not take one.
+     */
+    public static Executor sharedExecutor() {
+        return SHARED_EXECUTOR;
+    }
+
+    /**
+     * Queue the event, it is handed to the delegate later.
+     *
+     * @param event - The event to queue.
+     */
+    @Override
+    public void handle(final T event) {
+        boolean startDraining = false;
+        boolean overflowed = false;
+        synchronized (this.queue) {
+            if (this.closed) {
+                return;
+            }
+            long key = NO_KEY;
+            if (this.latestKey != null) {
+                key = this.latestKey.applyAsLong(event);
+                if (key != NO_KEY && this.queue.replace(event, key)) {
+                    this.coalescedCount++;
+                    return;
+                }
+            }
+            if (this.queue.size() >= this.capacity && !this.makeRoom(event)) {
+                overflowed = this.closed;
+            } else {
+                this.queue.addLast(event, key);
+                this.peakDepth = Math.max(this.peakDepth, this.queue.size());
+                startDraining = !this.draining;
+                this.draining = true;
+            }
+        }
+
+        if (startDraining) {
+            this.executor.execute(this::drain);
+        } else if (overflowed) {
+            LOGGER.warn("Handler queue overflowed after {} events, disconnecting", this.capacity);
+            this.onOverflow.run();
+        }
+    }
+
+    /**
+     * Apply the policy to a full queue. Needs the lock of the queue.
+     *
+     * @param event - The event that does not fit.
+     * @return True if the event should still be queued, false if it is dropped or the queue closed.
+     */
+    private boolean makeRoom(final T event) {
+        switch (this.policy) {
+            case COALESCE:
+                if (this.queue.removeSuperseded(event, this.coalesceKey)) {
+                    this.coalescedCount++;
+                    return true;
+                }
+                this.droppedCount++;
+                return this.queue.dropLeastUrgent(event);
+            case DISCONNECT:
+                this.droppedCount += this.queue.size() + 1;
+                this.queue.clear();
+                this.closed = true;
+                return false;
+            case DROP_OLDEST:
+            default:
+                this.droppedCount++;
+                return this.queue.dropLeastUrgent(event);
+        }
+    }
+
+    /**
+     * Hand the queued events to the delegate until the queue is empty,
+     * or until the delegate is not ready for more.
+     */
+    private void drain() {
+        List<T> batch = new ArrayList<>(Math.min(this.batchSize, this.capacity));
+        Runnable stopped = null;
+        while (true) {
+            boolean ready = this.batchDelegate == null || this.batchDelegate.isReady();
+            synchronized (this.queue) {
+                if (this.queue.size() == 0) {
+                    stopped = this.stopDraining();
+                    break;
+                }
+                if (!ready) {
+                    break;
+                }
+                T event;
+                while (batch.size() < this.batchSize && (event = this.queue.pollFirst()) != null) {
+                    batch.add(event);
+                }
+            }
+
+            if (this.batchDelegate == null) {
+                this.handleOne(batch.get(0));
+            } else {
+                try {
+                    this.batchDelegate.handleBatch(batch);
+                } catch (RuntimeException e) {
+                    LOGGER.error("Queued handler failed on a batch of {} events", batch.size(), e);
+                }
+            }
+            batch.clear();
+        }
+        if (stopped == null) {
+            this.pause();
+        } else {
+            stopped.run();
+        }
+    }
+
+    /**
+     * Mark the queue as no longer draining. Needs the lock of the queue.
+     *
+     * @return What to run now that the delegate no longer runs, outside the lock.
+     */
+    private Runnable stopDraining() {
+        this.draining = false;
+        if (!this.closed) {
+            return NOTHING;
+        }
+        Runnable drained = this.onDrained;
+        this.onDrained = NOTHING;
+        return drained;
+    }
+
+    /**
+     * Drain again after a while, the queue stays marked as draining until then.
+     */
+    private void pause() {
+        try {
+            PAUSE_SCHEDULER.schedule(() -> this.executor.execute(this::drain), PAUSE_MILLIS,
+                    TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            Runnable stopped;
+            synchronized (this.queue) {
+                stopped = this.stopDraining();
+            }
+            stopped.run();
+        }
+    }
+
+    /**
+     * Hand one event to the delegate.
+     *
+     * @param event - The event.
+     */
+    private void handleOne(final T event) {
+        try {
+            this.delegate.handle(event);
+        } catch (RuntimeException e) {
+            LOGGER.error("Queued handler failed on {}", event.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Drop the queued events and ignore the events that are handed over after this.
+     */
+    public void close() {
+        this.close(NOTHING);
+    }
+
+    /**
+     * Drop the queued events and ignore the events that are handed over after this.
+     * Whatever the delegate uses can be released once it no longer runs.
+     *
+     * @param drained - Runs once the delegate is no longer handed events: right away if it is not
+     *                running, or on the thread that runs it once the current batch is done.
+     */
+    public void close(final Runnable drained) {
+        FailIf.isNull(drained);
+        synchronized (this.queue) {
+            this.closed = true;
+            this.queue.clear();
+            if (this.draining) {
+                Runnable before = this.onDrained;
+                this.onDrained = () -> {
+                    before.run();
+                    drained.run();
+                };
+                return;
+            }
+        }
+        drained.run();
+    }
+
+    /**
+     * @return True if the handler no longer accepts events.
+     */
+    public boolean isClosed() {
+        synchronized (this.queue) {
+            return this.closed;
+        }
+    }
+
+    /**
+     * @return The amount of events waiting for the delegate.
+     */
+    public int getQueueDepth() {
+        synchronized (this.queue) {
+            return this.queue.size();
+        }
+    }
+
+    /**
+     * @return The amount of events that were dropped because the queue was full.
+     */
+    public long getDroppedCount() {
+        synchronized (this.queue) {
+            return this.droppedCount;
+        }
+    }
+
+    /**
+     * @return The amount of queued events that were replaced by a newer one.
+     */
+    public long getCoalescedCount() {
+        synchronized (this.queue) {
+            return this.coalescedCount;
+        }
+    }
+
+    /**
+     * @return The most events that were waiting for the delegate at once.
+     */
+    public int getPeakDepth() {
+        synchronized (this.queue) {
+            return this.peakDepth;
+        }
+    }
+
+    /**
+     * The queued events in the order they were handed over, in a ring that doubles when it is full.
+     * Every event gets a sequence number that stays the same while it is queued. An event that is
+     * dropped before its turn leaves an empty slot, which is skipped. When the ring is full but at
+     * most half of it holds events, the events are moved together instead of growing the ring.
+     * Per priority, the sequence numbers of the queued events find the oldest one to drop, and the
+     * index finds the sequence number of the event with a latest key.
+     *
+     * @param <T> The type of event to queue.
+     */
+    private static final class EventQueue<T extends Event> {
+
+        private static final int INITIAL_SLOTS = 16;
+
+        private T[] events;
+        private long[] keys;
+
+        /**
+         * Per priority, the sequence numbers of its events, oldest first. May still hold the
+         * numbers of events that were dropped or handled, those are skipped.
+         */
+        private final Sequences[] byPriority;
+
+        /**
+         * The latest keys of the queued events to their sequence numbers, null when not keyed.
+         */
+        private final LongIndex index;
+
+        /**
+         * The sequence number of the oldest slot, and the one the next event gets.
+         */
+        private long head;
+        private long tail;
+
+        /**
+         * The amount of slots that hold an event.
+         */
+        private int size;
+
+        /**
+         * Create an empty queue.
+         *
+         * @param keyed - Whether the events are indexed by their latest key.
+         */
+        @SuppressWarnings("unchecked")
+        EventQueue(final boolean keyed) {
+            this.events = (T[]) new Event[INITIAL_SLOTS];
+            this.keys = new long[INITIAL_SLOTS];
+            this.byPriority = new Sequences[Priority.values().length];
+            for (int i = 0; i < this.byPriority.length; i++) {
+                this.byPriority[i] = new Sequences();
+            }
+            this.index = keyed ? new LongIndex() : null;
+        }
+
+        /**
+         * @param event - The event to queue behind the others.
+         * @param key   - The latest key of the event, or {@link AsyncHandler#NO_KEY}.
+         */
+        void addLast(final T event, final long key) {
+            if (this.tail - this.head == this.events.length) {
+                if (this.size <= this.events.length / 2) {
+                    this.compact();
+                } else {
+                    this.grow();
+                }
+            }
+            int slot = this.slot(this.tail);
+            this.events[slot] = event;
+            this.keys[slot] = key;
+            this.byPriority[Priority.of(event).ordinal()].addLast(this.tail);
+            if (key != NO_KEY) {
+                this.index.put(key, this.tail);
+            }
+            this.tail++;
+            this.size++;
+        }
+
+        /**
+         * @return The oldest event, null if there are none.
+         */
+        T pollFirst() {
+            while (this.head != this.tail) {
+                long sequence = this.head++;
+                int slot = this.slot(sequence);
+                T event = this.events[slot];
+                if (event != null) {
+                    this.events[slot] = null;
+                    if (this.keys[slot] != NO_KEY) {
+                        this.index.remove(this.keys[slot]);
+                    }
+                    this.byPriority[Priority.of(event).ordinal()].removeUpTo(sequence);
+                    this.size--;
+                    return event;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Drop the oldest of the least urgent events, unless the new event is less urgent.
+         *
+         * @param event - The new event.
+         * @return True if room was made for the new event.
+         */
+        boolean dropLeastUrgent(final T event) {
+            for (int i = this.byPriority.length - 1; i >= Priority.of(event).ordinal(); i--) {
+                Sequences sequences = this.byPriority[i];
+                while (!sequences.isEmpty()) {
+                    long sequence = sequences.removeFirst();
+                    if (sequence >= this.head && this.events[this.slot(sequence)] != null) {
+                        this.remove(sequence);
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Drop the queued event that the new event supersedes.
+         *
+         * @param event       - The new event.
+         * @param coalesceKey - Events with equal keys supersede each other.
+         * @return True if an event was dropped.
+         */
+        boolean removeSuperseded(final T event, final Function<? super T, ?> coalesceKey) {
+            Object key = coalesceKey.apply(event);
+            for (long sequence = this.head; sequence < this.tail; sequence++) {
+                T queued = this.events[this.slot(sequence)];
+                if (queued != null && Objects.equals(key, coalesceKey.apply(queued))) {
+                    this.remove(sequence);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Drop the queued event with the same latest key and queue the new event behind the others.
+         *
+         * @param event - The new event.
+         * @param key   - The latest key of the new event.
+         * @return True if an event was dropped.
+         */
+        boolean replace(final T event, final long key) {
+            long sequence = this.index.get(key);
+            if (sequence == LongIndex.EMPTY) {
+                return false;
+            }
+            this.remove(sequence);
+            this.addLast(event, key);
+            return true;
+        }
+
+        /**
+         * @return The amount of queued events.
+         */
+        int size() {
+            return this.size;
+        }
+
+        /**
+         * Drop every queued event.
+         */
+        void clear() {
+            Arrays.fill(this.events, null);
+            this.head = this.tail;
+            this.size = 0;
+            for (Sequences sequences : this.byPriority) {
+                sequences.clear();
+            }
+            if (this.index != null) {
+                this.index.clear();
+            }
+        }
+
+        /**
+         * Empty the slot of a queued event, its sequence number is skipped later.
+         *
+         * @param sequence - The sequence number of the event.
+         */
+        private void remove(final long sequence) {
+            int slot = this.slot(sequence);
+            if (this.keys[slot] != NO_KEY) {
+                this.index.remove(this.keys[slot]);
+            }
+            this.events[slot] = null;
+            this.size--;
+        }
+
+        /**
+         * Move the events into a ring twice as large, they keep their sequence numbers.
+         */
+        @SuppressWarnings("unchecked")
+        private void grow() {
+            T[] oldEvents = this.events;
+            long[] oldKeys = this.keys;
+            this.events = (T[]) new Event[oldEvents.length * 2];
+            this.keys = new long[oldKeys.length * 2];
+            for (long sequence = this.head; sequence < this.tail; sequence++) {
+                int from = (int) (sequence & (oldEvents.length - 1));
+                this.events[this.slot(sequence)] = oldEvents[from];
+                this.keys[this.slot(sequence)] = oldKeys[from];
+            }
+        }
+
+        /**
+         * Move the events up over the empty slots, in order. This renumbers the events,
+         * so the sequence numbers per priority and the index are built again.
+         */
+        private void compact() {
+            long next = this.head;
+            for (long sequence = this.head; sequence < this.tail; sequence++) {
+                int from = this.slot(sequence);
+                T event = this.events[from];
+                if (event != null) {
+                    this.events[from] = null;
+                    this.events[this.slot(next)] = event;
+                    this.keys[this.slot(next)] = this.keys[from];
+                    next++;
+                }
+            }
+            this.tail = next;
+
+            for (Sequences sequences : this.byPriority) {
+                sequences.clear();
+            }
+            if (this.index != null) {
+                this.index.clear();
+            }
+            for (long sequence = this.head; sequence < this.tail; sequence++) {
+                int slot = this.slot(sequence);
+                this.byPriority[Priority.of(this.events[slot]).ordinal()].addLast(sequence);
+                if (this.keys[slot] != NO_KEY) {
+                    this.index.put(this.keys[slot], sequence);
+                }
+            }
+        }
+
+        /**
+         * @param sequence - The sequence number of an event.
+         * @return Where the event is in the ring.
+         */
+        private int slot(final long sequence) {
+            return (int) (sequence & (this.events.length - 1));
+        }
+    }
+
+    /**
+     * Sequence numbers in the order they were added, in a ring that doubles when it is full.
+     */
+    private static final class Sequences {
+
+        private static final int INITIAL_SLOTS = 16;
+
+        private long[] values = new long[INITIAL_SLOTS];
+        private int first;
+        private int count;
+
+        /**
+         * @param sequence - The sequence number to add, larger than the ones added before.
+         */
+        void addLast(final long sequence) {
+            if (this.count == this.values.length) {
+                long[] grown = new long[this.values.length * 2];
+                for (int i = 0; i < this.count; i++) {
+                    grown[i] = this.values[(this.first + i) & (this.values.length - 1)];
+                }
+                this.values = grown;
+                this.first = 0;
+            }
+            this.values[(this.first + this.count) & (this.values.length - 1)] = sequence;
+            this.count++;
+        }
+
+        /**
+         * @return The oldest sequence number, which is removed. Only valid when not empty.
+         */
+        long removeFirst() {
+            long sequence = this.values[this.first];
+            this.first = (this.first + 1) & (this.values.length - 1);
+            this.count--;
+            return sequence;
+        }
+
+        /**
+         * Remove the sequence numbers up to and including one.
+         *
+         * @param sequence - The last sequence number to remove.
+         */
+        void removeUpTo(final long sequence) {
+            while (this.count > 0 && this.values[this.first] <= sequence) {
+                this.removeFirst();
+            }
+        }
+
+        /**
+         * @return True if there are no sequence numbers.
+         */
+        boolean isEmpty() {
+            return this.count == 0;
+        }
+
+        /**
+         * Remove every sequence number.
+         */
+        void clear() {
+            this.first = 0;
+            this.count = 0;
+        }
+    }
+
+    /**
+     * Names the threads of the shared executors and keeps them from holding up the exit.
+     */
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        /**
+         * @param aPrefix - The start of the names of the threads.
+         */
+        DaemonThreadFactory(final String aPrefix) {
+            this.prefix = aPrefix;
+        }
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(runnable, this.prefix + this.count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
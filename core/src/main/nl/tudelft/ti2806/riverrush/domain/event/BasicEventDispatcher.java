@@ -5,14 +5,16 @@ import nl.tudelft.ti2806.riverrush.failfast.FailIf;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
 import java.util.Hashtable;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Domain event dispatcher. Allows registeredListeners to attach to an event. They get a call
- * whenever an event of their type is fired.
+ * whenever an event of their type, or of one of its subtypes, is fired.
  */
 @Singleton
 public class BasicEventDispatcher implements EventDispatcher {
@@ -23,9 +25,23 @@ public class BasicEventDispatcher implements EventDispatcher {
      */
     private final Map<Class<? extends Event>, List<HandlerLambda>> registeredLambdas = new Hashtable<>();
 
+    /**
+     * Maps event types to the listeners of a single animal or team.
+     */
+    private final Map<Class<? extends Event>, Map<SubscriptionKey, List<HandlerLambda>>> keyedLambdas =
+            new Hashtable<>();
+
+    /**
+     * Maps runtime event classes to the attached types they are an instance of.
+     * Cleared whenever a listener is attached or detached.
+     */
+    private final Map<Class<? extends Event>, List<Class<? extends Event>>> resolvedTypes = new Hashtable<>();
+
+    private final DispatcherMetrics metrics = new DispatcherMetrics();
+
     @Override
-    public <T extends Event> void attach(final Class<T> eventType,
-                                         final HandlerLambda<? super T> handler) {
+    public <T extends Event> Subscription attach(final Class<T> eventType,
+                                                 final HandlerLambda<? super T> handler) {
         FailIf.isNull(handler);
         List<HandlerLambda> handlers = this.registeredLambdas.get(eventType);
 
@@ -35,8 +51,50 @@ public class BasicEventDispatcher implements EventDispatcher {
 
         handlers.add(handler);
         this.registeredLambdas.put(eventType, handlers);
-        LOGGER.debug("Attached handler: " + handler.getClass().getSimpleName() + " for: "
-                + eventType.getSimpleName());
+        this.resolvedTypes.clear();
+        LOGGER.debug("Attached handler: {} for: {}", handler.getClass().getSimpleName(),
+                eventType.getSimpleName());
+        return once(() -> this.detach(eventType, handler));
+    }
+
+    @Override
+    public <T extends Event> Subscription attach(final Class<T> eventType, final SubscriptionKey key,
+                                                 final HandlerLambda<? super T> handler) {
+        FailIf.isNull(key, handler);
+        Map<SubscriptionKey, List<HandlerLambda>> keyed = this.keyedLambdas.get(eventType);
+
+        if (keyed == null) {
+            keyed = new Hashtable<>();
+            this.keyedLambdas.put(eventType, keyed);
+        }
+
+        List<HandlerLambda> handlers = keyed.get(key);
+        if (handlers == null) {
+            handlers = new LinkedList<>();
+            keyed.put(key, handlers);
+        }
+
+        handlers.add(handler);
+        this.resolvedTypes.clear();
+        LOGGER.debug("Attached handler: {} for: {} with: {}", handler.getClass().getSimpleName(),
+                eventType.getSimpleName(), key);
+        return once(() -> this.detach(eventType, key, handler));
+    }
+
+    /**
+     * Make sure a subscription only detaches its handler once,
+     * so it never removes a second registration of the same handler.
+     *
+     * @param subscription - The subscription to guard.
+     * @return A subscription that only has an effect the first time.
+     */
+    private static Subscription once(final Subscription subscription) {
+        AtomicBoolean attached = new AtomicBoolean(true);
+        return () -> {
+            if (attached.compareAndSet(true, false)) {
+                subscription.detach();
+            }
+        };
     }
 
     @Override
@@ -46,10 +104,32 @@ public class BasicEventDispatcher implements EventDispatcher {
 
         if (handlers != null) {
             handlers.remove(handlerLambda);
-            LOGGER.debug("Detached handler: " + handlerLambda.getClass().getSimpleName() + " for: "
-                    + eventType.getSimpleName());
+            this.resolvedTypes.clear();
+            LOGGER.debug("Detached handler: {} for: {}", handlerLambda.getClass().getSimpleName(),
+                    eventType.getSimpleName());
         } else {
-            LOGGER.warn("Could not detach unregistered handler for: " + eventType.getSimpleName());
+            LOGGER.warn("Could not detach unregistered handler for: {}", eventType.getSimpleName());
+        }
+    }
+
+    @Override
+    public <T extends Event> void detach(final Class<T> eventType, final SubscriptionKey key,
+                                         final HandlerLambda<? super T> handlerLambda) {
+        Map<SubscriptionKey, List<HandlerLambda>> keyed = this.keyedLambdas.get(eventType);
+        List<HandlerLambda> handlers = null;
+        if (keyed != null) {
+            handlers = keyed.get(key);
+        }
+
+        if (handlers != null) {
+            handlers.remove(handlerLambda);
+            if (handlers.isEmpty()) {
+                keyed.remove(key);
+            }
+            this.resolvedTypes.clear();
+        } else {
+            LOGGER.warn("Could not detach unregistered handler for: {} with: {}",
+                    eventType.getSimpleName(), key);
         }
     }
 
@@ -64,14 +144,83 @@ public class BasicEventDispatcher implements EventDispatcher {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
+    public int countRegistered(final Class<? extends Event> eventType, final SubscriptionKey key) {
+        Map<SubscriptionKey, List<HandlerLambda>> keyed = this.keyedLambdas.get(eventType);
+        if (keyed == null || !keyed.containsKey(key)) {
+            return 0;
+        } else {
+            return keyed.get(key).size();
+        }
+    }
+
+    @Override
+    public DispatcherMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    @Override
     public void dispatch(final Event event) {
-        List<HandlerLambda> handlers = this.registeredLambdas.get(event.getClass());
+        boolean timed = this.metrics.isEnabled();
+        if (timed) {
+            this.metrics.recordDispatch(event.getClass());
+        }
+
+        List<Class<? extends Event>> types =
+                this.resolvedTypes.computeIfAbsent(event.getClass(), this::attachedTypesOf);
+
+        for (Class<? extends Event> type : types) {
+            this.dispatchTo(this.registeredLambdas.get(type), event, timed);
+
+            Map<SubscriptionKey, List<HandlerLambda>> keyed = this.keyedLambdas.get(type);
+            if (keyed != null) {
+                for (SubscriptionKey.Scope scope : SubscriptionKey.Scope.ALL) {
+                    int id = scope.idOf(event);
+                    if (id != Event.BROADCAST) {
+                        this.dispatchTo(keyed.get(SubscriptionKey.of(scope, id)), event, timed);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Find the types with listeners that an event of the given class is an instance of.
+     *
+     * @param eventClass - The runtime class of an event.
+     * @return The types, nearest first.
+     */
+    private List<Class<? extends Event>> attachedTypesOf(final Class<? extends Event> eventClass) {
+        List<Class<? extends Event>> types = new ArrayList<>();
+        for (Class<? extends Event> type : EventHierarchy.typesOf(eventClass)) {
+            if (this.registeredLambdas.containsKey(type) || this.keyedLambdas.containsKey(type)) {
+                types.add(type);
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Call every handler in a list.
+     *
+     * @param handlers - The handlers, may be null.
+     * @param event    - The event to handle.
+     * @param timed    - Whether to record the latency of the handlers.
+     */
+    @SuppressWarnings("unchecked")
+    private void dispatchTo(final List<HandlerLambda> handlers, final Event event, final boolean timed) {
         if (handlers != null) {
             handlers.forEach((f) -> {
-                LOGGER.debug("Dispatching event: " + event.getClass().getSimpleName()
-                        + " to handler: " + f.getClass().getSimpleName());
-                f.handle(event);
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Dispatching event: {} to handler: {}", event.getClass().getSimpleName(),
+                            f.getClass().getSimpleName());
+                }
+                if (timed) {
+                    long start = System.nanoTime();
+                    f.handle(event);
+                    this.metrics.recordHandler(f, System.nanoTime() - start);
+                } else {
+                    f.handle(event);
+                }
             });
         }
     }
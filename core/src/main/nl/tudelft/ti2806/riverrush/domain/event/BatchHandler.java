@@ -0,0 +1,30 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+import java.util.List;
+
+/**
+ * Can be used to create lambda's that handle several events of a certain type at once.
+ *
+ * @param <T> The type of event to handle.
+ */
+@FunctionalInterface
+public interface BatchHandler<T extends Event> {
+
+    /**
+     * Handles the events, in the order they are in the list.
+     * The list is only valid during the call.
+     *
+     * @param events The events to handle, never empty
+     */
+    void handleBatch(List<? extends T> events);
+
+    /**
+     * Tells a queue in front of this handler whether to hand over the next batch now.
+     * While it is not ready the events stay queued, where they count towards the limits of the queue.
+     *
+     * @return True if the handler can take another batch, by default always.
+     */
+    default boolean isReady() {
+        return true;
+    }
+}
@@ -1,43 +1,38 @@
 package nl.tudelft.ti2806.riverrush.domain.event;
 
-import nl.tudelft.ti2806.riverrush.network.protocol.InvalidProtocolException;
-import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
-
-import java.util.Map;
+import nl.tudelft.ti2806.riverrush.codegen.WireEvent;
+import nl.tudelft.ti2806.riverrush.codegen.WireField;
 
 /**
  * An event that indicates a given boat having collided with a certain object.
  */
+@EventPriority(Priority.HIGH)
+@WireEvent
 public class BoatCollidedEvent extends AbstractTeamEvent {
 
+    @WireField
     private Direction direction;
 
-    @Override
-    public String serialize(final Protocol protocol) {
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append(super.serialize(protocol));
-        stringBuilder.append(protocol.getPairSeperator());
-        stringBuilder.append("direction").append(protocol.getKeyValueSeperator())
-                .append(this.direction.toString());
-        return stringBuilder.toString();
+    /**
+     * Create an empty event, for the codec.
+     */
+    public BoatCollidedEvent() {
     }
 
-    @Override
-    public Event deserialize(final Map<String, String> keyValuePairs) {
-        super.deserialize(keyValuePairs);
-        if (keyValuePairs.containsKey("direction")) {
-            this.direction = Direction.valueOf(keyValuePairs.get("direction").toUpperCase());
-        } else {
-            throw new InvalidProtocolException("Does not contain all the keys");
-        }
-        return this;
+    /**
+     * @param team         - The id of the team whose boat collided.
+     * @param newDirection - The side the boat was hit on.
+     */
+    public BoatCollidedEvent(final int team, final Direction newDirection) {
+        super(team);
+        this.direction = newDirection;
     }
 
     public Direction getDirection() {
         return this.direction;
     }
 
-    public void setDirection(final Direction newDirection) {
+    void setDirection(final Direction newDirection) {
         this.direction = newDirection;
     }
 }
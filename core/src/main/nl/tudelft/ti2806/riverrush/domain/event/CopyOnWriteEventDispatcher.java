@@ -0,0 +1,551 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+import com.google.inject.Singleton;
+import nl.tudelft.ti2806.riverrush.failfast.FailIf;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free event dispatcher for concurrent use.
+ * Handlers are kept in immutable snapshots that are swapped atomically per event type,
+ * so a dispatch never blocks and never sees a half-updated list of handlers.
+ * Keyed handlers get a list per animal or team id, so a dispatch only visits
+ * the handlers of the animal and team in the event. These lists sit in an array indexed by the id,
+ * so finding them does not box the id.
+ * Handlers attached to a supertype get the events of all its subtypes, the lists that apply
+ * to a runtime class are resolved once and cached until a list is added or removed.
+ * Detaching through a {@link Subscription} marks the handler dead in constant time,
+ * the dead handlers are swept out once they make up half of a list.
+ */
+@Singleton
+public class CopyOnWriteEventDispatcher implements EventDispatcher {
+
+    private static final Logger LOGGER = LogManager.getLogger(CopyOnWriteEventDispatcher.class);
+
+    /**
+     * Maps event types to their listeners.
+     */
+    private final ConcurrentMap<Class<? extends Event>, HandlerList> registeredLambdas =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Per scope, maps event types to the listeners of every animal or team id.
+     */
+    private final Map<SubscriptionKey.Scope, ConcurrentMap<Class<? extends Event>, KeyedLists>> keyedLambdas =
+            new EnumMap<>(SubscriptionKey.Scope.class);
+
+    /**
+     * Maps runtime event classes to the lists that apply to them.
+     * Replaced by an empty map instead of cleared, so a resolution that raced
+     * with a change can only end up in a map that is no longer used.
+     */
+    private volatile ConcurrentMap<Class<? extends Event>, Resolved> resolved = new ConcurrentHashMap<>();
+
+    private final DispatcherMetrics metrics = new DispatcherMetrics();
+
+    /**
+     * Create an empty dispatcher.
+     */
+    public CopyOnWriteEventDispatcher() {
+        for (SubscriptionKey.Scope scope : SubscriptionKey.Scope.ALL) {
+            this.keyedLambdas.put(scope, new ConcurrentHashMap<>());
+        }
+    }
+
+    @Override
+    public <T extends Event> Subscription attach(final Class<T> eventType,
+                                                 final HandlerLambda<? super T> handler) {
+        FailIf.isNull(eventType, handler);
+        LOGGER.debug("Attached handler: {} for: {}", handler.getClass().getSimpleName(),
+                eventType.getSimpleName());
+        Registration registration = new Registration(handler, (detached) ->
+                this.registeredLambdas.computeIfPresent(eventType,
+                        (type, handlers) -> handlers.onDetached(detached)) == null);
+        AtomicBoolean created = new AtomicBoolean();
+        this.registeredLambdas.compute(eventType, (type, current) -> {
+            HandlerList handlers = current;
+            if (handlers == null) {
+                handlers = new HandlerList();
+                created.set(true);
+            }
+            handlers.add(registration);
+            return handlers;
+        });
+        if (created.get()) {
+            this.invalidate();
+        }
+        return registration;
+    }
+
+    @Override
+    public <T extends Event> Subscription attach(final Class<T> eventType, final SubscriptionKey key,
+                                                 final HandlerLambda<? super T> handler) {
+        FailIf.isNull(eventType, key, handler);
+        final int id = key.getId();
+        if (id < 0) {
+            throw new IllegalArgumentException("Id should not be negative, got: " + id);
+        }
+        ConcurrentMap<Class<? extends Event>, KeyedLists> byType = this.keyedLambdas.get(key.getScope());
+        KeyedLists byId = byType.get(eventType);
+        if (byId == null) {
+            byId = byType.computeIfAbsent(eventType, (type) -> new KeyedLists());
+            this.invalidate();
+        }
+        LOGGER.debug("Attached handler: {} for: {} with: {}", handler.getClass().getSimpleName(),
+                eventType.getSimpleName(), key);
+        final KeyedLists lists = byId;
+        Registration registration = new Registration(handler, (detached) -> {
+            lists.onDetached(id, detached);
+            return false;
+        });
+        lists.add(id, registration);
+        return registration;
+    }
+
+    @Override
+    public <T extends Event> void detach(final Class<T> eventType,
+                                         final HandlerLambda<? super T> handlerLambda) {
+        FailIf.isNull(eventType);
+        if (detachFrom(this.registeredLambdas.get(eventType), handlerLambda)) {
+            LOGGER.debug("Detached handler for: {}", eventType.getSimpleName());
+        } else {
+            LOGGER.warn("Could not detach unregistered handler for: {}", eventType.getSimpleName());
+        }
+    }
+
+    @Override
+    public <T extends Event> void detach(final Class<T> eventType, final SubscriptionKey key,
+                                         final HandlerLambda<? super T> handlerLambda) {
+        FailIf.isNull(eventType, key);
+        KeyedLists byId = this.keyedLambdas.get(key.getScope()).get(eventType);
+        if (byId != null && detachFrom(byId.get(key.getId()), handlerLambda)) {
+            LOGGER.debug("Detached handler for: {} with: {}", eventType.getSimpleName(), key);
+        } else {
+            LOGGER.warn("Could not detach unregistered handler for: {} with: {}",
+                    eventType.getSimpleName(), key);
+        }
+    }
+
+    @Override
+    public int countRegistered(final Class<? extends Event> eventType) {
+        return count(this.registeredLambdas.get(eventType));
+    }
+
+    @Override
+    public int countRegistered(final Class<? extends Event> eventType, final SubscriptionKey key) {
+        KeyedLists byId = this.keyedLambdas.get(key.getScope()).get(eventType);
+        if (byId == null) {
+            return 0;
+        }
+        return count(byId.get(key.getId()));
+    }
+
+    @Override
+    public DispatcherMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    @Override
+    public void dispatch(final Event event) {
+        Class<? extends Event> eventType = event.getClass();
+        DispatcherMetrics timer = null;
+        if (this.metrics.isEnabled()) {
+            timer = this.metrics;
+            timer.recordDispatch(eventType);
+        }
+
+        ConcurrentMap<Class<? extends Event>, Resolved> cache = this.resolved;
+        Resolved lists = cache.get(eventType);
+        if (lists == null) {
+            lists = this.resolve(eventType);
+            cache.putIfAbsent(eventType, lists);
+        }
+
+        for (HandlerList handlers : lists.unkeyed) {
+            dispatchTo(handlers, event, timer);
+        }
+
+        for (SubscriptionKey.Scope scope : SubscriptionKey.Scope.ALL) {
+            int id = scope.idOf(event);
+            if (id != Event.BROADCAST) {
+                for (KeyedLists byId : lists.keyed.get(scope)) {
+                    dispatchTo(byId.get(id), event, timer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collect the lists of every type that an event of the given class is an instance of.
+     *
+     * @param eventClass - The runtime class of an event.
+     * @return The lists, nearest type first.
+     */
+    private Resolved resolve(final Class<? extends Event> eventClass) {
+        Resolved lists = new Resolved();
+        for (Class<? extends Event> type : EventHierarchy.typesOf(eventClass)) {
+            HandlerList handlers = this.registeredLambdas.get(type);
+            if (handlers != null) {
+                lists.unkeyed.add(handlers);
+            }
+            for (SubscriptionKey.Scope scope : SubscriptionKey.Scope.ALL) {
+                KeyedLists byId = this.keyedLambdas.get(scope).get(type);
+                if (byId != null) {
+                    lists.keyed.get(scope).add(byId);
+                }
+            }
+        }
+        return lists;
+    }
+
+    /**
+     * Forget the resolved lists, called after a list was added or removed.
+     */
+    private void invalidate() {
+        this.resolved = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Call every attached handler in a list.
+     *
+     * @param handlers - The handlers, may be null.
+     * @param event    - The event to handle.
+     * @param timer    - The metrics to record the handler latencies in, null when disabled.
+     */
+    private static void dispatchTo(final HandlerList handlers, final Event event,
+                                   final DispatcherMetrics timer) {
+        if (handlers != null) {
+            Snapshot snapshot = handlers.snapshot;
+            Registration[] registrations = snapshot.registrations;
+            for (int i = 0; i < snapshot.size; i++) {
+                Registration registration = registrations[i];
+                if (!registration.isAttached()) {
+                    continue;
+                }
+                if (timer == null) {
+                    registration.handler.handle(event);
+                } else {
+                    long start = System.nanoTime();
+                    registration.handler.handle(event);
+                    timer.recordHandler(registration.handler, System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    /**
+     * Count the attached handlers in a list.
+     *
+     * @param handlers - The handlers, may be null.
+     * @return The amount of handlers.
+     */
+    private static int count(final HandlerList handlers) {
+        if (handlers == null) {
+            return 0;
+        }
+
+        Snapshot snapshot = handlers.snapshot;
+        int count = 0;
+        for (int i = 0; i < snapshot.size; i++) {
+            if (snapshot.registrations[i].isAttached()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Detach the first attached registration of a handler.
+     * This has to search the list, {@link Subscription#detach()} does not.
+     *
+     * @param handlers - The handlers to search, may be null.
+     * @param handler  - The handler to detach.
+     * @return True if the handler was found.
+     */
+    private static boolean detachFrom(final HandlerList handlers, final HandlerLambda<?> handler) {
+        if (handlers == null) {
+            return false;
+        }
+
+        Snapshot snapshot = handlers.snapshot;
+        for (int i = 0; i < snapshot.size; i++) {
+            Registration registration = snapshot.registrations[i];
+            if (registration.handler.equals(handler) && registration.markDetached()) {
+                registration.sweep();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The handlers of one event type, or one event type and id.
+     * Only changed inside {@link ConcurrentMap#compute} or under the lock of {@link KeyedLists},
+     * which serialize the writers of a list. Readers only look at the volatile snapshot.
+     */
+    private static final class HandlerList {
+
+        private static final int INITIAL_CAPACITY = 4;
+
+        /**
+         * The registrations that a dispatch should visit.
+         */
+        private volatile Snapshot snapshot = new Snapshot(new Registration[INITIAL_CAPACITY], 0);
+
+        /**
+         * The amount of swept registrations in the snapshot.
+         */
+        private int detached;
+
+        /**
+         * Append a registration. Appends write behind the end of the current snapshot,
+         * which is invisible to running dispatches, so the array only has to be copied when full.
+         *
+         * @param registration - The registration to add.
+         */
+        void add(final Registration registration) {
+            Snapshot current = this.snapshot;
+            Registration[] registrations = current.registrations;
+            int size = current.size;
+            if (size == registrations.length) {
+                registrations = this.compact(current, size + 1);
+                size -= this.detached;
+                this.detached = 0;
+            }
+            registrations[size] = registration;
+            this.snapshot = new Snapshot(registrations, size + 1);
+        }
+
+        /**
+         * Record that one registration got detached, and sweep the detached ones
+         * once they make up half of the list.
+         *
+         * @param registration - The registration that got detached.
+         * @return This list, or null when no registrations are left.
+         */
+        HandlerList onDetached(final Registration registration) {
+            registration.swept = true;
+            this.detached++;
+            Snapshot current = this.snapshot;
+            if (this.detached == current.size) {
+                return null;
+            }
+            if (this.detached * 2 >= current.size) {
+                Registration[] registrations = this.compact(current, current.size - this.detached);
+                this.snapshot = new Snapshot(registrations, current.size - this.detached);
+                this.detached = 0;
+            }
+            return this;
+        }
+
+        /**
+         * Copy the registrations that were not swept yet into a fresh array.
+         * A detached registration stays until its own sweep, so the count of swept ones stays exact.
+         *
+         * @param current - The snapshot to copy.
+         * @param needed  - The amount of registrations the array should fit.
+         * @return The new array, running dispatches keep using the old one.
+         */
+        private Registration[] compact(final Snapshot current, final int needed) {
+            Registration[] result = new Registration[Math.max(INITIAL_CAPACITY, needed * 2)];
+            int index = 0;
+            for (int i = 0; i < current.size; i++) {
+                if (!current.registrations[i].swept) {
+                    result[index++] = current.registrations[i];
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The lists of one event type, indexed by animal or team id.
+     * Ids are handed out from zero up, so the array stays about as large as the amount of players.
+     * Only writers lock, readers find a list with a single volatile read.
+     */
+    private static final class KeyedLists {
+
+        private static final int INITIAL_IDS = 16;
+
+        /**
+         * The list of every id, replaced by a larger copy when an id does not fit.
+         */
+        private volatile AtomicReferenceArray<HandlerList> lists = new AtomicReferenceArray<>(INITIAL_IDS);
+
+        /**
+         * @param id - An animal or team id.
+         * @return The list of the id, null if it has none.
+         */
+        HandlerList get(final int id) {
+            AtomicReferenceArray<HandlerList> current = this.lists;
+            if (id < 0 || id >= current.length()) {
+                return null;
+            }
+            return current.get(id);
+        }
+
+        /**
+         * Add a registration to the list of an id, creating the list when needed.
+         *
+         * @param id           - The id, not negative.
+         * @param registration - The registration to add.
+         */
+        synchronized void add(final int id, final Registration registration) {
+            AtomicReferenceArray<HandlerList> current = this.lists;
+            if (id >= current.length()) {
+                AtomicReferenceArray<HandlerList> grown =
+                        new AtomicReferenceArray<>(Math.max(current.length() * 2, id + 1));
+                for (int i = 0; i < current.length(); i++) {
+                    grown.set(i, current.get(i));
+                }
+                this.lists = grown;
+                current = grown;
+            }
+            HandlerList handlers = current.get(id);
+            if (handlers == null) {
+                handlers = new HandlerList();
+                current.set(id, handlers);
+            }
+            handlers.add(registration);
+        }
+
+        /**
+         * Let the list of an id know one of its registrations got detached.
+         *
+         * @param id           - The id.
+         * @param registration - The registration that got detached.
+         */
+        synchronized void onDetached(final int id, final Registration registration) {
+            AtomicReferenceArray<HandlerList> current = this.lists;
+            HandlerList handlers = current.get(id);
+            if (handlers != null && handlers.onDetached(registration) == null) {
+                current.set(id, null);
+            }
+        }
+    }
+
+    /**
+     * The lists that apply to one runtime event class.
+     */
+    private static final class Resolved {
+
+        private final List<HandlerList> unkeyed = new ArrayList<>();
+        private final Map<SubscriptionKey.Scope, List<KeyedLists>> keyed =
+                new EnumMap<>(SubscriptionKey.Scope.class);
+
+        /**
+         * Create an empty resolution.
+         */
+        Resolved() {
+            for (SubscriptionKey.Scope scope : SubscriptionKey.Scope.ALL) {
+                this.keyed.put(scope, new ArrayList<>());
+            }
+        }
+    }
+
+    /**
+     * An immutable view of a list: the first size entries of the array.
+     * Entries behind size may be filled in later, but never before.
+     */
+    private static final class Snapshot {
+
+        private final Registration[] registrations;
+        private final int size;
+
+        /**
+         * Create a view.
+         *
+         * @param someRegistrations - The array.
+         * @param aSize             - The amount of entries in use.
+         */
+        Snapshot(final Registration[] someRegistrations, final int aSize) {
+            this.registrations = someRegistrations;
+            this.size = aSize;
+        }
+    }
+
+    /**
+     * Whatever holds the list of a registration.
+     */
+    @FunctionalInterface
+    private interface ListOwner {
+
+        /**
+         * Let the list of a registration know it got detached.
+         *
+         * @param registration - The registration that got detached.
+         * @return True if the list was removed and the resolved lists have to be forgotten.
+         */
+        boolean onDetached(Registration registration);
+    }
+
+    /**
+     * One attached handler, and the token to detach it.
+     */
+    private final class Registration implements Subscription {
+
+        private final HandlerLambda<Event> handler;
+        private final ListOwner owner;
+        private final AtomicBoolean attached = new AtomicBoolean(true);
+
+        /**
+         * Whether the list has counted this detached registration, only used by the writers of the list.
+         */
+        private boolean swept;
+
+        /**
+         * Create a registration.
+         * The handler is only called with events of the type it was attached for,
+         * so it can be kept as a handler of any event.
+         *
+         * @param aHandler - The handler.
+         * @param anOwner  - What holds the list of this registration.
+         */
+        @SuppressWarnings("unchecked")
+        Registration(final HandlerLambda<?> aHandler, final ListOwner anOwner) {
+            this.handler = (HandlerLambda<Event>) aHandler;
+            this.owner = anOwner;
+        }
+
+        @Override
+        public void detach() {
+            if (this.markDetached()) {
+                this.sweep();
+            }
+        }
+
+        /**
+         * @return True if the handler is still attached.
+         */
+        boolean isAttached() {
+            return this.attached.get();
+        }
+
+        /**
+         * Stop the handler from being called.
+         *
+         * @return True if this call detached it, false if it already was.
+         */
+        boolean markDetached() {
+            return this.attached.compareAndSet(true, false);
+        }
+
+        /**
+         * Let the list know one of its registrations got detached.
+         */
+        void sweep() {
+            if (this.owner.onDetached(this)) {
+                CopyOnWriteEventDispatcher.this.invalidate();
+            }
+        }
+    }
+}
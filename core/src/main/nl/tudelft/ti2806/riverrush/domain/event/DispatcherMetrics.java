@@ -0,0 +1,126 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime statistics of an {@link EventDispatcher}: how often each event type is dispatched
+ * and how long each handler takes.
+ * Handlers are grouped by their class, so all lambdas created at the same place share one histogram.
+ * Disabled by default, a disabled dispatcher only pays for reading the flag once per dispatch.
+ */
+public final class DispatcherMetrics {
+
+    private volatile boolean enabled;
+
+    private final ConcurrentMap<Class<? extends Event>, LongAdder> dispatchCounts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, LatencyHistogram> handlerLatencies = new ConcurrentHashMap<>();
+
+    /**
+     * @return True if the dispatcher should record statistics.
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Start or stop recording. The statistics recorded so far are kept.
+     *
+     * @param isEnabled - Whether to record.
+     */
+    public void setEnabled(final boolean isEnabled) {
+        this.enabled = isEnabled;
+    }
+
+    /**
+     * Count one dispatch of an event.
+     *
+     * @param eventType - The runtime class of the event.
+     */
+    public void recordDispatch(final Class<? extends Event> eventType) {
+        this.dispatchCounts.computeIfAbsent(eventType, (type) -> new LongAdder()).increment();
+    }
+
+    /**
+     * Record how long one call of a handler took.
+     *
+     * @param handler - The handler that was called.
+     * @param nanos   - The time it took in nanoseconds.
+     */
+    public void recordHandler(final HandlerLambda<?> handler, final long nanos) {
+        this.handlerLatencies.computeIfAbsent(handler.getClass(), (type) -> new LatencyHistogram())
+                .record(nanos);
+    }
+
+    /**
+     * @param eventType - The runtime class of an event.
+     * @return How often an event of the type was dispatched.
+     */
+    public long getDispatchCount(final Class<? extends Event> eventType) {
+        LongAdder count = this.dispatchCounts.get(eventType);
+        if (count == null) {
+            return 0;
+        }
+        return count.sum();
+    }
+
+    /**
+     * @return A copy of the dispatch count of every event type that was dispatched.
+     */
+    public Map<Class<? extends Event>, Long> getDispatchCounts() {
+        Map<Class<? extends Event>, Long> counts = new HashMap<>();
+        this.dispatchCounts.forEach((type, count) -> counts.put(type, count.sum()));
+        return counts;
+    }
+
+    /**
+     * @param handlerClass - The class of a handler.
+     * @return The latencies of the handlers of the class, null if none was called.
+     */
+    public LatencyHistogram getHandlerLatency(final Class<?> handlerClass) {
+        return this.handlerLatencies.get(handlerClass);
+    }
+
+    /**
+     * @return The amount of handler calls that were recorded.
+     */
+    public long getHandlerCallCount() {
+        long count = 0;
+        for (LatencyHistogram histogram : this.handlerLatencies.values()) {
+            count += histogram.getCount();
+        }
+        return count;
+    }
+
+    /**
+     * Find the handlers with the highest 99th percentile latency.
+     *
+     * @param limit - The most handlers to return.
+     * @return The classes of the handlers, slowest first.
+     */
+    public List<Class<?>> getSlowestHandlers(final int limit) {
+        final double percentile = 99;
+        Map<Class<?>, Long> latencies = new HashMap<>();
+        this.handlerLatencies.forEach((type, histogram) ->
+                latencies.put(type, histogram.getValueAtPercentile(percentile)));
+
+        List<Class<?>> handlers = new ArrayList<>(latencies.keySet());
+        Collections.sort(handlers, Comparator.comparing(latencies::get, Comparator.reverseOrder()));
+        return handlers.subList(0, Math.min(limit, handlers.size()));
+    }
+
+    /**
+     * Forget all statistics.
+     */
+    public void reset() {
+        this.dispatchCounts.clear();
+        this.handlerLatencies.clear();
+    }
+}
@@ -1,21 +1,43 @@
 package nl.tudelft.ti2806.riverrush.domain.event;
 
 
+import nl.tudelft.ti2806.riverrush.network.protocol.EventCodec;
+import nl.tudelft.ti2806.riverrush.network.protocol.EventCodecs;
 import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 /**
  * Domain event.
+ * An event should not change once it is dispatched, it may be handled by several threads and
+ * be sent to several connections. Its fields are given to its constructor, only its codec and
+ * its own package set them afterwards. Use {@link #copy()} or a wither such as {@link #withAnimal}
+ * to get an event with other fields.
  */
 public interface Event {
+
+    /**
+     * The animal or team of an event that is not about a single one, it concerns everyone.
+     */
+    int BROADCAST = -1;
+
     /**
      * Serialize the current event to it's string representation.
+     * Wire events are serialized by their generated {@link EventCodec}, other events have no fields.
      *
      * @param protocol - The protocol to use.
      * @return - A mesage that can be sent over sockets.
      */
-    String serialize(Protocol protocol);
+    default String serialize(final Protocol protocol) {
+        EventCodec<Event> codec = EventCodecs.of(this);
+        if (codec == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder();
+        codec.serialize(this, protocol, out);
+        return out.toString();
+    }
 
     /**
      * From key-value pairs, initialize this event's fields with the appropriate
@@ -24,19 +46,68 @@ public interface Event {
      * @param keyValuePairs - A map containing a value for each field of this Event.
      * @return The fully initialized event, ready for dispatch.
      */
-    Event deserialize(Map<String, String> keyValuePairs);
+    default Event deserialize(final Map<String, String> keyValuePairs) {
+        EventCodec<Event> codec = EventCodecs.of(this);
+        if (codec != null) {
+            codec.deserialize(this, keyValuePairs);
+        }
+        return this;
+    }
+
+    /**
+     * Write this event's fields to a binary frame, in a fixed order with the encodings of
+     * {@link nl.tudelft.ti2806.riverrush.network.protocol.BinaryFields}.
+     * Writes the same fields as {@link #serialize(Protocol)}, events without fields write nothing.
+     *
+     * @param out - The frame to write to.
+     */
+    default void encode(final ByteBuffer out) {
+        EventCodec<Event> codec = EventCodecs.of(this);
+        if (codec != null) {
+            codec.encode(this, out);
+        }
+    }
+
+    /**
+     * Initialize this event's fields from a binary frame written by {@link #encode(ByteBuffer)}.
+     *
+     * @param in - The frame to read from.
+     * @return The fully initialized event, ready for dispatch.
+     */
+    default Event decode(final ByteBuffer in) {
+        EventCodec<Event> codec = EventCodecs.of(this);
+        if (codec != null) {
+            codec.decode(this, in);
+        }
+        return this;
+    }
 
     /**
-     * Set animal on event.
+     * Copy this event, wire events are copied by their generated {@link EventCodec}.
+     * The code generator refuses an event class without a codec that does not override this.
      *
-     * @param animal The event
+     * @return A new event with the same fields.
+     * @throws UnsupportedOperationException when the event has no codec and does not copy itself.
+     */
+    default Event copy() {
+        EventCodec<Event> codec = EventCodecs.of(this);
+        if (codec == null) {
+            throw new UnsupportedOperationException("Can not copy " + this.getClass().getSimpleName());
+        }
+        return codec.copy(this);
+    }
+
+    /**
+     * @param animal - The animal.
+     * @return A copy of this event with the animal, this event is left as it is.
+     * An event that is not about a single animal ignores it.
      */
-    void setAnimal(Integer animal);
+    Event withAnimal(int animal);
 
     /**
      * Get the animal from the event.
      *
-     * @return The animal
+     * @return The animal, {@link #BROADCAST} if the event is not about a single animal.
      */
-    Integer getAnimal();
+    int getAnimal();
 }
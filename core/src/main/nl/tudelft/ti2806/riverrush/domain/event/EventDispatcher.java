@@ -8,15 +8,32 @@ public interface EventDispatcher {
     /**
      * Add a listener to an {@link Event} type.
      * Multiple registeredListeners per event are possible.
+     * The type may be a superclass or interface, the listener then gets the events of all its subtypes.
      *
      * @param eventType     - The runtime class to add a listener for.
      * @param handlerLambda - The listener itself.
      * @param <T>           - The event type to register.
+     * @return A token that detaches the listener again.
      */
-    <T extends Event> void attach(Class<T> eventType, HandlerLambda<? super T> handlerLambda);
+    <T extends Event> Subscription attach(Class<T> eventType, HandlerLambda<? super T> handlerLambda);
+
+    /**
+     * Add a listener to an {@link Event} type for a single animal or team.
+     * The listener is only called for events that carry the id of the key,
+     * next to the listeners that were attached without a key.
+     *
+     * @param eventType     - The runtime class to add a listener for.
+     * @param key           - The animal or team to listen to.
+     * @param handlerLambda - The listener itself.
+     * @param <T>           - The event type to register.
+     * @return A token that detaches the listener again.
+     */
+    <T extends Event> Subscription attach(Class<T> eventType, SubscriptionKey key,
+                                          HandlerLambda<? super T> handlerLambda);
 
     /**
      * Remove a listener to an {@link Event} type.
+     * Prefer {@link Subscription#detach()}, which does not have to search for the listener.
      *
      * @param eventType     - The runtime class to add a listener for.
      * @param handlerLambda - The listener itself.
@@ -24,6 +41,17 @@ public interface EventDispatcher {
      */
     <T extends Event> void detach(Class<T> eventType, HandlerLambda<? super T> handlerLambda);
 
+    /**
+     * Remove a listener that was attached with a key.
+     *
+     * @param eventType     - The runtime class to remove a listener for.
+     * @param key           - The animal or team the listener was attached to.
+     * @param handlerLambda - The listener itself.
+     * @param <T>           - The event type to register.
+     */
+    <T extends Event> void detach(Class<T> eventType, SubscriptionKey key,
+                                  HandlerLambda<? super T> handlerLambda);
+
     /**
      * Mainly used for testing.
      * Check the amount of registered {@link HandlerLambda}s for a given {@link Event} type.
@@ -33,9 +61,26 @@ public interface EventDispatcher {
      */
     int countRegistered(Class<? extends Event> eventType);
 
+    /**
+     * Mainly used for testing.
+     * Check the amount of {@link HandlerLambda}s registered with a key for a given {@link Event} type.
+     *
+     * @param eventType - The type of event to check.
+     * @param key       - The animal or team to check.
+     * @return The amount of registered listeners.
+     */
+    int countRegistered(Class<? extends Event> eventType, SubscriptionKey key);
+
+    /**
+     * Get the statistics of this dispatcher, they are only recorded once enabled.
+     *
+     * @return The statistics.
+     */
+    DispatcherMetrics getMetrics();
+
 
     /**
-     * Dispatch one event to registered listeners.
+     * Dispatch one event to the listeners of its runtime class and of all its supertypes.
      *
      * @param event - The single event.
      */
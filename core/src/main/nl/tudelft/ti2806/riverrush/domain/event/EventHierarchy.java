@@ -0,0 +1,67 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Resolves the event types a listener can be attached to for a runtime event class.
+ * The runtime class comes first, then its superclasses and interfaces, nearest first.
+ */
+final class EventHierarchy {
+
+    /**
+     * The resolved types, computed once per runtime class.
+     */
+    private static final ClassValue<List<Class<? extends Event>>> TYPES =
+            new ClassValue<List<Class<? extends Event>>>() {
+                @Override
+                protected List<Class<? extends Event>> computeValue(final Class<?> type) {
+                    return resolve(type);
+                }
+            };
+
+    /**
+     * Utility class.
+     */
+    private EventHierarchy() {
+    }
+
+    /**
+     * Get every event type that an event of the given class is an instance of.
+     *
+     * @param eventType - The runtime class of an event.
+     * @return The event types, starting with the runtime class itself.
+     */
+    static List<Class<? extends Event>> typesOf(final Class<? extends Event> eventType) {
+        return TYPES.get(eventType);
+    }
+
+    /**
+     * Walk the supertypes breadth first, so nearer types come first.
+     *
+     * @param eventType - The runtime class.
+     * @return The event types.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Class<? extends Event>> resolve(final Class<?> eventType) {
+        Set<Class<? extends Event>> types = new LinkedHashSet<>();
+        Deque<Class<?>> todo = new ArrayDeque<>();
+        todo.add(eventType);
+
+        while (!todo.isEmpty()) {
+            Class<?> type = todo.poll();
+            if (Event.class.isAssignableFrom(type) && types.add((Class<? extends Event>) type)) {
+                if (type.getSuperclass() != null) {
+                    todo.add(type.getSuperclass());
+                }
+                Collections.addAll(todo, type.getInterfaces());
+            }
+        }
+        return Collections.unmodifiableList(new ArrayList<>(types));
+    }
+}
@@ -0,0 +1,21 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the {@link Priority} of an event type, subclasses inherit it.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface EventPriority {
+
+    /**
+     * @return The priority of the events of the type.
+     */
+    Priority value();
+}
@@ -1,17 +1,19 @@
 package nl.tudelft.ti2806.riverrush.domain.event;
 
-import nl.tudelft.ti2806.riverrush.network.protocol.InvalidProtocolException;
-import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
-
-import java.util.Map;
+import nl.tudelft.ti2806.riverrush.codegen.WireEvent;
+import nl.tudelft.ti2806.riverrush.codegen.WireField;
 
 /**
  * Event raised when there are enough players in the game.
  */
+@EventPriority(Priority.HIGH)
+@WireEvent
 public class GameAboutToStartEvent extends AbstractAnimalEvent {
 
     private static final int FIVE_SECONDS = 5;
-    private Integer seconds;
+
+    @WireField
+    private int seconds;
 
     /**
      * Constructs the event with a default waiting time of 5 seconds.
@@ -20,22 +22,13 @@ public class GameAboutToStartEvent extends AbstractAnimalEvent {
         this.seconds = FIVE_SECONDS;
     }
 
-    @Override
-    public String serialize(final Protocol protocol) {
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append("seconds").append(protocol.getKeyValueSeperator())
-                .append(this.seconds.toString());
-        return stringBuilder.toString();
-    }
-
-    @Override
-    public Event deserialize(final Map<String, String> keyValuePairs) {
-        if (keyValuePairs.containsKey("seconds")) {
-            this.seconds = Integer.parseInt(keyValuePairs.get("seconds"));
-        } else {
-            throw new InvalidProtocolException("Does not contain all the keys");
-        }
-        return this;
+    /**
+     * Constructs the event with another waiting time.
+     *
+     * @param newSeconds Number of seconds
+     */
+    public GameAboutToStartEvent(final int newSeconds) {
+        this.seconds = newSeconds;
     }
 
     /**
@@ -52,7 +45,7 @@ public class GameAboutToStartEvent extends AbstractAnimalEvent {
      *
      * @param newSeconds Number of seconds
      */
-    public void setSeconds(final int newSeconds) {
+    void setSeconds(final int newSeconds) {
         this.seconds = newSeconds;
     }
 }
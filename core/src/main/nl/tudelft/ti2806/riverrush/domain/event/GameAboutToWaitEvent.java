@@ -1,34 +1,33 @@
 package nl.tudelft.ti2806.riverrush.domain.event;
 
-import nl.tudelft.ti2806.riverrush.network.protocol.InvalidProtocolException;
-import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
-
-import java.util.Map;
+import nl.tudelft.ti2806.riverrush.codegen.WireEvent;
+import nl.tudelft.ti2806.riverrush.codegen.WireField;
 
 /**
  * Event raised when the game is about to wait for players to join.
  * Only used after game finished event
  */
+@EventPriority(Priority.HIGH)
+@WireEvent
 public class GameAboutToWaitEvent extends AbstractAnimalEvent {
 
+    @WireField("time")
     private int timeTillWait;
 
-    @Override
-    public String serialize(final Protocol protocol) {
-        return super.serialize(protocol) + "time" + protocol.getKeyValueSeperator() + timeTillWait;
+    /**
+     * Create an empty event, for the codec.
+     */
+    public GameAboutToWaitEvent() {
     }
 
-    @Override
-    public Event deserialize(final Map<String, String> keyValuePairs) {
-        if (keyValuePairs.containsKey("time")) {
-            timeTillWait = Integer.parseInt(keyValuePairs.get("time"));
-        } else {
-            throw new InvalidProtocolException("Does not contain all the keys");
-        }
-        return super.deserialize(keyValuePairs);
+    /**
+     * @param time - The seconds until the game waits for players again.
+     */
+    public GameAboutToWaitEvent(final int time) {
+        this.timeTillWait = time;
     }
 
-    public void setTimeTillWait(final int time) {
+    void setTimeTillWait(final int time) {
         this.timeTillWait = time;
     }
 
@@ -1,21 +1,24 @@
 package nl.tudelft.ti2806.riverrush.domain.event;
 
-import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
-
-import java.util.Map;
+import nl.tudelft.ti2806.riverrush.codegen.WireEvent;
 
 /**
  * Event raised when one of the teams wins.
  */
+@EventPriority(Priority.HIGH)
+@WireEvent
 public class GameFinishedEvent extends AbstractTeamEvent {
 
-    @Override
-    public String serialize(final Protocol protocol) {
-        return super.serialize(protocol);
+    /**
+     * Create an empty event, for the codec.
+     */
+    public GameFinishedEvent() {
     }
 
-    @Override
-    public Event deserialize(final Map<String, String> keyValuePairs) {
-        return super.deserialize(keyValuePairs);
+    /**
+     * @param team - The id of the team that won.
+     */
+    public GameFinishedEvent(final int team) {
+        super(team);
     }
 }
@@ -1,21 +1,11 @@
 package nl.tudelft.ti2806.riverrush.domain.event;
 
-import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
-
-import java.util.Map;
+import nl.tudelft.ti2806.riverrush.codegen.WireEvent;
 
 /**
  * Event raised when the game stops.
  */
+@EventPriority(Priority.HIGH)
+@WireEvent
 public class GameStoppedEvent extends AbstractAnimalEvent {
-
-    @Override
-    public String serialize(final Protocol protocol) {
-        return super.serialize(protocol);
-    }
-
-    @Override
-    public Event deserialize(final Map<String, String> keyValuePairs) {
-        return super.deserialize(keyValuePairs);
-    }
 }
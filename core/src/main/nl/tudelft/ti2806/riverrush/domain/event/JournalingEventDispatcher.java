@@ -0,0 +1,93 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+import nl.tudelft.ti2806.riverrush.failfast.FailIf;
+import nl.tudelft.ti2806.riverrush.journal.EventJournal;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+
+/**
+ * Event dispatcher that appends every event to an {@link EventJournal} before passing it on.
+ * A journal that fails is closed, the dispatcher then keeps passing events on without it.
+ */
+public class JournalingEventDispatcher implements EventDispatcher {
+
+    private static final Logger LOGGER = LogManager.getLogger(JournalingEventDispatcher.class);
+
+    private final EventDispatcher delegate;
+    private final EventJournal journal;
+
+    /**
+     * Create a journaling dispatcher.
+     *
+     * @param aDelegate - The dispatcher to pass the events on to.
+     * @param aJournal  - The journal to append the events to.
+     */
+    public JournalingEventDispatcher(final EventDispatcher aDelegate, final EventJournal aJournal) {
+        FailIf.isNull(aDelegate, aJournal);
+        this.delegate = aDelegate;
+        this.journal = aJournal;
+    }
+
+    @Override
+    public <T extends Event> Subscription attach(final Class<T> eventType,
+                                                 final HandlerLambda<? super T> handlerLambda) {
+        return this.delegate.attach(eventType, handlerLambda);
+    }
+
+    @Override
+    public <T extends Event> Subscription attach(final Class<T> eventType, final SubscriptionKey key,
+                                                 final HandlerLambda<? super T> handlerLambda) {
+        return this.delegate.attach(eventType, key, handlerLambda);
+    }
+
+    @Override
+    public <T extends Event> void detach(final Class<T> eventType,
+                                         final HandlerLambda<? super T> handlerLambda) {
+        this.delegate.detach(eventType, handlerLambda);
+    }
+
+    @Override
+    public <T extends Event> void detach(final Class<T> eventType, final SubscriptionKey key,
+                                         final HandlerLambda<? super T> handlerLambda) {
+        this.delegate.detach(eventType, key, handlerLambda);
+    }
+
+    @Override
+    public int countRegistered(final Class<? extends Event> eventType) {
+        return this.delegate.countRegistered(eventType);
+    }
+
+    @Override
+    public int countRegistered(final Class<? extends Event> eventType, final SubscriptionKey key) {
+        return this.delegate.countRegistered(eventType, key);
+    }
+
+    @Override
+    public DispatcherMetrics getMetrics() {
+        return this.delegate.getMetrics();
+    }
+
+    @Override
+    public void dispatch(final Event event) {
+        try {
+            this.journal.append(event);
+        } catch (IOException e) {
+            LOGGER.error("Journal failed, no longer recording", e);
+            this.close();
+        }
+        this.delegate.dispatch(event);
+    }
+
+    /**
+     * Close the journal, later events are no longer recorded.
+     */
+    public void close() {
+        try {
+            this.journal.close();
+        } catch (IOException e) {
+            LOGGER.error("Could not close the journal", e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent histogram of latencies in nanoseconds with log-linear buckets.
+ * Every power of two is split in {@link #SUB_BUCKETS} linear buckets, like HdrHistogram does,
+ * so a recorded value is off by at most about three percent at any magnitude.
+ * Values below {@link #SUB_BUCKETS} are kept exactly.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * The amount of buckets per power of two.
+     */
+    public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The highest power of two that gets its own buckets, about 2.4 hours in nanoseconds.
+     * Longer latencies are counted in the last bucket.
+     */
+    private static final int MAX_MAGNITUDE = 43;
+
+    private static final int BUCKET_COUNT = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private static final double PERCENT = 100.0;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Record one latency.
+     *
+     * @param nanos - The latency in nanoseconds, negative values count as zero.
+     */
+    public void record(final long nanos) {
+        long value = Math.max(0, nanos);
+        this.counts.incrementAndGet(indexOf(value));
+        this.totalCount.incrementAndGet();
+        this.totalNanos.addAndGet(value);
+        this.maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * @return The amount of recorded latencies.
+     */
+    public long getCount() {
+        return this.totalCount.get();
+    }
+
+    /**
+     * @return The highest recorded latency in nanoseconds.
+     */
+    public long getMax() {
+        return this.maxNanos.get();
+    }
+
+    /**
+     * @return The average recorded latency in nanoseconds.
+     */
+    public double getMean() {
+        long count = this.totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        return (double) this.totalNanos.get() / count;
+    }
+
+    /**
+     * Get the latency that the given percentage of the recorded latencies is at or below.
+     *
+     * @param percentile - The percentage, from 0 to 100.
+     * @return The highest latency in the bucket of the percentile, in nanoseconds.
+     */
+    public long getValueAtPercentile(final double percentile) {
+        long count = this.totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, PERCENT) / PERCENT * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += this.counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), this.maxNanos.get());
+            }
+        }
+        return this.maxNanos.get();
+    }
+
+    /**
+     * Forget all recorded latencies.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            this.counts.set(i, 0);
+        }
+        this.totalCount.set(0);
+        this.totalNanos.set(0);
+        this.maxNanos.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + this.getCount() + " mean=" + Math.round(this.getMean())
+                + "ns p99=" + this.getValueAtPercentile(99) + "ns max=" + this.getMax() + "ns";
+    }
+
+    /**
+     * @param value - A latency of zero or more.
+     * @return The bucket of the latency.
+     */
+    static int indexOf(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int magnitude = Math.min(Long.SIZE - 1 - Long.numberOfLeadingZeros(value), MAX_MAGNITUDE);
+        if (magnitude == MAX_MAGNITUDE && value >>> MAX_MAGNITUDE > 1) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @param index - A bucket.
+     * @return The highest latency that is counted in the bucket.
+     */
+    static long highestValueOf(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        int magnitude = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        int shift = magnitude - SUB_BUCKET_BITS;
+        return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
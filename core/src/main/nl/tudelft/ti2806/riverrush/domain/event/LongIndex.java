@@ -0,0 +1,162 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+import java.util.Arrays;
+
+/**
+ * Map from primitive keys to primitive values, so neither is boxed.
+ * Open addressing with linear probing, the table doubles when it gets half full.
+ * Removing shifts the entries after the removed one back, so no tombstones pile up.
+ */
+final class LongIndex {
+
+    /**
+     * The key that can not be stored, and the value {@link #get(long)} returns for a missing key.
+     */
+    static final long EMPTY = -1;
+
+    private static final int INITIAL_SIZE = 16;
+
+    /**
+     * Spreads keys that only differ in a few bits over the table.
+     */
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    /**
+     * Create an empty index.
+     */
+    LongIndex() {
+        this.keys = emptyKeys(INITIAL_SIZE);
+        this.values = new long[INITIAL_SIZE];
+    }
+
+    /**
+     * @param key - A key.
+     * @return The value of the key, {@link #EMPTY} if it has none.
+     */
+    long get(final long key) {
+        int mask = this.keys.length - 1;
+        for (int i = slot(key, mask); this.keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (this.keys[i] == key) {
+                return this.values[i];
+            }
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Store the value of a key, replacing the one it had.
+     *
+     * @param key   - The key, not {@link #EMPTY}.
+     * @param value - The value.
+     */
+    void put(final long key, final long value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key should not be " + EMPTY);
+        }
+        if ((this.size + 1) * 2 > this.keys.length) {
+            this.grow();
+        }
+        int mask = this.keys.length - 1;
+        int i = slot(key, mask);
+        while (this.keys[i] != EMPTY && this.keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (this.keys[i] == EMPTY) {
+            this.size++;
+        }
+        this.keys[i] = key;
+        this.values[i] = value;
+    }
+
+    /**
+     * Forget a key.
+     *
+     * @param key - The key.
+     * @return True if the key had a value.
+     */
+    boolean remove(final long key) {
+        int mask = this.keys.length - 1;
+        int i = slot(key, mask);
+        while (this.keys[i] != key) {
+            if (this.keys[i] == EMPTY) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+
+        int gap = i;
+        for (int j = (i + 1) & mask; this.keys[j] != EMPTY; j = (j + 1) & mask) {
+            int home = slot(this.keys[j], mask);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                this.keys[gap] = this.keys[j];
+                this.values[gap] = this.values[j];
+                gap = j;
+            }
+        }
+        this.keys[gap] = EMPTY;
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Forget every key.
+     */
+    void clear() {
+        if (this.size > 0) {
+            Arrays.fill(this.keys, EMPTY);
+            this.size = 0;
+        }
+    }
+
+    /**
+     * @return The amount of keys with a value.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Move the entries into a table twice as large.
+     */
+    private void grow() {
+        long[] oldKeys = this.keys;
+        long[] oldValues = this.values;
+        this.keys = emptyKeys(oldKeys.length * 2);
+        this.values = new long[oldKeys.length * 2];
+        int mask = this.keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int j = slot(oldKeys[i], mask);
+                while (this.keys[j] != EMPTY) {
+                    j = (j + 1) & mask;
+                }
+                this.keys[j] = oldKeys[i];
+                this.values[j] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * @param length - The length of the table.
+     * @return A table without keys.
+     */
+    private static long[] emptyKeys(final int length) {
+        long[] result = new long[length];
+        Arrays.fill(result, EMPTY);
+        return result;
+    }
+
+    /**
+     * @param key  - A key.
+     * @param mask - The length of the table minus one.
+     * @return Where the key is looked for first.
+     */
+    private static int slot(final long key, final int mask) {
+        long hash = key * MIX;
+        return (int) (hash ^ (hash >>> Integer.SIZE)) & mask;
+    }
+}
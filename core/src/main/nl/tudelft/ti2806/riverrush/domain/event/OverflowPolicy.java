@@ -0,0 +1,23 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+/**
+ * What an {@link AsyncHandler} does with an event that arrives while its queue is full.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Drop the oldest queued event to make room.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Replace the queued event that the new one supersedes,
+     * drop the oldest queued event if there is none.
+     */
+    COALESCE,
+
+    /**
+     * Drop every queued event, stop accepting new ones and tell the owner to cut the connection.
+     */
+    DISCONNECT
+}
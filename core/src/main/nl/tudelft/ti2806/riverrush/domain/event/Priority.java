@@ -0,0 +1,55 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+/**
+ * How much an event matters when a queue is full: the least urgent events are dropped first.
+ * Queues keep the order the events were handed over in, whatever their priority.
+ * Declared on an event type with {@link EventPriority}, types without it are {@link #NORMAL}.
+ * The constants are ordered from most to least urgent.
+ */
+public enum Priority {
+
+    /**
+     * Changes the state of the game, should never be dropped for other events.
+     */
+    HIGH,
+
+    /**
+     * The default.
+     */
+    NORMAL,
+
+    /**
+     * Cosmetic or soon superseded, dropped first.
+     */
+    LOW;
+
+    /**
+     * The priority of each event type, looked up once per type.
+     */
+    private static final ClassValue<Priority> OF_TYPE = new ClassValue<Priority>() {
+        @Override
+        protected Priority computeValue(final Class<?> type) {
+            EventPriority annotation = type.getAnnotation(EventPriority.class);
+            if (annotation == null) {
+                return NORMAL;
+            }
+            return annotation.value();
+        }
+    };
+
+    /**
+     * @param eventType - The runtime class of an event.
+     * @return The priority declared on the type.
+     */
+    public static Priority of(final Class<? extends Event> eventType) {
+        return OF_TYPE.get(eventType);
+    }
+
+    /**
+     * @param event - An event.
+     * @return The priority declared on the type of the event.
+     */
+    public static Priority of(final Event event) {
+        return OF_TYPE.get(event.getClass());
+    }
+}
@@ -0,0 +1,384 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+import nl.tudelft.ti2806.riverrush.failfast.FailIf;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Event dispatcher that hands events to a single consumer thread through a preallocated ring buffer.
+ * Producers only claim a slot and publish the event, they never run handler code.
+ * The consumer drains the published events in batches and calls the handlers of the
+ * delegate dispatcher for them, so all handlers run on the same thread in dispatch order.
+ * The {@link Priority} of an event only matters when the ring fills up: {@link Priority#LOW} events
+ * are shed once the ring is {@link #LOW_PRIORITY_SHARE} full, so the last slots are kept for the
+ * events that change the game. Producers of the other events wait for a free slot.
+ * Attaching and detaching goes straight to the delegate, which has to be safe for concurrent use.
+ */
+public class RingBufferEventDispatcher implements EventDispatcher {
+
+    /**
+     * The amount of slots used by {@link #RingBufferEventDispatcher(EventDispatcher)}.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The part of the ring that {@link Priority#LOW} events may fill, in quarters.
+     */
+    public static final int LOW_PRIORITY_SHARE = 3;
+
+    private static final int SHARES = 4;
+
+    private static final Logger LOGGER = LogManager.getLogger(RingBufferEventDispatcher.class);
+
+    /**
+     * How often the consumer checks for new events before it parks.
+     */
+    private static final int SPIN_TRIES = 100;
+
+    /**
+     * The longest time the consumer parks before it checks again on its own.
+     */
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * How long a producer waits for a free slot before it checks again.
+     */
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final EventDispatcher delegate;
+    private final Ring ring;
+
+    /**
+     * The most events that may be queued when a {@link Priority#LOW} event is dispatched.
+     */
+    private final int lowPriorityLimit;
+
+    /**
+     * Whether the consumer is parked, or about to park.
+     */
+    private volatile boolean sleeping;
+
+    private volatile boolean running = true;
+
+    private final Thread consumer;
+
+    private volatile long batchCount;
+    private volatile long dispatchedCount;
+    private volatile int maxBatchSize;
+    private final AtomicLong fullCount = new AtomicLong();
+    private final AtomicLong shedCount = new AtomicLong();
+
+    /**
+     * Create a dispatcher with {@link #DEFAULT_CAPACITY} slots.
+     *
+     * @param aDelegate - The dispatcher that keeps the handlers.
+     */
+    public RingBufferEventDispatcher(final EventDispatcher aDelegate) {
+        this(aDelegate, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a dispatcher and start its consumer thread.
+     *
+     * @param aDelegate - The dispatcher that keeps the handlers.
+     * @param capacity  - The amount of slots, a power of two.
+     */
+    public RingBufferEventDispatcher(final EventDispatcher aDelegate, final int capacity) {
+        FailIf.isNull(aDelegate);
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity should be a power of two, got: " + capacity);
+        }
+
+        this.delegate = aDelegate;
+        this.ring = new Ring(capacity);
+        this.lowPriorityLimit = Math.max(1, capacity / SHARES * LOW_PRIORITY_SHARE);
+
+        this.consumer = new Thread(this::consume, "event-dispatcher");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    @Override
+    public <T extends Event> Subscription attach(final Class<T> eventType,
+                                                 final HandlerLambda<? super T> handlerLambda) {
+        return this.delegate.attach(eventType, handlerLambda);
+    }
+
+    @Override
+    public <T extends Event> Subscription attach(final Class<T> eventType, final SubscriptionKey key,
+                                                 final HandlerLambda<? super T> handlerLambda) {
+        return this.delegate.attach(eventType, key, handlerLambda);
+    }
+
+    @Override
+    public <T extends Event> void detach(final Class<T> eventType,
+                                         final HandlerLambda<? super T> handlerLambda) {
+        this.delegate.detach(eventType, handlerLambda);
+    }
+
+    @Override
+    public <T extends Event> void detach(final Class<T> eventType, final SubscriptionKey key,
+                                         final HandlerLambda<? super T> handlerLambda) {
+        this.delegate.detach(eventType, key, handlerLambda);
+    }
+
+    @Override
+    public int countRegistered(final Class<? extends Event> eventType) {
+        return this.delegate.countRegistered(eventType);
+    }
+
+    @Override
+    public int countRegistered(final Class<? extends Event> eventType, final SubscriptionKey key) {
+        return this.delegate.countRegistered(eventType, key);
+    }
+
+    @Override
+    public DispatcherMetrics getMetrics() {
+        return this.delegate.getMetrics();
+    }
+
+    /**
+     * Queue the event for the consumer thread, behind the events dispatched before it.
+     * A {@link Priority#LOW} event is shed when the ring is too full for it.
+     * Other events wait while the ring is full. A handler that dispatches into a full ring cannot
+     * wait for itself, so then the event is handled right away on the consumer thread.
+     *
+     * @param event - The single event.
+     */
+    @Override
+    public void dispatch(final Event event) {
+        FailIf.isNull(event);
+        Ring ring = this.ring;
+        boolean sheddable = Priority.of(event) == Priority.LOW;
+        long sequence = ring.claimed.get();
+        while (true) {
+            if (sheddable && sequence - ring.cursor >= this.lowPriorityLimit) {
+                this.shedCount.incrementAndGet();
+                return;
+            } else if (sequence - ring.cursor >= ring.slots.length) {
+                this.fullCount.incrementAndGet();
+                if (Thread.currentThread() == this.consumer) {
+                    this.handle(event);
+                    return;
+                }
+                LockSupport.unpark(this.consumer);
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+            } else if (ring.claimed.compareAndSet(sequence, sequence + 1)) {
+                break;
+            }
+            sequence = ring.claimed.get();
+        }
+
+        ring.publish(sequence, event);
+
+        if (this.sleeping) {
+            LockSupport.unpark(this.consumer);
+        }
+    }
+
+    /**
+     * Stop the consumer thread once it has handled the events that are already queued.
+     */
+    public void shutdown() {
+        this.running = false;
+        LockSupport.unpark(this.consumer);
+    }
+
+    /**
+     * @return The amount of events that are queued but not handled yet.
+     */
+    public long getQueueDepth() {
+        return this.ring.depth();
+    }
+
+    /**
+     * @return The amount of batches the consumer has drained.
+     */
+    public long getBatchCount() {
+        return this.batchCount;
+    }
+
+    /**
+     * @return The amount of events the consumer has handled.
+     */
+    public long getDispatchedCount() {
+        return this.dispatchedCount;
+    }
+
+    /**
+     * @return The largest batch the consumer has drained at once.
+     */
+    public int getMaxBatchSize() {
+        return this.maxBatchSize;
+    }
+
+    /**
+     * @return The average amount of events per batch.
+     */
+    public double getAverageBatchSize() {
+        long batches = this.batchCount;
+        if (batches == 0) {
+            return 0;
+        }
+        return (double) this.dispatchedCount / batches;
+    }
+
+    /**
+     * @return How often a dispatch found the buffer full.
+     */
+    public long getFullCount() {
+        return this.fullCount.get();
+    }
+
+    /**
+     * @return The amount of {@link Priority#LOW} events that were shed because the buffer was too full.
+     */
+    public long getShedCount() {
+        return this.shedCount.get();
+    }
+
+    /**
+     * The consumer loop: drain a batch, or wait for one.
+     */
+    private void consume() {
+        int idle = 0;
+        while (this.running || this.ring.isPublished(this.ring.cursor)) {
+            if (this.drainBatch() > 0) {
+                idle = 0;
+            } else if (idle < SPIN_TRIES) {
+                idle++;
+                Thread.yield();
+            } else {
+                this.sleeping = true;
+                if (!this.ring.isPublished(this.ring.cursor) && this.running) {
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+                this.sleeping = false;
+            }
+        }
+        LOGGER.debug("Event dispatcher stopped after {} events", this.dispatchedCount);
+    }
+
+    /**
+     * Handle every event that is published in a row from the cursor.
+     *
+     * @return The size of the batch.
+     */
+    private int drainBatch() {
+        Ring ring = this.ring;
+        long start = ring.cursor;
+        long next = start;
+        while (next - start < ring.slots.length && ring.isPublished(next)) {
+            this.handle(ring.take(next));
+            next++;
+        }
+
+        int size = (int) (next - start);
+        if (size > 0) {
+            ring.cursor = next;
+            this.batchCount++;
+            this.dispatchedCount += size;
+            if (size > this.maxBatchSize) {
+                this.maxBatchSize = size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Let the delegate call the handlers, a failing handler should not stop the consumer.
+     *
+     * @param event - The event to handle.
+     */
+    private void handle(final Event event) {
+        try {
+            this.delegate.dispatch(event);
+        } catch (RuntimeException e) {
+            LOGGER.error("Handler failed for: {}", event.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * The slots of the buffer.
+     */
+    private static final class Ring {
+
+        private final Event[] slots;
+        private final int mask;
+
+        /**
+         * Per slot, the sequence of the event that was published in it.
+         * Writing it publishes the slot to the consumer.
+         */
+        private final AtomicLongArray published;
+
+        /**
+         * The next sequence a producer can claim.
+         */
+        private final AtomicLong claimed = new AtomicLong();
+
+        /**
+         * The next sequence the consumer will handle. Only written by the consumer.
+         */
+        private volatile long cursor;
+
+        /**
+         * Create an empty ring.
+         *
+         * @param capacity - The amount of slots, a power of two.
+         */
+        Ring(final int capacity) {
+            this.slots = new Event[capacity];
+            this.mask = capacity - 1;
+            this.published = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                this.published.set(i, -1);
+            }
+        }
+
+        /**
+         * Put an event in the slot of a claimed sequence and show it to the consumer.
+         *
+         * @param sequence - The claimed sequence.
+         * @param event    - The event.
+         */
+        void publish(final long sequence, final Event event) {
+            int index = (int) sequence & this.mask;
+            this.slots[index] = event;
+            this.published.set(index, sequence);
+        }
+
+        /**
+         * Take the event out of the slot of a published sequence.
+         *
+         * @param sequence - The published sequence.
+         * @return The event.
+         */
+        Event take(final long sequence) {
+            int index = (int) sequence & this.mask;
+            Event event = this.slots[index];
+            this.slots[index] = null;
+            return event;
+        }
+
+        /**
+         * @param sequence - The sequence to check.
+         * @return True if a producer has published the event of the sequence.
+         */
+        boolean isPublished(final long sequence) {
+            return this.published.get((int) sequence & this.mask) == sequence;
+        }
+
+        /**
+         * @return The amount of events that are claimed but not handled yet.
+         */
+        long depth() {
+            return this.claimed.get() - this.cursor;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+/**
+ * Token for a handler attached to an {@link EventDispatcher}.
+ * Holding on to it is the cheapest way to detach the handler again.
+ */
+@FunctionalInterface
+public interface Subscription {
+
+    /**
+     * Detach the handler from the dispatcher it was attached to.
+     * Detaching more than once has no effect.
+     */
+    void detach();
+}
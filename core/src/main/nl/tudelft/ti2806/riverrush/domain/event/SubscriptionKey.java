@@ -0,0 +1,131 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+import nl.tudelft.ti2806.riverrush.failfast.FailIf;
+
+/**
+ * Narrows a subscription down to the events of one animal or one team.
+ * A keyed handler is only called for events that carry the same id,
+ * so a dispatch does not have to visit the handlers of every player.
+ */
+public final class SubscriptionKey {
+
+    private static final int PRIME = 31;
+
+    private final Scope scope;
+    private final int id;
+
+    /**
+     * Create a key.
+     *
+     * @param aScope - What kind of id this is.
+     * @param anId   - The id itself.
+     */
+    private SubscriptionKey(final Scope aScope, final int anId) {
+        FailIf.isNull(aScope);
+        this.scope = aScope;
+        this.id = anId;
+    }
+
+    /**
+     * Key for the events of one animal, see {@link Event#getAnimal()}.
+     *
+     * @param animalId - The id of the animal.
+     * @return The key.
+     */
+    public static SubscriptionKey animal(final int animalId) {
+        return new SubscriptionKey(Scope.ANIMAL, animalId);
+    }
+
+    /**
+     * Key for the events of one team, see {@link TeamEvent#getTeam()}.
+     *
+     * @param teamId - The id of the team.
+     * @return The key.
+     */
+    public static SubscriptionKey team(final int teamId) {
+        return new SubscriptionKey(Scope.TEAM, teamId);
+    }
+
+    /**
+     * Key for the events of one animal or team.
+     *
+     * @param scope - What kind of id this is.
+     * @param id    - The id itself.
+     * @return The key.
+     */
+    static SubscriptionKey of(final Scope scope, final int id) {
+        return new SubscriptionKey(scope, id);
+    }
+
+    public Scope getScope() {
+        return this.scope;
+    }
+
+    public int getId() {
+        return this.id;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+
+        SubscriptionKey other = (SubscriptionKey) o;
+        return this.scope == other.scope && this.id == other.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.scope.hashCode() * PRIME + this.id;
+    }
+
+    @Override
+    public String toString() {
+        return "SubscriptionKey{" + this.scope + "=" + this.id + '}';
+    }
+
+    /**
+     * The kinds of ids an event can be keyed on.
+     */
+    public enum Scope {
+        /**
+         * The animal of the event.
+         */
+        ANIMAL {
+            @Override
+            public int idOf(final Event event) {
+                return event.getAnimal();
+            }
+        },
+
+        /**
+         * The team of the event.
+         */
+        TEAM {
+            @Override
+            public int idOf(final Event event) {
+                if (event instanceof TeamEvent) {
+                    return ((TeamEvent) event).getTeam();
+                }
+                return Event.BROADCAST;
+            }
+        };
+
+        /**
+         * Shared copy of {@link #values()}, which copies on every call.
+         */
+        static final Scope[] ALL = values();
+
+        /**
+         * Get the id of an event in this scope.
+         *
+         * @param event - The event.
+         * @return The id, or {@link Event#BROADCAST} when the event has none.
+         */
+        public abstract int idOf(Event event);
+    }
+}
@@ -0,0 +1,15 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+/**
+ * Domain event that concerns a single team.
+ * Handlers can subscribe to these events for one team only, see {@link SubscriptionKey#team}.
+ */
+public interface TeamEvent extends Event {
+
+    /**
+     * Get the team this event is about.
+     *
+     * @return The id of the team, {@link #BROADCAST} if the event is for every team.
+     */
+    int getTeam();
+}
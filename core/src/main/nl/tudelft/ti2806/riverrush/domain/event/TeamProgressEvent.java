@@ -1,61 +1,53 @@
 package nl.tudelft.ti2806.riverrush.domain.event;
 
-import nl.tudelft.ti2806.riverrush.network.protocol.InvalidProtocolException;
-import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
-
-import java.util.Map;
+import nl.tudelft.ti2806.riverrush.codegen.WireEvent;
+import nl.tudelft.ti2806.riverrush.codegen.WireField;
 
 /**
  * Is fired when a team is a little further on the progressbar.
  */
+@EventPriority(Priority.LOW)
+@WireEvent
 public class TeamProgressEvent extends AbstractTeamEvent {
 
-    private Double progress;
-    private Double speed;
-
-    @Override
-    public String serialize(final Protocol protocol) {
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append(super.serialize(protocol));
-        stringBuilder.append(protocol.getPairSeperator());
-        stringBuilder.append("progress").append(protocol.getKeyValueSeperator())
-                .append(this.progress.toString());
-        stringBuilder.append(protocol.getPairSeperator());
-        stringBuilder.append("speed").append(protocol.getKeyValueSeperator())
-                .append(this.speed.toString());
-
-        return stringBuilder.toString();
+    @WireField
+    private double progress;
+    @WireField
+    private double speed;
+
+    /**
+     * Create an empty event, for the codec.
+     */
+    public TeamProgressEvent() {
     }
 
-    @Override
-    public Event deserialize(final Map<String, String> keyValuePairs) {
-        super.deserialize(keyValuePairs);
-        if (keyValuePairs.containsKey("progress") && keyValuePairs.containsKey("speed")) {
-            this.progress = Double.parseDouble(keyValuePairs.get("progress"));
-            this.speed = Double.parseDouble(keyValuePairs.get("speed"));
-        } else {
-            throw new InvalidProtocolException("Does not contain all the keys");
-        }
-        return this;
+    /**
+     * @param team      - The id of the team.
+     * @param aProgress - How far the team is.
+     * @param newSpeed  - The speed of its boat.
+     */
+    public TeamProgressEvent(final int team, final double aProgress, final double newSpeed) {
+        super(team);
+        this.progress = aProgress;
+        this.speed = newSpeed;
     }
 
     /**
      * @return the progress in an int between 0 and 100
      */
-    public Double getProgress() {
+    public double getProgress() {
         return this.progress;
     }
 
-    public void setProgress(final Double aProgress) {
+    void setProgress(final double aProgress) {
         this.progress = aProgress;
     }
 
-    public Double getSpeed() {
+    public double getSpeed() {
         return this.speed;
     }
 
-    public void setSpeed(final Double newSpeed) {
+    void setSpeed(final double newSpeed) {
         this.speed = newSpeed;
     }
-
 }
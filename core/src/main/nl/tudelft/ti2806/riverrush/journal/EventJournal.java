@@ -0,0 +1,176 @@
+package nl.tudelft.ti2806.riverrush.journal;
+
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
+import nl.tudelft.ti2806.riverrush.failfast.FailIf;
+import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends events to a binary file through a memory-mapped buffer.
+ * The file starts with {@link #MAGIC}, followed by one record per event:
+ * the length of the frame, the nanoseconds since the journal was opened, the animal
+ * of the event and the binary frame of the event as the protocol encodes it.
+ * The frame is encoded straight into the mapped region, so appending copies nothing.
+ * The file is mapped in regions of {@link #REGION_SIZE} bytes.
+ */
+public class EventJournal implements Closeable {
+
+    /**
+     * Marks a journal file, "RRJ" and the format version.
+     */
+    public static final int MAGIC = 0x52524A02;
+
+    /**
+     * Stored in place of the animal of an event without one.
+     */
+    public static final int NO_ANIMAL = Integer.MIN_VALUE;
+
+    /**
+     * The bytes of a record before the frame.
+     */
+    static final int HEADER_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    /**
+     * The size of a mapped region, 16 megabytes.
+     */
+    static final int REGION_SIZE = 1 << 24;
+
+    private static final Logger LOGGER = LogManager.getLogger(EventJournal.class);
+
+    private final FileChannel channel;
+    private final Protocol protocol;
+    private final long startNanos;
+
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long recordCount;
+    private long skippedCount;
+
+    /**
+     * Create a journal, an existing file is overwritten.
+     *
+     * @param file      - The file to write to.
+     * @param aProtocol - The protocol that encodes the events, it should have binary frames and know
+     *                  every event type.
+     * @throws IOException when the file can not be opened.
+     */
+    public EventJournal(final Path file, final Protocol aProtocol) throws IOException {
+        FailIf.isNull(file, aProtocol);
+        if (!aProtocol.isBinarySupported()) {
+            throw new IllegalArgumentException("The journal needs a protocol with binary frames");
+        }
+        this.protocol = aProtocol;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.region = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, REGION_SIZE);
+        this.region.putInt(MAGIC);
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Append an event. Events that the protocol does not know are skipped.
+     * A record that does not fit in the rest of the region is written again at the start of the next.
+     *
+     * @param event - The event to append.
+     * @throws IOException when the next region can not be mapped, or the event does not fit in one.
+     */
+    public synchronized void append(final Event event) throws IOException {
+        if (!this.channel.isOpen()) {
+            return;
+        }
+        if (!this.protocol.isRegistered(event.getClass())) {
+            this.skippedCount++;
+            return;
+        }
+
+        long nanos = System.nanoTime() - this.startNanos;
+        int start = this.region.position();
+        try {
+            this.write(event, nanos);
+        } catch (BufferOverflowException e) {
+            this.regionStart += start;
+            this.region = this.channel.map(FileChannel.MapMode.READ_WRITE, this.regionStart, REGION_SIZE);
+            try {
+                this.write(event, nanos);
+            } catch (BufferOverflowException tooLarge) {
+                this.clear(0, this.region.position());
+                throw new IOException("Event too large for the journal: " + event.getClass().getSimpleName());
+            }
+        }
+        this.recordCount++;
+    }
+
+    /**
+     * Write a record at the position of the region. The length goes in last, so a record that
+     * does not fit reads as the end of the journal.
+     *
+     * @param event - The event.
+     * @param nanos - The nanoseconds since the journal was opened.
+     * @throws BufferOverflowException when the record does not fit in the rest of the region.
+     */
+    private void write(final Event event, final long nanos) {
+        int start = this.region.position();
+        int animal = event.getAnimal();
+        this.region.putInt(0);
+        this.region.putLong(nanos);
+        this.region.putInt(animal == Event.BROADCAST ? NO_ANIMAL : animal);
+        this.protocol.encode(event, this.region);
+        this.region.putInt(start, this.region.position() - start - HEADER_SIZE);
+    }
+
+    /**
+     * Zero the part of a record that was written, and go back to where it started.
+     *
+     * @param start - Where the record started in the region.
+     * @param end   - How far it was written.
+     */
+    private void clear(final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            this.region.put(i, (byte) 0);
+        }
+        this.region.position(start);
+    }
+
+    /**
+     * @return The amount of events that were appended.
+     */
+    public synchronized long getRecordCount() {
+        return this.recordCount;
+    }
+
+    /**
+     * @return The amount of events the protocol did not know.
+     */
+    public synchronized long getSkippedCount() {
+        return this.skippedCount;
+    }
+
+    /**
+     * Write the appended events to disk and cut off the unused part of the last region.
+     * Some platforms do not allow cutting a mapped file, then the zeroes stay,
+     * which a {@link JournalReader} reads as the end of the journal.
+     *
+     * @throws IOException when the file can not be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.channel.isOpen()) {
+            this.region.force();
+            try {
+                this.channel.truncate(this.regionStart + this.region.position());
+            } catch (IOException e) {
+                LOGGER.warn("Could not cut off the end of the journal: {}", e.getMessage());
+            }
+            this.channel.close();
+        }
+    }
+}
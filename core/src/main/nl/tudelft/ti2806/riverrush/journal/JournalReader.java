@@ -0,0 +1,121 @@
+package nl.tudelft.ti2806.riverrush.journal;
+
+import nl.tudelft.ti2806.riverrush.failfast.FailIf;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Reads the records of a journal written by {@link EventJournal}, through a memory-mapped buffer.
+ * The frames of the records are views of the mapped file, they are not copied.
+ */
+public class JournalReader implements Iterable<JournalRecord> {
+
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Map a journal file.
+     *
+     * @param file - The journal.
+     * @throws IOException when the file can not be read, is too large to map or is not a journal.
+     */
+    public JournalReader(final Path file) throws IOException {
+        FailIf.isNull(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Journal too large to map: " + channel.size() + " bytes");
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (this.buffer.remaining() < Integer.BYTES || this.buffer.getInt(0) != EventJournal.MAGIC) {
+            throw new IOException("Not an event journal: " + file);
+        }
+    }
+
+    @Override
+    public Iterator<JournalRecord> iterator() {
+        return new RecordIterator(this.buffer.duplicate());
+    }
+
+    /**
+     * Hand every record to a consumer at the pace it was recorded.
+     *
+     * @param speed    - How much faster than recorded to go, infinity for no waiting at all.
+     * @param consumer - Gets the records.
+     */
+    public void replay(final double speed, final Consumer<JournalRecord> consumer) {
+        if (speed <= 0 || Double.isNaN(speed)) {
+            throw new IllegalArgumentException("Speed should be positive, got: " + speed);
+        }
+
+        long start = System.nanoTime();
+        for (JournalRecord record : this) {
+            long due = start + (long) (record.getNanos() / speed);
+            long wait = due - System.nanoTime();
+            while (wait > 0) {
+                LockSupport.parkNanos(wait);
+                wait = due - System.nanoTime();
+            }
+            consumer.accept(record);
+        }
+    }
+
+    /**
+     * Walks the records of a buffer.
+     */
+    private static final class RecordIterator implements Iterator<JournalRecord> {
+
+        private final ByteBuffer records;
+
+        /**
+         * Start after the magic number.
+         *
+         * @param aBuffer - A private view of the journal.
+         */
+        RecordIterator(final ByteBuffer aBuffer) {
+            this.records = aBuffer;
+            this.records.position(Integer.BYTES);
+        }
+
+        /**
+         * A record is there when its header fits and its length is set,
+         * the zeroes of an uncut region mark the end.
+         *
+         * @return True if there is another record.
+         */
+        @Override
+        public boolean hasNext() {
+            return this.records.remaining() >= EventJournal.HEADER_SIZE
+                    && this.records.getInt(this.records.position()) > 0;
+        }
+
+        @Override
+        public JournalRecord next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            int length = this.records.getInt();
+            long nanos = this.records.getLong();
+            int animal = this.records.getInt();
+            ByteBuffer frame = this.records.slice();
+            frame.limit(length);
+            this.records.position(this.records.position() + length);
+
+            Integer animalId = null;
+            if (animal != EventJournal.NO_ANIMAL) {
+                animalId = animal;
+            }
+            return new JournalRecord(nanos, animalId, frame.asReadOnlyBuffer());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package nl.tudelft.ti2806.riverrush.journal;
+
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
+import nl.tudelft.ti2806.riverrush.network.protocol.InvalidActionException;
+import nl.tudelft.ti2806.riverrush.network.protocol.InvalidProtocolException;
+import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One event as it was read from a journal.
+ */
+public final class JournalRecord {
+
+    private final long nanos;
+    private final Integer animal;
+    private final ByteBuffer frame;
+
+    /**
+     * Create a record.
+     *
+     * @param someNanos - The nanoseconds since the journal was opened.
+     * @param anAnimal  - The animal of the event, null if it had none.
+     * @param aFrame    - The binary frame of the event as the protocol encoded it.
+     */
+    JournalRecord(final long someNanos, final Integer anAnimal, final ByteBuffer aFrame) {
+        this.nanos = someNanos;
+        this.animal = anAnimal;
+        this.frame = aFrame;
+    }
+
+    /**
+     * @return The nanoseconds since the journal was opened.
+     */
+    public long getNanos() {
+        return this.nanos;
+    }
+
+    /**
+     * @return The animal of the event, null if it had none.
+     */
+    public Integer getAnimal() {
+        return this.animal;
+    }
+
+    /**
+     * @return The binary frame of the event as the protocol encoded it, read-only and positioned at
+     * its start. Every call gives a new view, so reading it leaves the record as it is.
+     */
+    public ByteBuffer getFrame() {
+        return this.frame.duplicate();
+    }
+
+    /**
+     * Turn the record back into an event, with its animal.
+     *
+     * @param protocol - The protocol that encoded the event.
+     * @return The event.
+     * @throws InvalidProtocolException when the frame is not valid.
+     * @throws InvalidActionException   when the protocol does not know the event.
+     */
+    public Event toEvent(final Protocol protocol) throws InvalidProtocolException, InvalidActionException {
+        Event event = protocol.decode(this.getFrame());
+        if (this.animal != null) {
+            return event.withAnimal(this.animal);
+        }
+        return event;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Recording of dispatched events to a binary journal, and reading them back.
+ */
+package nl.tudelft.ti2806.riverrush.journal;
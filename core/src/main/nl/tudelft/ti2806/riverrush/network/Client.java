@@ -2,6 +2,9 @@ package nl.tudelft.ti2806.riverrush.network;
 
 import nl.tudelft.ti2806.riverrush.controller.Controller;
 import nl.tudelft.ti2806.riverrush.domain.event.Event;
+import nl.tudelft.ti2806.riverrush.network.protocol.BufferPool;
+import nl.tudelft.ti2806.riverrush.network.protocol.CompactProtocol;
+import nl.tudelft.ti2806.riverrush.network.protocol.FrameCompressor;
 import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
 import org.java_websocket.client.WebSocketClient;
 import org.java_websocket.drafts.Draft_17;
@@ -9,6 +12,12 @@ import org.java_websocket.handshake.ServerHandshake;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Web socket client for connecting to the backend endpoint.
@@ -25,33 +34,116 @@ public class Client extends WebSocketClient {
      */
     private Controller controller;
 
+    /**
+     * Whether the server agreed on binary frames in the handshake.
+     */
+    private volatile boolean binary;
+
+    /**
+     * Whether to ask the server for compressed frames in the handshake.
+     */
+    private final boolean compress;
+
+    /**
+     * Unpacks the frames of the server, null if the server did not agree on compression.
+     */
+    private volatile FrameCompressor compressor;
+
+    /**
+     * The buffers the binary frames are encoded in.
+     */
+    private final BufferPool buffers;
+
     /**
      * Constructs a WebSocketClient instance and sets it to the connect to the specified URI. The
      * channel does not attampt to connect automatically. You must call {@code connect} first to
-     * initiate the socket connection.
+     * initiate the socket connection. Asks for binary frames when the protocol has them.
      *
      * @param host - The remote hostname of the server.
      * @param prot - what protocol to use
      * @throws URISyntaxException URI is invalid
      */
     public Client(final String host, final Protocol prot) throws URISyntaxException {
-        super(new URI("http://" + host + ":" + prot.getPortNumber()), new Draft_17());
+        this(host, prot, false);
+    }
+
+    /**
+     * Constructs a client that may also ask for compressed frames, which only pays off for
+     * clients that get many events at once.
+     *
+     * @param host          - The remote hostname of the server.
+     * @param prot          - what protocol to use
+     * @param shouldCompress - Whether to ask the server for compressed frames.
+     * @throws URISyntaxException URI is invalid
+     */
+    public Client(final String host, final Protocol prot, final boolean shouldCompress)
+            throws URISyntaxException {
+        super(new URI("http://" + host + ":" + prot.getPortNumber()), new Draft_17(),
+                handshakeFields(prot, shouldCompress), 0);
         this.protocol = prot;
+        this.compress = shouldCompress;
+        this.buffers = new BufferPool(BufferPool.DEFAULT_BUFFER_SIZE, 1);
+    }
 
+    /**
+     * @param prot           - The protocol of the client.
+     * @param shouldCompress - Whether to ask for compressed frames.
+     * @return The extra fields of the handshake, null if there are none.
+     */
+    private static Map<String, String> handshakeFields(final Protocol prot, final boolean shouldCompress) {
+        Map<String, String> fields = new HashMap<>();
+        if (prot.isBinarySupported()) {
+            fields.put(CompactProtocol.HANDSHAKE_FIELD, CompactProtocol.BINARY);
+        }
+        if (shouldCompress) {
+            fields.put(CompactProtocol.COMPRESSION_FIELD, CompactProtocol.DEFLATE);
+        }
+        if (fields.isEmpty()) {
+            return null;
+        }
+        return fields;
     }
 
+    /**
+     * Agrees on binary frames and compression if the server answered the handshake with them,
+     * and initializes the controller like the server does for its connections.
+     *
+     * @param handshakedata - The handshake of the server.
+     */
     @Override
     public void onOpen(final ServerHandshake handshakedata) {
-        // Nothing supposed to happen
+        String agreed = handshakedata.getFieldValue(CompactProtocol.HANDSHAKE_FIELD);
+        this.binary = this.protocol.isBinarySupported() && CompactProtocol.BINARY.equals(agreed);
+        String compression = handshakedata.getFieldValue(CompactProtocol.COMPRESSION_FIELD);
+        if (this.compress && CompactProtocol.DEFLATE.equals(compression)) {
+            this.compressor = new FrameCompressor(this.protocol.getDictionary());
+        }
+        if (this.controller != null) {
+            this.controller.initialize();
+        }
     }
 
     /**
      * Send a domain event to the server.
+     * A binary frame is encoded in a buffer of the pool, which can be used again once it is sent.
      *
      * @param event - The event to send.
      */
     public void sendEvent(final Event event) {
-        this.getConnection().send(this.protocol.serialize(event));
+        if (this.binary) {
+            ByteBuffer frame = this.buffers.acquire();
+            try {
+                this.protocol.encode(event, frame);
+                frame.flip();
+                this.getConnection().send(frame);
+            } catch (BufferOverflowException e) {
+                this.getConnection().send(this.protocol.encode(event));
+            } finally {
+                this.buffers.release(frame);
+            }
+        } else {
+            this.getConnection().send(this.protocol.serialize(event));
+        }
     }
 
     @Override
@@ -60,9 +152,48 @@ public class Client extends WebSocketClient {
         this.controller.onSocketMessage(event);
     }
 
+    /**
+     * Dispatch the events of a binary frame, the server may put several events in one frame.
+     * With compression the frame is unpacked first, and holds text events one per line if
+     * the server did not agree on binary frames.
+     *
+     * @param message - The binary frame.
+     */
+    @Override
+    public void onMessage(final ByteBuffer message) {
+        FrameCompressor unpacker = this.compressor;
+        if (unpacker == null) {
+            this.dispatch(this.protocol.decodeBatch(message));
+            return;
+        }
+
+        ByteBuffer frame = unpacker.unpack(message);
+        if (this.binary) {
+            this.dispatch(this.protocol.decodeBatch(frame));
+        } else {
+            String lines = StandardCharsets.UTF_8.decode(frame).toString();
+            for (String line : lines.split(String.valueOf(FrameCompressor.LINE_SEPARATOR))) {
+                this.onMessage(line);
+            }
+        }
+    }
+
+    /**
+     * @param events - The events to hand to the controller, in order.
+     */
+    private void dispatch(final List<Event> events) {
+        for (Event event : events) {
+            this.controller.onSocketMessage(event);
+        }
+    }
+
     @Override
     public void onClose(final int code, final String reason, final boolean remote) {
         System.out.println("Connection closed.");
+        FrameCompressor unpacker = this.compressor;
+        if (unpacker != null) {
+            unpacker.close();
+        }
     }
 
     @Override
@@ -1,49 +1,56 @@
 package nl.tudelft.ti2806.riverrush.network.event;
 
-import nl.tudelft.ti2806.riverrush.domain.event.Event;
-import nl.tudelft.ti2806.riverrush.network.protocol.InvalidProtocolException;
-import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
-
-import java.util.Map;
+import nl.tudelft.ti2806.riverrush.codegen.WireEvent;
+import nl.tudelft.ti2806.riverrush.codegen.WireField;
+import nl.tudelft.ti2806.riverrush.domain.event.TeamEvent;
 
 /**
  * This event is sent from the device to the server.
  */
-public class JoinTeamCommand implements Event {
+@WireEvent
+public class JoinTeamCommand implements TeamEvent {
 
-    private Integer animalId;
-    private Integer teamId;
+    private int animalId = BROADCAST;
 
-    @Override
-    public String serialize(final Protocol protocol) {
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append("team").append(protocol.getKeyValueSeperator()).append(this.teamId.toString());
-        return stringBuilder.toString();
+    @WireField("team")
+    private int teamId = BROADCAST;
+
+    /**
+     * Create an empty command, for the codec.
+     */
+    public JoinTeamCommand() {
     }
 
-    @Override
-    public Event deserialize(final Map<String, String> keyValuePairs) {
-        if (keyValuePairs.containsKey("team")) {
-            this.teamId = Integer.parseInt(keyValuePairs.get("team"));
-        } else {
-            throw new InvalidProtocolException("Does not contain all the keys");
-        }
-        return this;
+    /**
+     * @param team - The id of the team to join.
+     */
+    public JoinTeamCommand(final int team) {
+        this.teamId = team;
     }
 
-    public Integer getAnimal() {
+    public int getAnimal() {
         return this.animalId;
     }
 
-    public void setAnimal(final Integer aAnimal) {
-        this.animalId = aAnimal;
+    /**
+     * The animal is not on the wire, the server sets the animal of the connection.
+     *
+     * @param animal - The animal that sent the command.
+     * @return A copy of this command from the animal.
+     */
+    @Override
+    public JoinTeamCommand withAnimal(final int animal) {
+        JoinTeamCommand copy = new JoinTeamCommand(this.teamId);
+        copy.animalId = animal;
+        return copy;
     }
 
-    public Integer getTeam() {
+    @Override
+    public int getTeam() {
         return this.teamId;
     }
 
-    public void setTeam(final Integer team) {
+    void setTeam(final int team) {
         this.teamId = team;
     }
 }
@@ -1,32 +1,30 @@
 package nl.tudelft.ti2806.riverrush.network.event;
 
+import nl.tudelft.ti2806.riverrush.codegen.WireEvent;
 import nl.tudelft.ti2806.riverrush.domain.event.Event;
-import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
-
-import java.util.Map;
 
 /**
  * This event is sent from the device to the server.
  */
+@WireEvent
 public class JumpCommand implements Event {
 
-    private Integer animalId;
-
-    @Override
-    public String serialize(final Protocol protocol) {
-        return "";
-    }
-
-    @Override
-    public Event deserialize(final Map<String, String> keyValuePairs) {
-        return this;
-    }
+    private int animalId = BROADCAST;
 
-    public Integer getAnimal() {
+    public int getAnimal() {
         return this.animalId;
     }
 
-    public void setAnimal(final Integer aAnimal) {
-        this.animalId = aAnimal;
+    /**
+     * The animal is not on the wire, the server sets the animal of the connection.
+     *
+     * @param animal - The animal that jumps.
+     * @return A copy of this command from the animal.
+     */
+    @Override
+    public JumpCommand withAnimal(final int animal) {
+        JumpCommand copy = new JumpCommand();
+        copy.animalId = animal;
+        return copy;
     }
 }
@@ -0,0 +1,48 @@
+package nl.tudelft.ti2806.riverrush.network.event;
+
+import nl.tudelft.ti2806.riverrush.codegen.WireEvent;
+import nl.tudelft.ti2806.riverrush.codegen.WireField;
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
+
+/**
+ * This event is sent from the renderer to the server, when it has applied a
+ * {@link WorldSnapshotEvent}. The first one asks for snapshots, with
+ * {@link WorldSnapshotEvent#NO_BASELINE} as the sequence.
+ */
+@WireEvent
+public class SnapshotAckCommand implements Event {
+
+    @WireField
+    private int sequence;
+
+    /**
+     * Create an empty command, for the codec.
+     */
+    public SnapshotAckCommand() {
+    }
+
+    /**
+     * @param aSequence - The snapshot that was applied.
+     */
+    public SnapshotAckCommand(final int aSequence) {
+        this.sequence = aSequence;
+    }
+
+    public int getSequence() {
+        return this.sequence;
+    }
+
+    void setSequence(final int aSequence) {
+        this.sequence = aSequence;
+    }
+
+    @Override
+    public Event withAnimal(final int animal) {
+        return this.copy();
+    }
+
+    @Override
+    public int getAnimal() {
+        return BROADCAST;
+    }
+}
@@ -1,54 +1,59 @@
 package nl.tudelft.ti2806.riverrush.network.event;
 
+import nl.tudelft.ti2806.riverrush.codegen.WireEvent;
+import nl.tudelft.ti2806.riverrush.codegen.WireField;
 import nl.tudelft.ti2806.riverrush.domain.event.Direction;
 import nl.tudelft.ti2806.riverrush.domain.event.Event;
-import nl.tudelft.ti2806.riverrush.network.protocol.InvalidProtocolException;
-import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
-
-import java.util.Map;
 
 /**
  * Command to vote for a direction to go in.
+ * Like the other commands of a client it has the normal priority, so it is never shed before the
+ * commands sent after it.
  */
+@WireEvent
 public class VoteBoatMoveCommand implements Event {
 
+    @WireField
     private Direction direction;
-    private Integer animal;
 
-    @Override
-    public String serialize(final Protocol protocol) {
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append(protocol.getPairSeperator());
-        stringBuilder.append("direction").append(protocol.getKeyValueSeperator())
-                .append(this.direction.toString());
-        return stringBuilder.toString();
+    private int animal = BROADCAST;
+
+    /**
+     * Create an empty command, for the codec.
+     */
+    public VoteBoatMoveCommand() {
     }
 
-    @Override
-    public Event deserialize(final Map<String, String> keyValuePairs) {
-        if (keyValuePairs.containsKey("direction")) {
-            this.direction = Direction.valueOf(keyValuePairs.get("direction").toUpperCase());
-        } else {
-            throw new InvalidProtocolException("Does not contain all the keys");
-        }
-        return this;
+    /**
+     * @param dir - The direction to vote for.
+     */
+    public VoteBoatMoveCommand(final Direction dir) {
+        this.direction = dir;
     }
 
     public Direction getDirection() {
         return this.direction;
     }
 
-    public void setDirection(final Direction dir) {
+    void setDirection(final Direction dir) {
         this.direction = dir;
     }
 
+    /**
+     * The animal is not on the wire, the server sets the animal of the connection.
+     *
+     * @param animalID - The animal that votes.
+     * @return A copy of this command from the animal.
+     */
     @Override
-    public void setAnimal(final Integer animalID) {
-        this.animal = animalID;
+    public VoteBoatMoveCommand withAnimal(final int animalID) {
+        VoteBoatMoveCommand copy = new VoteBoatMoveCommand(this.direction);
+        copy.animal = animalID;
+        return copy;
     }
 
     @Override
-    public Integer getAnimal() {
+    public int getAnimal() {
         return this.animal;
     }
 }
@@ -0,0 +1,270 @@
+package nl.tudelft.ti2806.riverrush.network.event;
+
+import nl.tudelft.ti2806.riverrush.domain.event.Direction;
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
+import nl.tudelft.ti2806.riverrush.network.protocol.BinaryFields;
+import nl.tudelft.ti2806.riverrush.network.protocol.InvalidProtocolException;
+import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
+import nl.tudelft.ti2806.riverrush.network.snapshot.WorldSnapshot.AnimalEntry;
+import nl.tudelft.ti2806.riverrush.network.snapshot.WorldSnapshot.Position;
+import nl.tudelft.ti2806.riverrush.network.snapshot.WorldSnapshot.TeamEntry;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This event is sent from the server to a renderer that asked for snapshots.
+ * It has the teams and animals that changed since the baseline, a snapshot the renderer
+ * acknowledged before, and the animals that left since.
+ * The lists are written by hand, the generated codecs only know single fields. In the text the
+ * entries are separated by commas and their parts by colons, an empty list is left out.
+ */
+public class WorldSnapshotEvent implements Event {
+
+    /**
+     * The baseline of a delta against the empty world.
+     */
+    public static final int NO_BASELINE = -1;
+
+    private static final String SEQUENCE = "sequence";
+    private static final String BASELINE = "baseline";
+    private static final String TEAMS = "teams";
+    private static final String ANIMALS = "animals";
+    private static final String REMOVED = "removed";
+    private static final String ENTRY_SEPARATOR = ",";
+    private static final String PART_SEPARATOR = ":";
+    private static final int TEAM_PARTS = 3;
+    private static final int ANIMAL_PARTS = 4;
+
+    private int sequence;
+    private int baseline = NO_BASELINE;
+    private final Map<Integer, TeamEntry> teams = new HashMap<>();
+    private final Map<Integer, AnimalEntry> animals = new HashMap<>();
+    private final List<Integer> removed = new ArrayList<>();
+
+    /**
+     * Create an empty delta, to read one into.
+     */
+    public WorldSnapshotEvent() {
+    }
+
+    /**
+     * @param aSequence - The number of the snapshot.
+     * @param aBaseline - The number of the snapshot it is a delta against, or {@link #NO_BASELINE}.
+     */
+    public WorldSnapshotEvent(final int aSequence, final int aBaseline) {
+        this.sequence = aSequence;
+        this.baseline = aBaseline;
+    }
+
+    public int getSequence() {
+        return this.sequence;
+    }
+
+    public int getBaseline() {
+        return this.baseline;
+    }
+
+    /**
+     * @return The teams that changed by their id, can be changed.
+     */
+    public Map<Integer, TeamEntry> getTeams() {
+        return this.teams;
+    }
+
+    /**
+     * @return The animals that joined or changed by their id, can be changed.
+     */
+    public Map<Integer, AnimalEntry> getAnimals() {
+        return this.animals;
+    }
+
+    /**
+     * @return The ids of the animals that left, can be changed.
+     */
+    public List<Integer> getRemoved() {
+        return this.removed;
+    }
+
+    @Override
+    public String serialize(final Protocol protocol) {
+        String keyValue = protocol.getKeyValueSeperator();
+        String pair = protocol.getPairSeperator();
+        StringBuilder out = new StringBuilder();
+        out.append(SEQUENCE).append(keyValue).append(this.sequence);
+        out.append(pair).append(BASELINE).append(keyValue).append(this.baseline);
+
+        if (!this.teams.isEmpty()) {
+            out.append(pair).append(TEAMS).append(keyValue);
+            String separator = "";
+            for (Map.Entry<Integer, TeamEntry> team : this.teams.entrySet()) {
+                out.append(separator).append(team.getKey())
+                        .append(PART_SEPARATOR).append(team.getValue().getProgress())
+                        .append(PART_SEPARATOR).append(team.getValue().getSpeed());
+                separator = ENTRY_SEPARATOR;
+            }
+        }
+        if (!this.animals.isEmpty()) {
+            out.append(pair).append(ANIMALS).append(keyValue);
+            String separator = "";
+            for (Map.Entry<Integer, AnimalEntry> animal : this.animals.entrySet()) {
+                out.append(separator).append(animal.getKey())
+                        .append(PART_SEPARATOR).append(animal.getValue().getTeam())
+                        .append(PART_SEPARATOR).append(animal.getValue().getPosition())
+                        .append(PART_SEPARATOR).append(animal.getValue().getVote());
+                separator = ENTRY_SEPARATOR;
+            }
+        }
+        if (!this.removed.isEmpty()) {
+            out.append(pair).append(REMOVED).append(keyValue);
+            String separator = "";
+            for (Integer animal : this.removed) {
+                out.append(separator).append(animal);
+                separator = ENTRY_SEPARATOR;
+            }
+        }
+        return out.toString();
+    }
+
+    @Override
+    public Event deserialize(final Map<String, String> keyValuePairs) {
+        if (!keyValuePairs.containsKey(SEQUENCE) || !keyValuePairs.containsKey(BASELINE)) {
+            throw new InvalidProtocolException("Does not contain all the keys");
+        }
+        try {
+            this.sequence = Integer.parseInt(keyValuePairs.get(SEQUENCE));
+            this.baseline = Integer.parseInt(keyValuePairs.get(BASELINE));
+            for (String[] team : entries(keyValuePairs.get(TEAMS), TEAM_PARTS)) {
+                this.teams.put(Integer.parseInt(team[0]),
+                        new TeamEntry(Double.parseDouble(team[1]), Double.parseDouble(team[2])));
+            }
+            for (String[] animal : entries(keyValuePairs.get(ANIMALS), ANIMAL_PARTS)) {
+                this.animals.put(Integer.parseInt(animal[0]), new AnimalEntry(Integer.parseInt(animal[1]),
+                        Position.valueOf(animal[2]), Direction.valueOf(animal[3])));
+            }
+            for (String[] animal : entries(keyValuePairs.get(REMOVED), 1)) {
+                this.removed.add(Integer.parseInt(animal[0]));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidProtocolException("Invalid snapshot: " + e.getMessage());
+        }
+        return this;
+    }
+
+    /**
+     * Split a list of the text.
+     *
+     * @param list  - The list, null if it was left out.
+     * @param parts - The amount of parts of every entry.
+     * @return The parts of every entry.
+     * @throws InvalidProtocolException when an entry has another amount of parts.
+     */
+    private static List<String[]> entries(final String list, final int parts) {
+        List<String[]> result = new ArrayList<>();
+        if (list == null) {
+            return result;
+        }
+        for (String entry : list.split(ENTRY_SEPARATOR)) {
+            String[] split = entry.split(PART_SEPARATOR);
+            if (split.length != parts) {
+                throw new InvalidProtocolException("Snapshot entry with " + split.length
+                        + " parts: " + entry);
+            }
+            result.add(split);
+        }
+        return result;
+    }
+
+    @Override
+    public void encode(final ByteBuffer out) {
+        BinaryFields.putInt(out, this.sequence);
+        BinaryFields.putInt(out, this.baseline);
+
+        BinaryFields.putVarInt(out, this.teams.size());
+        for (Map.Entry<Integer, TeamEntry> team : this.teams.entrySet()) {
+            BinaryFields.putInt(out, team.getKey());
+            out.putDouble(team.getValue().getProgress());
+            out.putDouble(team.getValue().getSpeed());
+        }
+        BinaryFields.putVarInt(out, this.animals.size());
+        for (Map.Entry<Integer, AnimalEntry> animal : this.animals.entrySet()) {
+            BinaryFields.putInt(out, animal.getKey());
+            BinaryFields.putInt(out, animal.getValue().getTeam());
+            BinaryFields.putEnum(out, animal.getValue().getPosition());
+            BinaryFields.putEnum(out, animal.getValue().getVote());
+        }
+        BinaryFields.putVarInt(out, this.removed.size());
+        for (Integer animal : this.removed) {
+            BinaryFields.putInt(out, animal);
+        }
+    }
+
+    @Override
+    public Event decode(final ByteBuffer in) {
+        this.sequence = BinaryFields.getInt(in);
+        this.baseline = BinaryFields.getInt(in);
+
+        int count = count(in);
+        for (int i = 0; i < count; i++) {
+            int team = BinaryFields.getInt(in);
+            double progress = in.getDouble();
+            this.teams.put(team, new TeamEntry(progress, in.getDouble()));
+        }
+        count = count(in);
+        for (int i = 0; i < count; i++) {
+            int animal = BinaryFields.getInt(in);
+            int team = BinaryFields.getInt(in);
+            Position position = BinaryFields.getEnum(in, Position.class);
+            Direction vote = BinaryFields.getEnum(in, Direction.class);
+            this.animals.put(animal, new AnimalEntry(team, position, vote));
+        }
+        count = count(in);
+        for (int i = 0; i < count; i++) {
+            this.removed.add(BinaryFields.getInt(in));
+        }
+        return this;
+    }
+
+    /**
+     * Read the length of a list, every entry takes at least a byte.
+     *
+     * @param in - The frame to read from.
+     * @return The amount of entries.
+     * @throws InvalidProtocolException when the frame is too short for the entries.
+     */
+    private static int count(final ByteBuffer in) {
+        int count = BinaryFields.getVarInt(in);
+        if (count < 0 || count > in.remaining()) {
+            throw new InvalidProtocolException("Snapshot list of " + count + " entries in "
+                    + in.remaining() + " bytes");
+        }
+        return count;
+    }
+
+    /**
+     * Copied by hand, like the lists are written.
+     *
+     * @return A new event with the same entries.
+     */
+    @Override
+    public WorldSnapshotEvent copy() {
+        WorldSnapshotEvent copy = new WorldSnapshotEvent(this.sequence, this.baseline);
+        copy.teams.putAll(this.teams);
+        copy.animals.putAll(this.animals);
+        copy.removed.addAll(this.removed);
+        return copy;
+    }
+
+    @Override
+    public Event withAnimal(final int animal) {
+        return this.copy();
+    }
+
+    @Override
+    public int getAnimal() {
+        return BROADCAST;
+    }
+}
@@ -5,7 +5,6 @@ import nl.tudelft.ti2806.riverrush.failfast.FailIf;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Map;
 
@@ -34,6 +33,12 @@ public final class BasicProtocol implements Protocol {
      */
     private static final String ACTION_KEY = "event";
 
+    /**
+     * The fields of the message that is being parsed, reused per thread.
+     */
+    private static final ThreadLocal<MessageFields> FIELDS = ThreadLocal.withInitial(() ->
+            new MessageFields(PAIR_SEPERATOR.charAt(0), KEY_VALUE_SEPERATOR.charAt(0), ACTION_KEY));
+
     /**
      * The port that this protocol operates on.
      */
@@ -44,6 +49,11 @@ public final class BasicProtocol implements Protocol {
      */
     private final Map<String, EventInstantiator> eventMapping;
 
+    /**
+     * The same mapping, looked up straight from the characters of a message.
+     */
+    private volatile TypeTable types = new TypeTable(new Hashtable<>());
+
     /**
      * Singleton constructor.
      *
@@ -58,7 +68,10 @@ public final class BasicProtocol implements Protocol {
     @Override
     public void registerNetworkMessage(final Class<? extends Event> eventClass,
                                        final EventInstantiator eventInstatiator) {
-        this.eventMapping.put(eventClass.getSimpleName(), eventInstatiator);
+        synchronized (this.eventMapping) {
+            this.eventMapping.put(eventClass.getSimpleName(), eventInstatiator);
+            this.types = new TypeTable(this.eventMapping);
+        }
     }
 
     @Override
@@ -66,49 +79,61 @@ public final class BasicProtocol implements Protocol {
         return this.eventMapping.containsKey(eventClass.getSimpleName());
     }
 
+    /**
+     * Parses the message in place, the fields are handed to the event as a view on the message.
+     *
+     * @param message - The String event message received over sockets.
+     * @return - The actual event instance, ready for dispatch.
+     * @throws InvalidProtocolException when the received message was syntactically incorrect.
+     * @throws InvalidActionException   when the type of event was not registered.
+     */
     @Override
     public Event deserialize(final String message)
             throws InvalidProtocolException, InvalidActionException {
         FailIf.isNull(message);
 
-        String action = null;
-
-        String[] pairs = message.split(this.getPairSeperator());
-        Map<String, String> fields = new HashMap<>();
-        for (String pair : pairs) {
-            String[] keyValue = pair.split(this.getKeyValueSeperator());
-
-            if (keyValue.length != 2) {
+        MessageFields fields = FIELDS.get();
+        try {
+            if (!fields.parse(message)) {
                 LOGGER.error("Invalid protocol syntax in message: " + message);
                 throw new InvalidProtocolException("Invalid protocol syntax");
             }
+            if (!fields.hasType()) {
+                LOGGER.error("Protocol field not found: " + this.getEventTypeFieldKey());
+                throw new InvalidProtocolException(this.getEventTypeFieldKey()
+                        + " field not found but required.");
+            }
 
-            if (keyValue[0].equals(this.getEventTypeFieldKey())) {
-                action = keyValue[1];
-            } else {
-                fields.put(keyValue[0], keyValue[1]);
+            EventInstantiator eventInstatiator = this.types.find(message, fields.getTypeStart(),
+                    fields.getTypeEnd());
+            if (eventInstatiator == null) {
+                LOGGER.error("Protocol message not registered: "
+                        + message.substring(fields.getTypeStart(), fields.getTypeEnd()));
+                throw new InvalidActionException("Protocol message not registered");
             }
-        }
-        if (action == null) {
-            LOGGER.error("Protocol field not found: " + this.getEventTypeFieldKey());
-            throw new InvalidProtocolException(this.getEventTypeFieldKey()
-                    + " field not found but required.");
-        }
+            Event result = eventInstatiator.instantiate();
 
-        EventInstantiator eventInstatiator = this.eventMapping.get(action);
-        if (eventInstatiator == null) {
-            LOGGER.error("Protocol message not registered: " + action);
-            throw new InvalidActionException("Protocol message not registered");
+            return result.deserialize(fields);
+        } finally {
+            fields.release();
         }
-        Event result = eventInstatiator.instantiate();
-
-        return result.deserialize(fields);
     }
 
+    /**
+     * Writes the fields straight into the message when the event has a generated codec.
+     *
+     * @param event - The event that we want to send over network.
+     * @return The string to send.
+     */
     @Override
     public String serialize(final Event event) {
         StringBuilder builder = new StringBuilder();
-        builder.append(event.serialize(this));
+        EventCodec<Event> codec = EventCodecs.of(event);
+        if (codec == null) {
+            builder.append(event.serialize(this));
+        } else {
+            codec.serialize(event, this, builder);
+        }
         if (builder.length() > 0) {
             builder.append(this.getPairSeperator());
         }
@@ -139,4 +164,69 @@ public final class BasicProtocol implements Protocol {
         return ACTION_KEY;
     }
 
+    /**
+     * Open-addressing table from event type names to instantiators,
+     * so a name can be looked up without copying it out of the message.
+     */
+    private static final class TypeTable {
+
+        private final String[] names;
+        private final EventInstantiator[] instantiators;
+        private final int mask;
+
+        /**
+         * Copy a mapping.
+         *
+         * @param mapping - Maps event type names to instantiators.
+         */
+        TypeTable(final Map<String, EventInstantiator> mapping) {
+            int capacity = Integer.highestOneBit(Math.max(1, mapping.size()) * 2) * 2;
+            this.names = new String[capacity];
+            this.instantiators = new EventInstantiator[capacity];
+            this.mask = capacity - 1;
+            mapping.forEach((name, instantiator) -> {
+                int index = spread(name.hashCode()) & this.mask;
+                while (this.names[index] != null) {
+                    index = (index + 1) & this.mask;
+                }
+                this.names[index] = name;
+                this.instantiators[index] = instantiator;
+            });
+        }
+
+        /**
+         * Look up the name in a region of a text.
+         *
+         * @param text  - The text.
+         * @param start - The index of the first character of the name.
+         * @param end   - The index after the last character of the name.
+         * @return The instantiator, null if the name is not registered.
+         */
+        EventInstantiator find(final String text, final int start, final int end) {
+            final int multiplier = 31;
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = multiplier * hash + text.charAt(i);
+            }
+
+            int length = end - start;
+            for (int index = spread(hash) & this.mask; this.names[index] != null;
+                 index = (index + 1) & this.mask) {
+                String name = this.names[index];
+                if (name.length() == length && text.regionMatches(start, name, 0, length)) {
+                    return this.instantiators[index];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @param hash - The hash of a name, as {@link String#hashCode()} computes it.
+         * @return The hash with its high bits mixed into the low ones.
+         */
+        private static int spread(final int hash) {
+            final int half = 16;
+            return hash ^ (hash >>> half);
+        }
+    }
 }
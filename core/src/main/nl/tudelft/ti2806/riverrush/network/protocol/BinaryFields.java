@@ -0,0 +1,110 @@
+package nl.tudelft.ti2806.riverrush.network.protocol;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * The primitive encodings of the binary frames of {@link CompactProtocol}.
+ * Every event writes its fields in a fixed order, without names:
+ * whole numbers as zigzag varints, so small numbers of either sign take one byte,
+ * enum constants as one byte with their ordinal and decimal numbers as eight bytes.
+ * Reading past the end of a frame throws {@link BufferUnderflowException}, which the protocol
+ * reports as an {@link InvalidProtocolException}.
+ */
+public final class BinaryFields {
+
+    private static final int PAYLOAD_BITS = 7;
+    private static final int PAYLOAD_MASK = 0x7F;
+    private static final int CONTINUE_BIT = 0x80;
+    private static final int BYTE_MASK = 0xFF;
+    private static final int MAX_SHIFT = 28;
+
+    /**
+     * Only static methods.
+     */
+    private BinaryFields() {
+    }
+
+    /**
+     * Write a number that is never negative, seven bits per byte.
+     *
+     * @param out   - The buffer to write to.
+     * @param value - The number, read as unsigned.
+     */
+    public static void putVarInt(final ByteBuffer out, final int value) {
+        int rest = value;
+        while ((rest & ~PAYLOAD_MASK) != 0) {
+            out.put((byte) ((rest & PAYLOAD_MASK) | CONTINUE_BIT));
+            rest >>>= PAYLOAD_BITS;
+        }
+        out.put((byte) rest);
+    }
+
+    /**
+     * Read a number written by {@link #putVarInt(ByteBuffer, int)}.
+     *
+     * @param in - The buffer to read from.
+     * @return The number.
+     * @throws InvalidProtocolException when the number takes more than five bytes.
+     */
+    public static int getVarInt(final ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift <= MAX_SHIFT; shift += PAYLOAD_BITS) {
+            int b = in.get() & BYTE_MASK;
+            value |= (b & PAYLOAD_MASK) << shift;
+            if ((b & CONTINUE_BIT) == 0) {
+                return value;
+            }
+        }
+        throw new InvalidProtocolException("Varint is too long");
+    }
+
+    /**
+     * Write a whole number, small negative numbers take as little room as small positive ones.
+     *
+     * @param out   - The buffer to write to.
+     * @param value - The number.
+     */
+    public static void putInt(final ByteBuffer out, final int value) {
+        putVarInt(out, (value << 1) ^ (value >> (Integer.SIZE - 1)));
+    }
+
+    /**
+     * Read a number written by {@link #putInt(ByteBuffer, int)}.
+     *
+     * @param in - The buffer to read from.
+     * @return The number.
+     */
+    public static int getInt(final ByteBuffer in) {
+        int zigzag = getVarInt(in);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    /**
+     * Write an enum constant by its ordinal.
+     *
+     * @param out      - The buffer to write to.
+     * @param constant - The constant, its enum has at most 256 constants.
+     */
+    public static void putEnum(final ByteBuffer out, final Enum<?> constant) {
+        out.put((byte) constant.ordinal());
+    }
+
+    /**
+     * Read an enum constant written by {@link #putEnum(ByteBuffer, Enum)}.
+     *
+     * @param in       - The buffer to read from.
+     * @param enumType - The type of the enum.
+     * @param <E>      - The type of the enum.
+     * @return The constant.
+     * @throws InvalidProtocolException when the enum has no constant with the ordinal.
+     */
+    public static <E extends Enum<E>> E getEnum(final ByteBuffer in, final Class<E> enumType) {
+        int ordinal = in.get() & BYTE_MASK;
+        Enum<?>[] constants = EnumConstants.of(enumType);
+        if (ordinal >= constants.length) {
+            throw new InvalidProtocolException("No constant " + ordinal + " in " + enumType.getSimpleName());
+        }
+        return enumType.cast(constants[ordinal]);
+    }
+}
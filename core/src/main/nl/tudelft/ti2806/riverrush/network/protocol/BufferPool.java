@@ -0,0 +1,125 @@
+package nl.tudelft.ti2806.riverrush.network.protocol;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Direct buffers of one size to encode outgoing frames in, so sending does not allocate.
+ * A buffer is released once the websocket layer is done with it, which is when its send method
+ * returns: the layer copies the payload into a frame of its own before that.
+ * Buffers are cleared when they are acquired, so a released buffer still reads the same until
+ * it is handed out again.
+ * Thread safe.
+ */
+public final class BufferPool {
+
+    /**
+     * The size of the buffers by default, enough for a full batch of the outbox.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 4096;
+
+    /**
+     * The amount of free buffers kept by default, about one for every thread that sends.
+     */
+    public static final int DEFAULT_MAX_FREE = 32;
+
+    private final int bufferSize;
+    private final int maxFree;
+
+    /**
+     * The buffers that can be handed out. Also the lock for the fields below.
+     */
+    private final Deque<ByteBuffer> free;
+    private long allocatedCount;
+
+    /**
+     * Create an empty pool, buffers are made when they are first needed.
+     *
+     * @param aBufferSize - The capacity of the buffers.
+     * @param aMaxFree    - The amount of released buffers to keep, the others are dropped.
+     */
+    public BufferPool(final int aBufferSize, final int aMaxFree) {
+        if (aBufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size should be positive, got: " + aBufferSize);
+        }
+        if (aMaxFree < 0) {
+            throw new IllegalArgumentException("Free buffers should not be negative, got: " + aMaxFree);
+        }
+        this.bufferSize = aBufferSize;
+        this.maxFree = aMaxFree;
+        this.free = new ArrayDeque<>(aMaxFree);
+    }
+
+    /**
+     * @return An empty buffer of the pool, ready to be written.
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer;
+        synchronized (this.free) {
+            buffer = this.free.pollFirst();
+            if (buffer == null) {
+                this.allocatedCount++;
+            }
+        }
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(this.bufferSize);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * @param size - The amount of bytes that will be written.
+     * @return An empty buffer of the pool, or a buffer of its own when the size does not fit
+     * in the buffers of the pool.
+     */
+    public ByteBuffer acquire(final int size) {
+        if (size > this.bufferSize) {
+            return ByteBuffer.allocate(size);
+        }
+        return this.acquire();
+    }
+
+    /**
+     * Give a buffer back, it should not be used by the caller after this.
+     * Buffers that do not come from the pool are ignored.
+     *
+     * @param buffer - The buffer that was acquired.
+     */
+    public void release(final ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || buffer.capacity() != this.bufferSize) {
+            return;
+        }
+        synchronized (this.free) {
+            if (this.free.size() < this.maxFree) {
+                this.free.addFirst(buffer);
+            }
+        }
+    }
+
+    /**
+     * @return The capacity of the buffers.
+     */
+    public int getBufferSize() {
+        return this.bufferSize;
+    }
+
+    /**
+     * @return The amount of buffers that can be handed out without allocating.
+     */
+    public int getFreeCount() {
+        synchronized (this.free) {
+            return this.free.size();
+        }
+    }
+
+    /**
+     * @return The amount of buffers the pool made.
+     */
+    public long getAllocatedCount() {
+        synchronized (this.free) {
+            return this.allocatedCount;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package nl.tudelft.ti2806.riverrush.network.protocol;
+
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
+import nl.tudelft.ti2806.riverrush.failfast.FailIf;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Protocol that sends events as binary frames to the connections that ask for it,
+ * and as the text of {@link BasicProtocol} to all others.
+ * A frame is the varint id of the event type followed by the fields in the fixed layout of the
+ * event, see {@link BinaryFields}. The ids are handed out in the order the events are registered,
+ * so both sides should register the same events in the same order.
+ * The frames of several events can be sent as one by writing them one after the other, see
+ * {@link #decodeBatch(ByteBuffer)}.
+ * A connection asks for binary frames with the {@link #HANDSHAKE_FIELD} header set to {@link #BINARY},
+ * and only gets them when the other side answers with the same header.
+ */
+public final class CompactProtocol implements Protocol {
+
+    /**
+     * The header of the handshake that negotiates binary frames.
+     */
+    public static final String HANDSHAKE_FIELD = "RiverRush-Protocol";
+
+    /**
+     * The value of {@link #HANDSHAKE_FIELD} that asks for and agrees to binary frames.
+     */
+    public static final String BINARY = "binary";
+
+    /**
+     * The header of the handshake that negotiates compressed frames, see {@link FrameCompressor}.
+     */
+    public static final String COMPRESSION_FIELD = "RiverRush-Compression";
+
+    /**
+     * The value of {@link #COMPRESSION_FIELD} that asks for and agrees to compressed frames.
+     */
+    public static final String DEFLATE = "deflate";
+
+    private static final Logger LOGGER = LogManager.getLogger(CompactProtocol.class);
+
+    private static final int INITIAL_FRAME_SIZE = 64;
+
+    /**
+     * The frame that is being written, reused per thread.
+     */
+    private static final ThreadLocal<ByteBuffer> SCRATCH = ThreadLocal.withInitial(() ->
+            ByteBuffer.allocate(INITIAL_FRAME_SIZE));
+
+    /**
+     * The text representation, for the connections that did not ask for binary frames.
+     */
+    private final BasicProtocol text;
+
+    /**
+     * Maps event types to their ids.
+     */
+    private final Map<Class<? extends Event>, Integer> ids = new ConcurrentHashMap<>();
+
+    /**
+     * Maps ids to the lambda that instantiates the event.
+     */
+    private volatile EventInstantiator[] instantiators = new EventInstantiator[0];
+
+    /**
+     * The dictionary of the registered events, made again when it is asked for after a registration.
+     */
+    private volatile byte[] dictionary;
+
+    /**
+     * Create a protocol without events.
+     *
+     * @param portNumber - On what port to connect
+     */
+    public CompactProtocol(final int portNumber) {
+        this.text = new BasicProtocol(portNumber);
+    }
+
+    /**
+     * Registers the event, a new type gets the next id and a type that was registered before keeps
+     * its id.
+     *
+     * @param eventClass       - The type of event.
+     * @param eventInstatiator - A lambda that creates such an event.
+     */
+    @Override
+    public void registerNetworkMessage(final Class<? extends Event> eventClass,
+                                       final EventInstantiator eventInstatiator) {
+        this.text.registerNetworkMessage(eventClass, eventInstatiator);
+        synchronized (this.ids) {
+            Integer id = this.ids.get(eventClass);
+            EventInstantiator[] grown;
+            if (id == null) {
+                id = this.instantiators.length;
+                grown = Arrays.copyOf(this.instantiators, id + 1);
+            } else {
+                grown = this.instantiators.clone();
+            }
+            grown[id] = eventInstatiator;
+            this.instantiators = grown;
+            this.ids.put(eventClass, id);
+            this.dictionary = null;
+        }
+    }
+
+    @Override
+    public boolean isRegistered(final Class<? extends Event> eventClass) {
+        return this.ids.containsKey(eventClass);
+    }
+
+    @Override
+    public Event deserialize(final String event) throws InvalidProtocolException, InvalidActionException {
+        return this.text.deserialize(event);
+    }
+
+    @Override
+    public String serialize(final Event event) {
+        return this.text.serialize(event);
+    }
+
+    @Override
+    public boolean isBinarySupported() {
+        return true;
+    }
+
+    /**
+     * Write the id of the event type and the fields of the event.
+     *
+     * @param event - The event that we want to send over network.
+     * @return The frame, it is not shared so it can be queued.
+     * @throws InvalidActionException when the type of event was not registered.
+     */
+    @Override
+    public ByteBuffer encode(final Event event) {
+        FailIf.isNull(event);
+        ByteBuffer scratch = SCRATCH.get();
+        while (true) {
+            scratch.clear();
+            try {
+                this.encode(event, scratch);
+                break;
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+                SCRATCH.set(scratch);
+            }
+        }
+
+        scratch.flip();
+        ByteBuffer frame = ByteBuffer.allocate(scratch.remaining());
+        frame.put(scratch).flip();
+        return frame;
+    }
+
+    /**
+     * Write the id of the event type and the fields of the event.
+     *
+     * @param event - The event that we want to send over network.
+     * @param out   - The buffer to write the frame to, from its position on.
+     * @throws InvalidActionException when the type of event was not registered.
+     */
+    @Override
+    public void encode(final Event event, final ByteBuffer out) {
+        FailIf.isNull(event, out);
+        Integer id = this.ids.get(event.getClass());
+        if (id == null) {
+            throw new InvalidActionException("Protocol message not registered: "
+                    + event.getClass().getSimpleName());
+        }
+        BinaryFields.putVarInt(out, id);
+        event.encode(out);
+    }
+
+    @Override
+    public Event decode(final ByteBuffer frame) throws InvalidProtocolException, InvalidActionException {
+        FailIf.isNull(frame);
+        Event event = this.decodeNext(frame);
+        if (frame.hasRemaining()) {
+            throw new InvalidProtocolException(frame.remaining() + " bytes after the fields");
+        }
+        return event;
+    }
+
+    /**
+     * Read the events of the frame until it runs out, every event ends where its fixed layout does.
+     *
+     * @param frame - The binary frame received over sockets.
+     * @return The events in the order they were written.
+     * @throws InvalidProtocolException when the frame is empty or ends halfway an event.
+     * @throws InvalidActionException   when the type of an event was not registered.
+     */
+    @Override
+    public List<Event> decodeBatch(final ByteBuffer frame)
+            throws InvalidProtocolException, InvalidActionException {
+        FailIf.isNull(frame);
+        if (!frame.hasRemaining()) {
+            throw new InvalidProtocolException("Binary frame is empty");
+        }
+        List<Event> events = new ArrayList<>();
+        while (frame.hasRemaining()) {
+            events.add(this.decodeNext(frame));
+        }
+        return events;
+    }
+
+    /**
+     * Read one event from the frame, and leave the frame after its fields.
+     *
+     * @param frame - The binary frame received over sockets.
+     * @return The event.
+     * @throws InvalidProtocolException when the frame ends before the fields do.
+     * @throws InvalidActionException   when the type of event was not registered.
+     */
+    private Event decodeNext(final ByteBuffer frame) throws InvalidProtocolException, InvalidActionException {
+        try {
+            int id = BinaryFields.getVarInt(frame);
+            EventInstantiator[] known = this.instantiators;
+            if (id < 0 || id >= known.length) {
+                LOGGER.error("Protocol message not registered: {}", id);
+                throw new InvalidActionException("Protocol message not registered");
+            }
+            return known[id].instantiate().decode(frame);
+        } catch (BufferUnderflowException e) {
+            LOGGER.error("Binary frame ends before its fields do");
+            throw new InvalidProtocolException("Binary frame too short");
+        }
+    }
+
+    /**
+     * The text of an empty event of every registered type, in the order they were registered, so the
+     * keys, separators and event names are in it.
+     *
+     * @return The dictionary.
+     */
+    @Override
+    public byte[] getDictionary() {
+        byte[] result = this.dictionary;
+        if (result == null) {
+            synchronized (this.ids) {
+                StringBuilder vocabulary = new StringBuilder();
+                for (EventInstantiator instantiator : this.instantiators) {
+                    vocabulary.append(this.serialize(instantiator.instantiate()))
+                            .append(FrameCompressor.LINE_SEPARATOR);
+                }
+                result = vocabulary.toString().getBytes(StandardCharsets.UTF_8);
+                this.dictionary = result;
+            }
+        }
+        return result.clone();
+    }
+
+    @Override
+    public int getPortNumber() {
+        return this.text.getPortNumber();
+    }
+
+    @Override
+    public String getKeyValueSeperator() {
+        return this.text.getKeyValueSeperator();
+    }
+
+    @Override
+    public String getPairSeperator() {
+        return this.text.getPairSeperator();
+    }
+
+    @Override
+    public String getEventTypeFieldKey() {
+        return this.text.getEventTypeFieldKey();
+    }
+}
@@ -0,0 +1,29 @@
+package nl.tudelft.ti2806.riverrush.network.protocol;
+
+/**
+ * The constants of each enum, without the copy that {@link Class#getEnumConstants()} makes.
+ * Shared by the text and the binary fields, so each enum is only looked up once.
+ */
+final class EnumConstants {
+
+    private static final ClassValue<Enum<?>[]> CONSTANTS = new ClassValue<Enum<?>[]>() {
+        @Override
+        protected Enum<?>[] computeValue(final Class<?> type) {
+            return (Enum<?>[]) type.getEnumConstants();
+        }
+    };
+
+    /**
+     * Only static methods.
+     */
+    private EnumConstants() {
+    }
+
+    /**
+     * @param enumType - The type of an enum.
+     * @return The constants of the enum in ordinal order, which should not be changed.
+     */
+    static Enum<?>[] of(final Class<?> enumType) {
+        return CONSTANTS.get(enumType);
+    }
+}
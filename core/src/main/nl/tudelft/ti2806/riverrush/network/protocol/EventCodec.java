@@ -0,0 +1,60 @@
+package nl.tudelft.ti2806.riverrush.network.protocol;
+
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Reads and writes the fields of one type of event, in text and in binary frames.
+ * Codecs are generated from the wire fields of the events, see {@link EventCodecs}.
+ *
+ * @param <E> The type of event.
+ */
+public interface EventCodec<E extends Event> {
+
+    /**
+     * @return A new event without its fields set.
+     */
+    E create();
+
+    /**
+     * @param event - The event.
+     * @return A new event with the same fields, the event is left as it is.
+     */
+    E copy(E event);
+
+    /**
+     * Append the fields of an event as key-value pairs, without the event type.
+     *
+     * @param event    - The event.
+     * @param protocol - Tells how to separate the pairs.
+     * @param out      - The text to append to.
+     */
+    void serialize(E event, Protocol protocol, StringBuilder out);
+
+    /**
+     * Set the fields of an event from key-value pairs.
+     *
+     * @param event  - The event.
+     * @param fields - A value for each field of the event.
+     * @throws InvalidProtocolException when a field is missing.
+     */
+    void deserialize(E event, Map<String, String> fields);
+
+    /**
+     * Write the fields of an event to a binary frame, see {@link BinaryFields}.
+     *
+     * @param event - The event.
+     * @param out   - The frame to write to.
+     */
+    void encode(E event, ByteBuffer out);
+
+    /**
+     * Set the fields of an event from a binary frame.
+     *
+     * @param event - The event.
+     * @param in    - The frame to read from.
+     */
+    void decode(E event, ByteBuffer in);
+}
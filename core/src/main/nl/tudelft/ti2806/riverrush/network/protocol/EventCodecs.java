@@ -0,0 +1,55 @@
+package nl.tudelft.ti2806.riverrush.network.protocol;
+
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
+
+/**
+ * Finds the codecs that are generated for the events marked as wire events.
+ * The codec of an event is the class in the same package named after the event with a Codec suffix.
+ */
+public final class EventCodecs {
+
+    private static final String CODEC_SUFFIX = "Codec";
+
+    /**
+     * The codec of each type, or null when it has none.
+     */
+    private static final ClassValue<EventCodec<?>> CODECS = new ClassValue<EventCodec<?>>() {
+        @Override
+        protected EventCodec<?> computeValue(final Class<?> type) {
+            try {
+                Class<?> codec = Class.forName(type.getName() + CODEC_SUFFIX, true, type.getClassLoader());
+                if (!EventCodec.class.isAssignableFrom(codec)) {
+                    return null;
+                }
+                return (EventCodec<?>) codec.getConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+    };
+
+    /**
+     * Only static methods.
+     */
+    private EventCodecs() {
+    }
+
+    /**
+     * @param eventClass - A type of event.
+     * @param <E>        - The type of event.
+     * @return The codec of the type, null if it has none.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Event> EventCodec<E> of(final Class<E> eventClass) {
+        return (EventCodec<E>) CODECS.get(eventClass);
+    }
+
+    /**
+     * @param event - An event.
+     * @return The codec of the type of the event, null if it has none.
+     */
+    @SuppressWarnings("unchecked")
+    public static EventCodec<Event> of(final Event event) {
+        return (EventCodec<Event>) CODECS.get(event.getClass());
+    }
+}
@@ -0,0 +1,176 @@
+package nl.tudelft.ti2806.riverrush.network.protocol;
+
+import nl.tudelft.ti2806.riverrush.failfast.FailIf;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses the binary frames of one connection with deflate and a preset dictionary, for the
+ * connections that ask for it with the {@link CompactProtocol#COMPRESSION_FIELD} header.
+ * Every frame starts with a flag: {@link #PLAIN} frames follow as they are, {@link #DEFLATED}
+ * frames are compressed on their own, so they can be read in any order. Frames that are too small
+ * to gain anything are sent plain.
+ * The dictionary is the vocabulary of the protocol, see {@link Protocol#getDictionary()}, so even a
+ * single batch finds the keys and event names it repeats.
+ * Keeps count of the bytes before and after, see {@link #getRatio()}.
+ */
+public final class FrameCompressor {
+
+    /**
+     * The flag of a frame that is not compressed.
+     */
+    public static final byte PLAIN = 0;
+
+    /**
+     * The flag of a compressed frame.
+     */
+    public static final byte DEFLATED = 1;
+
+    /**
+     * Separates the messages of a text batch, which is sent as a compressed binary frame.
+     */
+    public static final char LINE_SEPARATOR = '\n';
+
+    /**
+     * Frames smaller than this are not worth compressing.
+     */
+    private static final int MIN_SIZE = 64;
+
+    private static final int CHUNK_SIZE = 256;
+
+    private final byte[] dictionary;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final Inflater inflater = new Inflater();
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+    private long plainBytes;
+    private long sentBytes;
+
+    /**
+     * Create a compressor for one connection.
+     *
+     * @param aDictionary - The preset dictionary, the other side should use the same.
+     */
+    public FrameCompressor(final byte[] aDictionary) {
+        FailIf.isNull(aDictionary);
+        this.dictionary = aDictionary.clone();
+    }
+
+    /**
+     * Compress a frame when that makes it smaller.
+     *
+     * @param frame - The frame to send, it is read to the end.
+     * @return The flagged frame, ready to be read.
+     */
+    public synchronized ByteBuffer pack(final ByteBuffer frame) {
+        FailIf.isNull(frame);
+        int length = frame.remaining();
+        byte[] input = new byte[length];
+        frame.get(input);
+
+        byte[] output = null;
+        if (length >= MIN_SIZE) {
+            this.deflater.reset();
+            if (this.dictionary.length > 0) {
+                this.deflater.setDictionary(this.dictionary);
+            }
+            this.deflater.setInput(input);
+            this.deflater.finish();
+            ByteArrayOutputStream deflated = new ByteArrayOutputStream(length);
+            deflated.write(DEFLATED);
+            while (!this.deflater.finished() && deflated.size() <= length) {
+                deflated.write(this.chunk, 0, this.deflater.deflate(this.chunk));
+            }
+            if (this.deflater.finished() && deflated.size() <= length) {
+                output = deflated.toByteArray();
+            }
+        }
+
+        ByteBuffer packed;
+        if (output == null) {
+            packed = ByteBuffer.allocate(length + 1);
+            packed.put(PLAIN).put(input).flip();
+        } else {
+            packed = ByteBuffer.wrap(output);
+        }
+        this.plainBytes += length;
+        this.sentBytes += packed.remaining();
+        return packed;
+    }
+
+    /**
+     * Read a flagged frame.
+     *
+     * @param frame - The received frame, it is read to the end.
+     * @return The frame as it was before it was packed.
+     * @throws InvalidProtocolException when the flag is unknown or the compressed data is corrupt.
+     */
+    public synchronized ByteBuffer unpack(final ByteBuffer frame) throws InvalidProtocolException {
+        FailIf.isNull(frame);
+        if (!frame.hasRemaining()) {
+            throw new InvalidProtocolException("Compressed frame without a flag");
+        }
+        byte flag = frame.get();
+        byte[] input = new byte[frame.remaining()];
+        frame.get(input);
+        if (flag == PLAIN) {
+            return ByteBuffer.wrap(input);
+        }
+        if (flag != DEFLATED) {
+            throw new InvalidProtocolException("Unknown compression flag: " + flag);
+        }
+
+        this.inflater.reset();
+        this.inflater.setInput(input);
+        ByteArrayOutputStream inflated = new ByteArrayOutputStream(input.length * 2);
+        try {
+            while (!this.inflater.finished()) {
+                int read = this.inflater.inflate(this.chunk);
+                if (read == 0 && this.inflater.needsDictionary()) {
+                    this.inflater.setDictionary(this.dictionary);
+                } else if (read == 0 && this.inflater.needsInput()) {
+                    throw new InvalidProtocolException("Compressed frame ends early");
+                }
+                inflated.write(this.chunk, 0, read);
+            }
+        } catch (DataFormatException | IllegalArgumentException e) {
+            throw new InvalidProtocolException("Corrupt compressed frame: " + e.getMessage());
+        }
+        return ByteBuffer.wrap(inflated.toByteArray());
+    }
+
+    /**
+     * @return The bytes sent for every byte packed, 1 before anything was packed.
+     */
+    public synchronized double getRatio() {
+        if (this.plainBytes == 0) {
+            return 1;
+        }
+        return (double) this.sentBytes / this.plainBytes;
+    }
+
+    /**
+     * @return The amount of bytes that were packed.
+     */
+    public synchronized long getPlainBytes() {
+        return this.plainBytes;
+    }
+
+    /**
+     * @return The amount of bytes the packed frames took.
+     */
+    public synchronized long getSentBytes() {
+        return this.sentBytes;
+    }
+
+    /**
+     * Free the native memory of the compressor, it can not be used after this.
+     */
+    public synchronized void close() {
+        this.deflater.end();
+        this.inflater.end();
+    }
+}
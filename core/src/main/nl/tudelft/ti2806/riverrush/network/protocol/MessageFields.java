@@ -0,0 +1,430 @@
+package nl.tudelft.ti2806.riverrush.network.protocol;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The fields of one received message, read in place.
+ * Parsing only records where each key and value starts and ends, nothing is copied
+ * until a value is asked for, and {@link #getInt(Map, String)}, {@link #getDouble(Map, String)} and
+ * {@link #getEnum(Map, String, Class)} read values without copying them at all.
+ * An instance is reused for every message parsed on a thread, so it is only valid while the
+ * event reads it in {@link nl.tudelft.ti2806.riverrush.domain.event.Event#deserialize(Map)}.
+ */
+public final class MessageFields extends AbstractMap<String, String> {
+
+    private static final int INITIAL_PAIRS = 8;
+
+    /**
+     * The most digits a decimal number can have to be parsed without copying it:
+     * every number with at most this many digits is exactly a double.
+     */
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    /**
+     * The powers of ten that are exactly a double, so dividing by one rounds correctly.
+     */
+    private static final double[] EXACT_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final char pairSeparator;
+    private final char keyValueSeparator;
+    private final String typeKey;
+
+    private String message;
+    private int size;
+    private int[] keyStarts = new int[INITIAL_PAIRS];
+    private int[] separators = new int[INITIAL_PAIRS];
+    private int[] valueEnds = new int[INITIAL_PAIRS];
+    private int typeStart;
+    private int typeEnd;
+
+    /**
+     * Create an empty view.
+     *
+     * @param aPairSeparator     - Separates the pairs.
+     * @param aKeyValueSeparator - Separates a key from its value.
+     * @param aTypeKey           - The key of the event type, which is not a field.
+     */
+    MessageFields(final char aPairSeparator, final char aKeyValueSeparator, final String aTypeKey) {
+        this.pairSeparator = aPairSeparator;
+        this.keyValueSeparator = aKeyValueSeparator;
+        this.typeKey = aTypeKey;
+    }
+
+    /**
+     * Find the pairs of a message in one pass.
+     * The syntax is the one of splitting on the separators: trailing empty pairs and trailing
+     * key-value separators are ignored, every other pair needs exactly one key-value separator.
+     * A key that occurs twice has the last value.
+     *
+     * @param aMessage - The message.
+     * @return False if the syntax is invalid.
+     */
+    boolean parse(final String aMessage) {
+        this.message = aMessage;
+        this.size = 0;
+        this.typeStart = -1;
+        this.typeEnd = -1;
+
+        if (aMessage.isEmpty()) {
+            return false;
+        }
+        int end = aMessage.length();
+        while (end > 0 && aMessage.charAt(end - 1) == this.pairSeparator) {
+            end--;
+        }
+
+        int pairStart = 0;
+        while (pairStart < end) {
+            int pairEnd = aMessage.indexOf(this.pairSeparator, pairStart);
+            if (pairEnd < 0 || pairEnd > end) {
+                pairEnd = end;
+            }
+            if (!this.addPair(pairStart, pairEnd)) {
+                return false;
+            }
+            pairStart = pairEnd + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Record one pair.
+     *
+     * @param start - The index of the first character of the pair.
+     * @param end   - The index after the last character of the pair.
+     * @return False if the pair has no value or more than one.
+     */
+    private boolean addPair(final int start, final int end) {
+        int valueEnd = end;
+        while (valueEnd > start && this.message.charAt(valueEnd - 1) == this.keyValueSeparator) {
+            valueEnd--;
+        }
+        int separator = this.message.indexOf(this.keyValueSeparator, start);
+        if (separator < 0 || separator >= valueEnd) {
+            return false;
+        }
+        int second = this.message.indexOf(this.keyValueSeparator, separator + 1);
+        if (second >= 0 && second < valueEnd) {
+            return false;
+        }
+
+        if (this.regionEquals(start, separator, this.typeKey)) {
+            this.typeStart = separator + 1;
+            this.typeEnd = valueEnd;
+            return true;
+        }
+
+        if (this.size == this.keyStarts.length) {
+            int grown = this.size * 2;
+            this.keyStarts = Arrays.copyOf(this.keyStarts, grown);
+            this.separators = Arrays.copyOf(this.separators, grown);
+            this.valueEnds = Arrays.copyOf(this.valueEnds, grown);
+        }
+        this.keyStarts[this.size] = start;
+        this.separators[this.size] = separator;
+        this.valueEnds[this.size] = valueEnd;
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Forget the message, so it can be collected.
+     */
+    void release() {
+        this.message = null;
+        this.size = 0;
+    }
+
+    /**
+     * @return True if the message had an event type.
+     */
+    boolean hasType() {
+        return this.typeStart >= 0;
+    }
+
+    /**
+     * @return The message that was parsed.
+     */
+    String getMessage() {
+        return this.message;
+    }
+
+    /**
+     * @return The index of the first character of the event type.
+     */
+    int getTypeStart() {
+        return this.typeStart;
+    }
+
+    /**
+     * @return The index after the last character of the event type.
+     */
+    int getTypeEnd() {
+        return this.typeEnd;
+    }
+
+    /**
+     * @param key - A key.
+     * @return The pair of the key, the last one if it occurs twice, -1 if there is none.
+     */
+    private int indexOf(final Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        for (int i = this.size - 1; i >= 0; i--) {
+            if (this.regionEquals(this.keyStarts[i], this.separators[i], (String) key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param start - The index of the first character of the region.
+     * @param end   - The index after the last character of the region.
+     * @param text  - The text to compare to.
+     * @return True if the region of the message is the text.
+     */
+    private boolean regionEquals(final int start, final int end, final String text) {
+        return end - start == text.length() && this.message.regionMatches(start, text, 0, text.length());
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.indexOf(key) >= 0;
+    }
+
+    @Override
+    public String get(final Object key) {
+        int index = this.indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        return this.message.substring(this.separators[index] + 1, this.valueEnds[index]);
+    }
+
+    /**
+     * Copies the fields, only meant for the odd event that walks all of them.
+     *
+     * @return The fields.
+     */
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        Map<String, String> copy = new LinkedHashMap<>();
+        for (int i = 0; i < this.size; i++) {
+            copy.put(this.message.substring(this.keyStarts[i], this.separators[i]),
+                    this.message.substring(this.separators[i] + 1, this.valueEnds[i]));
+        }
+        return copy.entrySet();
+    }
+
+    /**
+     * Read a whole number, without copying it out of the message when the fields are a
+     * {@link MessageFields}.
+     *
+     * @param fields - The fields of a message.
+     * @param key    - The key of the number.
+     * @return The number.
+     * @throws InvalidProtocolException when the key is missing.
+     * @throws NumberFormatException    when the value is not a whole number.
+     */
+    public static int getInt(final Map<String, String> fields, final String key) {
+        if (!(fields instanceof MessageFields)) {
+            return Integer.parseInt(require(fields, key));
+        }
+
+        MessageFields view = (MessageFields) fields;
+        int index = view.require(key);
+        return parseInt(view.message, view.separators[index] + 1, view.valueEnds[index]);
+    }
+
+    /**
+     * Read a decimal number, without copying it out of the message when the fields are a
+     * {@link MessageFields} and the number is short and written without an exponent.
+     *
+     * @param fields - The fields of a message.
+     * @param key    - The key of the number.
+     * @return The number.
+     * @throws InvalidProtocolException when the key is missing.
+     * @throws NumberFormatException    when the value is not a number.
+     */
+    public static double getDouble(final Map<String, String> fields, final String key) {
+        if (!(fields instanceof MessageFields)) {
+            return Double.parseDouble(require(fields, key));
+        }
+
+        MessageFields view = (MessageFields) fields;
+        int index = view.require(key);
+        return parseDouble(view.message, view.separators[index] + 1, view.valueEnds[index]);
+    }
+
+    /**
+     * Read an enum constant by its name in any case, without copying the name out of the message
+     * when the fields are a {@link MessageFields}.
+     *
+     * @param fields   - The fields of a message.
+     * @param key      - The key of the constant.
+     * @param enumType - The type of the enum.
+     * @param <E>      - The type of the enum.
+     * @return The constant.
+     * @throws InvalidProtocolException when the key is missing.
+     * @throws IllegalArgumentException when the enum has no constant with the name.
+     */
+    public static <E extends Enum<E>> E getEnum(final Map<String, String> fields, final String key,
+                                                final Class<E> enumType) {
+        String message;
+        int start;
+        int end;
+        if (fields instanceof MessageFields) {
+            MessageFields view = (MessageFields) fields;
+            int index = view.require(key);
+            message = view.message;
+            start = view.separators[index] + 1;
+            end = view.valueEnds[index];
+        } else {
+            message = require(fields, key);
+            start = 0;
+            end = message.length();
+        }
+
+        for (Enum<?> constant : EnumConstants.of(enumType)) {
+            String name = constant.name();
+            if (end - start == name.length() && message.regionMatches(true, start, name, 0, name.length())) {
+                return enumType.cast(constant);
+            }
+        }
+        throw new IllegalArgumentException("No enum constant " + enumType.getName() + "."
+                + message.substring(start, end));
+    }
+
+    /**
+     * @param key - A key.
+     * @return The pair of the key.
+     * @throws InvalidProtocolException when the key is missing.
+     */
+    private int require(final String key) {
+        int index = this.indexOf(key);
+        if (index < 0) {
+            throw new InvalidProtocolException("Missing field: " + key);
+        }
+        return index;
+    }
+
+    /**
+     * @param fields - The fields of a message.
+     * @param key    - A key.
+     * @return The value of the key.
+     * @throws InvalidProtocolException when the key is missing.
+     */
+    private static String require(final Map<String, String> fields, final String key) {
+        String value = fields.get(key);
+        if (value == null) {
+            throw new InvalidProtocolException("Missing field: " + key);
+        }
+        return value;
+    }
+
+    /**
+     * Parse a whole number in a region, with the rules of {@link Integer#parseInt(String)}.
+     *
+     * @param text  - The text.
+     * @param start - The index of the first character.
+     * @param end   - The index after the last character.
+     * @return The number.
+     * @throws NumberFormatException when the region is not a whole number.
+     */
+    static int parseInt(final String text, final int start, final int end) {
+        final int radix = 10;
+        int index = start;
+        boolean negative = false;
+        int limit = -Integer.MAX_VALUE;
+        if (index < end && (text.charAt(index) == '-' || text.charAt(index) == '+')) {
+            negative = text.charAt(index) == '-';
+            if (negative) {
+                limit = Integer.MIN_VALUE;
+            }
+            index++;
+        }
+        if (index == end) {
+            throw new NumberFormatException("For input string: \"" + text.substring(start, end) + "\"");
+        }
+
+        int multiplyLimit = limit / radix;
+        int result = 0;
+        while (index < end) {
+            int digit = Character.digit(text.charAt(index), radix);
+            if (digit < 0 || result < multiplyLimit || result * radix < limit + digit) {
+                throw new NumberFormatException("For input string: \"" + text.substring(start, end) + "\"");
+            }
+            result = result * radix - digit;
+            index++;
+        }
+        if (negative) {
+            return result;
+        }
+        return -result;
+    }
+
+    /**
+     * Parse a decimal number in a region, with the rules of {@link Double#parseDouble(String)}.
+     * A sign, digits and a decimal point are parsed in place when there are at most
+     * {@link #MAX_EXACT_DIGITS} digits, which is exact: the digits and the power of ten they
+     * are divided by are both exactly a double. Anything else is copied and parsed by the JDK.
+     *
+     * @param text  - The text.
+     * @param start - The index of the first character.
+     * @param end   - The index after the last character.
+     * @return The number.
+     * @throws NumberFormatException when the region is not a number.
+     */
+    static double parseDouble(final String text, final int start, final int end) {
+        final int radix = 10;
+        int index = start;
+        boolean negative = false;
+        if (index < end && (text.charAt(index) == '-' || text.charAt(index) == '+')) {
+            negative = text.charAt(index) == '-';
+            index++;
+        }
+
+        long digits = 0;
+        int count = 0;
+        int decimals = 0;
+        boolean point = false;
+        while (index < end && count <= MAX_EXACT_DIGITS) {
+            char c = text.charAt(index);
+            if (c == '.' && !point) {
+                point = true;
+            } else if (c >= '0' && c <= '9') {
+                digits = digits * radix + (c - '0');
+                count++;
+                if (point) {
+                    decimals++;
+                }
+            } else {
+                break;
+            }
+            index++;
+        }
+        if (index < end || count == 0 || count > MAX_EXACT_DIGITS) {
+            return Double.parseDouble(text.substring(start, end));
+        }
+
+        double result = digits / EXACT_POWERS_OF_TEN[decimals];
+        if (negative) {
+            return -result;
+        }
+        return result;
+    }
+}
@@ -2,6 +2,10 @@ package nl.tudelft.ti2806.riverrush.network.protocol;
 
 import nl.tudelft.ti2806.riverrush.domain.event.Event;
 
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Encapsulates the translation between dispatchable {@link Event}s and string
  * messages to send over sockets.
@@ -16,6 +20,20 @@ public interface Protocol {
     void registerNetworkMessage(Class<? extends Event> eventClass,
                                 EventInstantiator eventInstatiator);
 
+    /**
+     * Registers a {@link Event} with a generated {@link EventCodec}, which creates the events.
+     *
+     * @param eventClass - The type of event.
+     * @throws IllegalArgumentException when the event is not a wire event.
+     */
+    default void registerNetworkMessage(final Class<? extends Event> eventClass) {
+        EventCodec<? extends Event> codec = EventCodecs.of(eventClass);
+        if (codec == null) {
+            throw new IllegalArgumentException("No codec generated for " + eventClass.getName());
+        }
+        this.registerNetworkMessage(eventClass, codec::create);
+    }
+
     /**
      * Test whether the protocol supports a certain {@link Event}.
      *
@@ -44,6 +62,78 @@ public interface Protocol {
      */
     String serialize(Event event);
 
+    /**
+     * Test whether the protocol also has a binary representation of its events.
+     *
+     * @return True if {@link #encode(Event)} and {@link #decode(ByteBuffer)} can be used.
+     */
+    default boolean isBinarySupported() {
+        return false;
+    }
+
+    /**
+     * Translate a {@link Event} instance to a binary frame.
+     *
+     * @param event - The event that we want to send over network.
+     * @return The frame to send, ready to be read.
+     * @throws UnsupportedOperationException when the protocol has no binary representation.
+     */
+    default ByteBuffer encode(final Event event) {
+        throw new UnsupportedOperationException("Binary frames are not supported");
+    }
+
+    /**
+     * Write the binary frame of a {@link Event} into a buffer of the caller, such as one of a
+     * {@link BufferPool}, instead of a buffer of its own.
+     *
+     * @param event - The event that we want to send over network.
+     * @param out   - The buffer to write the frame to, from its position on.
+     * @throws java.nio.BufferOverflowException when the frame does not fit, the buffer is left
+     *                                          halfway the frame.
+     * @throws UnsupportedOperationException    when the protocol has no binary representation.
+     */
+    default void encode(final Event event, final ByteBuffer out) {
+        out.put(this.encode(event));
+    }
+
+    /**
+     * Translates a binary frame to an actual {@link Event} instance.
+     *
+     * @param frame - The binary frame received over sockets.
+     * @return - The actual event instance, ready for dispatch.
+     * @throws InvalidProtocolException      when the received frame was malformed.
+     * @throws InvalidActionException        when the type of event was not registered.
+     * @throws UnsupportedOperationException when the protocol has no binary representation.
+     */
+    default Event decode(final ByteBuffer frame) throws InvalidProtocolException, InvalidActionException {
+        throw new UnsupportedOperationException("Binary frames are not supported");
+    }
+
+    /**
+     * Translates a binary frame with one or more events, written one after the other, to the
+     * actual {@link Event} instances.
+     *
+     * @param frame - The binary frame received over sockets.
+     * @return - The events in the order they were written, ready for dispatch.
+     * @throws InvalidProtocolException      when the received frame was malformed.
+     * @throws InvalidActionException        when the type of an event was not registered.
+     * @throws UnsupportedOperationException when the protocol has no binary representation.
+     */
+    default List<Event> decodeBatch(final ByteBuffer frame)
+            throws InvalidProtocolException, InvalidActionException {
+        return Collections.singletonList(this.decode(frame));
+    }
+
+    /**
+     * The vocabulary of the messages, for the preset dictionary of a {@link FrameCompressor}.
+     *
+     * @return The dictionary, empty if the protocol has none. Both sides of a connection
+     * should register the same events to get the same dictionary.
+     */
+    default byte[] getDictionary() {
+        return new byte[0];
+    }
+
     /**
      * Get the port number that this protocol operates on.
      *
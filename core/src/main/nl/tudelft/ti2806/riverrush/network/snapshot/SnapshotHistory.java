@@ -0,0 +1,74 @@
+package nl.tudelft.ti2806.riverrush.network.snapshot;
+
+import nl.tudelft.ti2806.riverrush.failfast.FailIf;
+import nl.tudelft.ti2806.riverrush.network.event.WorldSnapshotEvent;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The last snapshots by their number, so a delta can be written or read against any of them.
+ * Only the most recent ones are kept, the oldest make room for new ones.
+ * Not thread safe.
+ */
+public final class SnapshotHistory {
+
+    /**
+     * The amount of snapshots kept by default.
+     */
+    public static final int DEFAULT_SIZE = 32;
+
+    private final Map<Integer, WorldSnapshot> snapshots;
+
+    /**
+     * Create an empty history.
+     *
+     * @param size - The amount of snapshots to keep.
+     */
+    public SnapshotHistory(final int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size should be positive, got: " + size);
+        }
+        this.snapshots = new LinkedHashMap<Integer, WorldSnapshot>() {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, WorldSnapshot> eldest) {
+                return this.size() > size;
+            }
+        };
+    }
+
+    /**
+     * @param sequence - The number of the snapshot, higher than the ones before.
+     * @param snapshot - The snapshot.
+     */
+    public void put(final int sequence, final WorldSnapshot snapshot) {
+        FailIf.isNull(snapshot);
+        this.snapshots.put(sequence, snapshot);
+    }
+
+    /**
+     * @param sequence - The number of the snapshot.
+     * @return The snapshot, {@link WorldSnapshot#EMPTY} for {@link WorldSnapshotEvent#NO_BASELINE}
+     * and null when it is not kept.
+     */
+    public WorldSnapshot get(final int sequence) {
+        if (sequence == WorldSnapshotEvent.NO_BASELINE) {
+            return WorldSnapshot.EMPTY;
+        }
+        return this.snapshots.get(sequence);
+    }
+
+    /**
+     * Forget the snapshots before a snapshot, they are no longer needed once a newer one is known
+     * to have arrived.
+     *
+     * @param sequence - The number of the oldest snapshot to keep.
+     */
+    public void forgetBefore(final int sequence) {
+        Iterator<Integer> numbers = this.snapshots.keySet().iterator();
+        while (numbers.hasNext() && numbers.next() < sequence) {
+            numbers.remove();
+        }
+    }
+}
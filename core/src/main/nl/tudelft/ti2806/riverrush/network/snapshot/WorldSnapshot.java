@@ -0,0 +1,302 @@
+package nl.tudelft.ti2806.riverrush.network.snapshot;
+
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalDroppedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalFellOffEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalJumpedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalMovedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalReturnedToBoatEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.Direction;
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
+import nl.tudelft.ti2806.riverrush.domain.event.TeamProgressEvent;
+import nl.tudelft.ti2806.riverrush.failfast.FailIf;
+import nl.tudelft.ti2806.riverrush.network.event.WorldSnapshotEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The state of the world that the renderer shows: the progress of the teams, and where every
+ * animal is and what it votes.
+ * The animals that join and leave are still sent as events, a snapshot only has the state of
+ * the animals that are in the game.
+ * Snapshots do not change, a new state is a new snapshot.
+ */
+public final class WorldSnapshot {
+
+    /**
+     * The state before anything happened.
+     */
+    public static final WorldSnapshot EMPTY = new WorldSnapshot(Collections.emptyMap(),
+            Collections.emptyMap());
+
+    private final Map<Integer, TeamEntry> teams;
+    private final Map<Integer, AnimalEntry> animals;
+
+    /**
+     * Create a snapshot of a copy of the state.
+     *
+     * @param someTeams   - The state of every team by its id.
+     * @param someAnimals - The state of every animal by its id.
+     */
+    public WorldSnapshot(final Map<Integer, TeamEntry> someTeams,
+                         final Map<Integer, AnimalEntry> someAnimals) {
+        FailIf.isNull(someTeams, someAnimals);
+        this.teams = Collections.unmodifiableMap(new HashMap<>(someTeams));
+        this.animals = Collections.unmodifiableMap(new HashMap<>(someAnimals));
+    }
+
+    public Map<Integer, TeamEntry> getTeams() {
+        return this.teams;
+    }
+
+    public Map<Integer, AnimalEntry> getAnimals() {
+        return this.animals;
+    }
+
+    /**
+     * Write what changed since a snapshot the other side has.
+     *
+     * @param sequence         - The number of this snapshot.
+     * @param baselineSequence - The number of the baseline, {@link WorldSnapshotEvent#NO_BASELINE}
+     *                         for {@link #EMPTY}.
+     * @param baseline         - The snapshot the other side has.
+     * @return The delta that turns the baseline into this snapshot.
+     */
+    public WorldSnapshotEvent delta(final int sequence, final int baselineSequence,
+                                    final WorldSnapshot baseline) {
+        FailIf.isNull(baseline);
+        WorldSnapshotEvent delta = new WorldSnapshotEvent(sequence, baselineSequence);
+        this.teams.forEach((id, entry) -> {
+            if (!entry.equals(baseline.teams.get(id))) {
+                delta.getTeams().put(id, entry);
+            }
+        });
+        this.animals.forEach((id, entry) -> {
+            if (!entry.equals(baseline.animals.get(id))) {
+                delta.getAnimals().put(id, entry);
+            }
+        });
+        for (Integer id : baseline.animals.keySet()) {
+            if (!this.animals.containsKey(id)) {
+                delta.getRemoved().add(id);
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * Read a delta that was written against this snapshot.
+     *
+     * @param delta - The delta.
+     * @return The snapshot the delta was written from.
+     */
+    public WorldSnapshot apply(final WorldSnapshotEvent delta) {
+        FailIf.isNull(delta);
+        Map<Integer, TeamEntry> newTeams = new HashMap<>(this.teams);
+        newTeams.putAll(delta.getTeams());
+        Map<Integer, AnimalEntry> newAnimals = new HashMap<>(this.animals);
+        newAnimals.putAll(delta.getAnimals());
+        delta.getRemoved().forEach(newAnimals::remove);
+        return new WorldSnapshot(newTeams, newAnimals);
+    }
+
+    /**
+     * Tell what happened between an earlier snapshot and this one, in the events the renderer
+     * already handles. An animal that is not in the earlier snapshot has just joined, on the
+     * boat without a vote.
+     *
+     * @param before - The snapshot the renderer shows now.
+     * @return The events that make it show this snapshot.
+     */
+    public List<Event> changesSince(final WorldSnapshot before) {
+        FailIf.isNull(before);
+        List<Event> events = new ArrayList<>();
+        this.teams.forEach((id, entry) -> {
+            if (!entry.equals(before.teams.get(id))) {
+                events.add(new TeamProgressEvent(id, entry.getProgress(), entry.getSpeed()));
+            }
+        });
+        this.animals.forEach((id, entry) -> {
+            AnimalEntry old = before.animals.get(id);
+            if (old == null) {
+                old = new AnimalEntry(entry.getTeam(), Position.ON_BOAT, Direction.NEUTRAL);
+            }
+            boolean moved = old.getPosition() != entry.getPosition();
+            boolean voted = old.getVote() != entry.getVote();
+            // Animals only vote on the boat, so a vote goes after climbing on and before falling off
+            if (voted && entry.getPosition() != Position.ON_BOAT) {
+                events.add(voteEvent(id, entry));
+            }
+            if (moved) {
+                events.add(positionEvent(id, entry, old.getPosition()));
+            }
+            if (voted && entry.getPosition() == Position.ON_BOAT) {
+                events.add(voteEvent(id, entry));
+            }
+        });
+        return events;
+    }
+
+    /**
+     * @param id    - The animal.
+     * @param entry - Its new state.
+     * @return The event of its vote.
+     */
+    private static Event voteEvent(final Integer id, final AnimalEntry entry) {
+        return new AnimalMovedEvent(id, entry.getTeam(), entry.getVote());
+    }
+
+    /**
+     * @param id    - The animal.
+     * @param entry - Its new state.
+     * @param from  - Where it was.
+     * @return The event of it getting where it is.
+     */
+    private static Event positionEvent(final Integer id, final AnimalEntry entry, final Position from) {
+        switch (entry.getPosition()) {
+            case IN_AIR:
+                return new AnimalJumpedEvent(id, entry.getTeam());
+            case IN_WATER:
+                return new AnimalFellOffEvent(id, entry.getTeam());
+            case ON_BOAT:
+            default:
+                if (from == Position.IN_WATER) {
+                    return new AnimalReturnedToBoatEvent(id, entry.getTeam());
+                }
+                return new AnimalDroppedEvent(id, entry.getTeam());
+        }
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof WorldSnapshot)) {
+            return false;
+        }
+        WorldSnapshot that = (WorldSnapshot) other;
+        return this.teams.equals(that.teams) && this.animals.equals(that.animals);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.teams, this.animals);
+    }
+
+    /**
+     * Where an animal is.
+     */
+    public enum Position {
+        ON_BOAT, IN_AIR, IN_WATER
+    }
+
+    /**
+     * The state of one team.
+     */
+    public static final class TeamEntry {
+
+        private final double progress;
+        private final double speed;
+
+        /**
+         * @param aProgress - The distance the boat has travelled.
+         * @param aSpeed    - The speed of the boat.
+         */
+        public TeamEntry(final double aProgress, final double aSpeed) {
+            this.progress = aProgress;
+            this.speed = aSpeed;
+        }
+
+        public double getProgress() {
+            return this.progress;
+        }
+
+        public double getSpeed() {
+            return this.speed;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (!(other instanceof TeamEntry)) {
+                return false;
+            }
+            TeamEntry that = (TeamEntry) other;
+            return Double.compare(this.progress, that.progress) == 0
+                    && Double.compare(this.speed, that.speed) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.progress, this.speed);
+        }
+    }
+
+    /**
+     * The state of one animal.
+     */
+    public static final class AnimalEntry {
+
+        private final int team;
+        private final Position position;
+        private final Direction vote;
+
+        /**
+         * @param aTeam     - The team of the animal.
+         * @param aPosition - Where the animal is.
+         * @param aVote     - The direction the animal votes in.
+         */
+        public AnimalEntry(final int aTeam, final Position aPosition, final Direction aVote) {
+            FailIf.isNull(aPosition, aVote);
+            this.team = aTeam;
+            this.position = aPosition;
+            this.vote = aVote;
+        }
+
+        public int getTeam() {
+            return this.team;
+        }
+
+        public Position getPosition() {
+            return this.position;
+        }
+
+        public Direction getVote() {
+            return this.vote;
+        }
+
+        /**
+         * @param aPosition - Where the animal is now.
+         * @return This animal somewhere else.
+         */
+        public AnimalEntry withPosition(final Position aPosition) {
+            return new AnimalEntry(this.team, aPosition, this.vote);
+        }
+
+        /**
+         * @param aVote - The direction the animal votes in now.
+         * @return This animal with another vote.
+         */
+        public AnimalEntry withVote(final Direction aVote) {
+            return new AnimalEntry(this.team, this.position, aVote);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (!(other instanceof AnimalEntry)) {
+                return false;
+            }
+            AnimalEntry that = (AnimalEntry) other;
+            return this.team == that.team && this.position == that.position && this.vote == that.vote;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.team, this.position, this.vote);
+        }
+    }
+}
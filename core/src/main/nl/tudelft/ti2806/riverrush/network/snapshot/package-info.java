@@ -0,0 +1,5 @@
+/**
+ * The state of the world that the server sends to the renderer as deltas, instead of every
+ * event that changed it.
+ */
+package nl.tudelft.ti2806.riverrush.network.snapshot;
@@ -51,7 +51,7 @@ public class AbstractAnimalTest {
     @Test
     public void testConstructor() {
         animal = new AbstractAnimalTestImplementation(dispatcher, 10);
-        assertEquals(animal.getId(), new Integer(10));
+        assertEquals(animal.getId(), 10);
     }
 
     @Test
@@ -87,13 +87,13 @@ public class AbstractAnimalTest {
     @Test
     public void testSetVariation() throws Exception {
         animal.setVariation(10);
-        assertEquals(animal.getVariation(), new Integer(10));
+        assertEquals(animal.getVariation(), 10);
     }
 
     @Test
     public void testSetTeamId() throws Exception {
         animal.setTeamId(10);
-        assertEquals(animal.getTeamId(), new Integer(10));
+        assertEquals(animal.getTeamId(), 10);
     }
 
     @Test
@@ -51,7 +51,7 @@ public class AbstractTeamTest {
     @Test
     public void testTeamID() throws Exception {
         AbstractTeam team = new AbstractTeamTestImplementation(10);
-        assertEquals(new Integer(10), team.getId());
+        assertEquals(10, team.getId());
     }
 
     @Test
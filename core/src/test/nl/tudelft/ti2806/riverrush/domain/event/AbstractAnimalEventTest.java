@@ -17,7 +17,6 @@ public abstract class AbstractAnimalEventTest extends EventTest {
     @Test
     public void testSerialize() throws Exception {
         event = getInstance();
-        event.setAnimal(getAnimalId());
 
         String s = event.serialize(protocol);
         assertTrue(s.contains(""));
@@ -0,0 +1,63 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link AbstractEvent}.
+ */
+public class AbstractEventTest {
+
+    /**
+     * An event is serialized once, however often its text is asked for.
+     */
+    @Test
+    public void textOnce() {
+        AbstractEvent event = new GameStartedEvent();
+        Protocol protocol = mock(Protocol.class);
+        when(protocol.serialize(event)).thenReturn("started");
+
+        String first = event.getText(protocol);
+
+        assertSame(first, event.getText(protocol));
+        verify(protocol, times(1)).serialize(event);
+    }
+
+    /**
+     * An event sent with another protocol gets the text of that protocol.
+     */
+    @Test
+    public void textPerProtocol() {
+        AbstractEvent event = new GameStartedEvent();
+        Protocol protocol = mock(Protocol.class);
+        Protocol other = mock(Protocol.class);
+        when(protocol.serialize(event)).thenReturn("started");
+        when(other.serialize(event)).thenReturn("other");
+
+        assertEquals("started", event.getText(protocol));
+        assertEquals("other", event.getText(other));
+    }
+
+    /**
+     * A copy does not share the text of the event it was copied from.
+     */
+    @Test
+    public void copyHasOwnText() {
+        AbstractTeamEvent event = new TeamProgressEvent();
+        Protocol protocol = mock(Protocol.class);
+        when(protocol.serialize(event)).thenReturn("team 1");
+        event.getText(protocol);
+
+        AbstractTeamEvent copy = event.withTeam(2);
+        when(protocol.serialize(copy)).thenReturn("team 2");
+
+        assertEquals("team 2", copy.getText(protocol));
+    }
+}
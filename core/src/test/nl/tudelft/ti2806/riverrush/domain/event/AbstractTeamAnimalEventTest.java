@@ -61,10 +61,11 @@ public abstract class AbstractTeamAnimalEventTest extends EventTest {
     @Test
     public void testDeserializeExtraFunc() throws Exception {
         event = getInstance();
-        assertEquals(new Integer(teamId), event.getTeam());
+        assertEquals(teamId, event.getTeam());
     }
 
     public void addVariables(AbstractTeamAnimalEvent event) {
+        event.setAnimal(getAnimalId());
         event.setTeam(teamId);
         super.addVariables(event);
     }
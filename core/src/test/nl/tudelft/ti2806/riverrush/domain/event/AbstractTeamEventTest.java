@@ -44,7 +44,6 @@ public abstract class AbstractTeamEventTest extends EventTest {
     @Test
     public void testSerialize() throws Exception {
         event = getInstance();
-        event.setAnimal(getAnimalId());
 
         String s = event.serialize(protocol);
         assertTrue(s.contains("team" + protocol.getKeyValueSeperator() + getTeamId()));
@@ -59,7 +58,7 @@ public abstract class AbstractTeamEventTest extends EventTest {
     @Test
     public void testDeserializeExtraFunc() throws Exception {
         event = (AbstractTeamEvent) getInstance().deserialize(getTestMap());
-        assertEquals(new Integer(teamId), event.getTeam());
+        assertEquals(teamId, event.getTeam());
     }
 
     @Override
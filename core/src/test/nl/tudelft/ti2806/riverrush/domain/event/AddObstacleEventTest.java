@@ -34,7 +34,6 @@ public class AddObstacleEventTest extends AbstractTeamEventTest {
     @Test
     public void testSerialize() throws Exception {
         event = (AddObstacleEvent) getInstance();
-        event.setAnimal(getAnimalId());
 
         String s = event.serialize(protocol);
         assertTrue(s.contains("location" + protocol.getKeyValueSeperator() + location));
@@ -33,7 +33,6 @@ public class AddRockEventTest extends AbstractTeamEventTest {
     @Test
     public void testSerialize() throws Exception {
         event = (AddRockEvent) getInstance();
-        event.setAnimal(getAnimalId());
 
         String s = event.serialize(protocol);
         assertTrue(s.contains("location" + protocol.getKeyValueSeperator() + direction));
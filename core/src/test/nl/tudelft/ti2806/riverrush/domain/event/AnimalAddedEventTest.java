@@ -54,7 +54,7 @@ public class AnimalAddedEventTest extends AbstractTeamAnimalEventTest {
     public void testDeserializeExtraFunc() throws Exception {
         event = (AnimalAddedEvent) getInstance();
         assertEquals(sector, event.getSector());
-        assertEquals(new Integer(variation), event.getVariation());
+        assertEquals(variation, event.getVariation());
     }
 
 }
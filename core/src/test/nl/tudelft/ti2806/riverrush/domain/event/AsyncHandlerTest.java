@@ -0,0 +1,454 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link AsyncHandler}.
+ */
+public class AsyncHandlerTest {
+
+    private static final int CAPACITY = 2;
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    /**
+     * The drain tasks, only run when a test runs them.
+     */
+    private Queue<Runnable> tasks;
+
+    /**
+     * The events that reached the delegate.
+     */
+    private List<Event> handled;
+
+    private AtomicInteger overflows;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        this.tasks = new ArrayDeque<>();
+        this.handled = new ArrayList<>();
+        this.overflows = new AtomicInteger();
+    }
+
+    /**
+     * Create a handler that only drains when {@link #runTasks()} is called.
+     *
+     * @param policy - The overflow policy.
+     * @return The handler.
+     */
+    private AsyncHandler<Event> create(final OverflowPolicy policy) {
+        return new AsyncHandler<>(this.handled::add, CAPACITY, policy, Event::getAnimal,
+                this.overflows::incrementAndGet, this.tasks::add);
+    }
+
+    /**
+     * Run the queued drain tasks.
+     */
+    private void runTasks() {
+        while (!this.tasks.isEmpty()) {
+            this.tasks.poll().run();
+        }
+    }
+
+    /**
+     * Create an event of an animal.
+     *
+     * @param animal - The animal.
+     * @return The event.
+     */
+    private static Event moved(final int animal) {
+        return new AnimalMovedEvent().withAnimal(animal);
+    }
+
+    /**
+     * The events reach the delegate in order, with one drain task at a time.
+     */
+    @Test
+    public void handlesInOrder() {
+        AsyncHandler<Event> handler = this.create(OverflowPolicy.DROP_OLDEST);
+        Event first = moved(1);
+        Event second = moved(2);
+        handler.handle(first);
+        handler.handle(second);
+
+        assertEquals(1, this.tasks.size());
+        assertTrue(this.handled.isEmpty());
+        this.runTasks();
+        assertEquals(2, this.handled.size());
+        assertEquals(first, this.handled.get(0));
+        assertEquals(second, this.handled.get(1));
+
+        handler.handle(first);
+        assertEquals(1, this.tasks.size());
+    }
+
+    /**
+     * A batched delegate gets the queued events together, at most the batch size at a time.
+     */
+    @Test
+    public void batches() {
+        List<List<Event>> batches = new ArrayList<>();
+        final int capacity = 5;
+        final int batchSize = 3;
+        AsyncHandler<Event> handler = new AsyncHandler<>((List<? extends Event> events) ->
+                batches.add(new ArrayList<>(events)), batchSize, capacity, OverflowPolicy.DROP_OLDEST,
+                null, null, this.tasks::add);
+        for (int i = 0; i < capacity; i++) {
+            handler.handle(moved(i));
+        }
+
+        assertEquals(1, this.tasks.size());
+        this.runTasks();
+        assertEquals(2, batches.size());
+        assertEquals(batchSize, batches.get(0).size());
+        assertEquals(capacity - batchSize, batches.get(1).size());
+        assertEquals(0, batches.get(0).get(0).getAnimal());
+        assertEquals(capacity - 1, batches.get(1).get(1).getAnimal());
+    }
+
+    /**
+     * A full queue drops its oldest event.
+     */
+    @Test
+    public void dropOldest() {
+        AsyncHandler<Event> handler = this.create(OverflowPolicy.DROP_OLDEST);
+        Event third = moved(3);
+        handler.handle(moved(1));
+        handler.handle(moved(2));
+        handler.handle(third);
+
+        assertEquals(CAPACITY, handler.getQueueDepth());
+        assertEquals(1, handler.getDroppedCount());
+        this.runTasks();
+        assertEquals(third, this.handled.get(1));
+    }
+
+    /**
+     * A full queue replaces the event that the new one supersedes.
+     */
+    @Test
+    public void coalesce() {
+        AsyncHandler<Event> handler = this.create(OverflowPolicy.COALESCE);
+        Event second = moved(2);
+        Event newer = moved(1);
+        handler.handle(moved(1));
+        handler.handle(second);
+        handler.handle(newer);
+
+        assertEquals(1, handler.getCoalescedCount());
+        assertEquals(0, handler.getDroppedCount());
+        this.runTasks();
+        assertEquals(second, this.handled.get(0));
+        assertEquals(newer, this.handled.get(1));
+    }
+
+    /**
+     * Without a superseded event, coalescing drops the oldest.
+     */
+    @Test
+    public void coalesceWithoutMatch() {
+        AsyncHandler<Event> handler = this.create(OverflowPolicy.COALESCE);
+        handler.handle(moved(1));
+        handler.handle(moved(2));
+        handler.handle(moved(3));
+
+        assertEquals(0, handler.getCoalescedCount());
+        assertEquals(1, handler.getDroppedCount());
+    }
+
+    /**
+     * With a latest key, a queued event is replaced as soon as a newer one with the same key
+     * arrives, and events without a key are all kept.
+     */
+    @Test
+    public void latest() {
+        final int capacity = 4;
+        List<Event> batch = new ArrayList<>();
+        AsyncHandler<Event> handler = AsyncHandler.latest(batch::addAll, capacity, capacity,
+                OverflowPolicy.DROP_OLDEST,
+                (e) -> e instanceof AnimalMovedEvent ? e.getAnimal() : AsyncHandler.NO_KEY,
+                null, this.tasks::add);
+        Event newer = moved(1);
+        handler.handle(moved(1));
+        handler.handle(new GameStartedEvent());
+        handler.handle(new GameStartedEvent());
+        handler.handle(newer);
+
+        assertEquals(1, handler.getCoalescedCount());
+        assertEquals(3, handler.getPeakDepth());
+        this.runTasks();
+        assertEquals(3, batch.size());
+        assertEquals(newer, batch.get(2));
+    }
+
+    /**
+     * An event still finds the queued event it replaces after the queue grew and wrapped around.
+     */
+    @Test
+    public void latestAfterGrowing() {
+        final int capacity = 64;
+        final int animals = 20;
+        List<Event> batch = new ArrayList<>();
+        AsyncHandler<Event> handler = AsyncHandler.latest(batch::addAll, capacity, capacity,
+                OverflowPolicy.DROP_OLDEST, Event::getAnimal, null, this.tasks::add);
+        for (int i = 0; i < animals; i++) {
+            handler.handle(moved(i));
+        }
+        this.runTasks();
+        batch.clear();
+
+        for (int i = 0; i < animals; i++) {
+            handler.handle(moved(i));
+        }
+        Event newer = moved(animals - 1);
+        handler.handle(newer);
+
+        assertEquals(animals, handler.getQueueDepth());
+        this.runTasks();
+        assertEquals(animals, batch.size());
+        assertEquals(newer, batch.get(animals - 1));
+    }
+
+    /**
+     * A full queue is cleared and closed, and the owner is told once.
+     */
+    @Test
+    public void disconnect() {
+        AsyncHandler<Event> handler = this.create(OverflowPolicy.DISCONNECT);
+        handler.handle(moved(1));
+        handler.handle(moved(2));
+        handler.handle(moved(3));
+        handler.handle(moved(4));
+
+        assertTrue(handler.isClosed());
+        assertEquals(1, this.overflows.get());
+        assertEquals(0, handler.getQueueDepth());
+        this.runTasks();
+        assertTrue(this.handled.isEmpty());
+    }
+
+    /**
+     * Closing drops the queued events and ignores new ones.
+     */
+    @Test
+    public void close() {
+        AsyncHandler<Event> handler = this.create(OverflowPolicy.DROP_OLDEST);
+        handler.handle(moved(1));
+        handler.close();
+        handler.handle(moved(2));
+        this.runTasks();
+
+        assertTrue(this.handled.isEmpty());
+        assertEquals(0, this.overflows.get());
+    }
+
+    /**
+     * Closing a handler that is not draining runs what is released right away.
+     */
+    @Test
+    public void closeWhenIdle() {
+        AtomicBoolean drained = new AtomicBoolean();
+        AsyncHandler<Event> handler = this.create(OverflowPolicy.DROP_OLDEST);
+        handler.close(() -> drained.set(true));
+
+        assertTrue(drained.get());
+    }
+
+    /**
+     * Closing a handler while the delegate runs waits with what is released until the delegate
+     * is done with its events.
+     */
+    @Test
+    public void closeWhileDraining() {
+        AtomicBoolean drained = new AtomicBoolean();
+        List<Boolean> drainedWhileHandling = new ArrayList<>();
+        AtomicReference<AsyncHandler<Event>> handler = new AtomicReference<>();
+        handler.set(new AsyncHandler<>((e) -> {
+            handler.get().close(() -> drained.set(true));
+            drainedWhileHandling.add(drained.get());
+        }, CAPACITY, OverflowPolicy.DROP_OLDEST, null, null, this.tasks::add));
+        handler.get().handle(moved(1));
+        handler.get().handle(moved(2));
+        this.runTasks();
+
+        assertEquals(1, drainedWhileHandling.size());
+        assertFalse(drainedWhileHandling.get(0));
+        assertTrue(drained.get());
+    }
+
+    /**
+     * A failing delegate does not stop the events after it.
+     */
+    @Test
+    public void failingDelegate() {
+        AsyncHandler<Event> handler = new AsyncHandler<>((e) -> {
+            this.handled.add(e);
+            throw new IllegalStateException("Expected");
+        }, CAPACITY, OverflowPolicy.DROP_OLDEST, null, null, this.tasks::add);
+        handler.handle(moved(1));
+        handler.handle(moved(2));
+        this.runTasks();
+
+        assertEquals(2, this.handled.size());
+    }
+
+    /**
+     * A blocked handler does not hold up the thread that hands over the events.
+     *
+     * @throws InterruptedException when the test is interrupted.
+     */
+    @Test
+    public void blockedDelegate() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(CAPACITY);
+        AsyncHandler<Event> handler = AsyncHandler.dropOldest((e) -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        }, CAPACITY);
+
+        for (int i = 0; i < CAPACITY * CAPACITY; i++) {
+            handler.handle(moved(i));
+        }
+        release.countDown();
+        assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    /**
+     * A delegate that is not ready leaves the events queued, they are handed over once it is.
+     *
+     * @throws InterruptedException when the test is interrupted.
+     */
+    @Test
+    public void waitsUntilReady() throws InterruptedException {
+        AtomicBoolean ready = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(CAPACITY);
+        AsyncHandler<Event> handler = AsyncHandler.latest(new BatchHandler<Event>() {
+            @Override
+            public void handleBatch(final List<? extends Event> events) {
+                events.forEach((event) -> done.countDown());
+            }
+
+            @Override
+            public boolean isReady() {
+                return ready.get();
+            }
+        }, CAPACITY, CAPACITY, OverflowPolicy.DROP_OLDEST, (event) -> AsyncHandler.NO_KEY, null,
+                AsyncHandler.sharedExecutor());
+
+        for (int i = 0; i < CAPACITY; i++) {
+            handler.handle(moved(i));
+        }
+        Thread.sleep(AsyncHandler.PAUSE_MILLIS * CAPACITY);
+        assertEquals(CAPACITY, handler.getQueueDepth());
+
+        ready.set(true);
+        assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(0, handler.getQueueDepth());
+    }
+
+    /**
+     * A more urgent event does not overtake the events handed over before it, so an animal is
+     * only removed after it moved.
+     */
+    @Test
+    public void removeAfterMoveInOrder() {
+        AsyncHandler<Event> handler = this.create(OverflowPolicy.DROP_OLDEST);
+        Event removed = new AnimalRemovedEvent(1, Event.BROADCAST);
+        Event move = moved(1);
+        handler.handle(move);
+        handler.handle(removed);
+        this.runTasks();
+
+        assertEquals(move, this.handled.get(0));
+        assertEquals(removed, this.handled.get(1));
+    }
+
+    /**
+     * A full queue drops the least urgent event, which may be the new one.
+     */
+    @Test
+    public void dropLeastUrgent() {
+        AsyncHandler<Event> handler = this.create(OverflowPolicy.DROP_OLDEST);
+        Event finished = new GameFinishedEvent();
+        handler.handle(finished);
+        handler.handle(moved(1));
+        handler.handle(new GameStartedEvent());
+        handler.handle(moved(2));
+
+        assertEquals(2, handler.getDroppedCount());
+        this.runTasks();
+        assertEquals(finished, this.handled.get(0));
+        assertTrue(this.handled.get(1) instanceof GameStartedEvent);
+    }
+
+    /**
+     * Dropping from a queue that is not drained keeps the order of the events that are left.
+     */
+    @Test
+    public void dropManyKeepsOrder() {
+        final int capacity = 4;
+        final int amount = 100;
+        AsyncHandler<Event> handler = new AsyncHandler<>(this.handled::add, capacity,
+                OverflowPolicy.DROP_OLDEST, null, null, this.tasks::add);
+        Event finished = new GameFinishedEvent();
+        handler.handle(finished);
+        for (int i = 0; i < amount; i++) {
+            handler.handle(moved(i));
+        }
+
+        assertEquals(amount - capacity + 1, handler.getDroppedCount());
+        this.runTasks();
+        assertEquals(capacity, this.handled.size());
+        assertEquals(finished, this.handled.get(0));
+        for (int i = 1; i < capacity; i++) {
+            assertEquals(amount - capacity + i, this.handled.get(i).getAnimal());
+        }
+    }
+
+    /**
+     * Coalescing needs a key function.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void coalesceWithoutKey() {
+        new AsyncHandler<>(this.handled::add, CAPACITY, OverflowPolicy.COALESCE, null, null, this.tasks::add);
+    }
+
+    /**
+     * The batch size should be positive.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroBatchSize() {
+        AsyncHandler.disconnect((List<? extends Event> events) -> { }, 0, CAPACITY,
+                this.overflows::incrementAndGet);
+    }
+
+    /**
+     * The capacity should be positive.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroCapacity() {
+        AsyncHandler.dropOldest(this.handled::add, 0);
+    }
+}
@@ -45,6 +45,17 @@ public class BasicEventDispatcherTest {
         this.dispatcher = new BasicEventDispatcher();
     }
 
+    /**
+     * Mocks a handler of one type of event, Mockito only mocks the raw interface.
+     *
+     * @param <T> - The type of event.
+     * @return The mock.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Event> HandlerLambda<T> handlerMock() {
+        return mock(HandlerLambda.class);
+    }
+
     /**
      * Attach should add the event type and lsitener.
      */
@@ -98,13 +109,88 @@ public class BasicEventDispatcherTest {
      */
     @Test
     public void dispatchCallsCorrectListener() {
-        HandlerLambda dummyListener = mock(HandlerLambda.class);
+        HandlerLambda<DummyEvent> dummyListener = handlerMock();
 
         this.dispatcher.attach(DummyEvent.class, dummyListener);
         this.dispatcher.dispatch(this.eventMock);
         verifyZeroInteractions(this.lambdaMock);
     }
 
+    /**
+     * A keyed listener should only get the events of its own animal.
+     */
+    @Test
+    public void dispatchCallsAnimalKeyedListener() {
+        HandlerLambda<AnimalJumpedEvent> own = handlerMock();
+        HandlerLambda<AnimalJumpedEvent> other = handlerMock();
+        this.dispatcher.attach(AnimalJumpedEvent.class, SubscriptionKey.animal(1), own);
+        this.dispatcher.attach(AnimalJumpedEvent.class, SubscriptionKey.animal(2), other);
+        this.dispatcher.attach(AnimalJumpedEvent.class, this.lambdaMock);
+
+        AnimalJumpedEvent event = new AnimalJumpedEvent();
+        event.setAnimal(1);
+        event.setTeam(0);
+        this.dispatcher.dispatch(event);
+
+        verify(own).handle(event);
+        verify(this.lambdaMock).handle(event);
+        verifyZeroInteractions(other);
+    }
+
+    /**
+     * A team keyed listener should only get the events of its own team.
+     */
+    @Test
+    public void dispatchCallsTeamKeyedListener() {
+        HandlerLambda<TeamProgressEvent> own = handlerMock();
+        HandlerLambda<TeamProgressEvent> other = handlerMock();
+        this.dispatcher.attach(TeamProgressEvent.class, SubscriptionKey.team(1), own);
+        this.dispatcher.attach(TeamProgressEvent.class, SubscriptionKey.team(0), other);
+
+        TeamProgressEvent event = new TeamProgressEvent();
+        event.setTeam(1);
+        this.dispatcher.dispatch(event);
+
+        verify(own).handle(event);
+        verifyZeroInteractions(other);
+    }
+
+    /**
+     * Keys of the same id but a different scope should not mix.
+     */
+    @Test
+    public void keyedListenersAreSeparatedByScope() {
+        this.dispatcher.attach(AnimalJumpedEvent.class, SubscriptionKey.animal(1), this.lambdaMock);
+
+        AnimalJumpedEvent event = new AnimalJumpedEvent();
+        event.setAnimal(2);
+        event.setTeam(1);
+        this.dispatcher.dispatch(event);
+
+        verifyZeroInteractions(this.lambdaMock);
+        assertEquals(1, this.dispatcher.countRegistered(AnimalJumpedEvent.class, SubscriptionKey.animal(1)));
+        assertEquals(0, this.dispatcher.countRegistered(AnimalJumpedEvent.class, SubscriptionKey.team(1)));
+        assertEquals(0, this.dispatcher.countRegistered(AnimalJumpedEvent.class));
+    }
+
+    /**
+     * Detaching a keyed listener should remove it.
+     */
+    @Test
+    public void detachRemovesKeyedListener() {
+        SubscriptionKey key = SubscriptionKey.animal(1);
+        this.dispatcher.attach(AnimalJumpedEvent.class, key, this.lambdaMock);
+        this.dispatcher.detach(AnimalJumpedEvent.class, key, this.lambdaMock);
+
+        AnimalJumpedEvent event = new AnimalJumpedEvent();
+        event.setAnimal(1);
+        event.setTeam(0);
+        this.dispatcher.dispatch(event);
+
+        verifyZeroInteractions(this.lambdaMock);
+        assertEquals(0, this.dispatcher.countRegistered(AnimalJumpedEvent.class, key));
+    }
+
     /**
      * Plays as a dummy for an event.
      */
@@ -121,14 +207,115 @@ public class BasicEventDispatcherTest {
         }
 
         @Override
-        public void setAnimal(final Integer animalID) {
-            // Has to be empty
+        public Event copy() {
+            return new DummyEvent();
         }
 
         @Override
-        public Integer getAnimal() {
+        public Event withAnimal(final int animalID) {
+            return this.copy();
+        }
+
+        @Override
+        public int getAnimal() {
             // Has to be empty
-            return null;
+            return BROADCAST;
         }
     }
+
+    /**
+     * Detaching through a subscription should only remove its own registration.
+     */
+    @Test
+    public void subscriptionDetachesOnce() {
+        Subscription first = this.dispatcher.attach(Event.class, this.lambdaMock);
+        this.dispatcher.attach(Event.class, this.lambdaMock);
+        first.detach();
+        first.detach();
+        assertEquals(1, this.dispatcher.countRegistered(Event.class));
+    }
+
+    /**
+     * Detaching a keyed subscription should remove it.
+     */
+    @Test
+    public void subscriptionDetachesKeyedListener() {
+        SubscriptionKey key = SubscriptionKey.team(1);
+        Subscription subscription = this.dispatcher.attach(TeamProgressEvent.class, key, this.lambdaMock);
+        subscription.detach();
+        assertEquals(0, this.dispatcher.countRegistered(TeamProgressEvent.class, key));
+    }
+
+    /**
+     * A listener on a supertype should get the events of its subtypes.
+     */
+    @Test
+    public void dispatchCallsSupertypeListeners() {
+        HandlerLambda<AbstractTeamAnimalEvent> teamAnimal = handlerMock();
+        HandlerLambda<TeamEvent> team = handlerMock();
+        this.dispatcher.attach(AbstractTeamAnimalEvent.class, teamAnimal);
+        this.dispatcher.attach(TeamEvent.class, team);
+        this.dispatcher.attach(Event.class, this.lambdaMock);
+
+        AnimalJumpedEvent event = new AnimalJumpedEvent();
+        this.dispatcher.dispatch(event);
+
+        verify(teamAnimal).handle(event);
+        verify(team).handle(event);
+        verify(this.lambdaMock).handle(event);
+    }
+
+    /**
+     * A keyed listener on a supertype should only get the events of its own team.
+     */
+    @Test
+    public void dispatchCallsKeyedSupertypeListener() {
+        this.dispatcher.attach(AbstractTeamEvent.class, SubscriptionKey.team(1), this.lambdaMock);
+
+        TeamProgressEvent own = new TeamProgressEvent();
+        own.setTeam(1);
+        AddRockEvent other = new AddRockEvent();
+        other.setTeam(2);
+        this.dispatcher.dispatch(own);
+        this.dispatcher.dispatch(other);
+
+        verify(this.lambdaMock).handle(own);
+        verify(this.lambdaMock, Mockito.never()).handle(other);
+    }
+
+    /**
+     * Attaching or detaching a supertype listener after a dispatch should be seen by the next dispatch.
+     */
+    @Test
+    public void supertypeListenersAreNotCachedStale() {
+        AnimalJumpedEvent event = new AnimalJumpedEvent();
+        this.dispatcher.dispatch(event);
+
+        Subscription subscription = this.dispatcher.attach(AbstractTeamAnimalEvent.class, this.lambdaMock);
+        this.dispatcher.dispatch(event);
+        subscription.detach();
+        this.dispatcher.dispatch(event);
+
+        verify(this.lambdaMock).handle(event);
+    }
+
+    /**
+     * Metrics should only be recorded once enabled.
+     */
+    @Test
+    public void metricsRecordWhenEnabled() {
+        this.dispatcher.attach(AnimalJumpedEvent.class, this.lambdaMock);
+        this.dispatcher.dispatch(new AnimalJumpedEvent());
+        assertEquals(0, this.dispatcher.getMetrics().getDispatchCount(AnimalJumpedEvent.class));
+
+        this.dispatcher.getMetrics().setEnabled(true);
+        this.dispatcher.dispatch(new AnimalJumpedEvent());
+        this.dispatcher.dispatch(new AnimalJumpedEvent());
+
+        DispatcherMetrics metrics = this.dispatcher.getMetrics();
+        assertEquals(2, metrics.getDispatchCount(AnimalJumpedEvent.class));
+        assertEquals(2, metrics.getHandlerLatency(this.lambdaMock.getClass()).getCount());
+        assertEquals(2, metrics.getHandlerCallCount());
+        assertEquals(this.lambdaMock.getClass(), metrics.getSlowestHandlers(1).get(0));
+    }
 }
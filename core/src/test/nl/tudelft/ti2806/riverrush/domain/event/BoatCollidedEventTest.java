@@ -33,7 +33,6 @@ public class BoatCollidedEventTest extends AbstractTeamEventTest {
     @Test
     public void testSerialize() throws Exception {
         event = (BoatCollidedEvent) getInstance();
-        event.setAnimal(getAnimalId());
 
         String s = event.serialize(protocol);
         assertTrue(s.contains("direction" + protocol.getKeyValueSeperator() + direction));
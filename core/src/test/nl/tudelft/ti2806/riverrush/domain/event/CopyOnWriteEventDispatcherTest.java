@@ -0,0 +1,404 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * Tests for {@link CopyOnWriteEventDispatcher}.
+ */
+public class CopyOnWriteEventDispatcherTest {
+
+    /**
+     * Class under test.
+     */
+    private EventDispatcher dispatcher;
+
+    /**
+     * Mocks a lambda.
+     */
+    @Mock
+    private HandlerLambda<Event> lambdaMock;
+
+    /**
+     * Mocks an event.
+     */
+    @Mock
+    private Event eventMock;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        this.dispatcher = new CopyOnWriteEventDispatcher();
+    }
+
+    /**
+     * Mocks a handler of one type of event, Mockito only mocks the raw interface.
+     *
+     * @param <T> - The type of event.
+     * @return The mock.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Event> HandlerLambda<T> handlerMock() {
+        return mock(HandlerLambda.class);
+    }
+
+    /**
+     * Attach should add the event type and listener.
+     */
+    @Test
+    public void registerAddsListener() {
+        this.dispatcher.attach(Event.class, this.lambdaMock);
+        this.dispatcher.attach(Event.class, this.lambdaMock);
+        assertEquals(2, this.dispatcher.countRegistered(Event.class));
+    }
+
+    /**
+     * Should register 0 counts.
+     */
+    @Test
+    public void countRegistered() {
+        assertEquals(0, this.dispatcher.countRegistered(Event.class));
+    }
+
+    /**
+     * Detach should remove one occurrence of the listener.
+     */
+    @Test
+    public void detachRemovesListener() {
+        this.dispatcher.attach(Event.class, this.lambdaMock);
+        this.dispatcher.attach(Event.class, this.lambdaMock);
+        this.dispatcher.detach(Event.class, this.lambdaMock);
+        assertEquals(1, this.dispatcher.countRegistered(Event.class));
+        this.dispatcher.detach(Event.class, this.lambdaMock);
+        assertEquals(0, this.dispatcher.countRegistered(Event.class));
+    }
+
+    /**
+     * Detaching an unknown handler should leave the others alone.
+     */
+    @Test
+    public void detachUnknownListener() {
+        this.dispatcher.attach(Event.class, this.lambdaMock);
+        this.dispatcher.detach(Event.class, handlerMock());
+        this.dispatcher.detach(AnimalJumpedEvent.class, this.lambdaMock);
+        assertEquals(1, this.dispatcher.countRegistered(Event.class));
+    }
+
+    /**
+     * Dispatches all call listeners.
+     */
+    @Test
+    public void dispatchCallsAllListeners() {
+        this.dispatcher.attach(this.eventMock.getClass(), this.lambdaMock);
+        this.dispatcher.attach(this.eventMock.getClass(), this.lambdaMock);
+        this.dispatcher.dispatch(this.eventMock);
+        verify(this.lambdaMock, Mockito.times(2)).handle(this.eventMock);
+    }
+
+    /**
+     * Dispatches calls on a correct listener.
+     */
+    @Test
+    public void dispatchCallsCorrectListener() {
+        this.dispatcher.attach(AnimalJumpedEvent.class, this.lambdaMock);
+        this.dispatcher.dispatch(this.eventMock);
+        verifyZeroInteractions(this.lambdaMock);
+    }
+
+    /**
+     * A handler that detaches others during a dispatch should not disturb the running dispatch.
+     * Detached handlers are not called anymore, the others still are.
+     */
+    @Test
+    public void detachDuringDispatch() {
+        AnimalJumpedEvent event = new AnimalJumpedEvent();
+        HandlerLambda<AnimalJumpedEvent> second = handlerMock();
+        HandlerLambda<AnimalJumpedEvent> third = handlerMock();
+        HandlerLambda<AnimalJumpedEvent> first = new HandlerLambda<AnimalJumpedEvent>() {
+            @Override
+            public void handle(final AnimalJumpedEvent e) {
+                CopyOnWriteEventDispatcherTest.this.dispatcher.detach(AnimalJumpedEvent.class, this);
+                CopyOnWriteEventDispatcherTest.this.dispatcher.detach(AnimalJumpedEvent.class, second);
+            }
+        };
+
+        this.dispatcher.attach(AnimalJumpedEvent.class, first);
+        this.dispatcher.attach(AnimalJumpedEvent.class, second);
+        this.dispatcher.attach(AnimalJumpedEvent.class, third);
+        this.dispatcher.dispatch(event);
+        this.dispatcher.dispatch(event);
+
+        verifyZeroInteractions(second);
+        verify(third, Mockito.times(2)).handle(event);
+        assertEquals(1, this.dispatcher.countRegistered(AnimalJumpedEvent.class));
+    }
+
+    /**
+     * Concurrent attaches should never lose a handler.
+     *
+     * @throws InterruptedException when the test is interrupted.
+     */
+    @Test
+    public void concurrentAttach() throws InterruptedException {
+        final int threadCount = 4;
+        final int perThread = 500;
+        AtomicInteger calls = new AtomicInteger();
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    this.dispatcher.attach(AnimalJumpedEvent.class, (e) -> calls.incrementAndGet());
+                    this.dispatcher.dispatch(new AnimalJumpedEvent());
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(threadCount * perThread, this.dispatcher.countRegistered(AnimalJumpedEvent.class));
+        calls.set(0);
+        this.dispatcher.dispatch(new AnimalJumpedEvent());
+        assertEquals(threadCount * perThread, calls.get());
+    }
+
+    /**
+     * A keyed listener should only get the events of its own animal.
+     */
+    @Test
+    public void dispatchCallsAnimalKeyedListener() {
+        HandlerLambda<AnimalJumpedEvent> own = handlerMock();
+        HandlerLambda<AnimalJumpedEvent> other = handlerMock();
+        this.dispatcher.attach(AnimalJumpedEvent.class, SubscriptionKey.animal(1), own);
+        this.dispatcher.attach(AnimalJumpedEvent.class, SubscriptionKey.animal(2), other);
+        this.dispatcher.attach(AnimalJumpedEvent.class, this.lambdaMock);
+
+        AnimalJumpedEvent event = new AnimalJumpedEvent();
+        event.setAnimal(1);
+        event.setTeam(0);
+        this.dispatcher.dispatch(event);
+
+        verify(own).handle(event);
+        verify(this.lambdaMock).handle(event);
+        verifyZeroInteractions(other);
+    }
+
+    /**
+     * A team keyed listener should only get the events of its own team.
+     */
+    @Test
+    public void dispatchCallsTeamKeyedListener() {
+        HandlerLambda<TeamProgressEvent> own = handlerMock();
+        HandlerLambda<TeamProgressEvent> other = handlerMock();
+        this.dispatcher.attach(TeamProgressEvent.class, SubscriptionKey.team(1), own);
+        this.dispatcher.attach(TeamProgressEvent.class, SubscriptionKey.team(0), other);
+
+        TeamProgressEvent event = new TeamProgressEvent();
+        event.setTeam(1);
+        this.dispatcher.dispatch(event);
+
+        verify(own).handle(event);
+        verifyZeroInteractions(other);
+    }
+
+    /**
+     * Ids beyond the initial size of the lists should still find their own listener.
+     */
+    @Test
+    public void dispatchCallsListenerOfLargeId() {
+        final int id = 1000;
+        this.dispatcher.attach(AnimalJumpedEvent.class, SubscriptionKey.animal(1), this.lambdaMock);
+        HandlerLambda<AnimalJumpedEvent> large = handlerMock();
+        this.dispatcher.attach(AnimalJumpedEvent.class, SubscriptionKey.animal(id), large);
+
+        AnimalJumpedEvent event = new AnimalJumpedEvent();
+        event.setAnimal(id);
+        event.setTeam(0);
+        this.dispatcher.dispatch(event);
+
+        verify(large).handle(event);
+        verifyZeroInteractions(this.lambdaMock);
+        assertEquals(1, this.dispatcher.countRegistered(AnimalJumpedEvent.class, SubscriptionKey.animal(1)));
+    }
+
+    /**
+     * Keyed listeners need an id that can index the lists.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void attachRejectsNegativeId() {
+        this.dispatcher.attach(AnimalJumpedEvent.class, SubscriptionKey.animal(-2), this.lambdaMock);
+    }
+
+    /**
+     * Keys of the same id but a different scope should not mix.
+     */
+    @Test
+    public void keyedListenersAreSeparatedByScope() {
+        this.dispatcher.attach(AnimalJumpedEvent.class, SubscriptionKey.animal(1), this.lambdaMock);
+
+        AnimalJumpedEvent event = new AnimalJumpedEvent();
+        event.setAnimal(2);
+        event.setTeam(1);
+        this.dispatcher.dispatch(event);
+
+        verifyZeroInteractions(this.lambdaMock);
+        assertEquals(1, this.dispatcher.countRegistered(AnimalJumpedEvent.class, SubscriptionKey.animal(1)));
+        assertEquals(0, this.dispatcher.countRegistered(AnimalJumpedEvent.class, SubscriptionKey.team(1)));
+        assertEquals(0, this.dispatcher.countRegistered(AnimalJumpedEvent.class));
+    }
+
+    /**
+     * Detaching a keyed listener should remove it.
+     */
+    @Test
+    public void detachRemovesKeyedListener() {
+        SubscriptionKey key = SubscriptionKey.animal(1);
+        this.dispatcher.attach(AnimalJumpedEvent.class, key, this.lambdaMock);
+        this.dispatcher.detach(AnimalJumpedEvent.class, key, this.lambdaMock);
+
+        AnimalJumpedEvent event = new AnimalJumpedEvent();
+        event.setAnimal(1);
+        event.setTeam(0);
+        this.dispatcher.dispatch(event);
+
+        verifyZeroInteractions(this.lambdaMock);
+        assertEquals(0, this.dispatcher.countRegistered(AnimalJumpedEvent.class, key));
+    }
+
+    /**
+     * Detaching through a subscription should only remove its own registration.
+     */
+    @Test
+    public void subscriptionDetachesOnce() {
+        Subscription first = this.dispatcher.attach(Event.class, this.lambdaMock);
+        this.dispatcher.attach(Event.class, this.lambdaMock);
+        first.detach();
+        first.detach();
+        assertEquals(1, this.dispatcher.countRegistered(Event.class));
+    }
+
+    /**
+     * Detaching a keyed subscription should remove it.
+     */
+    @Test
+    public void subscriptionDetachesKeyedListener() {
+        SubscriptionKey key = SubscriptionKey.team(1);
+        Subscription subscription = this.dispatcher.attach(TeamProgressEvent.class, key, this.lambdaMock);
+        subscription.detach();
+        assertEquals(0, this.dispatcher.countRegistered(TeamProgressEvent.class, key));
+    }
+
+    /**
+     * Detaching many subscriptions in any order should leave exactly the others attached.
+     */
+    @Test
+    public void manySubscriptionsDetach() {
+        final int amount = 1000;
+        AtomicInteger calls = new AtomicInteger();
+        List<Subscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < amount; i++) {
+            subscriptions.add(this.dispatcher.attach(AnimalJumpedEvent.class,
+                    (e) -> calls.incrementAndGet()));
+        }
+        for (int i = 0; i < amount; i += 2) {
+            subscriptions.get(i).detach();
+        }
+        this.dispatcher.attach(AnimalJumpedEvent.class, (e) -> calls.incrementAndGet());
+
+        this.dispatcher.dispatch(new AnimalJumpedEvent());
+        assertEquals(amount / 2 + 1, calls.get());
+        assertEquals(amount / 2 + 1, this.dispatcher.countRegistered(AnimalJumpedEvent.class));
+
+        subscriptions.forEach(Subscription::detach);
+        assertEquals(1, this.dispatcher.countRegistered(AnimalJumpedEvent.class));
+    }
+
+    /**
+     * A listener on a supertype should get the events of its subtypes.
+     */
+    @Test
+    public void dispatchCallsSupertypeListeners() {
+        HandlerLambda<AbstractTeamAnimalEvent> teamAnimal = handlerMock();
+        HandlerLambda<TeamEvent> team = handlerMock();
+        this.dispatcher.attach(AbstractTeamAnimalEvent.class, teamAnimal);
+        this.dispatcher.attach(TeamEvent.class, team);
+        this.dispatcher.attach(Event.class, this.lambdaMock);
+
+        AnimalJumpedEvent event = new AnimalJumpedEvent();
+        this.dispatcher.dispatch(event);
+
+        verify(teamAnimal).handle(event);
+        verify(team).handle(event);
+        verify(this.lambdaMock).handle(event);
+    }
+
+    /**
+     * A keyed listener on a supertype should only get the events of its own team.
+     */
+    @Test
+    public void dispatchCallsKeyedSupertypeListener() {
+        this.dispatcher.attach(AbstractTeamEvent.class, SubscriptionKey.team(1), this.lambdaMock);
+
+        TeamProgressEvent own = new TeamProgressEvent();
+        own.setTeam(1);
+        AddRockEvent other = new AddRockEvent();
+        other.setTeam(2);
+        this.dispatcher.dispatch(own);
+        this.dispatcher.dispatch(other);
+
+        verify(this.lambdaMock).handle(own);
+        verify(this.lambdaMock, Mockito.never()).handle(other);
+    }
+
+    /**
+     * Attaching or detaching a supertype listener after a dispatch should be seen by the next dispatch.
+     */
+    @Test
+    public void supertypeListenersAreNotCachedStale() {
+        AnimalJumpedEvent event = new AnimalJumpedEvent();
+        this.dispatcher.dispatch(event);
+
+        Subscription subscription = this.dispatcher.attach(AbstractTeamAnimalEvent.class, this.lambdaMock);
+        this.dispatcher.dispatch(event);
+        subscription.detach();
+        this.dispatcher.dispatch(event);
+
+        verify(this.lambdaMock).handle(event);
+    }
+
+    /**
+     * Metrics should only be recorded once enabled.
+     */
+    @Test
+    public void metricsRecordWhenEnabled() {
+        this.dispatcher.attach(AnimalJumpedEvent.class, this.lambdaMock);
+        this.dispatcher.dispatch(new AnimalJumpedEvent());
+        assertEquals(0, this.dispatcher.getMetrics().getDispatchCount(AnimalJumpedEvent.class));
+
+        this.dispatcher.getMetrics().setEnabled(true);
+        this.dispatcher.dispatch(new AnimalJumpedEvent());
+        this.dispatcher.dispatch(new AnimalJumpedEvent());
+
+        DispatcherMetrics metrics = this.dispatcher.getMetrics();
+        assertEquals(2, metrics.getDispatchCount(AnimalJumpedEvent.class));
+        assertEquals(2, metrics.getHandlerLatency(this.lambdaMock.getClass()).getCount());
+        assertEquals(2, metrics.getHandlerCallCount());
+        assertEquals(this.lambdaMock.getClass(), metrics.getSlowestHandlers(1).get(0));
+    }
+}
@@ -33,7 +33,7 @@ public abstract class EventTest {
         event = getInstance();
 
         Event returnEvent = event.deserialize(getTestMap());
-        assertEquals(new Integer(getAnimalId()), returnEvent.getAnimal());
+        assertEquals(getAnimalId(), returnEvent.getAnimal());
     }
 
     @Test
@@ -52,7 +52,7 @@ public abstract class EventTest {
     }
 
     public void addVariables(Event event) {
-        event.setAnimal(getAnimalId());
+        // Only the events of an animal have an animal to set
     }
 
     public Event getInstance() {
@@ -33,7 +33,6 @@ public class GameAboutToStartEventTest extends AbstractAnimalEventTest {
     @Test
     public void testSerialize() throws Exception {
         event = (GameAboutToStartEvent) getInstance();
-        event.setAnimal(getAnimalId());
 
         String s = event.serialize(protocol);
         assertTrue(s.contains("seconds" + protocol.getKeyValueSeperator() + seconds));
@@ -22,7 +22,6 @@ public class GameAboutToWaitEventTest extends AbstractAnimalEventTest {
     @Test
     public void testSerialize() throws Exception {
         event = (GameAboutToWaitEvent) getInstance();
-        event.setAnimal(getAnimalId());
 
         String s = event.serialize(protocol);
         assertTrue(s.contains("time" + protocol.getKeyValueSeperator() + time));
@@ -0,0 +1,88 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTest {
+
+    private static final double DELTA = 0.0001;
+
+    /**
+     * The largest relative error a bucket may have.
+     */
+    private static final double MAX_ERROR = 1.0 / LatencyHistogram.SUB_BUCKETS;
+
+    /**
+     * Class under test.
+     */
+    private LatencyHistogram histogram;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        this.histogram = new LatencyHistogram();
+    }
+
+    /**
+     * Small values should be kept exactly.
+     */
+    @Test
+    public void smallValuesAreExact() {
+        for (long value = 0; value < LatencyHistogram.SUB_BUCKETS; value++) {
+            assertEquals(value, LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(value)));
+        }
+    }
+
+    /**
+     * Every value should land in a bucket whose highest value is close to it.
+     */
+    @Test
+    public void bucketsHaveBoundedError() {
+        for (long value = 1; value < Long.MAX_VALUE / 2 && value > 0; value = value * 3 + 1) {
+            long highest = LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(value));
+            if (value < 1L << 43) {
+                assertTrue(highest >= value);
+                assertTrue((double) (highest - value) / value <= MAX_ERROR);
+            }
+        }
+    }
+
+    /**
+     * Percentiles should come from the recorded distribution.
+     */
+    @Test
+    public void percentiles() {
+        final int amount = 1000;
+        for (int i = 1; i <= amount; i++) {
+            this.histogram.record(i * 1000L);
+        }
+
+        assertEquals(amount, this.histogram.getCount());
+        assertEquals(amount * 1000L, this.histogram.getMax());
+        assertEquals(500500, this.histogram.getMean(), DELTA);
+        long median = this.histogram.getValueAtPercentile(50);
+        assertTrue(median >= 500000 && median <= 500000 * (1 + MAX_ERROR));
+        assertEquals(amount * 1000L, this.histogram.getValueAtPercentile(100));
+    }
+
+    /**
+     * An empty histogram should report zeros.
+     */
+    @Test
+    public void emptyAndReset() {
+        assertEquals(0, this.histogram.getValueAtPercentile(99));
+        this.histogram.record(5);
+        this.histogram.reset();
+        assertEquals(0, this.histogram.getCount());
+        assertEquals(0, this.histogram.getMax());
+        assertEquals(0, this.histogram.getMean(), DELTA);
+    }
+}
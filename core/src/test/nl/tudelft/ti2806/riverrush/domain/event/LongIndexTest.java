@@ -0,0 +1,102 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link LongIndex}.
+ */
+public class LongIndexTest {
+
+    /**
+     * More keys than fit in the initial table.
+     */
+    private static final int KEYS = 1000;
+
+    /**
+     * Class under test.
+     */
+    private LongIndex index;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        this.index = new LongIndex();
+    }
+
+    /**
+     * A key keeps the value it was last given.
+     */
+    @Test
+    public void putAndGet() {
+        this.index.put(1, 2);
+        this.index.put(1, 3);
+
+        assertEquals(3, this.index.get(1));
+        assertEquals(LongIndex.EMPTY, this.index.get(2));
+        assertEquals(1, this.index.size());
+    }
+
+    /**
+     * Removing keys keeps the others that share their probe path.
+     */
+    @Test
+    public void removeKeepsOthers() {
+        for (int i = 0; i < KEYS; i++) {
+            this.index.put(i, i * 2);
+        }
+        for (int i = 0; i < KEYS; i += 2) {
+            assertTrue(this.index.remove(i));
+        }
+
+        assertFalse(this.index.remove(0));
+        assertEquals(KEYS / 2, this.index.size());
+        for (int i = 0; i < KEYS; i++) {
+            long expected = LongIndex.EMPTY;
+            if (i % 2 == 1) {
+                expected = i * 2;
+            }
+            assertEquals(expected, this.index.get(i));
+        }
+    }
+
+    /**
+     * Keys that only differ in their high half are told apart.
+     */
+    @Test
+    public void highBits() {
+        long high = 1L << Integer.SIZE;
+        this.index.put(high, 1);
+        this.index.put(high * 2, 2);
+
+        assertEquals(1, this.index.get(high));
+        assertEquals(2, this.index.get(high * 2));
+        assertEquals(LongIndex.EMPTY, this.index.get(0));
+    }
+
+    /**
+     * Clearing forgets every key.
+     */
+    @Test
+    public void clear() {
+        this.index.put(1, 1);
+        this.index.clear();
+
+        assertEquals(0, this.index.size());
+        assertEquals(LongIndex.EMPTY, this.index.get(1));
+    }
+
+    /**
+     * The empty key can not be stored.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyKey() {
+        this.index.put(LongIndex.EMPTY, 1);
+    }
+}
@@ -0,0 +1,51 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+import nl.tudelft.ti2806.riverrush.network.event.JoinTeamCommand;
+import nl.tudelft.ti2806.riverrush.network.event.JumpCommand;
+import nl.tudelft.ti2806.riverrush.network.event.VoteBoatMoveCommand;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link Priority}.
+ */
+public class PriorityTest {
+
+    /**
+     * Changes of the game state are urgent.
+     */
+    @Test
+    public void stateChangesAreHigh() {
+        assertEquals(Priority.HIGH, Priority.of(GameFinishedEvent.class));
+        assertEquals(Priority.HIGH, Priority.of(new BoatCollidedEvent()));
+    }
+
+    /**
+     * Moves and progress are superseded soon.
+     */
+    @Test
+    public void frequentEventsAreLow() {
+        assertEquals(Priority.LOW, Priority.of(AnimalMovedEvent.class));
+        assertEquals(Priority.LOW, Priority.of(TeamProgressEvent.class));
+    }
+
+    /**
+     * The commands of a client all have the same priority, so none is shed before a later one.
+     */
+    @Test
+    public void commandsAreNormal() {
+        assertEquals(Priority.NORMAL, Priority.of(VoteBoatMoveCommand.class));
+        assertEquals(Priority.NORMAL, Priority.of(JumpCommand.class));
+        assertEquals(Priority.NORMAL, Priority.of(JoinTeamCommand.class));
+    }
+
+    /**
+     * Types without a priority are normal, also when a subclass declares one.
+     */
+    @Test
+    public void defaultIsNormal() {
+        assertEquals(Priority.NORMAL, Priority.of(AnimalJumpedEvent.class));
+        assertEquals(Priority.NORMAL, Priority.of(AbstractTeamEvent.class));
+    }
+}
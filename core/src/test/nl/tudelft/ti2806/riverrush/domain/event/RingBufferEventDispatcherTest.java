@@ -0,0 +1,279 @@
+package nl.tudelft.ti2806.riverrush.domain.event;
+
+import nl.tudelft.ti2806.riverrush.network.event.JumpCommand;
+import nl.tudelft.ti2806.riverrush.network.event.VoteBoatMoveCommand;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link RingBufferEventDispatcher}.
+ */
+public class RingBufferEventDispatcherTest {
+
+    private static final int CAPACITY = 8;
+    private static final long TIMEOUT_SECONDS = 5;
+
+    /**
+     * Class under test.
+     */
+    private RingBufferEventDispatcher dispatcher;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        this.dispatcher = new RingBufferEventDispatcher(new CopyOnWriteEventDispatcher(), CAPACITY);
+    }
+
+    /**
+     * Stop the consumer thread.
+     */
+    @After
+    public void tearDown() {
+        this.dispatcher.shutdown();
+    }
+
+    /**
+     * Handlers should run on the consumer thread, not on the thread that dispatched.
+     *
+     * @throws InterruptedException when the test is interrupted.
+     */
+    @Test
+    public void dispatchRunsOnConsumerThread() throws InterruptedException {
+        CountDownLatch handled = new CountDownLatch(1);
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        this.dispatcher.attach(AnimalJumpedEvent.class, (e) -> {
+            thread.set(Thread.currentThread());
+            handled.countDown();
+        });
+
+        this.dispatcher.dispatch(new AnimalJumpedEvent());
+
+        assertTrue(handled.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertNotEquals(Thread.currentThread(), thread.get());
+    }
+
+    /**
+     * Events of several producers should all be handled, and the events of one producer in order.
+     *
+     * @throws InterruptedException when the test is interrupted.
+     */
+    @Test
+    public void dispatchKeepsOrderPerProducer() throws InterruptedException {
+        final int producers = 3;
+        final int perProducer = 200;
+        CountDownLatch handled = new CountDownLatch(producers * perProducer);
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        this.dispatcher.attach(AnimalJumpedEvent.class, (e) -> {
+            seen.add(e.getAnimal());
+            handled.countDown();
+        });
+
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            final int offset = p * perProducer;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    AnimalJumpedEvent event = new AnimalJumpedEvent();
+                    event.setAnimal(offset + i);
+                    this.dispatcher.dispatch(event);
+                }
+            });
+            threads[p].start();
+        }
+
+        assertTrue(handled.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        int[] last = new int[producers];
+        for (int p = 0; p < producers; p++) {
+            last[p] = p * perProducer - 1;
+        }
+        for (int animal : seen) {
+            int p = animal / perProducer;
+            assertEquals(last[p] + 1, animal);
+            last[p] = animal;
+        }
+        assertEquals(producers * perProducer, seen.size());
+        assertTrue(this.dispatcher.getMaxBatchSize() <= CAPACITY);
+    }
+
+    /**
+     * A handler that dispatches more events than fit in the buffer should not deadlock.
+     *
+     * @throws InterruptedException when the test is interrupted.
+     */
+    @Test
+    public void handlerCanDispatchIntoFullBuffer() throws InterruptedException {
+        final int amount = CAPACITY * 4;
+        CountDownLatch handled = new CountDownLatch(amount);
+        this.dispatcher.attach(AnimalJumpedEvent.class, (e) -> handled.countDown());
+        this.dispatcher.attach(GameStartedEvent.class, (e) -> {
+            for (int i = 0; i < amount; i++) {
+                this.dispatcher.dispatch(new AnimalJumpedEvent());
+            }
+        });
+
+        this.dispatcher.dispatch(new GameStartedEvent());
+
+        assertTrue(handled.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(this.dispatcher.getFullCount() > 0);
+    }
+
+    /**
+     * A failing handler should not stop the consumer.
+     *
+     * @throws InterruptedException when the test is interrupted.
+     */
+    @Test
+    public void failingHandlerKeepsConsumerAlive() throws InterruptedException {
+        CountDownLatch handled = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        this.dispatcher.attach(GameStartedEvent.class, (e) -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("test");
+        });
+        this.dispatcher.attach(GameStoppedEvent.class, (e) -> handled.countDown());
+
+        this.dispatcher.dispatch(new GameStartedEvent());
+        this.dispatcher.dispatch(new GameStoppedEvent());
+
+        assertTrue(handled.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    /**
+     * Block the consumer thread on an event until the latch is released.
+     *
+     * @param release - Releases the consumer.
+     * @throws InterruptedException when the test is interrupted.
+     */
+    private void blockConsumer(final CountDownLatch release) throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        this.dispatcher.attach(AnimalJumpedEvent.class, (e) -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        this.dispatcher.dispatch(new AnimalJumpedEvent());
+        assertTrue(blocked.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    /**
+     * A more urgent event does not overtake the events dispatched before it, so an animal is
+     * only removed after it moved.
+     *
+     * @throws InterruptedException when the test is interrupted.
+     */
+    @Test
+    public void removeAfterMoveInOrder() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch handled = new CountDownLatch(3);
+        List<Class<?>> seen = Collections.synchronizedList(new ArrayList<>());
+        HandlerLambda<Event> record = (e) -> {
+            seen.add(e.getClass());
+            handled.countDown();
+        };
+        this.dispatcher.attach(AnimalMovedEvent.class, record);
+        this.dispatcher.attach(AnimalRemovedEvent.class, record);
+        this.dispatcher.attach(GameFinishedEvent.class, record);
+        this.blockConsumer(release);
+
+        this.dispatcher.dispatch(new AnimalMovedEvent());
+        this.dispatcher.dispatch(new AnimalRemovedEvent());
+        this.dispatcher.dispatch(new GameFinishedEvent());
+        release.countDown();
+
+        assertTrue(handled.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(AnimalMovedEvent.class, seen.get(0));
+        assertEquals(AnimalRemovedEvent.class, seen.get(1));
+        assertEquals(GameFinishedEvent.class, seen.get(2));
+    }
+
+    /**
+     * Low priority events are shed when the ring is almost full, the others still fit.
+     *
+     * @throws InterruptedException when the test is interrupted.
+     */
+    @Test
+    public void shedsLowPriorityWhenAlmostFull() throws InterruptedException {
+        final int lowSlots = CAPACITY / 4 * RingBufferEventDispatcher.LOW_PRIORITY_SHARE;
+        CountDownLatch release = new CountDownLatch(1);
+        List<Class<?>> seen = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch handled = new CountDownLatch(lowSlots);
+        HandlerLambda<Event> record = (e) -> {
+            seen.add(e.getClass());
+            handled.countDown();
+        };
+        this.dispatcher.attach(AnimalMovedEvent.class, record);
+        this.dispatcher.attach(AnimalRemovedEvent.class, record);
+        this.blockConsumer(release);
+
+        for (int i = 0; i < lowSlots; i++) {
+            this.dispatcher.dispatch(new AnimalMovedEvent());
+        }
+        this.dispatcher.dispatch(new AnimalRemovedEvent());
+
+        assertEquals(1, this.dispatcher.getShedCount());
+        assertEquals(lowSlots + 1, this.dispatcher.getQueueDepth());
+        release.countDown();
+        assertTrue(handled.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(AnimalRemovedEvent.class, seen.get(lowSlots - 1));
+    }
+
+    /**
+     * The commands of a client are handled in the order it sent them, also when the ring is too
+     * full for low priority events.
+     *
+     * @throws InterruptedException when the test is interrupted.
+     */
+    @Test
+    public void commandsOfOneClientInOrder() throws InterruptedException {
+        final int lowSlots = CAPACITY / 4 * RingBufferEventDispatcher.LOW_PRIORITY_SHARE;
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch handled = new CountDownLatch(2);
+        List<Class<?>> seen = Collections.synchronizedList(new ArrayList<>());
+        HandlerLambda<Event> record = (e) -> {
+            seen.add(e.getClass());
+            handled.countDown();
+        };
+        this.dispatcher.attach(VoteBoatMoveCommand.class, record);
+        this.dispatcher.attach(JumpCommand.class, record);
+        this.blockConsumer(release);
+        for (int i = 1; i < lowSlots; i++) {
+            this.dispatcher.dispatch(new AnimalMovedEvent());
+        }
+
+        this.dispatcher.dispatch(new VoteBoatMoveCommand());
+        this.dispatcher.dispatch(new JumpCommand());
+        release.countDown();
+
+        assertTrue(handled.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(0, this.dispatcher.getShedCount());
+        assertEquals(VoteBoatMoveCommand.class, seen.get(0));
+        assertEquals(JumpCommand.class, seen.get(1));
+    }
+
+    /**
+     * The capacity has to be a power of two.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityMustBePowerOfTwo() {
+        new RingBufferEventDispatcher(new CopyOnWriteEventDispatcher(), CAPACITY + 1);
+    }
+}
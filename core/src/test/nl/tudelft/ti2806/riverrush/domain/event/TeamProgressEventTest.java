@@ -37,7 +37,6 @@ public class TeamProgressEventTest extends AbstractTeamEventTest {
     @Test
     public void testSerialize() throws Exception {
         event = (TeamProgressEvent) getInstance();
-        event.setAnimal(getAnimalId());
 
         String s = event.serialize(protocol);
         assertTrue("Did not find progress", s.contains("progress" + protocol.getKeyValueSeperator() + progress));
@@ -66,6 +65,6 @@ public class TeamProgressEventTest extends AbstractTeamEventTest {
     @Test
     public void testDeserializeExtraFunc() throws Exception {
         event = (TeamProgressEvent) getInstance();
-        assertEquals(new Double(progress), event.getProgress());
+        assertEquals(progress, event.getProgress(), 0);
     }
 }
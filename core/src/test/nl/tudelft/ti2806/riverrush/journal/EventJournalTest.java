@@ -0,0 +1,175 @@
+package nl.tudelft.ti2806.riverrush.journal;
+
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalJumpedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
+import nl.tudelft.ti2806.riverrush.domain.event.GameStartedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.GameStoppedEvent;
+import nl.tudelft.ti2806.riverrush.network.protocol.BasicProtocol;
+import nl.tudelft.ti2806.riverrush.network.protocol.CompactProtocol;
+import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for writing and reading an event journal.
+ */
+public class EventJournalTest {
+
+    private Path file;
+    private Protocol protocol;
+
+    /**
+     * Create a protocol that knows some of the events and a file to write to.
+     *
+     * @throws IOException when no temporary file can be made.
+     */
+    @Before
+    public void setUp() throws IOException {
+        this.file = Files.createTempFile("journal", ".rrj");
+        this.protocol = new CompactProtocol(0);
+        this.protocol.registerNetworkMessage(AnimalJumpedEvent.class, AnimalJumpedEvent::new);
+        this.protocol.registerNetworkMessage(GameStartedEvent.class, GameStartedEvent::new);
+    }
+
+    /**
+     * Remove the file.
+     *
+     * @throws IOException when the file can not be removed.
+     */
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.file);
+    }
+
+    /**
+     * The events come back in order with their animal, unknown events are skipped.
+     *
+     * @throws Exception when the journal can not be written or read.
+     */
+    @Test
+    public void appendThenRead() throws Exception {
+        AnimalJumpedEvent jumped = new AnimalJumpedEvent(3, 1);
+
+        try (EventJournal journal = new EventJournal(this.file, this.protocol)) {
+            journal.append(jumped);
+            journal.append(new GameStoppedEvent());
+            journal.append(new GameStartedEvent());
+            assertEquals(2, journal.getRecordCount());
+            assertEquals(1, journal.getSkippedCount());
+        }
+
+        List<JournalRecord> records = new ArrayList<>();
+        new JournalReader(this.file).forEach(records::add);
+        assertEquals(2, records.size());
+        assertEquals(Integer.valueOf(3), records.get(0).getAnimal());
+        assertTrue(records.get(0).getNanos() <= records.get(1).getNanos());
+
+        Event event = records.get(0).toEvent(this.protocol);
+        assertTrue(event instanceof AnimalJumpedEvent);
+        assertEquals(3, event.getAnimal());
+        assertEquals(1, ((AnimalJumpedEvent) event).getTeam());
+        assertTrue(records.get(1).toEvent(this.protocol) instanceof GameStartedEvent);
+    }
+
+    /**
+     * Replaying hands over every record.
+     *
+     * @throws IOException when the journal can not be written or read.
+     */
+    @Test
+    public void replayWithoutWaiting() throws IOException {
+        try (EventJournal journal = new EventJournal(this.file, this.protocol)) {
+            journal.append(new GameStartedEvent());
+            journal.append(new GameStartedEvent());
+        }
+
+        List<JournalRecord> records = new ArrayList<>();
+        new JournalReader(this.file).replay(Double.POSITIVE_INFINITY, records::add);
+        assertEquals(2, records.size());
+    }
+
+    /**
+     * An empty journal has no records.
+     *
+     * @throws IOException when the journal can not be written or read.
+     */
+    @Test
+    public void emptyJournal() throws IOException {
+        new EventJournal(this.file, this.protocol).close();
+        assertFalse(new JournalReader(this.file).iterator().hasNext());
+    }
+
+    /**
+     * Appending after closing does nothing.
+     *
+     * @throws IOException when the journal can not be written.
+     */
+    @Test
+    public void appendAfterClose() throws IOException {
+        EventJournal journal = new EventJournal(this.file, this.protocol);
+        journal.close();
+        journal.append(new GameStartedEvent());
+        assertEquals(0, journal.getRecordCount());
+    }
+
+    /**
+     * A record holds the binary frame of its event, and reading it leaves the record as it is.
+     *
+     * @throws Exception when the journal can not be written or read.
+     */
+    @Test
+    public void recordsBinaryFrames() throws Exception {
+        AnimalJumpedEvent jumped = new AnimalJumpedEvent(3, Event.BROADCAST);
+        try (EventJournal journal = new EventJournal(this.file, this.protocol)) {
+            journal.append(jumped);
+        }
+
+        JournalRecord record = new JournalReader(this.file).iterator().next();
+        assertEquals(this.protocol.encode(jumped), record.getFrame());
+        record.toEvent(this.protocol);
+        assertEquals(this.protocol.encode(jumped), record.getFrame());
+    }
+
+    /**
+     * A protocol without binary frames is refused.
+     *
+     * @throws IOException when the file can not be opened.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void textProtocolRefused() throws IOException {
+        new EventJournal(this.file, new BasicProtocol(0));
+    }
+
+    /**
+     * A file that is not a journal is refused.
+     *
+     * @throws IOException when the file is not a journal.
+     */
+    @Test(expected = IOException.class)
+    public void notAJournal() throws IOException {
+        Files.write(this.file, new byte[]{1, 2, 3, 4, 5});
+        new JournalReader(this.file);
+    }
+
+    /**
+     * The speed of a replay should be positive.
+     *
+     * @throws IOException when the journal can not be written or read.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void replayNegativeSpeed() throws IOException {
+        new EventJournal(this.file, this.protocol).close();
+        new JournalReader(this.file).replay(-1, (record) -> { });
+    }
+}
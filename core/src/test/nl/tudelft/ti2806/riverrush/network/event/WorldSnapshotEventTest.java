@@ -0,0 +1,107 @@
+package nl.tudelft.ti2806.riverrush.network.event;
+
+import nl.tudelft.ti2806.riverrush.domain.event.Direction;
+import nl.tudelft.ti2806.riverrush.network.protocol.CompactProtocol;
+import nl.tudelft.ti2806.riverrush.network.protocol.InvalidProtocolException;
+import nl.tudelft.ti2806.riverrush.network.snapshot.WorldSnapshot.AnimalEntry;
+import nl.tudelft.ti2806.riverrush.network.snapshot.WorldSnapshot.Position;
+import nl.tudelft.ti2806.riverrush.network.snapshot.WorldSnapshot.TeamEntry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the wire formats of {@link WorldSnapshotEvent}.
+ */
+public class WorldSnapshotEventTest {
+
+    private static final int SEQUENCE = 300;
+    private static final int ANIMAL = 7;
+    private static final double PROGRESS = 12.345;
+    private static final double SPEED = 0.5;
+
+    private CompactProtocol protocol;
+    private WorldSnapshotEvent delta;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        this.protocol = new CompactProtocol(0);
+        this.protocol.registerNetworkMessage(WorldSnapshotEvent.class, WorldSnapshotEvent::new);
+        this.protocol.registerNetworkMessage(SnapshotAckCommand.class);
+
+        this.delta = new WorldSnapshotEvent(SEQUENCE, SEQUENCE - 1);
+        this.delta.getTeams().put(0, new TeamEntry(PROGRESS, SPEED));
+        this.delta.getAnimals().put(ANIMAL, new AnimalEntry(1, Position.IN_AIR, Direction.RIGHT));
+        this.delta.getRemoved().add(ANIMAL + 1);
+    }
+
+    /**
+     * Check that the result has the fields of the delta.
+     *
+     * @param result - The delta that was read back.
+     */
+    private void assertSameDelta(final WorldSnapshotEvent result) {
+        assertEquals(SEQUENCE, result.getSequence());
+        assertEquals(SEQUENCE - 1, result.getBaseline());
+        assertEquals(this.delta.getTeams(), result.getTeams());
+        assertEquals(this.delta.getAnimals(), result.getAnimals());
+        assertEquals(this.delta.getRemoved(), result.getRemoved());
+    }
+
+    /**
+     * The lists survive the text.
+     */
+    @Test
+    public void textRoundTrip() {
+        String text = this.protocol.serialize(this.delta);
+        this.assertSameDelta((WorldSnapshotEvent) this.protocol.deserialize(text));
+    }
+
+    /**
+     * The lists survive a binary frame.
+     */
+    @Test
+    public void binaryRoundTrip() {
+        this.assertSameDelta((WorldSnapshotEvent) this.protocol.decode(this.protocol.encode(this.delta)));
+    }
+
+    /**
+     * Empty lists are left out of the text, and read back empty.
+     */
+    @Test
+    public void emptyLists() {
+        WorldSnapshotEvent empty = new WorldSnapshotEvent();
+        String text = this.protocol.serialize(empty);
+        assertEquals("sequence=0;baseline=-1;event=WorldSnapshotEvent", text);
+
+        WorldSnapshotEvent result = (WorldSnapshotEvent) this.protocol.deserialize(text);
+        assertTrue(result.getTeams().isEmpty());
+        assertTrue(result.getAnimals().isEmpty());
+    }
+
+    /**
+     * The acknowledgement is a generated wire event.
+     */
+    @Test
+    public void ack() {
+        SnapshotAckCommand ack = new SnapshotAckCommand(SEQUENCE);
+        ByteBuffer frame = this.protocol.encode(ack);
+        assertEquals(SEQUENCE, ((SnapshotAckCommand) this.protocol.decode(frame)).getSequence());
+    }
+
+    /**
+     * A list longer than the rest of the frame is refused.
+     */
+    @Test(expected = InvalidProtocolException.class)
+    public void countTooLarge() {
+        final byte many = 100;
+        this.protocol.decode(ByteBuffer.wrap(new byte[]{0, 0, 0, many}));
+    }
+}
@@ -173,13 +173,20 @@ public class BasicProtocolTest {
         }
 
 
-        public Integer getAnimal() {
-            return null;
+        public int getAnimal() {
+            return BROADCAST;
         }
 
         @Override
-        public void setAnimal(final Integer animal) {
-            // Has to be empty
+        public Event copy() {
+            StubEvent copy = new StubEvent();
+            copy.field = this.field;
+            return copy;
+        }
+
+        @Override
+        public Event withAnimal(final int animal) {
+            return this.copy();
         }
 
         public String getField() {
@@ -0,0 +1,97 @@
+package nl.tudelft.ti2806.riverrush.network.protocol;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link BufferPool}.
+ */
+public class BufferPoolTest {
+
+    private static final int SIZE = 16;
+    private static final int MAX_FREE = 2;
+
+    /**
+     * Class under test.
+     */
+    private BufferPool pool;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        this.pool = new BufferPool(SIZE, MAX_FREE);
+    }
+
+    /**
+     * A released buffer is handed out again, empty.
+     */
+    @Test
+    public void reuse() {
+        ByteBuffer buffer = this.pool.acquire();
+        assertTrue(buffer.isDirect());
+        buffer.put((byte) 1).flip();
+        this.pool.release(buffer);
+
+        ByteBuffer again = this.pool.acquire();
+        assertSame(buffer, again);
+        assertEquals(0, again.position());
+        assertEquals(SIZE, again.remaining());
+        assertEquals(1, this.pool.getAllocatedCount());
+    }
+
+    /**
+     * A released buffer reads the same until it is handed out again.
+     */
+    @Test
+    public void releasedUntouched() {
+        ByteBuffer buffer = this.pool.acquire();
+        buffer.put((byte) 1).flip();
+        this.pool.release(buffer);
+        assertEquals(ByteBuffer.wrap(new byte[]{1}), buffer);
+    }
+
+    /**
+     * Only so many released buffers are kept.
+     */
+    @Test
+    public void maxFree() {
+        ByteBuffer[] buffers = new ByteBuffer[MAX_FREE + 1];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = this.pool.acquire();
+        }
+        for (ByteBuffer buffer : buffers) {
+            this.pool.release(buffer);
+        }
+        assertEquals(MAX_FREE, this.pool.getFreeCount());
+        assertEquals(MAX_FREE + 1, this.pool.getAllocatedCount());
+    }
+
+    /**
+     * A size that does not fit gets a buffer of its own, which is not kept.
+     */
+    @Test
+    public void tooLarge() {
+        ByteBuffer buffer = this.pool.acquire(SIZE + 1);
+        assertFalse(buffer.isDirect());
+        assertEquals(SIZE + 1, buffer.remaining());
+        this.pool.release(buffer);
+        assertEquals(0, this.pool.getFreeCount());
+    }
+
+    /**
+     * The buffers should have a size.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroSize() {
+        new BufferPool(0, MAX_FREE);
+    }
+}
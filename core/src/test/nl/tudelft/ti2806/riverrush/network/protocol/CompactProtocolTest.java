@@ -0,0 +1,208 @@
+package nl.tudelft.ti2806.riverrush.network.protocol;
+
+import nl.tudelft.ti2806.riverrush.domain.entity.Sector;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalAddedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.Direction;
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
+import nl.tudelft.ti2806.riverrush.domain.event.GameStartedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.TeamProgressEvent;
+import nl.tudelft.ti2806.riverrush.network.event.VoteBoatMoveCommand;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link CompactProtocol}.
+ */
+public class CompactProtocolTest {
+
+    private static final int ANIMAL = 300;
+    private static final int VARIATION = 3;
+    private static final double PROGRESS = 41.123456789;
+    private static final double SPEED = 0.25;
+    private static final int INITIAL_SIZE = 64;
+
+    /**
+     * Class under test.
+     */
+    private CompactProtocol protocol;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        this.protocol = new CompactProtocol(0);
+        this.protocol.registerNetworkMessage(GameStartedEvent.class, GameStartedEvent::new);
+        this.protocol.registerNetworkMessage(AnimalAddedEvent.class, AnimalAddedEvent::new);
+        this.protocol.registerNetworkMessage(TeamProgressEvent.class, TeamProgressEvent::new);
+        this.protocol.registerNetworkMessage(VoteBoatMoveCommand.class, VoteBoatMoveCommand::new);
+    }
+
+    /**
+     * The fields survive a binary frame, which is smaller than the text.
+     */
+    @Test
+    public void roundTrip() {
+        AnimalAddedEvent added = new AnimalAddedEvent(ANIMAL, -1, VARIATION, Sector.BACK);
+
+        ByteBuffer frame = this.protocol.encode(added);
+        final int expectedSize = 6;
+        assertEquals(expectedSize, frame.remaining());
+        assertTrue(frame.remaining() * 2 < this.protocol.serialize(added).length());
+
+        AnimalAddedEvent result = (AnimalAddedEvent) this.protocol.decode(frame);
+        assertEquals(ANIMAL, result.getAnimal());
+        assertEquals(-1, result.getTeam());
+        assertEquals(VARIATION, result.getVariation());
+        assertEquals(Sector.BACK, result.getSector());
+    }
+
+    /**
+     * Decimal numbers are sent exactly.
+     */
+    @Test
+    public void doubles() {
+        TeamProgressEvent progress = new TeamProgressEvent(1, PROGRESS, SPEED);
+
+        TeamProgressEvent result = (TeamProgressEvent) this.protocol.decode(this.protocol.encode(progress));
+        assertEquals(PROGRESS, result.getProgress(), 0);
+        assertEquals(SPEED, result.getSpeed(), 0);
+    }
+
+    /**
+     * An event without fields is only its id.
+     */
+    @Test
+    public void noFields() {
+        ByteBuffer frame = this.protocol.encode(new GameStartedEvent());
+        assertEquals(1, frame.remaining());
+        assertEquals(0, frame.get(0));
+        assertTrue(this.protocol.decode(frame) instanceof GameStartedEvent);
+    }
+
+    /**
+     * A frame written into a buffer of the caller is the same as one of its own, and is written
+     * after what is already in the buffer.
+     */
+    @Test
+    public void encodeInto() {
+        TeamProgressEvent progress = new TeamProgressEvent(1, PROGRESS, SPEED);
+
+        ByteBuffer out = ByteBuffer.allocateDirect(INITIAL_SIZE);
+        out.put((byte) 1);
+        this.protocol.encode(progress, out);
+        out.flip();
+        out.get();
+        assertEquals(this.protocol.encode(progress), out);
+    }
+
+    /**
+     * Registering a type again keeps its id.
+     */
+    @Test
+    public void registerTwice() {
+        this.protocol.registerNetworkMessage(GameStartedEvent.class, GameStartedEvent::new);
+        VoteBoatMoveCommand vote = new VoteBoatMoveCommand(Direction.LEFT);
+
+        final byte voteId = 3;
+        assertEquals(voteId, this.protocol.encode(vote).get(0));
+    }
+
+    /**
+     * The text of {@link BasicProtocol} still works.
+     */
+    @Test
+    public void textFallback() {
+        TeamProgressEvent progress = new TeamProgressEvent(1, PROGRESS, SPEED);
+
+        Event result = this.protocol.deserialize(this.protocol.serialize(progress));
+        assertEquals(PROGRESS, ((TeamProgressEvent) result).getProgress(), 0);
+        assertTrue(this.protocol.isBinarySupported());
+        assertFalse(new BasicProtocol(0).isBinarySupported());
+    }
+
+    /**
+     * An id that is not registered is refused.
+     */
+    @Test(expected = InvalidActionException.class)
+    public void unknownId() {
+        final byte unknown = 100;
+        this.protocol.decode(ByteBuffer.wrap(new byte[]{unknown}));
+    }
+
+    /**
+     * A frame that ends early is refused.
+     */
+    @Test(expected = InvalidProtocolException.class)
+    public void truncated() {
+        TeamProgressEvent progress = new TeamProgressEvent(1, PROGRESS, SPEED);
+        ByteBuffer frame = this.protocol.encode(progress);
+        frame.limit(frame.limit() - 1);
+
+        this.protocol.decode(frame);
+    }
+
+    /**
+     * A frame with bytes after the fields is refused.
+     */
+    @Test(expected = InvalidProtocolException.class)
+    public void trailingBytes() {
+        this.protocol.decode(ByteBuffer.wrap(new byte[]{0, 0}));
+    }
+
+    /**
+     * The frames of several events written one after the other read back as all of them, in order.
+     */
+    @Test
+    public void batch() {
+        TeamProgressEvent progress = new TeamProgressEvent(1, PROGRESS, SPEED);
+        ByteBuffer first = this.protocol.encode(progress);
+        ByteBuffer second = this.protocol.encode(new GameStartedEvent());
+        ByteBuffer frame = ByteBuffer.allocate(first.remaining() + second.remaining());
+        frame.put(first).put(second).flip();
+
+        List<Event> events = this.protocol.decodeBatch(frame);
+        assertEquals(2, events.size());
+        assertEquals(SPEED, ((TeamProgressEvent) events.get(0)).getSpeed(), 0);
+        assertTrue(events.get(1) instanceof GameStartedEvent);
+        assertEquals(1, this.protocol.decodeBatch(this.protocol.encode(progress)).size());
+    }
+
+    /**
+     * A batch that ends halfway an event is refused.
+     */
+    @Test(expected = InvalidProtocolException.class)
+    public void batchTruncated() {
+        AnimalAddedEvent added = new AnimalAddedEvent(ANIMAL, 1, VARIATION, Sector.BACK);
+        ByteBuffer first = this.protocol.encode(new GameStartedEvent());
+        ByteBuffer second = this.protocol.encode(added);
+        ByteBuffer frame = ByteBuffer.allocate(first.remaining() + second.remaining());
+        frame.put(first).put(second).flip();
+        frame.limit(frame.limit() - 1);
+
+        this.protocol.decodeBatch(frame);
+    }
+
+    /**
+     * Whole numbers of either sign survive the varint encoding.
+     */
+    @Test
+    public void varInts() {
+        int[] numbers = {0, 1, -1, 63, -64, 64, ANIMAL, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        final int maxSize = 5;
+        ByteBuffer buffer = ByteBuffer.allocate(maxSize);
+        for (int number : numbers) {
+            buffer.clear();
+            BinaryFields.putInt(buffer, number);
+            buffer.flip();
+            assertEquals(number, BinaryFields.getInt(buffer));
+        }
+    }
+}
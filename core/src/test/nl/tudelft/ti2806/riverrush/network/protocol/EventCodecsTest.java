@@ -0,0 +1,153 @@
+package nl.tudelft.ti2806.riverrush.network.protocol;
+
+import nl.tudelft.ti2806.riverrush.domain.entity.Sector;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalAddedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.Direction;
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
+import nl.tudelft.ti2806.riverrush.domain.event.GameAboutToWaitEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.GameStartedEvent;
+import nl.tudelft.ti2806.riverrush.network.event.VoteBoatMoveCommand;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link EventCodecs} and the codecs it finds.
+ */
+public class EventCodecsTest {
+
+    private static final int ANIMAL = 7;
+    private static final int TEAM = 1;
+    private static final int VARIATION = 2;
+    private static final int TIME = 10;
+
+    /**
+     * Registers events by their codec.
+     */
+    private Protocol protocol;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        this.protocol = new CompactProtocol(0);
+        this.protocol.registerNetworkMessage(AnimalAddedEvent.class);
+        this.protocol.registerNetworkMessage(GameAboutToWaitEvent.class);
+        this.protocol.registerNetworkMessage(VoteBoatMoveCommand.class);
+    }
+
+    /**
+     * @return An event with every kind of field.
+     */
+    private static AnimalAddedEvent added() {
+        AnimalAddedEvent event = new AnimalAddedEvent(ANIMAL, TEAM, VARIATION, Sector.MIDDLE);
+        return event;
+    }
+
+    /**
+     * Wire events have a codec, other events do not.
+     */
+    @Test
+    public void found() {
+        assertNotNull(EventCodecs.of(AnimalAddedEvent.class));
+        assertNotNull(EventCodecs.of(GameStartedEvent.class));
+        assertNull(EventCodecs.of(Event.class));
+    }
+
+    /**
+     * The text has the fields in declaration order, those of the superclass first.
+     */
+    @Test
+    public void text() {
+        assertEquals("animal=7;team=1;variation=2;sector=MIDDLE;event=AnimalAddedEvent",
+                this.protocol.serialize(added()));
+        assertEquals("", new GameStartedEvent().serialize(this.protocol));
+    }
+
+    /**
+     * A key that differs from the field name is used in the text.
+     */
+    @Test
+    public void renamedKey() {
+        GameAboutToWaitEvent event = new GameAboutToWaitEvent(TIME);
+
+        String text = this.protocol.serialize(event);
+        assertTrue(text.startsWith("time=10;"));
+        assertEquals(TIME, ((GameAboutToWaitEvent) this.protocol.deserialize(text)).getTimeTillWait());
+    }
+
+    /**
+     * The vote has no leading separator any more, so it can be read back.
+     */
+    @Test
+    public void voteRoundTrip() {
+        VoteBoatMoveCommand vote = new VoteBoatMoveCommand(Direction.RIGHT);
+
+        Event result = this.protocol.deserialize(this.protocol.serialize(vote));
+        assertEquals(Direction.RIGHT, ((VoteBoatMoveCommand) result).getDirection());
+    }
+
+    /**
+     * The text and binary frames read back to the same fields.
+     */
+    @Test
+    public void roundTrip() {
+        String message = this.protocol.serialize(added());
+        AnimalAddedEvent text = (AnimalAddedEvent) this.protocol.deserialize(message);
+        ByteBuffer frame = this.protocol.encode(added());
+        AnimalAddedEvent binary = (AnimalAddedEvent) this.protocol.decode(frame);
+
+        for (AnimalAddedEvent result : new AnimalAddedEvent[]{text, binary}) {
+            assertEquals(ANIMAL, result.getAnimal());
+            assertEquals(TEAM, result.getTeam());
+            assertEquals(VARIATION, result.getVariation());
+            assertEquals(Sector.MIDDLE, result.getSector());
+        }
+    }
+
+    /**
+     * A copy has the same fields, a wither changes only the copy.
+     */
+    @Test
+    public void copy() {
+        AnimalAddedEvent original = added();
+        AnimalAddedEvent moved = (AnimalAddedEvent) original.withAnimal(ANIMAL + 1);
+        AnimalAddedEvent copy = (AnimalAddedEvent) moved.withTeam(TEAM + 1);
+
+        assertNotSame(original, copy);
+        assertEquals(ANIMAL + 1, copy.getAnimal());
+        assertEquals(TEAM + 1, copy.getTeam());
+        assertEquals(VARIATION, copy.getVariation());
+        assertEquals(Sector.MIDDLE, copy.getSector());
+        assertEquals(ANIMAL, original.getAnimal());
+        assertEquals(TEAM, original.getTeam());
+    }
+
+    /**
+     * A missing field is refused.
+     */
+    @Test(expected = InvalidProtocolException.class)
+    public void missingField() {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("animal", "1");
+        new AnimalAddedEvent().deserialize(fields);
+    }
+
+    /**
+     * Only wire events can be registered without an instantiator.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void registerWithoutCodec() {
+        this.protocol.registerNetworkMessage(Event.class);
+    }
+}
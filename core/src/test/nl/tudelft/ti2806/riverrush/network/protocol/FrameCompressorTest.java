@@ -0,0 +1,127 @@
+package nl.tudelft.ti2806.riverrush.network.protocol;
+
+import nl.tudelft.ti2806.riverrush.domain.entity.Sector;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalAddedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.GameStartedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.TeamProgressEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link FrameCompressor}.
+ */
+public class FrameCompressorTest {
+
+    private static final int EVENTS = 20;
+    private static final int SMALL = 10;
+
+    private CompactProtocol protocol;
+
+    /**
+     * Class under test.
+     */
+    private FrameCompressor compressor;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        this.protocol = new CompactProtocol(0);
+        this.protocol.registerNetworkMessage(GameStartedEvent.class, GameStartedEvent::new);
+        this.protocol.registerNetworkMessage(AnimalAddedEvent.class, AnimalAddedEvent::new);
+        this.protocol.registerNetworkMessage(TeamProgressEvent.class, TeamProgressEvent::new);
+        this.compressor = new FrameCompressor(this.protocol.getDictionary());
+    }
+
+    /**
+     * Free the compressor.
+     */
+    @After
+    public void tearDown() {
+        this.compressor.close();
+    }
+
+    /**
+     * @return The texts of many events, one per line, as a frame.
+     */
+    private ByteBuffer textBatch() {
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < EVENTS; i++) {
+            AnimalAddedEvent added = new AnimalAddedEvent(i, i % 2, i % 3, Sector.MIDDLE);
+            lines.append(this.protocol.serialize(added)).append(FrameCompressor.LINE_SEPARATOR);
+        }
+        return ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The dictionary has the keys and names of the registered events.
+     */
+    @Test
+    public void dictionary() {
+        String vocabulary = new String(this.protocol.getDictionary(), StandardCharsets.UTF_8);
+        assertTrue(vocabulary.contains("AnimalAddedEvent"));
+        assertTrue(vocabulary.contains("variation"));
+    }
+
+    /**
+     * A batch is compressed and reads back the same, on a compressor of the other side.
+     */
+    @Test
+    public void roundTrip() {
+        ByteBuffer batch = this.textBatch();
+        ByteBuffer packed = this.compressor.pack(batch.duplicate());
+        assertEquals(FrameCompressor.DEFLATED, packed.get(0));
+        assertTrue(packed.remaining() < batch.remaining());
+        assertTrue(this.compressor.getRatio() < 1);
+
+        FrameCompressor other = new FrameCompressor(this.protocol.getDictionary());
+        assertEquals(batch, other.unpack(packed));
+        other.close();
+    }
+
+    /**
+     * A small frame is sent plain, with only the flag added.
+     */
+    @Test
+    public void smallFrame() {
+        ByteBuffer frame = ByteBuffer.wrap(new byte[SMALL]);
+        ByteBuffer packed = this.compressor.pack(frame.duplicate());
+        assertEquals(FrameCompressor.PLAIN, packed.get(0));
+        assertEquals(SMALL + 1, packed.remaining());
+        assertEquals(frame, this.compressor.unpack(packed));
+    }
+
+    /**
+     * Nothing sent is a ratio of 1.
+     */
+    @Test
+    public void noRatio() {
+        assertEquals(1, this.compressor.getRatio(), 0);
+    }
+
+    /**
+     * An unknown flag is refused.
+     */
+    @Test(expected = InvalidProtocolException.class)
+    public void unknownFlag() {
+        this.compressor.unpack(ByteBuffer.wrap(new byte[]{SMALL, 0}));
+    }
+
+    /**
+     * A compressed frame that is cut short is refused.
+     */
+    @Test(expected = InvalidProtocolException.class)
+    public void truncated() {
+        ByteBuffer packed = this.compressor.pack(this.textBatch());
+        packed.limit(packed.limit() / 2);
+        this.compressor.unpack(packed);
+    }
+}
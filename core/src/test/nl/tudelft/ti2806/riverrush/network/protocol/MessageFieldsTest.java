@@ -0,0 +1,219 @@
+package nl.tudelft.ti2806.riverrush.network.protocol;
+
+import nl.tudelft.ti2806.riverrush.domain.event.Direction;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link MessageFields}.
+ */
+public class MessageFieldsTest {
+
+    /**
+     * Class under test.
+     */
+    private MessageFields fields;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        this.fields = new MessageFields(';', '=', "event");
+    }
+
+    /**
+     * The fields and the event type are found.
+     */
+    @Test
+    public void parseFields() {
+        assertTrue(this.fields.parse("animal=12;direction=left;event=VoteBoatMoveCommand"));
+
+        assertEquals(2, this.fields.size());
+        assertEquals("12", this.fields.get("animal"));
+        assertEquals("left", this.fields.get("direction"));
+        assertFalse(this.fields.containsKey("event"));
+        assertNull(this.fields.get("team"));
+        assertTrue(this.fields.hasType());
+        assertEquals("VoteBoatMoveCommand", this.fields.getMessage().substring(this.fields.getTypeStart(),
+                this.fields.getTypeEnd()));
+        assertEquals(2, this.fields.entrySet().size());
+    }
+
+    /**
+     * A key that occurs twice has the last value.
+     */
+    @Test
+    public void lastValueWins() {
+        assertTrue(this.fields.parse("team=1;team=2;event=JoinTeamCommand"));
+        assertEquals("2", this.fields.get("team"));
+    }
+
+    /**
+     * Many pairs do not fit the first arrays.
+     */
+    @Test
+    public void manyPairs() {
+        StringBuilder message = new StringBuilder();
+        final int pairs = 20;
+        for (int i = 0; i < pairs; i++) {
+            message.append("key").append(i).append('=').append(i).append(';');
+        }
+        assertTrue(this.fields.parse(message.toString()));
+        assertEquals(pairs, this.fields.size());
+        assertEquals(pairs - 1, MessageFields.getInt(this.fields, "key" + (pairs - 1)));
+    }
+
+    /**
+     * The syntax is the same as splitting on the separators.
+     */
+    @Test
+    public void sameSyntaxAsSplitting() {
+        String[] messages = {"", ";", ";;", "a=b", "a=b;", "a=b;;", ";a=b", "a=b;;c=d", "a", "a=",
+            "=b", "=", "a==", "a=b=", "a=b=c", "key=a=value", "a=b;event=X", "event=X;event=Y"};
+        for (String message : messages) {
+            Map<String, String> expected = split(message);
+            boolean valid = this.fields.parse(message);
+            assertEquals(message, expected != null, valid);
+            if (valid) {
+                assertEquals(message, expected, new HashMap<>(this.fields));
+            }
+        }
+    }
+
+    /**
+     * Whole numbers are read like {@link Integer#parseInt(String)} does.
+     */
+    @Test
+    public void getInt() {
+        String[] numbers = {"0", "12", "-7", "+3", "2147483647", "-2147483648"};
+        for (String number : numbers) {
+            assertTrue(this.fields.parse("value=" + number));
+            assertEquals(Integer.parseInt(number), MessageFields.getInt(this.fields, "value"));
+        }
+
+        String[] invalid = {"2147483648", "-2147483649", "-", "+", "1a", "1.5"};
+        for (String number : invalid) {
+            assertTrue(this.fields.parse("value=" + number));
+            try {
+                MessageFields.getInt(this.fields, "value");
+                fail(number);
+            } catch (NumberFormatException e) {
+                assertTrue(e.getMessage().contains(number));
+            }
+        }
+    }
+
+    /**
+     * Decimal numbers are read like {@link Double#parseDouble(String)} does, in place or not.
+     */
+    @Test
+    public void getDouble() {
+        String[] numbers = {"0", "0.0", "-0.0", "1.", ".5", "+2.25", "-3.75", "0.1", "0.35",
+            "123456789.012345", "9007199254740993", "1.0E-4", "2.5e10", "NaN", "-Infinity"};
+        for (String number : numbers) {
+            assertTrue(this.fields.parse("value=" + number));
+            assertEquals(number, Double.doubleToLongBits(Double.parseDouble(number)),
+                    Double.doubleToLongBits(MessageFields.getDouble(this.fields, "value")));
+        }
+
+        String[] invalid = {"-", ".", "1.2.3", "1a"};
+        for (String number : invalid) {
+            assertTrue(this.fields.parse("value=" + number));
+            try {
+                MessageFields.getDouble(this.fields, "value");
+                fail(number);
+            } catch (NumberFormatException ignored) {
+                // The message is the one of the JDK.
+            }
+        }
+    }
+
+    /**
+     * A missing key is reported as an invalid message, not as a bad number.
+     */
+    @Test(expected = InvalidProtocolException.class)
+    public void getMissingInt() {
+        assertTrue(this.fields.parse("other=1"));
+        MessageFields.getInt(this.fields, "value");
+    }
+
+    /**
+     * A missing key of a plain map is reported as an invalid message as well.
+     */
+    @Test(expected = InvalidProtocolException.class)
+    public void getMissingDoubleFromPlainMap() {
+        MessageFields.getDouble(new HashMap<>(), "value");
+    }
+
+    /**
+     * A missing enum constant is reported as an invalid message.
+     */
+    @Test(expected = InvalidProtocolException.class)
+    public void getMissingEnum() {
+        assertTrue(this.fields.parse("other=1"));
+        MessageFields.getEnum(this.fields, "direction", Direction.class);
+    }
+
+    /**
+     * A plain map is read as well.
+     */
+    @Test
+    public void getFromPlainMap() {
+        Map<String, String> plain = new HashMap<>();
+        plain.put("value", "42");
+        plain.put("direction", "Right");
+        plain.put("speed", "1.5");
+
+        assertEquals(42, MessageFields.getInt(plain, "value"));
+        assertEquals(1.5, MessageFields.getDouble(plain, "speed"), 0);
+        assertEquals(Direction.RIGHT, MessageFields.getEnum(plain, "direction", Direction.class));
+    }
+
+    /**
+     * Enum constants are found by their name in any case.
+     */
+    @Test
+    public void getEnum() {
+        assertTrue(this.fields.parse("direction=neutral"));
+        assertEquals(Direction.NEUTRAL, MessageFields.getEnum(this.fields, "direction", Direction.class));
+    }
+
+    /**
+     * An unknown name is refused.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void getUnknownEnum() {
+        assertTrue(this.fields.parse("direction=up"));
+        MessageFields.getEnum(this.fields, "direction", Direction.class);
+    }
+
+    /**
+     * The parser this one replaced.
+     *
+     * @param message - A message.
+     * @return The pairs, including the event type, or null if the syntax is invalid.
+     */
+    private static Map<String, String> split(final String message) {
+        Map<String, String> pairs = new HashMap<>();
+        for (String pair : message.split(";")) {
+            String[] keyValue = pair.split("=");
+            if (keyValue.length != 2) {
+                return null;
+            }
+            if (!keyValue[0].equals("event")) {
+                pairs.put(keyValue[0], keyValue[1]);
+            }
+        }
+        return pairs;
+    }
+}
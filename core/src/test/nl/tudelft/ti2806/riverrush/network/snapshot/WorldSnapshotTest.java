@@ -0,0 +1,135 @@
+package nl.tudelft.ti2806.riverrush.network.snapshot;
+
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalFellOffEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalMovedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalReturnedToBoatEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.Direction;
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
+import nl.tudelft.ti2806.riverrush.domain.event.TeamProgressEvent;
+import nl.tudelft.ti2806.riverrush.network.event.WorldSnapshotEvent;
+import nl.tudelft.ti2806.riverrush.network.snapshot.WorldSnapshot.AnimalEntry;
+import nl.tudelft.ti2806.riverrush.network.snapshot.WorldSnapshot.Position;
+import nl.tudelft.ti2806.riverrush.network.snapshot.WorldSnapshot.TeamEntry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link WorldSnapshot}.
+ */
+public class WorldSnapshotTest {
+
+    private static final int TEAM = 1;
+    private static final int ANIMAL = 7;
+    private static final int OTHER_ANIMAL = 8;
+    private static final double PROGRESS = 12.5;
+    private static final double SPEED = 0.5;
+
+    private Map<Integer, TeamEntry> teams;
+    private Map<Integer, AnimalEntry> animals;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        this.teams = new HashMap<>();
+        this.animals = new HashMap<>();
+        this.teams.put(TEAM, new TeamEntry(PROGRESS, SPEED));
+        this.animals.put(ANIMAL, new AnimalEntry(TEAM, Position.ON_BOAT, Direction.NEUTRAL));
+        this.animals.put(OTHER_ANIMAL, new AnimalEntry(TEAM, Position.ON_BOAT, Direction.LEFT));
+    }
+
+    /**
+     * A delta only has what changed, and turns the baseline into the snapshot.
+     */
+    @Test
+    public void deltaRoundTrip() {
+        WorldSnapshot baseline = new WorldSnapshot(this.teams, this.animals);
+        this.animals.put(ANIMAL, new AnimalEntry(TEAM, Position.IN_WATER, Direction.NEUTRAL));
+        this.animals.remove(OTHER_ANIMAL);
+        WorldSnapshot snapshot = new WorldSnapshot(this.teams, this.animals);
+
+        WorldSnapshotEvent delta = snapshot.delta(2, 1, baseline);
+        assertEquals(2, delta.getSequence());
+        assertEquals(1, delta.getBaseline());
+        assertTrue(delta.getTeams().isEmpty());
+        assertEquals(1, delta.getAnimals().size());
+        assertEquals(OTHER_ANIMAL, (int) delta.getRemoved().get(0));
+        assertEquals(snapshot, baseline.apply(delta));
+    }
+
+    /**
+     * A delta against the empty world has everything.
+     */
+    @Test
+    public void fullDelta() {
+        WorldSnapshot snapshot = new WorldSnapshot(this.teams, this.animals);
+        WorldSnapshotEvent delta = snapshot.delta(1, WorldSnapshotEvent.NO_BASELINE, WorldSnapshot.EMPTY);
+
+        assertEquals(1, delta.getTeams().size());
+        assertEquals(2, delta.getAnimals().size());
+        assertEquals(snapshot, WorldSnapshot.EMPTY.apply(delta));
+    }
+
+    /**
+     * The changes are told in the events the renderer handles, a vote after climbing back on.
+     */
+    @Test
+    public void changesSince() {
+        this.animals.put(ANIMAL, new AnimalEntry(TEAM, Position.IN_WATER, Direction.NEUTRAL));
+        WorldSnapshot before = new WorldSnapshot(this.teams, this.animals);
+        this.teams.put(TEAM, new TeamEntry(PROGRESS + 1, SPEED));
+        this.animals.put(ANIMAL, new AnimalEntry(TEAM, Position.ON_BOAT, Direction.RIGHT));
+        WorldSnapshot after = new WorldSnapshot(this.teams, this.animals);
+
+        List<Event> events = after.changesSince(before);
+        assertEquals(3, events.size());
+        assertEquals(PROGRESS + 1, ((TeamProgressEvent) events.get(0)).getProgress(), 0);
+        assertTrue(events.get(1) instanceof AnimalReturnedToBoatEvent);
+        assertEquals(Direction.RIGHT, ((AnimalMovedEvent) events.get(2)).getDirection());
+        assertEquals(ANIMAL, events.get(2).getAnimal());
+    }
+
+    /**
+     * A vote goes before falling off, an animal that just joined starts on the boat.
+     */
+    @Test
+    public void changesOfNewAnimal() {
+        this.animals.clear();
+        this.animals.put(ANIMAL, new AnimalEntry(TEAM, Position.IN_WATER, Direction.LEFT));
+
+        List<Event> events = new WorldSnapshot(this.teams, this.animals).changesSince(
+                new WorldSnapshot(this.teams, new HashMap<>()));
+        assertEquals(2, events.size());
+        assertTrue(events.get(0) instanceof AnimalMovedEvent);
+        assertTrue(events.get(1) instanceof AnimalFellOffEvent);
+    }
+
+    /**
+     * The history forgets the oldest snapshots, and knows the empty world.
+     */
+    @Test
+    public void history() {
+        SnapshotHistory history = new SnapshotHistory(2);
+        WorldSnapshot snapshot = new WorldSnapshot(this.teams, this.animals);
+        final int third = 3;
+        history.put(1, snapshot);
+        history.put(2, snapshot);
+        history.put(third, snapshot);
+
+        assertNull(history.get(1));
+        assertSame(snapshot, history.get(third));
+        assertSame(WorldSnapshot.EMPTY, history.get(WorldSnapshotEvent.NO_BASELINE));
+        history.forgetBefore(third);
+        assertNull(history.get(2));
+    }
+}
@@ -0,0 +1,503 @@
+package nl.tudelft.ti2806.riverrush.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates a codec for every {@link WireEvent}, with straight-line code per field instead of
+ * the string building and key checks that each event used to write by hand.
+ * The codec implements the EventCodec interface of the core module and is found by its name,
+ * so a protocol picks it up when the event is registered.
+ * The codec is generated in the package of the event, so the setters of the wire fields can be
+ * package-private. An event without a codec has nothing to copy it, so every other event class
+ * that is compiled should override copy() itself.
+ */
+public final class EventCodecProcessor extends AbstractProcessor {
+
+    /**
+     * The suffix of the name of a generated codec.
+     */
+    public static final String CODEC_SUFFIX = "Codec";
+
+    private static final String PROTOCOL_PACKAGE = "nl.tudelft.ti2806.riverrush.network.protocol";
+    private static final String CODEC_INTERFACE = PROTOCOL_PACKAGE + ".EventCodec";
+    private static final String PROTOCOL = PROTOCOL_PACKAGE + ".Protocol";
+    private static final String MESSAGE_FIELDS = PROTOCOL_PACKAGE + ".MessageFields";
+    private static final String BINARY_FIELDS = PROTOCOL_PACKAGE + ".BinaryFields";
+    private static final String EVENT = "nl.tudelft.ti2806.riverrush.domain.event.Event";
+    private static final String COPY = "copy";
+
+    /**
+     * Every class is looked at, to find the events without a codec.
+     *
+     * @return Every annotation, none of them is claimed.
+     */
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment round) {
+        for (Element element : round.getElementsAnnotatedWith(WireEvent.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                this.error(element, "Only classes can be wire events");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            if (this.isValid(type)) {
+                List<Field> fields = this.collectFields(type);
+                if (fields != null) {
+                    this.write(type, fields);
+                }
+            }
+        }
+
+        TypeElement event = this.processingEnv.getElementUtils().getTypeElement(EVENT);
+        if (event != null) {
+            for (TypeElement type : ElementFilter.typesIn(round.getRootElements())) {
+                this.checkCopy(type, event.asType());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Report the event classes that have no codec and do not copy themselves, with their nested
+     * classes.
+     *
+     * @param type  - A class.
+     * @param event - The event interface.
+     */
+    private void checkCopy(final TypeElement type, final TypeMirror event) {
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            this.checkCopy(nested, event);
+        }
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)
+                || type.getAnnotation(WireEvent.class) != null
+                || !this.processingEnv.getTypeUtils().isAssignable(type.asType(), event)) {
+            return;
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(
+                this.processingEnv.getElementUtils().getAllMembers(type))) {
+            if (method.getSimpleName().contentEquals(COPY) && method.getParameters().isEmpty()
+                    && method.getEnclosingElement().getKind() == ElementKind.CLASS) {
+                return;
+            }
+        }
+        this.error(type, "Events without @WireEvent have no codec to copy them, they should override "
+                + COPY + "()");
+    }
+
+    /**
+     * @param type - An event.
+     * @return True if a codec can create the event.
+     */
+    private boolean isValid(final TypeElement type) {
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL) {
+            this.error(type, "Wire events should be top level classes");
+            return false;
+        }
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            this.error(type, "Wire events should not be abstract");
+            return false;
+        }
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        for (ExecutableElement constructor : constructors) {
+            if (constructor.getParameters().isEmpty()
+                    && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        this.error(type, "Wire events need a public constructor without arguments");
+        return false;
+    }
+
+    /**
+     * Find the wire fields of an event and of its superclasses, the superclasses first.
+     *
+     * @param type - The event.
+     * @return The fields, null if one of them cannot be sent.
+     */
+    private List<Field> collectFields(final TypeElement type) {
+        Deque<TypeElement> hierarchy = new ArrayDeque<>();
+        TypeElement current = type;
+        while (current != null) {
+            hierarchy.push(current);
+            TypeMirror superclass = current.getSuperclass();
+            if (superclass.getKind() == TypeKind.DECLARED) {
+                current = (TypeElement) ((DeclaredType) superclass).asElement();
+            } else {
+                current = null;
+            }
+        }
+
+        List<ExecutableElement> methods = ElementFilter.methodsIn(
+                this.processingEnv.getElementUtils().getAllMembers(type));
+        List<Field> fields = new ArrayList<>();
+        boolean valid = true;
+        for (TypeElement declaring : hierarchy) {
+            for (VariableElement variable : ElementFilter.fieldsIn(declaring.getEnclosedElements())) {
+                WireField annotation = variable.getAnnotation(WireField.class);
+                if (annotation == null) {
+                    continue;
+                }
+                Field field = this.toField(type, variable, annotation, methods);
+                if (field == null) {
+                    valid = false;
+                } else {
+                    fields.add(field);
+                }
+            }
+        }
+        if (valid) {
+            return fields;
+        }
+        return null;
+    }
+
+    /**
+     * @param type       - The event.
+     * @param variable   - A wire field.
+     * @param annotation - The annotation of the field.
+     * @param methods    - The methods of the event.
+     * @return How to send the field, null if it cannot be sent.
+     */
+    private Field toField(final TypeElement type, final VariableElement variable, final WireField annotation,
+                          final List<ExecutableElement> methods) {
+        String name = variable.getSimpleName().toString();
+        String key = annotation.value().isEmpty() ? name : annotation.value();
+
+        Kind kind = this.kindOf(variable.asType());
+        if (kind == null) {
+            this.error(variable, "Wire fields should be whole numbers, decimal numbers or enums");
+            return null;
+        }
+        PackageElement pkg = this.processingEnv.getElementUtils().getPackageOf(type);
+        ExecutableElement getter = this.find(methods, 0, pkg,
+                "get" + capitalize(key), "get" + capitalize(name));
+        ExecutableElement setter = this.find(methods, 1, pkg,
+                "set" + capitalize(key), "set" + capitalize(name));
+        if (getter == null || setter == null) {
+            this.error(variable, "Wire field " + name + " needs a getter and a setter named after "
+                    + key + " or " + name + ", public or in the package of the event");
+            return null;
+        }
+
+        String enumType = null;
+        if (kind == Kind.ENUM) {
+            enumType = ((TypeElement) ((DeclaredType) variable.asType()).asElement()).getQualifiedName()
+                    .toString();
+        }
+        return new Field(key, kind, getter.getSimpleName().toString(), setter.getSimpleName().toString(),
+                enumType);
+    }
+
+    /**
+     * @param type - The type of a field.
+     * @return How the field is sent, null if it cannot be sent.
+     */
+    private Kind kindOf(final TypeMirror type) {
+        switch (type.getKind()) {
+            case INT:
+                return Kind.INT;
+            case DOUBLE:
+                return Kind.DOUBLE;
+            case DECLARED:
+                Element element = ((DeclaredType) type).asElement();
+                if (element.getKind() == ElementKind.ENUM) {
+                    return Kind.ENUM;
+                }
+                String name = ((TypeElement) element).getQualifiedName().toString();
+                if (Integer.class.getName().equals(name)) {
+                    return Kind.INT;
+                }
+                if (Double.class.getName().equals(name)) {
+                    return Kind.DOUBLE;
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @param methods    - The methods of an event.
+     * @param parameters - The amount of parameters of the method.
+     * @param pkg        - The package of the event, where its codec goes.
+     * @param names      - The names to look for, in order of preference.
+     * @return The first method with one of the names that the codec can call, null if there is none.
+     */
+    private ExecutableElement find(final List<ExecutableElement> methods, final int parameters,
+                                   final PackageElement pkg, final String... names) {
+        for (String name : names) {
+            for (ExecutableElement method : methods) {
+                if (method.getSimpleName().contentEquals(name)
+                        && method.getParameters().size() == parameters
+                        && !method.getModifiers().contains(Modifier.STATIC)
+                        && this.isReachable(method, pkg)) {
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param method - A method of an event.
+     * @param pkg    - The package of the codec.
+     * @return True if a class in the package can call the method.
+     */
+    private boolean isReachable(final ExecutableElement method, final PackageElement pkg) {
+        if (method.getModifiers().contains(Modifier.PUBLIC)) {
+            return true;
+        }
+        return !method.getModifiers().contains(Modifier.PRIVATE)
+                && this.processingEnv.getElementUtils().getPackageOf(method).equals(pkg);
+    }
+
+    /**
+     * Write the codec of an event.
+     *
+     * @param type   - The event.
+     * @param fields - The wire fields of the event.
+     */
+    private void write(final TypeElement type, final List<Field> fields) {
+        PackageElement pkg = this.processingEnv.getElementUtils().getPackageOf(type);
+        String event = type.getSimpleName().toString();
+        String codec = event + CODEC_SUFFIX;
+        String qualifiedCodec = pkg.isUnnamed() ? codec : pkg.getQualifiedName() + "." + codec;
+
+        StringBuilder source = new StringBuilder();
+        if (!pkg.isUnnamed()) {
+            source.append("package ").append(pkg.getQualifiedName()).append(";\n\n");
+        }
+        source.append("/**\n * Codec of {@link ").append(event).append("}, generated by ")
+                .append(EventCodecProcessor.class.getName()).append(" from its wire fields.\n */\n")
+                .append("public final class ").append(codec).append(" implements ")
+                .append(CODEC_INTERFACE).append('<').append(event).append("> {\n\n");
+        this.writeCreate(source, event);
+        this.writeCopy(source, event, fields);
+        this.writeSerialize(source, event, fields);
+        this.writeDeserialize(source, event, fields);
+        this.writeEncode(source, event, fields);
+        this.writeDecode(source, event, fields);
+        source.append("}\n");
+
+        try {
+            JavaFileObject file = this.processingEnv.getFiler().createSourceFile(qualifiedCodec, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            this.error(type, "Could not write " + qualifiedCodec + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param source - The source of the codec.
+     * @param event  - The name of the event.
+     */
+    private void writeCreate(final StringBuilder source, final String event) {
+        source.append("    @Override\n    public ").append(event).append(" create() {\n")
+                .append("        return new ").append(event).append("();\n    }\n\n");
+    }
+
+    /**
+     * @param source - The source of the codec.
+     * @param event  - The name of the event.
+     * @param fields - The wire fields of the event.
+     */
+    private void writeCopy(final StringBuilder source, final String event, final List<Field> fields) {
+        source.append("    @Override\n    public ").append(event).append(" copy(final ").append(event)
+                .append(" event) {\n        ").append(event).append(" copy = this.create();\n");
+        for (Field field : fields) {
+            source.append("        copy.").append(field.setter).append("(event.").append(field.getter)
+                    .append("());\n");
+        }
+        source.append("        return copy;\n    }\n\n");
+    }
+
+    /**
+     * @param source - The source of the codec.
+     * @param event  - The name of the event.
+     * @param fields - The wire fields of the event.
+     */
+    private void writeSerialize(final StringBuilder source, final String event, final List<Field> fields) {
+        source.append("    @Override\n    public void serialize(final ").append(event)
+                .append(" event, final ").append(PROTOCOL).append(" protocol, final StringBuilder out) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            if (i > 0) {
+                source.append("        out.append(protocol.getPairSeperator());\n");
+            }
+            source.append("        out.append(\"").append(field.key)
+                    .append("\").append(protocol.getKeyValueSeperator()).append(event.")
+                    .append(field.getter).append("());\n");
+        }
+        source.append("    }\n\n");
+    }
+
+    /**
+     * @param source - The source of the codec.
+     * @param event  - The name of the event.
+     * @param fields - The wire fields of the event.
+     */
+    private void writeDeserialize(final StringBuilder source, final String event, final List<Field> fields) {
+        source.append("    @Override\n    public void deserialize(final ").append(event)
+                .append(" event, final java.util.Map<String, String> fields) {\n");
+        for (Field field : fields) {
+            source.append("        event.").append(field.setter).append('(');
+            switch (field.kind) {
+                case INT:
+                    source.append(MESSAGE_FIELDS).append(".getInt(fields, \"").append(field.key)
+                            .append("\")");
+                    break;
+                case DOUBLE:
+                    source.append(MESSAGE_FIELDS).append(".getDouble(fields, \"").append(field.key)
+                            .append("\")");
+                    break;
+                case ENUM:
+                default:
+                    source.append(MESSAGE_FIELDS).append(".getEnum(fields, \"").append(field.key)
+                            .append("\", ").append(field.enumType).append(".class)");
+                    break;
+            }
+            source.append(");\n");
+        }
+        source.append("    }\n\n");
+    }
+
+    /**
+     * @param source - The source of the codec.
+     * @param event  - The name of the event.
+     * @param fields - The wire fields of the event.
+     */
+    private void writeEncode(final StringBuilder source, final String event, final List<Field> fields) {
+        source.append("    @Override\n    public void encode(final ").append(event)
+                .append(" event, final java.nio.ByteBuffer out) {\n");
+        for (Field field : fields) {
+            switch (field.kind) {
+                case INT:
+                    source.append("        ").append(BINARY_FIELDS).append(".putInt(out, event.")
+                            .append(field.getter).append("());\n");
+                    break;
+                case DOUBLE:
+                    source.append("        out.putDouble(event.").append(field.getter).append("());\n");
+                    break;
+                case ENUM:
+                default:
+                    source.append("        ").append(BINARY_FIELDS).append(".putEnum(out, event.")
+                            .append(field.getter).append("());\n");
+                    break;
+            }
+        }
+        source.append("    }\n\n");
+    }
+
+    /**
+     * @param source - The source of the codec.
+     * @param event  - The name of the event.
+     * @param fields - The wire fields of the event.
+     */
+    private void writeDecode(final StringBuilder source, final String event, final List<Field> fields) {
+        source.append("    @Override\n    public void decode(final ").append(event)
+                .append(" event, final java.nio.ByteBuffer in) {\n");
+        for (Field field : fields) {
+            source.append("        event.").append(field.setter).append('(');
+            switch (field.kind) {
+                case INT:
+                    source.append(BINARY_FIELDS).append(".getInt(in)");
+                    break;
+                case DOUBLE:
+                    source.append("in.getDouble()");
+                    break;
+                case ENUM:
+                default:
+                    source.append(BINARY_FIELDS).append(".getEnum(in, ").append(field.enumType)
+                            .append(".class)");
+                    break;
+            }
+            source.append(");\n");
+        }
+        source.append("    }\n");
+    }
+
+    /**
+     * @param element - The element that is wrong.
+     * @param message - What is wrong.
+     */
+    private void error(final Element element, final String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * @param name - A name.
+     * @return The name with its first letter in upper case.
+     */
+    private static String capitalize(final String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * How a field is sent.
+     */
+    private enum Kind {
+        INT, DOUBLE, ENUM
+    }
+
+    /**
+     * A wire field of an event.
+     */
+    private static final class Field {
+        private final String key;
+        private final Kind kind;
+        private final String getter;
+        private final String setter;
+        private final String enumType;
+
+        /**
+         * @param aKey       - The key in text messages.
+         * @param aKind      - How the field is sent.
+         * @param aGetter    - The name of the getter.
+         * @param aSetter    - The name of the setter.
+         * @param anEnumType - The qualified name of the enum, null if the field is no enum.
+         */
+        Field(final String aKey, final Kind aKind, final String aGetter, final String aSetter,
+              final String anEnumType) {
+            this.key = aKey;
+            this.kind = aKind;
+            this.getter = aGetter;
+            this.setter = aSetter;
+            this.enumType = anEnumType;
+        }
+    }
+}
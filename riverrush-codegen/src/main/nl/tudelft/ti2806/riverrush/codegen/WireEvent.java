@@ -0,0 +1,17 @@
+package nl.tudelft.ti2806.riverrush.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an event that is sent over the network. The {@link EventCodecProcessor} generates a codec
+ * named after the event with a Codec suffix, in the same package, that reads and writes the
+ * {@link WireField}s of the event and of its superclasses.
+ * The event needs a public constructor without arguments.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface WireEvent {
+}
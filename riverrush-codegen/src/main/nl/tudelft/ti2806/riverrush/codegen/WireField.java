@@ -0,0 +1,22 @@
+package nl.tudelft.ti2806.riverrush.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field of an event that is sent over the network, in the order the fields are declared,
+ * the fields of a superclass first.
+ * The field is read and written through its getter and setter, named after the key or after the field.
+ * Whole numbers, decimal numbers and enums are supported.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface WireField {
+
+    /**
+     * @return The key of the field in the text messages, the name of the field when empty.
+     */
+    String value() default "";
+}
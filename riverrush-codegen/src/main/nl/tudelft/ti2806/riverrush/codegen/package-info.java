@@ -0,0 +1,4 @@
+/**
+ * Generates the codecs of the network events at compile time.
+ */
+package nl.tudelft.ti2806.riverrush.codegen;
@@ -12,10 +12,16 @@ import nl.tudelft.ti2806.riverrush.domain.event.GameStartedEvent;
 import nl.tudelft.ti2806.riverrush.domain.event.HandlerLambda;
 import nl.tudelft.ti2806.riverrush.game.Game;
 import nl.tudelft.ti2806.riverrush.network.Client;
+import nl.tudelft.ti2806.riverrush.network.event.SnapshotAckCommand;
+import nl.tudelft.ti2806.riverrush.network.event.WorldSnapshotEvent;
+import nl.tudelft.ti2806.riverrush.network.snapshot.SnapshotHistory;
+import nl.tudelft.ti2806.riverrush.network.snapshot.WorldSnapshot;
 
 /**
  * The render controller controls handles the game started and assets loaded events through
  * dispatching and attaching.
+ * With snapshots enabled it asks the server for the state of the world as deltas, and dispatches
+ * what changed in each of them as the usual events.
  */
 @Singleton
 public class RenderController implements Controller {
@@ -28,6 +34,13 @@ public class RenderController implements Controller {
     private final Game game;
     private Client client;
 
+    /**
+     * The snapshots received last, the server writes its deltas against one of them.
+     */
+    private final SnapshotHistory received;
+    private WorldSnapshot shown;
+    private boolean snapshots;
+
     /**
      * Creates a render controller using the given game and event dispatcher.
      *
@@ -38,6 +51,8 @@ public class RenderController implements Controller {
     public RenderController(final Game gm, final EventDispatcher eventDispatcher) {
         this.dispatcher = eventDispatcher;
         this.game = gm;
+        this.received = new SnapshotHistory(SnapshotHistory.DEFAULT_SIZE);
+        this.shown = WorldSnapshot.EMPTY;
         this.onGameStartedLambda = (e) -> this.onGameStarted();
         this.onGameFinishedLambda = (e) -> this.onGameEnded(e);
         this.onAssetsLoadedLambda = (e) -> this.onAssetsLoaded();
@@ -49,9 +64,21 @@ public class RenderController implements Controller {
         this.dispatcher.attach(BoatCollidedEvent.class, this.sendOverNetworkLambda);
     }
 
+    /**
+     * Asks the server for snapshots when they are enabled.
+     */
     @Override
     public void initialize() {
-        // Does not need to initialise
+        if (this.snapshots) {
+            this.acknowledge(WorldSnapshotEvent.NO_BASELINE);
+        }
+    }
+
+    /**
+     * Ask for snapshots once connected, instead of an event for every change of the world.
+     */
+    public void enableSnapshots() {
+        this.snapshots = true;
     }
 
     /**
@@ -79,7 +106,42 @@ public class RenderController implements Controller {
 
     @Override
     public void onSocketMessage(final Event givenEvent) {
-        this.dispatcher.dispatch(givenEvent);
+        if (givenEvent instanceof WorldSnapshotEvent) {
+            this.onSnapshot((WorldSnapshotEvent) givenEvent);
+        } else {
+            this.dispatcher.dispatch(givenEvent);
+        }
+    }
+
+    /**
+     * Apply a delta to the snapshot it was written against, dispatch what changed since the
+     * snapshot that is shown and acknowledge it. A delta against a snapshot that was already
+     * forgotten asks for the whole world again.
+     *
+     * @param delta - The delta from the server.
+     */
+    private void onSnapshot(final WorldSnapshotEvent delta) {
+        WorldSnapshot baseline = this.received.get(delta.getBaseline());
+        if (baseline == null) {
+            this.acknowledge(WorldSnapshotEvent.NO_BASELINE);
+            return;
+        }
+
+        WorldSnapshot snapshot = baseline.apply(delta);
+        this.received.put(delta.getSequence(), snapshot);
+        snapshot.changesSince(this.shown).forEach(this.dispatcher::dispatch);
+        this.shown = snapshot;
+        this.acknowledge(delta.getSequence());
+    }
+
+    /**
+     * Tell the server a snapshot was applied.
+     *
+     * @param sequence - The number of the snapshot.
+     */
+    private void acknowledge(final int sequence) {
+        SnapshotAckCommand ack = new SnapshotAckCommand(sequence);
+        this.client.sendEvent(ack);
     }
 
     @Override
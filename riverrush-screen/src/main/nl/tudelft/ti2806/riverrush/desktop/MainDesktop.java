@@ -19,12 +19,18 @@ import java.net.URISyntaxException;
  * and the client connections.
  */
 public class MainDesktop extends CoreModule {
+
+    /**
+     * Asks the server for snapshots of the world instead of every event, when it is the last argument.
+     */
+    private static final String SNAPSHOTS_OPTION = "--snapshots";
+
     private Injector injector;
 
     /**
      * Calls the main desktop constructor that starts the game.
      * <p>
-     * [url] [fullscreen (true/false)]
+     * [url] [fullscreen (true/false)] [--snapshots]
      * [fullscreen (true/false)]
      *
      * @param arg not used
@@ -32,7 +38,9 @@ public class MainDesktop extends CoreModule {
      * @throws InterruptedException handles the situation where it interrupts.
      */
     public static void main(final String[] arg) throws URISyntaxException, InterruptedException {
-        if (arg.length == 2) {
+        if (arg.length == 3 && SNAPSHOTS_OPTION.equals(arg[2])) {
+            new MainDesktop(arg[0], Boolean.parseBoolean(arg[1]), true);
+        } else if (arg.length == 2) {
             new MainDesktop(arg[0], Boolean.parseBoolean(arg[1]));
         } else if (arg.length == 1) {
             new MainDesktop(Boolean.parseBoolean(arg[0]));
@@ -50,7 +58,7 @@ public class MainDesktop extends CoreModule {
     public MainDesktop() throws URISyntaxException, InterruptedException {
         super();
 
-        this.init("localhost", false);
+        this.init("localhost", false, false);
     }
 
     /**
@@ -63,7 +71,7 @@ public class MainDesktop extends CoreModule {
     public MainDesktop(final boolean fullscreen) throws URISyntaxException, InterruptedException {
         super();
 
-        this.init("localhost", fullscreen);
+        this.init("localhost", fullscreen, false);
     }
 
     /**
@@ -76,9 +84,23 @@ public class MainDesktop extends CoreModule {
      */
     public MainDesktop(final String url, final boolean fullscreen)
             throws URISyntaxException, InterruptedException {
+        this(url, fullscreen, false);
+    }
+
+    /**
+     * Constructor for main desktop.
+     *
+     * @param url        URL to the server
+     * @param fullscreen If the game should be fullscreen
+     * @param snapshots  If the server should send snapshots of the world instead of every event
+     * @throws URISyntaxException   handles the situation where the URI has the wrong syntax.
+     * @throws InterruptedException handles the situation where it interrupts.
+     */
+    public MainDesktop(final String url, final boolean fullscreen, final boolean snapshots)
+            throws URISyntaxException, InterruptedException {
         super();
 
-        this.init(url, fullscreen);
+        this.init(url, fullscreen, snapshots);
     }
 
     /**
@@ -86,17 +108,23 @@ public class MainDesktop extends CoreModule {
      *
      * @param url        URL to the server
      * @param fullscreen If the game should be fullscreen
+     * @param snapshots  If the server should send snapshots of the world instead of every event
      * @throws URISyntaxException   handles the situation where the URI has the wrong syntax.
      * @throws InterruptedException handles the situation where it interrupts.
      */
-    private void init(final String url, final boolean fullscreen) throws URISyntaxException {
+    private void init(final String url, final boolean fullscreen, final boolean snapshots)
+            throws URISyntaxException {
         this.injector = Guice.createInjector(this);
 
         this.setupGraphics(fullscreen);
 
-        Client client = new Client(url, this.configureRendererProtocol());
+        // The renderer gets every event of the game in batches, which compress well.
+        Client client = new Client(url, this.configureRendererProtocol(), true);
         RenderController controller = this.injector.getInstance(RenderController.class);
         controller.setClient(client);
+        if (snapshots) {
+            controller.enableSnapshots();
+        }
         client.setController(controller);
 
         client.connect();
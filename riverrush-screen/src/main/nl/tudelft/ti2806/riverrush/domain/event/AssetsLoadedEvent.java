@@ -21,13 +21,13 @@ public class AssetsLoadedEvent extends AbstractAnimalEvent {
     }
 
     @Override
-    public void setAnimal(final Integer anAnimalID) {
-        // Has to be empty
+    public Event copy() {
+        return new AssetsLoadedEvent();
     }
 
     @Override
-    public Integer getAnimal() {
+    public int getAnimal() {
         // Has to be empty
-        return -1;
+        return BROADCAST;
     }
 }
@@ -110,8 +110,8 @@ public class Game extends GdxGame {
      * @param event The remove event
      */
     public void removeAnimalHandler(final AnimalRemovedEvent event) {
-        Integer teamId = event.getTeam();
-        Integer animalId = event.getAnimal();
+        int teamId = event.getTeam();
+        int animalId = event.getAnimal();
         Team team = this.getTeam(teamId);
         Animal animal = (Animal) team.getAnimal(animalId);
         animal.setVoteDirection(Direction.NEUTRAL);
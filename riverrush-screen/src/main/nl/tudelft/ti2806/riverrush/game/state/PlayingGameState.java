@@ -144,9 +144,7 @@ public class PlayingGameState extends AbstractGameState {
             BoatGroup boat = team.getBoat();
 
             if (boat.isColliding(graphic.getBounds())) {
-                BoatCollidedEvent event = new BoatCollidedEvent();
-                event.setTeam(team.getId());
-                event.setDirection(graphic.getDirection());
+                BoatCollidedEvent event = new BoatCollidedEvent(team.getId(), graphic.getDirection());
                 this.dispatcher.dispatch(event);
                 graphic.getDestroyed();
             }
@@ -215,9 +213,9 @@ public class PlayingGameState extends AbstractGameState {
      * @param event The add event
      */
     public void addAnimalHandler(final AnimalAddedEvent event) {
-        Integer animalId = event.getAnimal();
-        Integer teamId = event.getTeam();
-        Integer variation = event.getVariation();
+        int animalId = event.getAnimal();
+        int teamId = event.getTeam();
+        int variation = event.getVariation();
         Sector sector = event.getSector();
 
         Team team = this.game.getTeam(teamId);
@@ -232,10 +230,10 @@ public class PlayingGameState extends AbstractGameState {
      * @param event The jump event
      */
     public void animalJumpHandler(final AnimalJumpedEvent event) {
-        Integer teamId = event.getTeam();
+        int teamId = event.getTeam();
         Team team = this.game.getTeam(teamId);
 
-        Integer animalId = event.getAnimal();
+        int animalId = event.getAnimal();
         AbstractAnimal animal = team.getAnimal(animalId);
 
         animal.jump();
@@ -247,10 +245,10 @@ public class PlayingGameState extends AbstractGameState {
      * @param event The event
      */
     public void animalMoveHandler(final AnimalMovedEvent event) {
-        Integer teamId = event.getTeam();
+        int teamId = event.getTeam();
         Team team = this.game.getTeam(teamId);
 
-        Integer animalId = event.getAnimal();
+        int animalId = event.getAnimal();
         AbstractAnimal animal = team.getAnimal(animalId);
 
         Direction direction = event.getDirection();
@@ -269,10 +267,10 @@ public class PlayingGameState extends AbstractGameState {
      * @param event The drop event
      */
     public void animalDropHandler(final AnimalDroppedEvent event) {
-        Integer teamId = event.getTeam();
+        int teamId = event.getTeam();
         Team team = this.game.getTeam(teamId);
 
-        Integer animalId = event.getAnimal();
+        int animalId = event.getAnimal();
         AbstractAnimal animal = team.getAnimal(animalId);
 
         animal.drop();
@@ -284,9 +282,9 @@ public class PlayingGameState extends AbstractGameState {
      * @param teamProgressEvent - The event
      */
     private void teamProgress(final TeamProgressEvent teamProgressEvent) {
-        Integer teamId = teamProgressEvent.getTeam();
-        Double progress = teamProgressEvent.getProgress();
-        Double speed = teamProgressEvent.getSpeed();
+        int teamId = teamProgressEvent.getTeam();
+        double progress = teamProgressEvent.getProgress();
+        double speed = teamProgressEvent.getSpeed();
 
         this.screen.updateProgress(teamId, progress, speed);
     }
@@ -297,8 +295,8 @@ public class PlayingGameState extends AbstractGameState {
      * @param event - The event
      */
     private void animalFellOff(final AnimalFellOffEvent event) {
-        Integer teamId = event.getTeam();
-        Integer animalId = event.getAnimal();
+        int teamId = event.getTeam();
+        int animalId = event.getAnimal();
 
         this.game.getTeam(teamId).getAnimal(animalId).fall();
     }
@@ -309,10 +307,10 @@ public class PlayingGameState extends AbstractGameState {
      * @param event - the event
      */
     private void animalReturnedToBoat(final AnimalReturnedToBoatEvent event) {
-        Integer teamId = event.getTeam();
+        int teamId = event.getTeam();
         Team team = this.game.getTeam(teamId);
 
-        Integer animalId = event.getAnimal();
+        int animalId = event.getAnimal();
         AbstractAnimal animal = team.getAnimal(animalId);
 
         animal.returnToBoat();
@@ -93,12 +93,12 @@ public class WaitingGameState extends AbstractGameState {
      * @param event The add event
      */
     public void addAnimalHandler(final AnimalAddedEvent event) {
-        Integer tm = event.getTeam();
+        int tm = event.getTeam();
         Team tim = this.game.getTeam(tm);
         if (tim == null) {
             tim = this.game.addTeam(tm);
         }
-        Integer variation = event.getVariation();
+        int variation = event.getVariation();
         tim.addAnimal(new Animal(this.dispatcher, event.getAnimal(), tm, variation, event.getSector()));
     }
 }
@@ -63,9 +63,7 @@ public class AnimalOnBoat implements AnimalState {
 
     @Override
     public void collide() {
-        AnimalCollidedEvent event = new AnimalCollidedEvent();
-        event.setAnimal(this.animal.getId());
-        event.setTeam(this.animal.getTeamId());
+        AnimalCollidedEvent event = new AnimalCollidedEvent(this.animal.getId(), this.animal.getTeamId());
         this.dispatcher.dispatch(event);
     }
 
@@ -16,7 +16,6 @@ public class AssetsLoadedEventTest extends AbstractAnimalEventTest {
     @Test
     public void testSerialize() throws Exception {
         event = (AssetsLoadedEvent) getInstance();
-        event.setAnimal(getAnimalId());
 
         String s = event.serialize(protocol);
         super.testSerialize();
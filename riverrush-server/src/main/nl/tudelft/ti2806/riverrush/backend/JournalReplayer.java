@@ -0,0 +1,196 @@
+package nl.tudelft.ti2806.riverrush.backend;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import nl.tudelft.ti2806.riverrush.controller.Controller;
+import nl.tudelft.ti2806.riverrush.controller.UserController;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalCollidedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalRemovedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.BoatCollidedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
+import nl.tudelft.ti2806.riverrush.failfast.FailIf;
+import nl.tudelft.ti2806.riverrush.journal.JournalReader;
+import nl.tudelft.ti2806.riverrush.journal.JournalRecord;
+import nl.tudelft.ti2806.riverrush.network.AbstractServer;
+import nl.tudelft.ti2806.riverrush.network.event.JoinTeamCommand;
+import nl.tudelft.ti2806.riverrush.network.event.JumpCommand;
+import nl.tudelft.ti2806.riverrush.network.event.VoteBoatMoveCommand;
+import nl.tudelft.ti2806.riverrush.network.protocol.InvalidActionException;
+import nl.tudelft.ti2806.riverrush.network.protocol.InvalidProtocolException;
+import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.java_websocket.WebSocket;
+import org.java_websocket.framing.CloseFrame;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plays a recorded journal into the servers of a fresh game, without any real connections.
+ * Only what came in over the network is fed: the commands of the players, each through its
+ * own fake connection, and the collisions reported by the renderer.
+ * Everything else in the journal was caused by those, so the fresh game produces it again.
+ * The commands are fed as the binary frames they were recorded as.
+ * Events sent to the fake connections are serialized as usual and then only counted.
+ */
+public class JournalReplayer {
+
+    private static final Logger LOGGER = LogManager.getLogger(JournalReplayer.class);
+
+    /**
+     * Events that the players send to the server.
+     */
+    private static final Set<Class<? extends Event>> PLAYER_COMMANDS = new HashSet<>(
+            Arrays.asList(JoinTeamCommand.class, JumpCommand.class, VoteBoatMoveCommand.class));
+
+    /**
+     * Events that the renderer sends to the server.
+     */
+    private static final Set<Class<? extends Event>> RENDERER_REPORTS = new HashSet<>(
+            Arrays.asList(AnimalCollidedEvent.class, BoatCollidedEvent.class));
+
+    private final AbstractServer userServer;
+    private final AbstractServer renderServer;
+    private final Protocol journalProtocol;
+    private final Protocol renderProtocol;
+
+    /**
+     * Maps the recorded animal of a player to its fake connection.
+     */
+    private final Map<Integer, WebSocket> players = new HashMap<>();
+    private final LongAdder sentCount = new LongAdder();
+
+    /**
+     * Create a replayer.
+     *
+     * @param aUserServer      - The server of the players, it is never started.
+     * @param aRenderServer    - The server of the renderer, it is never started.
+     * @param aJournalProtocol - The protocol the journal was written with.
+     * @param aRenderProtocol  - The protocol of the renderer.
+     */
+    @Inject
+    public JournalReplayer(@Named("playerServer") final AbstractServer aUserServer,
+                           @Named("renderServer") final AbstractServer aRenderServer,
+                           @Named("clientProtocol") final Protocol aJournalProtocol,
+                           @Named("renderProtocol") final Protocol aRenderProtocol) {
+        FailIf.isNull(aUserServer, aRenderServer, aJournalProtocol, aRenderProtocol);
+        this.userServer = aUserServer;
+        this.renderServer = aRenderServer;
+        this.journalProtocol = aJournalProtocol;
+        this.renderProtocol = aRenderProtocol;
+    }
+
+    /**
+     * Connect a renderer and play the journal, returns when the last record is fed.
+     *
+     * @param reader - The journal.
+     * @param speed  - How much faster than recorded to go, infinity for no waiting at all.
+     */
+    public void replay(final JournalReader reader, final double speed) {
+        FailIf.isNull(reader);
+        WebSocket renderer = this.connect();
+        this.renderServer.onOpen(renderer, null);
+        reader.replay(speed, (record) -> this.feed(record, renderer));
+        LOGGER.info("Replay done, {} players, {} messages sent", this.players.size(), this.getSentCount());
+    }
+
+    /**
+     * @return The amount of messages the servers sent to the fake connections.
+     */
+    public long getSentCount() {
+        return this.sentCount.sum();
+    }
+
+    /**
+     * Feed one record to the server it came in on.
+     *
+     * @param record   - The record.
+     * @param renderer - The connection of the renderer.
+     */
+    private void feed(final JournalRecord record, final WebSocket renderer) {
+        final Event event;
+        try {
+            event = record.toEvent(this.journalProtocol);
+        } catch (InvalidProtocolException | InvalidActionException e) {
+            LOGGER.warn("Skipping unreadable record at {} ns", record.getNanos());
+            return;
+        }
+
+        final Class<? extends Event> type = event.getClass();
+        if (PLAYER_COMMANDS.contains(type)) {
+            WebSocket player = this.players.computeIfAbsent(record.getAnimal(), (animal) -> {
+                WebSocket connection = this.connect();
+                this.userServer.onOpen(connection, null);
+                return connection;
+            });
+            this.userServer.onMessage(player, record.getFrame());
+        } else if (RENDERER_REPORTS.contains(type)) {
+            Integer animal = this.animalOf(record.getAnimal());
+            Event report = event;
+            if (animal != null) {
+                report = event.withAnimal(animal);
+            }
+            this.renderServer.onMessage(renderer, this.renderProtocol.serialize(report));
+        } else if (type == AnimalRemovedEvent.class) {
+            WebSocket player = this.players.remove(record.getAnimal());
+            if (player != null) {
+                this.userServer.onClose(player, CloseFrame.NORMAL, "Replayed disconnect", true);
+            }
+        }
+    }
+
+    /**
+     * The fresh game numbers its animals itself, so recorded animals are looked up by their player.
+     *
+     * @param recordedAnimal - The animal in the journal.
+     * @return The animal of the same player in this game, null if the player is not connected.
+     */
+    private Integer animalOf(final Integer recordedAnimal) {
+        WebSocket player = this.players.get(recordedAnimal);
+        if (player == null) {
+            return null;
+        }
+        Controller controller = this.userServer.getController(player);
+        if (controller instanceof UserController) {
+            return ((UserController) controller).getAnimalId();
+        }
+        return null;
+    }
+
+    /**
+     * Create a connection that is always open and only counts what is sent.
+     *
+     * @return The connection.
+     */
+    private WebSocket connect() {
+        return (WebSocket) Proxy.newProxyInstance(WebSocket.class.getClassLoader(),
+                new Class<?>[]{WebSocket.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "send":
+                        case "sendFrame":
+                            this.sentCount.increment();
+                            return null;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "ReplayConnection@" + Integer.toHexString(System.identityHashCode(proxy));
+                        case "isOpen":
+                            return true;
+                        default:
+                            break;
+                    }
+                    if (method.getReturnType() == boolean.class) {
+                        return false;
+                    }
+                    return null;
+                });
+    }
+}
@@ -8,18 +8,32 @@ import nl.tudelft.ti2806.riverrush.controller.Controller;
 import nl.tudelft.ti2806.riverrush.controller.RenderController;
 import nl.tudelft.ti2806.riverrush.controller.UserController;
 import nl.tudelft.ti2806.riverrush.domain.event.AbstractTeamEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.CopyOnWriteEventDispatcher;
 import nl.tudelft.ti2806.riverrush.domain.event.EventDispatcher;
 import nl.tudelft.ti2806.riverrush.domain.event.GameWaitingEvent;
 import nl.tudelft.ti2806.riverrush.domain.event.HandlerLambda;
+import nl.tudelft.ti2806.riverrush.domain.event.JournalingEventDispatcher;
+import nl.tudelft.ti2806.riverrush.domain.event.RingBufferEventDispatcher;
 import nl.tudelft.ti2806.riverrush.game.Game;
 import nl.tudelft.ti2806.riverrush.game.LevelMapParser;
+import nl.tudelft.ti2806.riverrush.journal.EventJournal;
+import nl.tudelft.ti2806.riverrush.journal.JournalReader;
 import nl.tudelft.ti2806.riverrush.network.AbstractServer;
+import nl.tudelft.ti2806.riverrush.network.FileServerRegistry;
+import nl.tudelft.ti2806.riverrush.network.HttpServerRegistry;
 import nl.tudelft.ti2806.riverrush.network.RenderServer;
+import nl.tudelft.ti2806.riverrush.network.ServerRegistration;
+import nl.tudelft.ti2806.riverrush.network.ServerRegistry;
 import nl.tudelft.ti2806.riverrush.network.UserServer;
 import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
 import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.TreeMap;
 
 import static com.google.inject.name.Names.named;
@@ -29,14 +43,44 @@ import static com.google.inject.name.Names.named;
  */
 public final class MainBackend extends CoreModule {
 
-    private final HandlerLambda<GameWaitingEvent> handler;
-    private final AbstractServer clientServer;
+    private static final Logger LOGGER = LogManager.getLogger(MainBackend.class);
+
+    /**
+     * Records every dispatched event to the file that follows it.
+     */
+    private static final String JOURNAL_OPTION = "--journal";
+
+    /**
+     * Plays the journal that follows it into a fresh game, optionally followed by the speed.
+     */
+    private static final String REPLAY_OPTION = "--replay";
+
+    /**
+     * Writes the address of the backend to the file that follows it, instead of to the web lobby.
+     */
+    private static final String REGISTRY_OPTION = "--registry";
+
+    private final Path journalFile;
+    private final Path registryFile;
+    private HandlerLambda<GameWaitingEvent> handler;
+    private AbstractServer clientServer;
 
     /**
      * Main is a utility class.
+     *
+     * @param aJournalFile  - The file to record the events to, null to not record.
+     * @param aRegistryFile - The file to write the address to, null to register with the web lobby.
      */
-    private MainBackend() {
-        LogManager.getLogger(MainBackend.class).info("Starting server...");
+    private MainBackend(final Path aJournalFile, final Path aRegistryFile) {
+        this.journalFile = aJournalFile;
+        this.registryFile = aRegistryFile;
+    }
+
+    /**
+     * Start the servers.
+     */
+    private void run() {
+        LOGGER.info("Starting server...");
         Injector injector = Guice.createInjector(this);
         injector.getInstance(Game.class);
 
@@ -44,13 +88,26 @@ public final class MainBackend extends CoreModule {
         clientServer = injector.getInstance(UserServer.class);
 
         renderServer.start();
-
+        new ServerRegistration(injector.getInstance(ServerRegistry.class), CLIENT_PORT_NUMBER).start();
 
         EventDispatcher dispatcher = injector.getInstance(EventDispatcher.class);
         handler = (e) -> this.startClientServer(dispatcher);
         dispatcher.attach(GameWaitingEvent.class, handler);
     }
 
+    /**
+     * Play a journal into a fresh game, the servers are not started.
+     *
+     * @param reader - The journal.
+     * @param speed  - How much faster than recorded to go.
+     */
+    private void replay(final JournalReader reader, final double speed) {
+        LOGGER.info("Replaying journal at {} times the recorded speed...", speed);
+        Injector injector = Guice.createInjector(this);
+        injector.getInstance(Game.class);
+        injector.getInstance(JournalReplayer.class).replay(reader, speed);
+    }
+
     /**
      * Start the client server.
      *
@@ -63,11 +120,30 @@ public final class MainBackend extends CoreModule {
 
     /**
      * Main entry point for the application.
+     * Without arguments the servers are started,
+     * {@code --journal <file>} also records every event to the file,
+     * {@code --registry <file>} writes the address of the backend to the file instead of to the
+     * web lobby and
+     * {@code --replay <file> [speed]} plays a recorded file into a fresh game instead,
+     * where a speed of {@code Infinity} plays it as fast as possible.
      *
-     * @param args Command line arguments are ignored.
+     * @param args Command line arguments.
+     * @throws IOException when the journal to replay can not be read.
      */
-    public static void main(final String[] args) {
-        new MainBackend();
+    public static void main(final String[] args) throws IOException {
+        if (args.length >= 2 && REPLAY_OPTION.equals(args[0])) {
+            double speed = 1;
+            if (args.length >= 3) {
+                speed = Double.parseDouble(args[2]);
+            }
+            new MainBackend(null, null).replay(new JournalReader(Paths.get(args[1])), speed);
+        } else if (args.length >= 2 && JOURNAL_OPTION.equals(args[0])) {
+            new MainBackend(Paths.get(args[1]), null).run();
+        } else if (args.length >= 2 && REGISTRY_OPTION.equals(args[0])) {
+            new MainBackend(null, Paths.get(args[1])).run();
+        } else {
+            new MainBackend(null, null).run();
+        }
     }
 
     @Override
@@ -92,6 +168,65 @@ public final class MainBackend extends CoreModule {
         this.bind(AbstractServer.class).annotatedWith(named("playerServer")).to(UserServer.class);
 
         this.bind(AbstractServer.class).annotatedWith(named("renderServer")).to(RenderServer.class);
+
+        this.bind(ServerRegistry.class).toInstance(this.configureServerRegistry());
+    }
+
+    /**
+     * Configure where the players find the backend.
+     *
+     * @return The file given on the command line, or the web lobby.
+     */
+    private ServerRegistry configureServerRegistry() {
+        if (this.registryFile != null) {
+            return new FileServerRegistry(this.registryFile);
+        }
+        try {
+            return new HttpServerRegistry(new URL(HttpServerRegistry.DEFAULT_URL),
+                    HttpServerRegistry.DEFAULT_PASSWORD);
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException("The lobby has an invalid address", e);
+        }
+    }
+
+    /**
+     * The server dispatches from the socket threads and the game timers at the same time.
+     * The ring buffer hands all those events to a single thread, so the socket and timer threads
+     * never run handlers themselves.
+     * Every event is passed on in the order it was dispatched. Votes and progress are collapsed to
+     * their latest value per animal and team in the outboxes of the connections, which keep that order.
+     *
+     * @return A fresh dispatcher.
+     */
+    @Override
+    protected EventDispatcher configureEventDispatcher() {
+        EventDispatcher dispatcher = new RingBufferEventDispatcher(new CopyOnWriteEventDispatcher());
+        if (this.journalFile == null) {
+            return dispatcher;
+        }
+        return this.record(dispatcher);
+    }
+
+    /**
+     * Record the events before they are queued, so the journal has all of them
+     * in the order they happened.
+     *
+     * @param dispatcher - The dispatcher to record the events of.
+     * @return The recording dispatcher, or the given one if the journal can not be opened.
+     */
+    private EventDispatcher record(final EventDispatcher dispatcher) {
+        EventJournal journal;
+        try {
+            journal = new EventJournal(this.journalFile, this.configureClientProtocol());
+        } catch (IOException e) {
+            LOGGER.error("Could not open the journal, not recording", e);
+            return dispatcher;
+        }
+
+        JournalingEventDispatcher journaling = new JournalingEventDispatcher(dispatcher, journal);
+        Runtime.getRuntime().addShutdownHook(new Thread(journaling::close, "journal-close"));
+        LOGGER.info("Recording events to {}", this.journalFile);
+        return journaling;
     }
 
     /**
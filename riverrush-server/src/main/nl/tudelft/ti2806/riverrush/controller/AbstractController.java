@@ -3,6 +3,9 @@ package nl.tudelft.ti2806.riverrush.controller;
 import nl.tudelft.ti2806.riverrush.domain.event.Event;
 import nl.tudelft.ti2806.riverrush.domain.event.EventDispatcher;
 import nl.tudelft.ti2806.riverrush.domain.event.HandlerLambda;
+import nl.tudelft.ti2806.riverrush.domain.event.Subscription;
+import nl.tudelft.ti2806.riverrush.domain.event.SubscriptionKey;
+import nl.tudelft.ti2806.riverrush.network.AbstractServer;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,9 +22,9 @@ public abstract class AbstractController implements Controller {
     private final EventDispatcher dispatcher;
 
     /**
-     * A list of handlers and their assigned action.
+     * The subscriptions of the handlers of this controller.
      */
-    private final List<Pair<Class<? extends Event>, HandlerLambda>> handlers;
+    private final List<Subscription> subscriptions;
 
     /**
      * Class that all controller should extend for basic logic.
@@ -30,7 +33,7 @@ public abstract class AbstractController implements Controller {
      */
     public AbstractController(final EventDispatcher eventDispatcher) {
         this.dispatcher = eventDispatcher;
-        this.handlers = new ArrayList<>();
+        this.subscriptions = new ArrayList<>();
     }
 
     /**
@@ -45,51 +48,50 @@ public abstract class AbstractController implements Controller {
             final Class<T> eventClass,
             final HandlerLambda<? super T> handler
     ) {
-        this.handlers.add(new Pair<>(eventClass, handler));
-        this.dispatcher.attach(eventClass, handler);
+        this.subscriptions.add(this.dispatcher.attach(eventClass, handler));
+    }
+
+    /**
+     * All handlers registered with this method will automatically be disposed
+     * when the controller is disposed.
+     * The handler is only called for events of the animal or team in the key.
+     *
+     * @param eventClass The event to listen to
+     * @param key        The animal or team to listen to
+     * @param handler    The handler to call when the event gets fired.
+     * @param <T>        Event
+     */
+    protected <T extends Event> void listenTo(
+            final Class<T> eventClass,
+            final SubscriptionKey key,
+            final HandlerLambda<? super T> handler
+    ) {
+        this.subscriptions.add(this.dispatcher.attach(eventClass, key, handler));
+    }
+
+    /**
+     * Create the handler of the events on their way to the connection of this controller.
+     * The events go to the queue of the connection on the server, and are sent from there on
+     * another thread, so a congested connection does not hold up the dispatcher, the game or
+     * the other connections.
+     *
+     * @param server The server of the connection
+     * @return The handler that queues the events to send
+     */
+    protected HandlerLambda<Event> createOutbox(final AbstractServer server) {
+        return (event) -> server.queueEvent(event, this);
     }
 
     @Override
     public abstract void onSocketMessage(Event event);
 
     @Override
-    @SuppressWarnings("unchecked")
     public void dispose() {
-        this.handlers.forEach((pair) -> this.dispatcher.detach(pair.l, pair.r));
+        this.subscriptions.forEach(Subscription::detach);
+        this.subscriptions.clear();
     }
 
     public EventDispatcher getDispatcher() {
         return this.dispatcher;
     }
-
-    /**
-     * Used for creating event listeners pairs.
-     *
-     * @param <L> Event name
-     * @param <R> Event handler
-     */
-    static class Pair<L, R> {
-
-        private final L l;
-        private final R r;
-
-        /**
-         * Create a event listener pair.
-         *
-         * @param event   Event name
-         * @param handler Event handler
-         */
-        public Pair(final L event, final R handler) {
-            this.l = event;
-            this.r = handler;
-        }
-
-        public L getEvent() {
-            return this.l;
-        }
-
-        public R getHandler() {
-            return this.r;
-        }
-    }
 }
@@ -5,13 +5,37 @@ import com.google.inject.name.Named;
 import nl.tudelft.ti2806.riverrush.domain.event.*;
 import nl.tudelft.ti2806.riverrush.game.Game;
 import nl.tudelft.ti2806.riverrush.network.AbstractServer;
+import nl.tudelft.ti2806.riverrush.network.SnapshotStream;
+import nl.tudelft.ti2806.riverrush.network.event.SnapshotAckCommand;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.Timer;
+import java.util.TimerTask;
 
 /**
  * Controller for the individual renderers.
+ * A renderer that asks for snapshots gets the state of the world as a delta every
+ * {@link #SNAPSHOT_INTERVAL} milliseconds, instead of an event for every change.
  */
 public class RenderController extends AbstractController {
+
+    /**
+     * Events that the renderer sends to the server, these are never sent back.
+     */
+    private static final Set<Class<? extends Event>> REPORTED_BY_RENDERER = new HashSet<>(
+            Arrays.asList(AnimalCollidedEvent.class, BoatCollidedEvent.class));
+
+    /**
+     * The milliseconds between two snapshots, for a renderer that asked for them.
+     */
+    private static final long SNAPSHOT_INTERVAL = 100;
+
     private final AbstractServer server;
     private final Game game;
+    private SnapshotStream snapshots;
+    private Timer snapshotTimer;
 
     /**
      * Create a player controller.
@@ -31,25 +55,17 @@ public class RenderController extends AbstractController {
     @Override
     public void initialize() {
         HandlerLambda<BoatCollidedEvent> boatRektHandler = this::onBoatCollided;
-        HandlerLambda<Event> sendOverNetworkLambda = (e) -> this.server.sendEvent(e, this);
+        this.snapshots = new SnapshotStream(this.createOutbox(this.server));
+        HandlerLambda<Event> sendOverNetworkLambda = (e) -> {
+            if (!REPORTED_BY_RENDERER.contains(e.getClass())) {
+                this.snapshots.handle(e);
+            }
+        };
 
-        this.listenTo(AddObstacleEvent.class, sendOverNetworkLambda);
-        this.listenTo(AddRockEvent.class, sendOverNetworkLambda);
-        this.listenTo(AnimalAddedEvent.class, sendOverNetworkLambda);
-        this.listenTo(AnimalDroppedEvent.class, sendOverNetworkLambda);
-        this.listenTo(AnimalFellOffEvent.class, sendOverNetworkLambda);
-        this.listenTo(AnimalJumpedEvent.class, sendOverNetworkLambda);
-        this.listenTo(AnimalMovedEvent.class, sendOverNetworkLambda);
-        this.listenTo(AnimalRemovedEvent.class, sendOverNetworkLambda);
-        this.listenTo(AnimalReturnedToBoatEvent.class, sendOverNetworkLambda);
-        this.listenTo(GameAboutToStartEvent.class, sendOverNetworkLambda);
-        this.listenTo(GameFinishedEvent.class, sendOverNetworkLambda);
-        this.listenTo(GameStartedEvent.class, sendOverNetworkLambda);
-        this.listenTo(GameStoppedEvent.class, sendOverNetworkLambda);
-        this.listenTo(GameWaitingEvent.class, sendOverNetworkLambda);
-        this.listenTo(TeamProgressEvent.class, sendOverNetworkLambda);
+        this.listenTo(AbstractAnimalEvent.class, sendOverNetworkLambda);
+        this.listenTo(AbstractTeamEvent.class, sendOverNetworkLambda);
+        this.listenTo(AbstractTeamAnimalEvent.class, sendOverNetworkLambda);
         this.listenTo(BoatCollidedEvent.class, boatRektHandler);
-        this.listenTo(GameAboutToWaitEvent.class, sendOverNetworkLambda);
 
         this.game.waitForPlayers();
     }
@@ -61,13 +77,47 @@ public class RenderController extends AbstractController {
      */
     private void onBoatCollided(final BoatCollidedEvent event) {
         Direction direction = event.getDirection();
-        Integer teamId = event.getTeam();
+        int teamId = event.getTeam();
 
         this.game.sweepAnimals(direction, teamId);
     }
 
+    /**
+     * The acknowledgements of snapshots are handled here, the renderer asks for snapshots with
+     * the first one. The other events are dispatched.
+     *
+     * @param event - The event from the renderer.
+     */
     @Override
     public void onSocketMessage(final Event event) {
-        this.getDispatcher().dispatch(event);
+        if (event instanceof SnapshotAckCommand) {
+            this.snapshots.acknowledge(((SnapshotAckCommand) event).getSequence());
+            this.startSnapshots();
+        } else {
+            this.getDispatcher().dispatch(event);
+        }
+    }
+
+    /**
+     * Send the snapshots periodically from now on.
+     */
+    private synchronized void startSnapshots() {
+        if (this.snapshotTimer == null) {
+            this.snapshotTimer = new Timer("snapshots", true);
+            this.snapshotTimer.schedule(new TimerTask() {
+                @Override
+                public void run() {
+                    RenderController.this.snapshots.sendSnapshot();
+                }
+            }, 0, SNAPSHOT_INTERVAL);
+        }
+    }
+
+    @Override
+    public synchronized void dispose() {
+        if (this.snapshotTimer != null) {
+            this.snapshotTimer.cancel();
+        }
+        super.dispose();
     }
 }
@@ -11,10 +11,10 @@ import nl.tudelft.ti2806.riverrush.network.event.JoinTeamCommand;
 import nl.tudelft.ti2806.riverrush.network.event.JumpCommand;
 import nl.tudelft.ti2806.riverrush.network.event.VoteBoatMoveCommand;
 
-import java.util.Objects;
-
 /**
  * Controller for the individual players.
+ * The events about the state of the game are broadcast to every player by the server, the
+ * controller only sends the events about its own animal. A collision is not sent to the phone.
  */
 public class UserController extends AbstractController {
 
@@ -22,6 +22,7 @@ public class UserController extends AbstractController {
     private final AbstractServer server;
     private final Game game;
     private boolean isJoined;
+    private HandlerLambda<Event> outbox;
 
     /**
      * Create a player controller.
@@ -42,76 +43,58 @@ public class UserController extends AbstractController {
 
     @Override
     public void initialize() {
+        final SubscriptionKey self = SubscriptionKey.animal(this.animal.getId());
         final HandlerLambda<JoinTeamCommand> joinTeamHandler = this::joinTeamHandler;
-        final HandlerLambda<Event> sendOverNetworkLambda = (e) -> {
-            Integer animalId = e.getAnimal();
-            if (animalId.equals(this.animal.getId()) || animalId == -1) {
-                this.server.sendEvent(e, this);
-            }
-        };
-        final HandlerLambda<AbstractTeamEvent> sendTeamEventOverNetworkLambda = (e) -> {
-            if (e.getTeam().equals(this.animal.getTeamId())) {
-                this.server.sendEvent(e, this);
-            }
-        };
-        final HandlerLambda<JumpCommand> jumpCommandHandlerLambda = (e) -> {
-            if (e.getAnimal().equals(this.animal.getId())) {
-                this.animal.jump();
-            }
-        };
-
-        final HandlerLambda<VoteBoatMoveCommand> voteCommandHandlerLambda = (e) -> {
-            if (e.getAnimal().equals(this.animal.getId())) {
-                this.animal.voteOneDirection(e.getDirection());
-            }
-        };
+        this.outbox = this.createOutbox(this.server);
+        final HandlerLambda<Event> sendOverNetworkLambda = this.outbox::handle;
+        final HandlerLambda<JumpCommand> jumpCommandHandlerLambda = (e) -> this.animal.jump();
+        final HandlerLambda<VoteBoatMoveCommand> voteCommandHandlerLambda =
+                (e) -> this.animal.voteOneDirection(e.getDirection());
 
-        this.listenTo(AddObstacleEvent.class, sendTeamEventOverNetworkLambda);
-        this.listenTo(AddRockEvent.class, sendTeamEventOverNetworkLambda);
-        this.listenTo(AnimalAddedEvent.class, sendOverNetworkLambda);
-        this.listenTo(AnimalDroppedEvent.class, sendOverNetworkLambda);
-        this.listenTo(AnimalFellOffEvent.class, sendOverNetworkLambda);
-        this.listenTo(AnimalJumpedEvent.class, sendOverNetworkLambda);
-        this.listenTo(AnimalMovedEvent.class, sendOverNetworkLambda);
-        this.listenTo(AnimalRemovedEvent.class, sendOverNetworkLambda);
-        this.listenTo(AnimalReturnedToBoatEvent.class, sendOverNetworkLambda);
-        this.listenTo(GameAboutToStartEvent.class, sendOverNetworkLambda);
-        this.listenTo(GameAboutToWaitEvent.class, sendOverNetworkLambda);
-        this.listenTo(GameFinishedEvent.class, sendOverNetworkLambda);
-        this.listenTo(GameStartedEvent.class, sendOverNetworkLambda);
-        this.listenTo(GameStoppedEvent.class, sendOverNetworkLambda);
-        this.listenTo(GameWaitingEvent.class, sendOverNetworkLambda);
-        this.listenTo(TeamProgressEvent.class, sendTeamEventOverNetworkLambda);
-        this.listenTo(JoinTeamCommand.class, joinTeamHandler);
-        this.listenTo(JumpCommand.class, jumpCommandHandlerLambda);
-        this.listenTo(VoteBoatMoveCommand.class, voteCommandHandlerLambda);
-        this.server.sendEvent(this.game.getStateEvent(), this);
+        this.listenTo(AnimalAddedEvent.class, self, sendOverNetworkLambda);
+        this.listenTo(AnimalDroppedEvent.class, self, sendOverNetworkLambda);
+        this.listenTo(AnimalFellOffEvent.class, self, sendOverNetworkLambda);
+        this.listenTo(AnimalJumpedEvent.class, self, sendOverNetworkLambda);
+        this.listenTo(AnimalMovedEvent.class, self, sendOverNetworkLambda);
+        this.listenTo(AnimalRemovedEvent.class, self, sendOverNetworkLambda);
+        this.listenTo(AnimalReturnedToBoatEvent.class, self, sendOverNetworkLambda);
+        this.listenTo(JoinTeamCommand.class, self, joinTeamHandler);
+        this.listenTo(JumpCommand.class, self, jumpCommandHandlerLambda);
+        this.listenTo(VoteBoatMoveCommand.class, self, voteCommandHandlerLambda);
+        this.outbox.handle(this.game.getStateEvent());
     }
 
     /**
      * Handler that a user joins a team.
+     * Once joined, the user is in the group of its team on the server, which gets the events of
+     * the team.
      *
      * @param e The event
      */
     private void joinTeamHandler(final JoinTeamCommand e) {
-        if (Objects.equals(e.getAnimal(), this.animal.getId()) && !this.isJoined) {
+        if (!this.isJoined) {
             this.game.addPlayerToTeam(this.animal, e.getTeam());
             this.isJoined = true;
+            this.server.joinGroup(this.animal.getTeamId(), this);
         }
     }
 
     @Override
     public void onSocketMessage(final Event event) {
-        event.setAnimal(this.animal.getId());
-        this.getDispatcher().dispatch(event);
+        this.getDispatcher().dispatch(event.withAnimal(this.animal.getId()));
     }
 
     @Override
     public void dispose() {
         super.dispose();
-        AnimalRemovedEvent event = new AnimalRemovedEvent();
-        event.setAnimal(this.animal.getId());
-        event.setTeam(this.animal.getTeamId());
-        this.getDispatcher().dispatch(event);
+        this.server.leaveGroup(this.animal.getTeamId(), this);
+        this.getDispatcher().dispatch(new AnimalRemovedEvent(this.animal.getId(), this.animal.getTeamId()));
+    }
+
+    /**
+     * @return The id of the animal of this player.
+     */
+    public int getAnimalId() {
+        return this.animal.getId();
     }
 }
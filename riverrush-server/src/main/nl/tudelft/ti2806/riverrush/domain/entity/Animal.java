@@ -40,11 +40,6 @@ public class Animal extends AbstractAnimal {
     @Override
     public void setVoteDirection(final Direction direction) {
         super.setVoteDirection(direction);
-        AnimalMovedEvent event = new AnimalMovedEvent();
-        event.setAnimal(this.getId());
-        event.setTeam(this.getTeamId());
-        event.setDirection(direction);
-
-        this.getDispatcher().dispatch(event);
+        this.getDispatcher().dispatch(new AnimalMovedEvent(this.getId(), this.getTeamId(), direction));
     }
 }
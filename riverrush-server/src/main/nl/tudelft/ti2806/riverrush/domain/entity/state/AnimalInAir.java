@@ -44,10 +44,7 @@ public class AnimalInAir extends AbstractAnimalState {
 
     @Override
     public AnimalState drop() {
-        AnimalDroppedEvent event = new AnimalDroppedEvent();
-        event.setAnimal(this.animal.getId());
-        event.setTeam(this.animal.getTeamId());
-        this.getDispatcher().dispatch(event);
+        this.getDispatcher().dispatch(new AnimalDroppedEvent(this.animal.getId(), this.animal.getTeamId()));
         return new AnimalOnBoat(this.animal, this.getDispatcher());
     }
 
@@ -53,10 +53,8 @@ public class AnimalInWater extends AbstractAnimalState {
 
     @Override
     public AnimalState returnToBoat() {
-        AnimalReturnedToBoatEvent event = new AnimalReturnedToBoatEvent();
-        event.setAnimal(this.animal.getId());
-        event.setTeam(this.animal.getTeamId());
-        this.getDispatcher().dispatch(event);
+        this.getDispatcher().dispatch(
+                new AnimalReturnedToBoatEvent(this.animal.getId(), this.animal.getTeamId()));
 
         return new AnimalOnBoat(this.animal, this.getDispatcher());
     }
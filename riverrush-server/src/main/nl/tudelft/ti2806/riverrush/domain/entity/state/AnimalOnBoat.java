@@ -26,10 +26,7 @@ public class AnimalOnBoat extends AbstractAnimalState {
 
     @Override
     public AnimalState jump() {
-        AnimalJumpedEvent event = new AnimalJumpedEvent();
-        event.setTeam(this.animal.getTeamId());
-        event.setAnimal(this.animal.getId());
-        this.getDispatcher().dispatch(event);
+        this.getDispatcher().dispatch(new AnimalJumpedEvent(this.animal.getId(), this.animal.getTeamId()));
         return new AnimalInAir(this.animal, this.getDispatcher());
     }
 
@@ -40,10 +37,7 @@ public class AnimalOnBoat extends AbstractAnimalState {
 
     @Override
     public AnimalState fall() {
-        AnimalFellOffEvent event = new AnimalFellOffEvent();
-        event.setTeam(this.animal.getTeamId());
-        event.setAnimal(this.animal.getId());
-        this.getDispatcher().dispatch(event);
+        this.getDispatcher().dispatch(new AnimalFellOffEvent(this.animal.getId(), this.animal.getTeamId()));
         return new AnimalInWater(this.animal, this.getDispatcher());
     }
 
@@ -82,8 +82,8 @@ public class Game {
      * @param event the animal added event.
      */
     private void removeAnimalHandler(final AnimalRemovedEvent event) {
-        Integer team = event.getTeam();
-        Integer animal = event.getAnimal();
+        int team = event.getTeam();
+        int animal = event.getAnimal();
         this.gameTrack.removeAnimalFromTeam(team, animal);
     }
 
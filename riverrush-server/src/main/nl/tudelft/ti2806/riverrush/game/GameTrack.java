@@ -134,15 +134,12 @@ public class GameTrack {
      * @param teamId      The team id of the team on the boat
      */
     private void fireTeamProgressEvent(final Double speed, final Double newDistance, final Integer teamId) {
-        TeamProgressEvent event = new TeamProgressEvent();
-        event.setProgress(newDistance);
-        event.setTeam(teamId);
-        event.setSpeed(speed);
-        this.dispatcher.dispatch(event);
+        this.dispatcher.dispatch(new TeamProgressEvent(teamId, newDistance, speed));
     }
 
     /**
      * This will check if it is time for the team to get a cannonball to their faces.
+     * The events of the level are shared by the teams and left as they are, each team gets a copy.
      *
      * @param team            - The team
      * @param currentDistance - The distance this team has travelled
@@ -154,9 +151,7 @@ public class GameTrack {
 
         Double next = this.levelMap.higherKey(this.nextEvents.get(team));
         while (next != null && next <= currentDistance) {
-            AbstractTeamEvent event = this.levelMap.get(next);
-            event.setTeam(team.getId());
-            this.dispatcher.dispatch(event);
+            this.dispatcher.dispatch(this.levelMap.get(next).withTeam(team.getId()));
             this.nextEvents.put(team, next);
             next = this.levelMap.higherKey(next);
         }
@@ -270,14 +265,10 @@ public class GameTrack {
     public void addAnimalToTeam(final AbstractAnimal animal, final Integer teamId) {
         Integer newTeamId = this.addAnimal(teamId, animal);
 
-        AnimalAddedEvent event = new AnimalAddedEvent();
-        event.setAnimal(animal.getId());
-        event.setTeam(newTeamId);
-        event.setVariation(animal.getVariation());
         Sector nextSector = currentPlayerSectors.get(newTeamId).getNext();
         currentPlayerSectors.set(newTeamId, nextSector);
-        event.setSector(nextSector);
-        this.dispatcher.dispatch(event);
+        this.dispatcher.dispatch(new AnimalAddedEvent(animal.getId(), newTeamId, animal.getVariation(),
+                nextSector));
     }
 
     /**
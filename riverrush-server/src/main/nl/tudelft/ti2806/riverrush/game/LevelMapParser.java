@@ -4,6 +4,7 @@ import nl.tudelft.ti2806.riverrush.domain.event.AbstractTeamEvent;
 import nl.tudelft.ti2806.riverrush.domain.event.AddObstacleEvent;
 import nl.tudelft.ti2806.riverrush.domain.event.AddRockEvent;
 import nl.tudelft.ti2806.riverrush.domain.event.Direction;
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -76,17 +77,12 @@ public final class LevelMapParser {
      */
     private static AbstractTeamEvent generateTrackEvent(final char parseCode, final double spawnLocation) {
         if (parseCode == 'O') {
-            AddObstacleEvent event = new AddObstacleEvent();
-            event.setLocation(spawnLocation);
-            return event;
+            return new AddObstacleEvent(Event.BROADCAST, spawnLocation);
         } else if (parseCode == 'R') {
-            AddRockEvent event = new AddRockEvent();
             if (spawnLocation == -1) {
-                event.setLocation(Direction.LEFT);
-            } else {
-                event.setLocation(Direction.RIGHT);
+                return new AddRockEvent(Event.BROADCAST, Direction.LEFT);
             }
-            return event;
+            return new AddRockEvent(Event.BROADCAST, Direction.RIGHT);
         }
         throw new IllegalArgumentException("Illegal event code: " + parseCode);
     }
@@ -37,9 +37,7 @@ public class FinishedGameState implements GameState {
             }
         }, WAIT_TO_START_GAME, WAIT_TO_START_GAME);
 
-        GameAboutToWaitEvent event = new GameAboutToWaitEvent();
-        event.setTimeTillWait(WAIT_TO_START_GAME);
-        this.eventDispatcher.dispatch(event);
+        this.eventDispatcher.dispatch(new GameAboutToWaitEvent(WAIT_TO_START_GAME));
     }
 
     @Override
@@ -53,9 +51,7 @@ public class FinishedGameState implements GameState {
      * @return The event for the current state
      */
     public Event getStateEvent() {
-        GameFinishedEvent event = new GameFinishedEvent();
-        event.setTeam(-1);
-        return event;
+        return new GameFinishedEvent(Event.BROADCAST);
     }
 
     @Override
@@ -63,9 +63,7 @@ public class PlayingGameState implements GameState {
     public GameState finish(final Integer team) {
         this.dispose();
 
-        GameFinishedEvent event = new GameFinishedEvent();
-        event.setTeam(team);
-        this.dispatcher.dispatch(event);
+        this.dispatcher.dispatch(new GameFinishedEvent(team));
 
         return new FinishedGameState(this.dispatcher, this.game);
     }
@@ -60,9 +60,7 @@ public class WaitingGameState implements GameState {
     public void checkForEnoughPlayers() {
         if (hasEnoughAnimals() && !readyToPlay) {
             readyToPlay = true;
-            GameAboutToStartEvent event = new GameAboutToStartEvent();
-            event.setSeconds(DELAY);
-            this.dispatcher.dispatch(event);
+            this.dispatcher.dispatch(new GameAboutToStartEvent(DELAY));
 
             final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
             scheduler.schedule(game::start, DELAY, TimeUnit.SECONDS);
@@ -2,44 +2,77 @@ package nl.tudelft.ti2806.riverrush.network;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
-import nl.tudelft.ti2806.riverrush.CoreModule;
 import nl.tudelft.ti2806.riverrush.controller.Controller;
+import nl.tudelft.ti2806.riverrush.domain.event.AbstractEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AsyncHandler;
 import nl.tudelft.ti2806.riverrush.domain.event.Event;
 import nl.tudelft.ti2806.riverrush.failfast.FailIf;
+import nl.tudelft.ti2806.riverrush.network.protocol.BufferPool;
+import nl.tudelft.ti2806.riverrush.network.protocol.CompactProtocol;
+import nl.tudelft.ti2806.riverrush.network.protocol.FrameCompressor;
 import nl.tudelft.ti2806.riverrush.network.protocol.InvalidActionException;
 import nl.tudelft.ti2806.riverrush.network.protocol.InvalidProtocolException;
 import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.java_websocket.WebSocket;
+import org.java_websocket.drafts.Draft;
+import org.java_websocket.exceptions.InvalidDataException;
 import org.java_websocket.framing.CloseFrame;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.handshake.ServerHandshakeBuilder;
 import org.java_websocket.server.WebSocketServer;
 
-import java.io.IOException;
-import java.net.HttpURLConnection;
 import java.net.InetSocketAddress;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLEncoder;
-import java.util.Hashtable;
-import java.util.LinkedHashMap;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
  * Web socket endpoint for the backend to dispatch incoming tcp request from the
  * client.
+ * Incoming frames are decoded on the decoder threads of the socket layer. Every connection stays
+ * on one decoder, so the events of a connection reach its controller in the order they were
+ * sent while different connections are decoded in parallel.
+ * The controller hands them to the game dispatcher from that thread, and the dispatcher handles the
+ * events of one thread in the order they were dispatched. The commands of a client all have the
+ * same {@link nl.tudelft.ti2806.riverrush.domain.event.Priority}, so none of them is shed while a
+ * later one is kept: the game handles them in the order the client sent them.
  */
 public abstract class AbstractServer extends WebSocketServer {
 
+    /**
+     * The decoder threads of a server with many connections, one per core.
+     */
+    public static final int DEFAULT_DECODERS = WebSocketServer.DECODERS;
+
     private static final Logger LOGGER = LogManager.getLogger(AbstractServer.class);
     /**
-     * Maps a remote address to a handler for player actions.
+     * The open connections with their controllers and what they agreed on in the handshake.
+     */
+    private final ConnectionRegistry connections;
+
+    /**
+     * The global group, every connection that has a controller.
+     */
+    private final Set<ConnectionRegistry.Connection> everyone;
+
+    /**
+     * The connections that joined a group, by the id of the group.
+     * Groups change when players join or leave, far less often than events are published to them.
      */
-    private final Map<WebSocket, Controller> controllers;
+    private final Map<Integer, Set<ConnectionRegistry.Connection>> groups;
+
     /**
-     * Maps a websocket to a controller.
+     * The buffers the batches of binary frames are written in.
      */
-    private final Map<Controller, WebSocket> sockets;
+    private final BufferPool buffers;
 
     /**
      * The protocol used to serialize/deserialize network messages.
@@ -51,38 +84,121 @@ public abstract class AbstractServer extends WebSocketServer {
      */
     private final Provider<Controller> controllerProvider;
 
+    /**
+     * The most events to queue for one connection.
+     */
+    private final int outboxCapacity;
+
+    /**
+     * What to do with a connection that stays behind.
+     */
+    private final SlowClientPolicy slowClientPolicy;
+
 
     /**
      * Constructs the server, does NOT start it (see the {@link #start()}
      * method).
      *
-     * @param aProtocol The protocol to use when receiving and sending messages.
-     * @param aProvider An injected provider used to create {@link Controller} objects.
+     * @param aProtocol        The protocol to use when receiving and sending messages.
+     * @param aProvider        An injected provider used to create {@link Controller} objects.
+     * @param anOutboxCapacity The most events to queue for one connection.
+     * @param aPolicy          What to do with a connection that stays behind.
+     * @param decoders         The threads that decode incoming frames, the connections are spread
+     *                         over them.
      */
     @Inject
     public AbstractServer(final Protocol aProtocol,
-                          final Provider<Controller> aProvider) {
-        super(new InetSocketAddress(aProtocol.getPortNumber()));
-        this.controllers = new Hashtable<>();
-        this.sockets = new Hashtable<>();
+                          final Provider<Controller> aProvider,
+                          final int anOutboxCapacity,
+                          final SlowClientPolicy aPolicy,
+                          final int decoders) {
+        super(new InetSocketAddress(aProtocol.getPortNumber()), decoders);
+        FailIf.isNull(aPolicy);
+        if (anOutboxCapacity <= 0) {
+            throw new IllegalArgumentException("Outbox capacity should be positive, got: "
+                    + anOutboxCapacity);
+        }
+        this.outboxCapacity = anOutboxCapacity;
+        this.slowClientPolicy = aPolicy;
+        this.connections = new ConnectionRegistry();
+        this.everyone = new CopyOnWriteArraySet<>();
+        this.groups = new ConcurrentHashMap<>();
+        this.buffers = new BufferPool(BufferPool.DEFAULT_BUFFER_SIZE, BufferPool.DEFAULT_MAX_FREE);
         this.protocol = aProtocol;
         this.controllerProvider = aProvider;
+    }
 
-        try {
-            this.sendHTTPRequest();
-        } catch (IOException e) {
-            e.printStackTrace();
+    /**
+     * Agrees on binary frames when the client asks for them and the protocol has them,
+     * and on compressed batches when the client asks for them.
+     * Clients that do not ask keep getting text.
+     *
+     * @param conn    - The websocket that is being opened.
+     * @param draft   - The draft of the handshake.
+     * @param request - The handshake of the client.
+     * @return The handshake to answer with.
+     * @throws InvalidDataException when the handshake is refused.
+     */
+    @Override
+    public ServerHandshakeBuilder onWebsocketHandshakeReceivedAsServer(
+            final WebSocket conn, final Draft draft, final ClientHandshake request)
+            throws InvalidDataException {
+        ServerHandshakeBuilder response = super.onWebsocketHandshakeReceivedAsServer(conn, draft, request);
+        ConnectionRegistry.Connection connection = this.connections.register(conn);
+        if (this.protocol.isBinarySupported()
+                && CompactProtocol.BINARY.equals(request.getFieldValue(CompactProtocol.HANDSHAKE_FIELD))) {
+            response.put(CompactProtocol.HANDSHAKE_FIELD, CompactProtocol.BINARY);
+            connection.setBinary(true);
         }
+        if (CompactProtocol.DEFLATE.equals(request.getFieldValue(CompactProtocol.COMPRESSION_FIELD))) {
+            response.put(CompactProtocol.COMPRESSION_FIELD, CompactProtocol.DEFLATE);
+            connection.setCompressor(new FrameCompressor(this.protocol.getDictionary()));
+        }
+        return response;
     }
 
+    /**
+     * Disposes the controller of the connection, and frees everything the connection had.
+     *
+     * @param conn   - The websocket that closed.
+     * @param code   - Why it closed.
+     * @param reason - Why it closed, for people.
+     * @param remote - Whether the other side closed it.
+     */
     @Override
     public void onClose(final WebSocket conn, final int code, final String reason, final boolean remote) {
         FailIf.isNull(conn);
         LOGGER.info("Connection closed.");
+        ConnectionRegistry.Connection connection = this.connections.release(conn);
+        if (connection == null) {
+            return;
+        }
+        this.everyone.remove(connection);
+        this.groups.values().forEach(members -> members.remove(connection));
+        Outbox outbox = connection.getOutbox();
+        if (outbox != null) {
+            outbox.close(() -> this.releaseCompressor(connection));
+        } else {
+            this.releaseCompressor(connection);
+        }
+
+        Controller controller = connection.getController();
+        if (code != CloseFrame.REFUSE && controller != null) {
+            controller.dispose();
+        }
+    }
 
-        if (code != CloseFrame.REFUSE) {
-            this.controllers.get(conn).dispose();
-            this.controllers.remove(conn);
+    /**
+     * Release the compressor of a closed connection, once its outbox no longer sends batches.
+     *
+     * @param connection - The connection that closed.
+     */
+    private void releaseCompressor(final ConnectionRegistry.Connection connection) {
+        FrameCompressor compressor = connection.getCompressor();
+        if (compressor != null) {
+            LOGGER.info("Compressed {} bytes to {}, a ratio of {}", compressor.getPlainBytes(),
+                    compressor.getSentBytes(), compressor.getRatio());
+            compressor.close();
         }
     }
 
@@ -97,6 +213,18 @@ public abstract class AbstractServer extends WebSocketServer {
         }
     }
 
+    @Override
+    public void onMessage(final WebSocket conn, final ByteBuffer message) {
+        FailIf.isNull(conn, message);
+        try {
+            for (Event event : this.protocol.decodeBatch(message)) {
+                dispatchToController(event, conn);
+            }
+        } catch (InvalidProtocolException | InvalidActionException e) {
+            LOGGER.error("Dropping binary frame: {}", e.getMessage());
+        }
+    }
+
     /**
      * Creates a controller for a websocket.
      *
@@ -104,20 +232,28 @@ public abstract class AbstractServer extends WebSocketServer {
      */
     protected void createController(final WebSocket conn) {
         LOGGER.info("Creating controller via " + this.controllerProvider.getClass());
+        ConnectionRegistry.Connection connection = this.connections.register(conn);
+        connection.setOutbox(new Outbox((events) -> this.sendBatch(events, connection),
+                () -> !conn.hasBufferedData(), this.outboxCapacity, this.slowClientPolicy,
+                Outbox.MAX_BEHIND_MILLIS,
+                () -> conn.close(CloseFrame.POLICY_VALIDATION, "Connection too slow"),
+                AsyncHandler.sharedExecutor()));
         Controller controller = this.controllerProvider.get();
-        controllers.put(conn, controller);
-        sockets.put(controller, conn);
+        this.connections.attach(connection, controller);
+        this.everyone.add(connection);
         controller.initialize();
     }
 
     /**
      * When an event is received, it will be dispatched to the correct controller.
+     * Runs on the decoder thread of the connection, one event after the other, so the controller
+     * gets them and dispatches them to the game in the order they were sent.
      *
      * @param event      The event.
      * @param connection The connection on which this event was received.
      */
     protected void dispatchToController(final Event event, final WebSocket connection) {
-        Controller controller = controllers.get(connection);
+        Controller controller = this.connections.of(connection).getController();
         controller.onSocketMessage(event);
     }
 
@@ -129,68 +265,262 @@ public abstract class AbstractServer extends WebSocketServer {
     }
 
     /**
-     * Handles events to send over the network.
+     * Queue an event for the connection of a controller, it is sent from another thread.
+     * Events for a controller without a connection are dropped.
+     *
+     * @param event      - The event to send.
+     * @param controller - The controller of the connection.
+     */
+    public void queueEvent(final Event event, final Controller controller) {
+        FailIf.isNull(event);
+        ConnectionRegistry.Connection connection = this.connections.of(controller);
+        if (connection != null) {
+            connection.getOutbox().handle(event);
+        }
+    }
+
+    /**
+     * Handles events to send over the network right away, on the calling thread.
+     * The text of the event is serialized once for all the controllers it is sent to.
      *
      * @param event      - The event to dispatch.
      * @param controller - The dispatcher responsible for the event.
      */
     public void sendEvent(final Event event, final Controller controller) {
-        WebSocket sock = sockets.get(controller);
-        String serialize = protocol.serialize(event);
-        LOGGER.info("Sending event over socket: " + event.getClass());
-        sock.send(serialize);
+        LOGGER.info("Sending event over socket: {}", event.getClass());
+        this.send(event, this.connections.of(controller));
+    }
+
+    /**
+     * @param event      - The event to send.
+     * @param connection - The connection to send it over.
+     */
+    private void send(final Event event, final ConnectionRegistry.Connection connection) {
+        if (connection.isBinary()) {
+            this.sendBinary(Collections.singletonList(event), connection);
+        } else {
+            connection.getSocket().send(this.text(event));
+        }
     }
 
-    public Map<WebSocket, Controller> getControllers() {
-        return this.controllers;
+    /**
+     * Handles several events to send over the network at once.
+     * A socket that agreed on binary frames gets them in one frame, the frames of the events
+     * written one after the other, or in as few frames as fit in the buffers of the pool.
+     * A socket that agreed on compression gets them compressed, text events in one frame with one
+     * per line. The others get one text frame per event.
+     *
+     * @param events     - The events to send, in order.
+     * @param controller - The dispatcher responsible for the events.
+     */
+    public void sendEvents(final List<? extends Event> events, final Controller controller) {
+        this.sendBatch(events, this.connections.of(controller));
     }
 
-    public Map<Controller, WebSocket> getSockets() {
-        return this.sockets;
+    /**
+     * @param events     - The events to send, in order.
+     * @param connection - The connection to send them over.
+     */
+    private void sendBatch(final List<? extends Event> events,
+                           final ConnectionRegistry.Connection connection) {
+        FrameCompressor compressor = connection.getCompressor();
+        boolean binary = connection.isBinary();
+        if (events.size() == 1 || !binary && compressor == null) {
+            events.forEach(event -> this.send(event, connection));
+            return;
+        }
+
+        LOGGER.debug("Sending {} events over socket in one frame", events.size());
+        if (binary) {
+            this.sendBinary(events, connection);
+        } else {
+            connection.getSocket().send(compressor.pack(this.textBatch(events)));
+        }
     }
 
     /**
-     * Sends a http request to register the backend server's IP and port.
-     * So that clients can request the connection details.
+     * Send the binary frames of events written one after the other, straight into a buffer of the
+     * pool. A batch that does not fit in the buffer goes out in several frames, in order, the other
+     * side decodes every frame on its own. Only an event that is larger than a buffer on its own
+     * is encoded into a buffer of the protocol.
+     * The socket copies the frame before send returns, so the buffer is reused right after.
      *
-     * @throws IOException when something goes horribly wrong.
+     * @param events     - The events to send, in order.
+     * @param connection - The connection to send them over.
      */
-    private void sendHTTPRequest() throws IOException {
-        URL url = null;
+    private void sendBinary(final List<? extends Event> events,
+                            final ConnectionRegistry.Connection connection) {
+        ByteBuffer frames = this.buffers.acquire();
         try {
-            url = new URL("http://riverrush.3dsplaza.com/setserver.php");
-        } catch (MalformedURLException e) {
-            e.printStackTrace();
+            for (Event event : events) {
+                if (this.encodeInto(event, frames)) {
+                    continue;
+                }
+                if (frames.position() > 0) {
+                    frames.flip();
+                    this.sendFrames(frames, connection);
+                    frames.clear();
+                    if (this.encodeInto(event, frames)) {
+                        continue;
+                    }
+                }
+                this.sendFrames(this.protocol.encode(event), connection);
+            }
+            if (frames.position() > 0) {
+                frames.flip();
+                this.sendFrames(frames, connection);
+            }
+        } finally {
+            this.buffers.release(frames);
+        }
+    }
+
+    /**
+     * @param event  - The event to encode.
+     * @param frames - The buffer to write its frame to.
+     * @return True if the frame fit, otherwise the buffer is left as it was.
+     */
+    private boolean encodeInto(final Event event, final ByteBuffer frames) {
+        int start = frames.position();
+        try {
+            this.protocol.encode(event, frames);
+            return true;
+        } catch (BufferOverflowException e) {
+            frames.position(start);
+            return false;
+        }
+    }
+
+    /**
+     * @param frames     - The binary frames to send, ready to be read.
+     * @param connection - The connection to send them over, compressed if the socket agreed on it.
+     */
+    private void sendFrames(final ByteBuffer frames, final ConnectionRegistry.Connection connection) {
+        FrameCompressor compressor = connection.getCompressor();
+        if (compressor == null) {
+            connection.getSocket().send(frames);
+        } else {
+            connection.getSocket().send(compressor.pack(frames));
+        }
+    }
+
+    /**
+     * An event that is sent to many text sockets keeps its text, so it is serialized once.
+     * Binary frames are cheap to encode, they are written straight into a buffer of the pool instead.
+     *
+     * @param event - The event to send.
+     * @return The text of the event.
+     */
+    private String text(final Event event) {
+        if (event instanceof AbstractEvent) {
+            return ((AbstractEvent) event).getText(this.protocol);
         }
-        Map<String, Object> params = new LinkedHashMap<>();
-        params.put("password", "pizza");
-        params.put("port", CoreModule.CLIENT_PORT_NUMBER);
+        return this.protocol.serialize(event);
+    }
 
-        StringBuilder postData = new StringBuilder();
-        String enc = "UTF-8";
-        for (Map.Entry<String, Object> param : params.entrySet()) {
-            if (postData.length() != 0) {
-                postData.append('&');
+    /**
+     * @param events - The events to send, in order.
+     * @return The texts of the events as UTF-8, one per line.
+     */
+    private ByteBuffer textBatch(final List<? extends Event> events) {
+        StringBuilder lines = new StringBuilder();
+        for (Event event : events) {
+            if (lines.length() > 0) {
+                lines.append(FrameCompressor.LINE_SEPARATOR);
             }
-            postData.append(URLEncoder.encode(param.getKey(), enc));
-            postData.append('=');
-            postData.append(URLEncoder.encode(String.valueOf(param.getValue()), enc));
+            lines.append(this.text(event));
         }
-        byte[] postDataBytes = postData.toString().getBytes(enc);
+        return ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+    }
 
-        assert url != null;
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        try {
-            connection.setRequestMethod("POST");
-            connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
-            connection.setRequestProperty("Content-Length", String.valueOf(postDataBytes.length));
-            connection.setDoOutput(true);
-            connection.getOutputStream().write(postDataBytes);
-        } catch (IOException e) {
-            e.printStackTrace();
-        } finally {
-            connection.getOutputStream().close();
-            connection.getInputStream().close();
+    /**
+     * Queue an event for every connection that has a controller, it is encoded once for all of them.
+     *
+     * @param event - The event to send.
+     */
+    public void broadcast(final Event event) {
+        FailIf.isNull(event);
+        LOGGER.debug("Broadcasting {} to {} sockets", event.getClass(), this.everyone.size());
+        for (ConnectionRegistry.Connection member : this.everyone) {
+            member.getOutbox().handle(event);
+        }
+    }
+
+    /**
+     * Queue an event for every connection in a group, it is encoded once for all of them.
+     *
+     * @param group - The id of the group.
+     * @param event - The event to send.
+     */
+    public void publish(final int group, final Event event) {
+        FailIf.isNull(event);
+        Set<ConnectionRegistry.Connection> members = this.groups.get(group);
+        if (members == null) {
+            return;
+        }
+        LOGGER.debug("Publishing {} to {} sockets", event.getClass(), members.size());
+        for (ConnectionRegistry.Connection member : members) {
+            member.getOutbox().handle(event);
+        }
+    }
+
+    /**
+     * Add the connection of a controller to a group, until it leaves or closes.
+     *
+     * @param group      - The id of the group.
+     * @param controller - The controller of the connection.
+     */
+    public void joinGroup(final int group, final Controller controller) {
+        ConnectionRegistry.Connection connection = this.connections.of(controller);
+        if (connection != null) {
+            this.groups.computeIfAbsent(group, id -> new CopyOnWriteArraySet<>()).add(connection);
+        }
+    }
+
+    /**
+     * Remove the connection of a controller from a group.
+     *
+     * @param group      - The id of the group.
+     * @param controller - The controller of the connection.
+     */
+    public void leaveGroup(final int group, final Controller controller) {
+        ConnectionRegistry.Connection connection = this.connections.of(controller);
+        Set<ConnectionRegistry.Connection> members = this.groups.get(group);
+        if (connection != null && members != null) {
+            members.remove(connection);
+        }
+    }
+
+    /**
+     * Close the connection of a controller, the controller is disposed once it is closed.
+     *
+     * @param controller - The controller to cut off.
+     * @param reason     - Sent to the other side.
+     */
+    public void disconnect(final Controller controller, final String reason) {
+        ConnectionRegistry.Connection connection = this.connections.of(controller);
+        if (connection != null) {
+            LOGGER.info("Disconnecting: {}", reason);
+            connection.getSocket().close(CloseFrame.POLICY_VALIDATION, reason);
+        }
+    }
+
+    /**
+     * @param conn - A websocket.
+     * @return The controller of the websocket, null if it has none.
+     */
+    public Controller getController(final WebSocket conn) {
+        ConnectionRegistry.Connection connection = this.connections.of(conn);
+        if (connection == null) {
+            return null;
         }
+        return connection.getController();
+    }
+
+    /**
+     * @return The amount of open connections that have a controller.
+     */
+    public int getControllerCount() {
+        return this.connections.getControllerCount();
     }
 }
@@ -0,0 +1,162 @@
+package nl.tudelft.ti2806.riverrush.network;
+
+import nl.tudelft.ti2806.riverrush.controller.Controller;
+import nl.tudelft.ti2806.riverrush.failfast.FailIf;
+import nl.tudelft.ti2806.riverrush.network.protocol.FrameCompressor;
+import org.java_websocket.WebSocket;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The open connections of a server.
+ * The websocket library has no way to attach the connection to its socket, so sockets and
+ * controllers find their connection through a concurrent map. Lookups do not lock.
+ */
+final class ConnectionRegistry {
+
+    private final Map<WebSocket, Connection> bySocket;
+    private final Map<Controller, Connection> byController;
+
+    /**
+     * Create an empty registry.
+     */
+    ConnectionRegistry() {
+        this.bySocket = new ConcurrentHashMap<>();
+        this.byController = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Give a socket a connection, if it has none yet.
+     *
+     * @param socket - The socket that is being opened.
+     * @return The connection of the socket.
+     */
+    Connection register(final WebSocket socket) {
+        FailIf.isNull(socket);
+        return this.bySocket.computeIfAbsent(socket, Connection::new);
+    }
+
+    /**
+     * Hand a connection to its controller.
+     *
+     * @param connection - The registered connection.
+     * @param controller - The controller of the connection.
+     */
+    void attach(final Connection connection, final Controller controller) {
+        FailIf.isNull(connection, controller);
+        connection.controller = controller;
+        this.byController.put(controller, connection);
+    }
+
+    /**
+     * Forget the connection of a socket.
+     *
+     * @param socket - The socket that closed.
+     * @return The connection it had, null if it had none.
+     */
+    Connection release(final WebSocket socket) {
+        Connection connection = this.bySocket.remove(socket);
+        if (connection == null) {
+            return null;
+        }
+        Controller controller = connection.controller;
+        if (controller != null) {
+            this.byController.remove(controller);
+        }
+        return connection;
+    }
+
+    /**
+     * @param socket - A socket.
+     * @return The connection of the socket, null if it has none.
+     */
+    Connection of(final WebSocket socket) {
+        return this.bySocket.get(socket);
+    }
+
+    /**
+     * @param controller - A controller.
+     * @return The connection of the controller, null if it has none.
+     */
+    Connection of(final Controller controller) {
+        return this.byController.get(controller);
+    }
+
+    /**
+     * @return The amount of connections that have a controller.
+     */
+    int getControllerCount() {
+        return this.byController.size();
+    }
+
+    /**
+     * @return The amount of registered connections, with or without a controller.
+     */
+    int getConnectionCount() {
+        return this.bySocket.size();
+    }
+
+    /**
+     * One connection of the server: its socket, its controller and what it agreed on in the
+     * handshake.
+     */
+    static final class Connection {
+        private final WebSocket socket;
+        private volatile Controller controller;
+        private volatile boolean binary;
+        private volatile FrameCompressor compressor;
+        private volatile Outbox outbox;
+
+        /**
+         * @param aSocket - The socket of the connection.
+         */
+        private Connection(final WebSocket aSocket) {
+            this.socket = aSocket;
+        }
+
+        WebSocket getSocket() {
+            return this.socket;
+        }
+
+        /**
+         * @return The controller, null until the connection is opened.
+         */
+        Controller getController() {
+            return this.controller;
+        }
+
+        /**
+         * @return Whether the socket agreed on binary frames.
+         */
+        boolean isBinary() {
+            return this.binary;
+        }
+
+        void setBinary(final boolean isBinary) {
+            this.binary = isBinary;
+        }
+
+        /**
+         * @return The compressor of the frames, null if the socket did not agree on compression.
+         */
+        FrameCompressor getCompressor() {
+            return this.compressor;
+        }
+
+        void setCompressor(final FrameCompressor aCompressor) {
+            this.compressor = aCompressor;
+        }
+
+        /**
+         * @return The queue of the events to send, null until the connection is opened.
+         */
+        Outbox getOutbox() {
+            return this.outbox;
+        }
+
+        void setOutbox(final Outbox anOutbox) {
+            this.outbox = anOutbox;
+        }
+    }
+}
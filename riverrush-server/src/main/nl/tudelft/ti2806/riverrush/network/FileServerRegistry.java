@@ -0,0 +1,48 @@
+package nl.tudelft.ti2806.riverrush.network;
+
+import nl.tudelft.ti2806.riverrush.failfast.FailIf;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+
+/**
+ * A file with the address of the backend, for playing on a network without the web lobby.
+ * The file holds one line with the host and the port, separated by a colon.
+ */
+public final class FileServerRegistry implements ServerRegistry {
+
+    private final Path file;
+
+    /**
+     * Create a registry that writes to a file.
+     *
+     * @param aFile - The file to write the address to, it is replaced when it exists.
+     */
+    public FileServerRegistry(final Path aFile) {
+        FailIf.isNull(aFile);
+        this.file = aFile.toAbsolutePath();
+    }
+
+    /**
+     * Write the address, a reader never sees a half written file.
+     *
+     * @param port - The port the players connect to.
+     * @throws IOException when the file can not be written.
+     */
+    @Override
+    public void register(final int port) throws IOException {
+        String address = InetAddress.getLocalHost().getHostAddress() + ":" + port;
+        Path written = Files.createTempFile(this.file.getParent(), "registry", ".tmp");
+        try {
+            Files.write(written, Collections.singletonList(address), StandardCharsets.UTF_8);
+            Files.move(written, this.file, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(written);
+        }
+    }
+}
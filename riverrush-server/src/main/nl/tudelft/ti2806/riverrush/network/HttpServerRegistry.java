@@ -0,0 +1,88 @@
+package nl.tudelft.ti2806.riverrush.network;
+
+import nl.tudelft.ti2806.riverrush.failfast.FailIf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The lobby on the web that the phones ask for the address of the backend.
+ * The lobby takes the address from the request, the port is posted along.
+ */
+public final class HttpServerRegistry implements ServerRegistry {
+
+    /**
+     * The lobby the game uses.
+     */
+    public static final String DEFAULT_URL = "http://riverrush.3dsplaza.com/setserver.php";
+
+    /**
+     * The password of the lobby the game uses.
+     */
+    public static final String DEFAULT_PASSWORD = "pizza";
+
+    /**
+     * How long to wait for the lobby to answer, in milliseconds.
+     */
+    private static final int TIMEOUT_MILLIS = 5000;
+
+    private static final String ENCODING = StandardCharsets.UTF_8.name();
+
+    private final URL url;
+    private final String password;
+
+    /**
+     * Create a registry for a lobby.
+     *
+     * @param anUrl     - Where to post the port.
+     * @param aPassword - The password of the lobby.
+     */
+    public HttpServerRegistry(final URL anUrl, final String aPassword) {
+        FailIf.isNull(anUrl, aPassword);
+        this.url = anUrl;
+        this.password = aPassword;
+    }
+
+    @Override
+    public void register(final int port) throws IOException {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("password", this.password);
+        params.put("port", port);
+
+        StringBuilder postData = new StringBuilder();
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            if (postData.length() != 0) {
+                postData.append('&');
+            }
+            postData.append(URLEncoder.encode(param.getKey(), ENCODING));
+            postData.append('=');
+            postData.append(URLEncoder.encode(String.valueOf(param.getValue()), ENCODING));
+        }
+        byte[] postDataBytes = postData.toString().getBytes(ENCODING);
+
+        HttpURLConnection connection = (HttpURLConnection) this.url.openConnection();
+        try {
+            connection.setConnectTimeout(TIMEOUT_MILLIS);
+            connection.setReadTimeout(TIMEOUT_MILLIS);
+            connection.setRequestMethod("POST");
+            connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+            connection.setRequestProperty("Content-Length", String.valueOf(postDataBytes.length));
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(postDataBytes);
+            }
+            int status = connection.getResponseCode();
+            if (status != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Lobby answered with status " + status);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package nl.tudelft.ti2806.riverrush.network;
+
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalMovedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AsyncHandler;
+import nl.tudelft.ti2806.riverrush.domain.event.BatchHandler;
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
+import nl.tudelft.ti2806.riverrush.domain.event.HandlerLambda;
+import nl.tudelft.ti2806.riverrush.domain.event.OverflowPolicy;
+import nl.tudelft.ti2806.riverrush.domain.event.TeamProgressEvent;
+import nl.tudelft.ti2806.riverrush.failfast.FailIf;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The bounded queue of the events on their way to one connection.
+ * The events are sent from another thread, so a congested connection does not hold up the
+ * dispatcher, the game or the other connections, and the events that pile up while the last ones
+ * are being sent go out together in one frame.
+ * Of the progress of a team and the position of an animal only the latest event waits.
+ * The socket queues whatever it is handed without a limit, so nothing is handed over while it
+ * still has data to write: the events wait here instead, where they count towards the watermarks.
+ * A queue that fills up to the high watermark is behind until it drains to the low watermark,
+ * the {@link SlowClientPolicy} decides what happens to a connection that stays behind.
+ */
+final class Outbox implements HandlerLambda<Event> {
+
+    /**
+     * The most events to send in one frame.
+     */
+    static final int BATCH_SIZE = 64;
+
+    /**
+     * How long a connection may stay behind before it is cut off.
+     */
+    static final long MAX_BEHIND_MILLIS = 2000;
+
+    private static final Logger LOGGER = LogManager.getLogger(Outbox.class);
+
+    /**
+     * The watermarks as parts of the capacity.
+     */
+    private static final double HIGH_WATERMARK = 0.75;
+    private static final double LOW_WATERMARK = 0.25;
+
+    private final AsyncHandler<Event> queue;
+    private final int highWatermark;
+    private final int lowWatermark;
+    private final SlowClientPolicy policy;
+    private final long maxBehindNanos;
+    private final Runnable onSlow;
+
+    /**
+     * Guarded by this.
+     */
+    private boolean behind;
+    private long behindSince;
+    private long behindCount;
+
+    /**
+     * Create an empty outbox.
+     *
+     * @param sender          - Sends a batch of events over the connection.
+     * @param writable        - Tells whether the connection wrote out what it was sent before.
+     * @param capacity        - The most events to queue.
+     * @param aPolicy         - What to do with a connection that stays behind.
+     * @param maxBehindMillis - How long a connection may stay behind with
+     *                        {@link SlowClientPolicy#DISCONNECT}.
+     * @param anOnSlow        - Called once when the connection should be cut off.
+     * @param executor        - Runs the sender.
+     */
+    Outbox(final BatchHandler<Event> sender, final BooleanSupplier writable, final int capacity,
+           final SlowClientPolicy aPolicy, final long maxBehindMillis, final Runnable anOnSlow,
+           final Executor executor) {
+        FailIf.isNull(sender, writable, aPolicy, anOnSlow, executor);
+        if (maxBehindMillis < 0) {
+            throw new IllegalArgumentException("Time behind should not be negative, got: " + maxBehindMillis);
+        }
+        OverflowPolicy overflow = OverflowPolicy.DROP_OLDEST;
+        if (aPolicy == SlowClientPolicy.DISCONNECT) {
+            overflow = OverflowPolicy.DISCONNECT;
+        }
+        this.queue = AsyncHandler.latest(new WhenWritable(sender, writable), BATCH_SIZE, capacity, overflow,
+                Outbox::latestKey, anOnSlow, executor);
+        this.highWatermark = Math.max(1, (int) (capacity * HIGH_WATERMARK));
+        this.lowWatermark = (int) (capacity * LOW_WATERMARK);
+        this.policy = aPolicy;
+        this.maxBehindNanos = TimeUnit.MILLISECONDS.toNanos(maxBehindMillis);
+        this.onSlow = anOnSlow;
+    }
+
+    /**
+     * @param event - An event to send.
+     * @return The kind of the event in the high half and its team or animal in the low half,
+     * {@link AsyncHandler#NO_KEY} if it supersedes no other event.
+     */
+    static long latestKey(final Event event) {
+        if (event instanceof TeamProgressEvent) {
+            return key(Latest.PROGRESS, ((TeamProgressEvent) event).getTeam());
+        }
+        if (event instanceof AnimalMovedEvent) {
+            return key(Latest.MOVED, event.getAnimal());
+        }
+        return AsyncHandler.NO_KEY;
+    }
+
+    /**
+     * @param kind - The kind of event.
+     * @param id   - The team or animal of the event.
+     * @return The key, never negative.
+     */
+    private static long key(final Latest kind, final int id) {
+        return ((long) kind.ordinal() << Integer.SIZE) | (id & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Queue the event, it is sent later.
+     *
+     * @param event - The event to send.
+     */
+    @Override
+    public void handle(final Event event) {
+        this.queue.handle(event);
+        if (!this.queue.isClosed() && this.isTooSlow(this.queue.getQueueDepth())) {
+            LOGGER.warn("Connection stayed behind for {} ms, disconnecting",
+                    TimeUnit.NANOSECONDS.toMillis(this.maxBehindNanos));
+            this.queue.close();
+            this.onSlow.run();
+        }
+    }
+
+    /**
+     * Move between the watermarks.
+     *
+     * @param depth - The amount of queued events.
+     * @return True if the connection stayed behind for too long.
+     */
+    private synchronized boolean isTooSlow(final int depth) {
+        long now = System.nanoTime();
+        if (!this.behind && depth >= this.highWatermark) {
+            this.behind = true;
+            this.behindSince = now;
+            this.behindCount++;
+            LOGGER.info("Connection fell behind with {} queued events", depth);
+        } else if (this.behind && depth <= this.lowWatermark) {
+            this.behind = false;
+            LOGGER.info("Connection caught up after {} ms",
+                    TimeUnit.NANOSECONDS.toMillis(now - this.behindSince));
+        }
+        return this.behind && this.policy == SlowClientPolicy.DISCONNECT
+                && now - this.behindSince >= this.maxBehindNanos;
+    }
+
+    /**
+     * Drop the queued events and ignore the events that are handed over after this.
+     */
+    void close() {
+        this.close(() -> {
+        });
+    }
+
+    /**
+     * Drop the queued events and ignore the events that are handed over after this.
+     *
+     * @param drained - Runs once no batch is being sent anymore, to release what the sender uses.
+     */
+    void close(final Runnable drained) {
+        this.queue.close(drained);
+        LOGGER.info("Outbox closed: peak of {} events, behind {} times, {} dropped, {} coalesced",
+                this.queue.getPeakDepth(), this.getBehindCount(), this.queue.getDroppedCount(),
+                this.queue.getCoalescedCount());
+    }
+
+    /**
+     * @return True if the queue is closed, because the connection was cut off or closed.
+     */
+    boolean isClosed() {
+        return this.queue.isClosed();
+    }
+
+    /**
+     * @return True if the queue went over the high watermark and did not drain to the low one yet.
+     */
+    synchronized boolean isBehind() {
+        return this.behind;
+    }
+
+    /**
+     * @return The amount of times the queue went over the high watermark.
+     */
+    synchronized long getBehindCount() {
+        return this.behindCount;
+    }
+
+    /**
+     * @return The most events that were waiting at once.
+     */
+    int getPeakDepth() {
+        return this.queue.getPeakDepth();
+    }
+
+    /**
+     * @return The amount of queued events that were replaced by a newer one.
+     */
+    long getCoalescedCount() {
+        return this.queue.getCoalescedCount();
+    }
+
+    /**
+     * Hands the batches to the sender only while the connection keeps up with them.
+     */
+    private static final class WhenWritable implements BatchHandler<Event> {
+
+        private final BatchHandler<Event> sender;
+        private final BooleanSupplier writable;
+
+        /**
+         * @param aSender   - Sends a batch of events over the connection.
+         * @param aWritable - Tells whether the connection wrote out what it was sent before.
+         */
+        WhenWritable(final BatchHandler<Event> aSender, final BooleanSupplier aWritable) {
+            this.sender = aSender;
+            this.writable = aWritable;
+        }
+
+        @Override
+        public void handleBatch(final List<? extends Event> events) {
+            this.sender.handleBatch(events);
+        }
+
+        @Override
+        public boolean isReady() {
+            return this.writable.getAsBoolean();
+        }
+    }
+
+    /**
+     * The kinds of events of which only the latest waits.
+     */
+    private enum Latest {
+        /**
+         * The progress of a team.
+         */
+        PROGRESS,
+
+        /**
+         * The position of an animal.
+         */
+        MOVED
+    }
+}
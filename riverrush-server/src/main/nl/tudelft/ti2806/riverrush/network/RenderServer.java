@@ -22,6 +22,17 @@ public class RenderServer extends AbstractServer {
     private static final Logger LOGGER = LogManager.getLogger(UserServer.class);
     private static final int MAX_RENDERERS = 1;
 
+    /**
+     * The renderer gets the events of every player, so it may fall further behind.
+     * It keeps up through its snapshots when events are shed, so it is never cut off.
+     */
+    private static final int OUTBOX_CAPACITY = 4096;
+
+    /**
+     * A renderer is decoded on one thread, more would only sit idle.
+     */
+    private static final int DECODERS = 1;
+
     /**
      * Constructs the server that communicates with rendering clients.
      * Does NOT start it (see the {@link #start()} method).
@@ -32,7 +43,7 @@ public class RenderServer extends AbstractServer {
     @Inject
     public RenderServer(@Named("renderProtocol") final Protocol aProtocol,
                         @Named("renderController") final Provider<Controller> aProvider) {
-        super(aProtocol, aProvider);
+        super(aProtocol, aProvider, OUTBOX_CAPACITY, SlowClientPolicy.SHED, DECODERS);
     }
 
     @Override
@@ -40,7 +51,7 @@ public class RenderServer extends AbstractServer {
         FailIf.isNull(conn);
         LOGGER.info("Connection opened");
 
-        if (this.getSockets().size() <= MAX_RENDERERS) {
+        if (this.getControllerCount() <= MAX_RENDERERS) {
             this.createController(conn);
         } else {
             conn.close(CloseFrame.REFUSE, "Maximum number of renderers reached");
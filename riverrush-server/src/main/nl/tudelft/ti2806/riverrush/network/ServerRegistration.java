@@ -0,0 +1,140 @@
+package nl.tudelft.ti2806.riverrush.network;
+
+import nl.tudelft.ti2806.riverrush.failfast.FailIf;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registers the backend with a {@link ServerRegistry} in the background, so the servers do not
+ * wait on the registry before they take connections.
+ * A failed attempt is tried again, with twice the delay every time, until it gives up.
+ */
+public final class ServerRegistration {
+
+    /**
+     * The attempts used by {@link #ServerRegistration(ServerRegistry, int)}.
+     */
+    public static final int DEFAULT_ATTEMPTS = 8;
+
+    /**
+     * The delay before the second attempt used by {@link #ServerRegistration(ServerRegistry, int)}.
+     */
+    public static final long DEFAULT_RETRY_MILLIS = 1000;
+
+    /**
+     * The longest delay between two attempts.
+     */
+    private static final long MAX_RETRY_MILLIS = 60000;
+
+    private static final Logger LOGGER = LogManager.getLogger(ServerRegistration.class);
+
+    private final ServerRegistry registry;
+    private final int port;
+    private final int attempts;
+    private final long retryMillis;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Only touched by the thread of the scheduler.
+     */
+    private int attempt;
+    private long delay;
+
+    /**
+     * Guarded by this.
+     */
+    private boolean registered;
+
+    /**
+     * Create a registration with {@link #DEFAULT_ATTEMPTS} and {@link #DEFAULT_RETRY_MILLIS}.
+     *
+     * @param aRegistry - The registry to register with.
+     * @param aPort     - The port the players connect to.
+     */
+    public ServerRegistration(final ServerRegistry aRegistry, final int aPort) {
+        this(aRegistry, aPort, DEFAULT_ATTEMPTS, DEFAULT_RETRY_MILLIS);
+    }
+
+    /**
+     * Create a registration, it does not start until {@link #start()} is called.
+     *
+     * @param aRegistry    - The registry to register with.
+     * @param aPort        - The port the players connect to.
+     * @param anAttempts   - The most attempts before giving up.
+     * @param aRetryMillis - The delay before the second attempt, in milliseconds.
+     */
+    public ServerRegistration(final ServerRegistry aRegistry, final int aPort, final int anAttempts,
+                              final long aRetryMillis) {
+        FailIf.isNull(aRegistry);
+        if (anAttempts <= 0) {
+            throw new IllegalArgumentException("Attempts should be positive, got: " + anAttempts);
+        }
+        if (aRetryMillis < 0) {
+            throw new IllegalArgumentException("Retry delay should not be negative, got: " + aRetryMillis);
+        }
+        this.registry = aRegistry;
+        this.port = aPort;
+        this.attempts = anAttempts;
+        this.retryMillis = aRetryMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+            Thread thread = new Thread(runnable, "server-registration");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Make the first attempt in the background, right away.
+     */
+    public void start() {
+        this.delay = this.retryMillis;
+        this.scheduler.execute(this::attempt);
+    }
+
+    /**
+     * Stop trying.
+     */
+    public void stop() {
+        this.scheduler.shutdownNow();
+    }
+
+    /**
+     * Register once, and plan the next attempt if that failed.
+     */
+    private void attempt() {
+        this.attempt++;
+        try {
+            this.registry.register(this.port);
+        } catch (IOException e) {
+            if (this.attempt >= this.attempts) {
+                LOGGER.error("Could not register port {} after {} attempts, giving up", this.port,
+                        this.attempt, e);
+                this.scheduler.shutdown();
+            } else {
+                LOGGER.warn("Could not register port {}, trying again in {} ms: {}", this.port,
+                        this.delay, e.getMessage());
+                this.scheduler.schedule(this::attempt, this.delay, TimeUnit.MILLISECONDS);
+                this.delay = Math.min(this.delay * 2, MAX_RETRY_MILLIS);
+            }
+            return;
+        }
+
+        LOGGER.info("Registered port {} after {} attempts", this.port, this.attempt);
+        synchronized (this) {
+            this.registered = true;
+        }
+        this.scheduler.shutdown();
+    }
+
+    /**
+     * @return True once the registry took the port.
+     */
+    public synchronized boolean isRegistered() {
+        return this.registered;
+    }
+}
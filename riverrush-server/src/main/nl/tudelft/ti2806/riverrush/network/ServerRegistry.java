@@ -0,0 +1,18 @@
+package nl.tudelft.ti2806.riverrush.network;
+
+import java.io.IOException;
+
+/**
+ * Where the players find the address of the backend.
+ */
+@FunctionalInterface
+public interface ServerRegistry {
+
+    /**
+     * Tell the registry that the backend takes players on a port of this host.
+     *
+     * @param port - The port the players connect to.
+     * @throws IOException when the registry can not be reached, registering may be tried again.
+     */
+    void register(int port) throws IOException;
+}
@@ -0,0 +1,18 @@
+package nl.tudelft.ti2806.riverrush.network;
+
+/**
+ * What a server does with a connection that stays behind on the events it is sent.
+ */
+public enum SlowClientPolicy {
+
+    /**
+     * Keep the connection, drop the least urgent of its events when its queue is full.
+     */
+    SHED,
+
+    /**
+     * Cut off the connection when its queue is full, or when it stays above the high watermark
+     * for too long.
+     */
+    DISCONNECT
+}
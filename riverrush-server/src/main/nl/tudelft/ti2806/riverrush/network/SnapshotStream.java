@@ -0,0 +1,174 @@
+package nl.tudelft.ti2806.riverrush.network;
+
+import nl.tudelft.ti2806.riverrush.domain.event.AbstractTeamAnimalEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalAddedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalDroppedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalFellOffEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalJumpedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalMovedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalRemovedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalReturnedToBoatEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.Direction;
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
+import nl.tudelft.ti2806.riverrush.domain.event.HandlerLambda;
+import nl.tudelft.ti2806.riverrush.domain.event.TeamProgressEvent;
+import nl.tudelft.ti2806.riverrush.failfast.FailIf;
+import nl.tudelft.ti2806.riverrush.network.event.WorldSnapshotEvent;
+import nl.tudelft.ti2806.riverrush.network.snapshot.SnapshotHistory;
+import nl.tudelft.ti2806.riverrush.network.snapshot.WorldSnapshot;
+import nl.tudelft.ti2806.riverrush.network.snapshot.WorldSnapshot.AnimalEntry;
+import nl.tudelft.ti2806.riverrush.network.snapshot.WorldSnapshot.Position;
+import nl.tudelft.ti2806.riverrush.network.snapshot.WorldSnapshot.TeamEntry;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Handler in front of the outbox of a renderer, that keeps track of the state of the world.
+ * Until the renderer asks for snapshots every event goes through. After that the events of
+ * the state are held back, and {@link #sendSnapshot()} sends what changed since the last snapshot
+ * the renderer acknowledged instead. The other events, such as animals joining, still go through,
+ * in order with the snapshots.
+ */
+public final class SnapshotStream implements HandlerLambda<Event> {
+
+    private final HandlerLambda<Event> outbox;
+    private final Map<Integer, TeamEntry> teams = new HashMap<>();
+    private final Map<Integer, AnimalEntry> animals = new HashMap<>();
+    private final SnapshotHistory sent = new SnapshotHistory(SnapshotHistory.DEFAULT_SIZE);
+    private WorldSnapshot lastSent;
+    private int sequence;
+    private int acknowledged = WorldSnapshotEvent.NO_BASELINE;
+    private boolean enabled;
+
+    /**
+     * Create a stream that lets every event through until the renderer asks for snapshots.
+     *
+     * @param anOutbox - The handler that sends to the renderer.
+     */
+    public SnapshotStream(final HandlerLambda<Event> anOutbox) {
+        FailIf.isNull(anOutbox);
+        this.outbox = anOutbox;
+    }
+
+    /**
+     * Track the state of the event, and send it unless a snapshot has it.
+     *
+     * @param event - The event for the renderer.
+     */
+    @Override
+    public synchronized void handle(final Event event) {
+        if (!this.track(event) || !this.enabled) {
+            this.outbox.handle(event);
+        }
+    }
+
+    /**
+     * Apply an event to the state of the world.
+     *
+     * @param event - The event.
+     * @return True if the event is part of the state in a snapshot.
+     */
+    private boolean track(final Event event) {
+        if (event instanceof TeamProgressEvent) {
+            TeamProgressEvent progress = (TeamProgressEvent) event;
+            this.teams.put(progress.getTeam(), new TeamEntry(progress.getProgress(), progress.getSpeed()));
+            return true;
+        }
+        if (event instanceof AnimalAddedEvent) {
+            AnimalAddedEvent added = (AnimalAddedEvent) event;
+            this.animals.put(added.getAnimal(), new AnimalEntry(added.getTeam(), Position.ON_BOAT,
+                    Direction.NEUTRAL));
+            return false;
+        }
+        if (event instanceof AnimalRemovedEvent) {
+            this.animals.remove(event.getAnimal());
+            return false;
+        }
+        if (event instanceof AnimalMovedEvent) {
+            AnimalMovedEvent moved = (AnimalMovedEvent) event;
+            this.animals.put(moved.getAnimal(), this.animalOf(moved).withVote(moved.getDirection()));
+            return true;
+        }
+        if (event instanceof AnimalJumpedEvent) {
+            return this.moveTo((AbstractTeamAnimalEvent) event, Position.IN_AIR);
+        }
+        if (event instanceof AnimalFellOffEvent) {
+            return this.moveTo((AbstractTeamAnimalEvent) event, Position.IN_WATER);
+        }
+        if (event instanceof AnimalDroppedEvent || event instanceof AnimalReturnedToBoatEvent) {
+            return this.moveTo((AbstractTeamAnimalEvent) event, Position.ON_BOAT);
+        }
+        return false;
+    }
+
+    /**
+     * @param event    - An event of an animal.
+     * @param position - Where the animal is now.
+     * @return True, the position is part of the state.
+     */
+    private boolean moveTo(final AbstractTeamAnimalEvent event, final Position position) {
+        this.animals.put(event.getAnimal(), this.animalOf(event).withPosition(position));
+        return true;
+    }
+
+    /**
+     * @param event - An event of an animal.
+     * @return The state of the animal, on the boat without a vote if it was not known yet.
+     */
+    private AnimalEntry animalOf(final AbstractTeamAnimalEvent event) {
+        AnimalEntry animal = this.animals.get(event.getAnimal());
+        if (animal == null) {
+            return new AnimalEntry(event.getTeam(), Position.ON_BOAT, Direction.NEUTRAL);
+        }
+        return animal;
+    }
+
+    /**
+     * The renderer applied a snapshot, the next deltas are written against it.
+     * The first acknowledgement asks for snapshots, {@link WorldSnapshotEvent#NO_BASELINE} gets
+     * the whole world in the next one.
+     *
+     * @param aSequence - The number of the snapshot.
+     */
+    public synchronized void acknowledge(final int aSequence) {
+        this.enabled = true;
+        if (aSequence == WorldSnapshotEvent.NO_BASELINE) {
+            this.acknowledged = aSequence;
+            this.lastSent = null;
+        } else if (aSequence > this.acknowledged && this.sent.get(aSequence) != null) {
+            this.acknowledged = aSequence;
+            this.sent.forgetBefore(aSequence);
+        }
+    }
+
+    /**
+     * Send what changed since the acknowledged snapshot, if anything changed since the last one.
+     * When the acknowledged snapshot is so old that it was forgotten, the whole world is sent.
+     */
+    public synchronized void sendSnapshot() {
+        if (!this.enabled) {
+            return;
+        }
+        WorldSnapshot current = new WorldSnapshot(this.teams, this.animals);
+        if (current.equals(this.lastSent)) {
+            return;
+        }
+        this.sequence++;
+        WorldSnapshot baseline = this.sent.get(this.acknowledged);
+        if (baseline == null) {
+            this.acknowledged = WorldSnapshotEvent.NO_BASELINE;
+            baseline = WorldSnapshot.EMPTY;
+        }
+        this.outbox.handle(current.delta(this.sequence, this.acknowledged, baseline));
+        this.sent.put(this.sequence, current);
+        this.lastSent = current;
+    }
+
+    /**
+     * @return True if the renderer asked for snapshots.
+     */
+    public synchronized boolean isEnabled() {
+        return this.enabled;
+    }
+}
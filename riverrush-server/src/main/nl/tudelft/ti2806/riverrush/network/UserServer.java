@@ -5,6 +5,16 @@ import com.google.inject.Provider;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
 import nl.tudelft.ti2806.riverrush.controller.Controller;
+import nl.tudelft.ti2806.riverrush.domain.event.AbstractAnimalEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AbstractTeamEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AddObstacleEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AddRockEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AsyncHandler;
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
+import nl.tudelft.ti2806.riverrush.domain.event.EventDispatcher;
+import nl.tudelft.ti2806.riverrush.domain.event.GameFinishedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.HandlerLambda;
+import nl.tudelft.ti2806.riverrush.domain.event.TeamProgressEvent;
 import nl.tudelft.ti2806.riverrush.failfast.FailIf;
 import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
 import org.apache.logging.log4j.LogManager;
@@ -15,6 +25,10 @@ import org.java_websocket.handshake.ClientHandshake;
 
 /**
  * The endpoint for the clients to connect.
+ * A player joins the group of its team, the events of a team are published to that group once
+ * instead of every controller checking whether they are meant for it.
+ * The events about the state of the game are broadcast to every player once, the same way.
+ * A phone that stays behind on its events is cut off, so it does not hold memory for everyone.
  */
 @Singleton
 public class UserServer extends AbstractServer {
@@ -27,11 +41,22 @@ public class UserServer extends AbstractServer {
      *
      * @param aProtocol          The protocol for the clients
      * @param controllerProvider The controller provider for creating the controllers
+     * @param dispatcher         The dispatcher of the team and game state events to publish
      */
     @Inject
     public UserServer(@Named("clientProtocol") final Protocol aProtocol,
-                      @Named("clientController") final Provider<Controller> controllerProvider) {
-        super(aProtocol, controllerProvider);
+                      @Named("clientController") final Provider<Controller> controllerProvider,
+                      final EventDispatcher dispatcher) {
+        super(aProtocol, controllerProvider, AsyncHandler.DEFAULT_CAPACITY, SlowClientPolicy.DISCONNECT,
+                DEFAULT_DECODERS);
+        final HandlerLambda<AbstractTeamEvent> publishToTeam = (e) -> this.publish(e.getTeam(), e);
+        dispatcher.attach(AddObstacleEvent.class, publishToTeam);
+        dispatcher.attach(AddRockEvent.class, publishToTeam);
+        dispatcher.attach(TeamProgressEvent.class, publishToTeam);
+
+        final HandlerLambda<Event> broadcast = this::broadcast;
+        dispatcher.attach(AbstractAnimalEvent.class, broadcast);
+        dispatcher.attach(GameFinishedEvent.class, broadcast);
     }
 
     @Override
@@ -39,7 +64,7 @@ public class UserServer extends AbstractServer {
         FailIf.isNull(conn);
         LOGGER.info("Connection opened");
 
-        if (this.getSockets().size() < MAX_CLIENTS) {
+        if (this.getControllerCount() < MAX_CLIENTS) {
             this.createController(conn);
         } else {
             conn.close(CloseFrame.REFUSE, "Maximum number of clients reached");
@@ -0,0 +1,110 @@
+package nl.tudelft.ti2806.riverrush.backend;
+
+import nl.tudelft.ti2806.riverrush.domain.event.BasicEventDispatcher;
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
+import nl.tudelft.ti2806.riverrush.domain.event.GameStartedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.JournalingEventDispatcher;
+import nl.tudelft.ti2806.riverrush.journal.EventJournal;
+import nl.tudelft.ti2806.riverrush.journal.JournalReader;
+import nl.tudelft.ti2806.riverrush.network.AbstractServer;
+import nl.tudelft.ti2806.riverrush.network.event.JoinTeamCommand;
+import nl.tudelft.ti2806.riverrush.network.event.JumpCommand;
+import nl.tudelft.ti2806.riverrush.network.protocol.CompactProtocol;
+import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
+import org.java_websocket.WebSocket;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for recording the events of a game and playing them back.
+ */
+public class JournalReplayerTest {
+
+    private Path file;
+    private Protocol protocol;
+    private AbstractServer userServer;
+    private AbstractServer renderServer;
+
+    /**
+     * The events fed to the user server, as it decodes them.
+     */
+    private List<Event> fed;
+
+    /**
+     * Create a protocol, the servers and a file to record to.
+     *
+     * @throws IOException when no temporary file can be made.
+     */
+    @Before
+    public void setUp() throws IOException {
+        this.file = Files.createTempFile("journal", ".rrj");
+        this.protocol = new CompactProtocol(0);
+        this.protocol.registerNetworkMessage(JumpCommand.class);
+        this.protocol.registerNetworkMessage(JoinTeamCommand.class);
+        this.protocol.registerNetworkMessage(GameStartedEvent.class);
+
+        this.fed = new ArrayList<>();
+        this.userServer = mock(AbstractServer.class);
+        this.renderServer = mock(AbstractServer.class);
+        doAnswer(invocation -> {
+            this.fed.addAll(this.protocol.decodeBatch((ByteBuffer) invocation.getArguments()[1]));
+            return null;
+        }).when(this.userServer).onMessage(any(WebSocket.class), any(ByteBuffer.class));
+    }
+
+    /**
+     * Remove the file.
+     *
+     * @throws IOException when the file can not be removed.
+     */
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.file);
+    }
+
+    /**
+     * The commands dispatched while recording are fed to the user server again, in order and
+     * over one connection per player. The events the game made itself are not fed.
+     *
+     * @throws IOException when the journal can not be written or read.
+     */
+    @Test
+    public void recordThenReplay() throws IOException {
+        JoinTeamCommand join = new JoinTeamCommand(1).withAnimal(4);
+        JumpCommand jump = new JumpCommand().withAnimal(4);
+
+        JournalingEventDispatcher recording = new JournalingEventDispatcher(new BasicEventDispatcher(),
+                new EventJournal(this.file, this.protocol));
+        recording.dispatch(join);
+        recording.dispatch(new GameStartedEvent());
+        recording.dispatch(jump);
+        recording.close();
+
+        new JournalReplayer(this.userServer, this.renderServer, this.protocol, this.protocol)
+                .replay(new JournalReader(this.file), Double.POSITIVE_INFINITY);
+
+        assertEquals(2, this.fed.size());
+        assertTrue(this.fed.get(0) instanceof JoinTeamCommand);
+        assertEquals(1, ((JoinTeamCommand) this.fed.get(0)).getTeam());
+        assertTrue(this.fed.get(1) instanceof JumpCommand);
+        verify(this.userServer, times(1)).onOpen(any(WebSocket.class), any());
+        verify(this.renderServer, never()).onMessage(any(WebSocket.class), any(String.class));
+    }
+}
@@ -1,6 +1,7 @@
 package nl.tudelft.ti2806.riverrush.controller;
 
 import nl.tudelft.ti2806.riverrush.domain.event.EventDispatcher;
+import nl.tudelft.ti2806.riverrush.domain.event.Subscription;
 import nl.tudelft.ti2806.riverrush.network.AbstractServer;
 import org.junit.Before;
 import org.junit.Test;
@@ -45,7 +46,7 @@ public abstract class ControllerTest {
     /**
      * Initialize the test.
      * When a controller attaches an event handler, this event class is added to a list.
-     * When a controller detaches a handler, the event class is removed from the list.
+     * When a controller detaches a handler or its subscription, the event class is removed from the list.
      */
     @Before
     public void setup() {
@@ -57,7 +58,7 @@ public abstract class ControllerTest {
                 invocation -> {
                     Class<?> eventClass = (Class<?>) invocation.getArguments()[0];
                     unRemovedHandlers.add(eventClass);
-                    return null;
+                    return (Subscription) () -> unRemovedHandlers.remove(eventClass);
                 }).when(dispatcherMock).attach(any(), any());
 
         Mockito.doAnswer(
@@ -66,6 +67,20 @@ public abstract class ControllerTest {
                     unRemovedHandlers.remove(eventClass);
                     return null;
                 }).when(dispatcherMock).detach(any(), any());
+
+        Mockito.doAnswer(
+                invocation -> {
+                    Class<?> eventClass = (Class<?>) invocation.getArguments()[0];
+                    unRemovedHandlers.add(eventClass);
+                    return (Subscription) () -> unRemovedHandlers.remove(eventClass);
+                }).when(dispatcherMock).attach(any(), any(), any());
+
+        Mockito.doAnswer(
+                invocation -> {
+                    Class<?> eventClass = (Class<?>) invocation.getArguments()[0];
+                    unRemovedHandlers.remove(eventClass);
+                    return null;
+                }).when(dispatcherMock).detach(any(), any(), any());
     }
 
     /**
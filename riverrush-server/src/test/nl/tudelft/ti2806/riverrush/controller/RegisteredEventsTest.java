@@ -16,7 +16,7 @@ import static org.mockito.Matchers.any;
 
 /**
  * Parameterized test hierarchy.
- * Tests whether controllers register the right events.
+ * Tests whether controllers, or the servers that publish events for them, register the right events.
  */
 public abstract class RegisteredEventsTest {
 
@@ -49,6 +49,13 @@ public abstract class RegisteredEventsTest {
                     registeredHandlers.add(eventClass);
                     return null;
                 }).when(dispatcherMock).attach(any(), any());
+
+        Mockito.doAnswer(
+                invocation -> {
+                    Class<?> eventClass = (Class<?>) invocation.getArguments()[0];
+                    registeredHandlers.add(eventClass);
+                    return null;
+                }).when(dispatcherMock).attach(any(), any(), any());
     }
 
     /**
@@ -61,12 +68,21 @@ public abstract class RegisteredEventsTest {
     }
 
     /**
-     * UserController should attach handlers for at least
+     * Attaches the handlers under test to the dispatcher mock.
+     * By default the controller initializes.
+     */
+    protected void register() {
+        this.controller.initialize();
+    }
+
+    /**
+     * Handlers should be attached for at least
      * some events to notify the player of game state changes.
+     * A handler attached to a supertype of the event also gets it.
      */
     @Test
     public void initialize_shouldRegisterStateEvents() {
-        controller.initialize();
-        assertTrue(registeredHandlers.contains(this.mustRegister));
+        this.register();
+        assertTrue(registeredHandlers.stream().anyMatch((type) -> type.isAssignableFrom(this.mustRegister)));
     }
 }
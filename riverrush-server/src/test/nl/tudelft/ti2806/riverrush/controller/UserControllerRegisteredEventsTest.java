@@ -2,11 +2,6 @@ package nl.tudelft.ti2806.riverrush.controller;
 
 import nl.tudelft.ti2806.riverrush.domain.event.AnimalFellOffEvent;
 import nl.tudelft.ti2806.riverrush.domain.event.AnimalJumpedEvent;
-import nl.tudelft.ti2806.riverrush.domain.event.GameAboutToStartEvent;
-import nl.tudelft.ti2806.riverrush.domain.event.GameFinishedEvent;
-import nl.tudelft.ti2806.riverrush.domain.event.GameStartedEvent;
-import nl.tudelft.ti2806.riverrush.domain.event.GameStoppedEvent;
-import nl.tudelft.ti2806.riverrush.domain.event.GameWaitingEvent;
 import nl.tudelft.ti2806.riverrush.game.Game;
 import nl.tudelft.ti2806.riverrush.network.UserServer;
 import org.junit.runner.RunWith;
@@ -30,22 +25,17 @@ public class UserControllerRegisteredEventsTest extends RegisteredEventsTest {
 
     /**
      * UserController should attach handlers for at least
-     * these events to notify the player of game state changes.
+     * these events to notify the player of what happens to its animal.
+     * The game state events are broadcast by the server, see UserServerRegisteredEventsTest.
      *
      * @return The collection of events that have to be registered.
      */
     @Parameters(name = "{0}")
     public static Collection<Class<?>> parameters() {
         Collection<Class<?>> events = new ArrayList<>();
-        events.add(GameStartedEvent.class);
-        events.add(GameStoppedEvent.class);
-        events.add(GameFinishedEvent.class);
-        events.add(GameWaitingEvent.class);
-        events.add(GameAboutToStartEvent.class);
         events.add(AnimalJumpedEvent.class);
         events.add(AnimalFellOffEvent.class);
         return events;
-
     }
 
     @Override
@@ -1,17 +1,55 @@
 package nl.tudelft.ti2806.riverrush.controller;
 
+import nl.tudelft.ti2806.riverrush.domain.event.AbstractTeamAnimalEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalCollidedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
+import nl.tudelft.ti2806.riverrush.domain.event.GameWaitingEvent;
 import nl.tudelft.ti2806.riverrush.game.Game;
+import org.junit.Test;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Conctrete test class for UserController.
  */
 public class UserControllerTest extends ControllerTest {
 
+    private Game gameMock;
+
     @Override
     public void setup() {
         super.setup();
-        controller = new UserController(this.dispatcherMock, this.serverMock, mock(Game.class));
+        this.gameMock = mock(Game.class);
+        controller = new UserController(this.dispatcherMock, this.serverMock, this.gameMock);
+    }
+
+    /**
+     * The state of the game goes to a new player through its outbox,
+     * not straight over the socket from the thread that opened it.
+     */
+    @Test
+    public void initializeQueuesState() {
+        Event state = new GameWaitingEvent();
+        when(this.gameMock.getStateEvent()).thenReturn(state);
+        controller.initialize();
+
+        verify(this.serverMock).queueEvent(state, controller);
+        verify(this.serverMock, never()).sendEvent(any(), any());
+    }
+
+    /**
+     * A collision of the animal is not forwarded to the phone, so it is not listened to.
+     */
+    @Test
+    public void initializeLeavesOutCollisions() {
+        controller.initialize();
+
+        verify(this.dispatcherMock, never()).attach(eq(AnimalCollidedEvent.class), any(), any());
+        verify(this.dispatcherMock, never()).attach(eq(AbstractTeamAnimalEvent.class), any(), any());
     }
 }
@@ -59,8 +59,8 @@ public class AnimalInAirTest {
         AnimalState newState = animalState.drop();
         ArgumentCaptor<AnimalDroppedEvent> argument = ArgumentCaptor.forClass(AnimalDroppedEvent.class);
         verify(dispatcher).dispatch(argument.capture());
-        assertEquals(new Integer(1), argument.getValue().getAnimal());
-        assertEquals(new Integer(1), argument.getValue().getTeam());
+        assertEquals(1, argument.getValue().getAnimal());
+        assertEquals(1, argument.getValue().getTeam());
         assertTrue(newState instanceof AnimalOnBoat);
     }
 
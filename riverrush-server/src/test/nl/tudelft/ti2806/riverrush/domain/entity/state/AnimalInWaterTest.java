@@ -72,8 +72,8 @@ public class AnimalInWaterTest extends TestCase {
         AnimalState newState = animalState.returnToBoat();
         ArgumentCaptor<AnimalReturnedToBoatEvent> argument = ArgumentCaptor.forClass(AnimalReturnedToBoatEvent.class);
         verify(dispatcher).dispatch(argument.capture());
-        assertEquals(new Integer(1), argument.getValue().getAnimal());
-        assertEquals(new Integer(1), argument.getValue().getTeam());
+        assertEquals(1, argument.getValue().getAnimal());
+        assertEquals(1, argument.getValue().getTeam());
         assertTrue(newState instanceof AnimalOnBoat);
     }
 
@@ -52,8 +52,8 @@ public class AnimalOnBoatTest extends TestCase {
         AnimalState newState = animalState.jump();
         ArgumentCaptor<AnimalJumpedEvent> argument = ArgumentCaptor.forClass(AnimalJumpedEvent.class);
         verify(dispatcher).dispatch(argument.capture());
-        assertEquals(new Integer(1), argument.getValue().getAnimal());
-        assertEquals(new Integer(1), argument.getValue().getTeam());
+        assertEquals(1, argument.getValue().getAnimal());
+        assertEquals(1, argument.getValue().getTeam());
         assertTrue(newState instanceof AnimalInAir);
     }
 
@@ -69,8 +69,8 @@ public class AnimalOnBoatTest extends TestCase {
         AnimalState newState = animalState.fall();
         ArgumentCaptor<AnimalFellOffEvent> argument = ArgumentCaptor.forClass(AnimalFellOffEvent.class);
         verify(dispatcher).dispatch(argument.capture());
-        assertEquals(new Integer(1), argument.getValue().getAnimal());
-        assertEquals(new Integer(1), argument.getValue().getTeam());
+        assertEquals(1, argument.getValue().getAnimal());
+        assertEquals(1, argument.getValue().getTeam());
         assertTrue(newState instanceof AnimalInWater);
     }
 
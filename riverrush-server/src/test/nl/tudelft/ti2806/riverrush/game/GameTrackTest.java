@@ -7,10 +7,12 @@ import nl.tudelft.ti2806.riverrush.domain.entity.AbstractAnimal;
 import nl.tudelft.ti2806.riverrush.domain.entity.Animal;
 import nl.tudelft.ti2806.riverrush.domain.entity.Team;
 import nl.tudelft.ti2806.riverrush.domain.event.AbstractTeamEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
 import nl.tudelft.ti2806.riverrush.domain.event.EventDispatcher;
 import nl.tudelft.ti2806.riverrush.domain.event.TeamProgressEvent;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
@@ -20,7 +22,9 @@ import java.util.Collection;
 import java.util.TreeMap;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -55,15 +59,20 @@ public class GameTrackTest extends AbstractModule {
     private static final double DELTA = 0.0001;
     private Team team;
 
+    /**
+     * The events of the level the track fires.
+     */
+    private TreeMap<Double, AbstractTeamEvent> levelMap;
+
     @Before
     public void setUp() throws Exception {
         MockitoAnnotations.initMocks(this);
 
-        TreeMap<Double, AbstractTeamEvent> levelMap = LevelMapParser.readFromFile("/simpletrack.txt");
+        this.levelMap = LevelMapParser.readFromFile("/simpletrack.txt");
 
         Injector injector = Guice.createInjector(this);
 
-        this.track = new GameTrack(this.dispatcher, injector.getProvider(Game.class), levelMap);
+        this.track = new GameTrack(this.dispatcher, injector.getProvider(Game.class), this.levelMap);
 
         this.team = new Team();
         this.track.addTeam(this.team);
@@ -187,6 +196,24 @@ public class GameTrackTest extends AbstractModule {
                 Mockito.isA(AbstractTeamEvent.class));
     }
 
+    /**
+     * Each team gets a copy of the events of the level, which stay as they are.
+     */
+    @Test
+    public void testLevelEventsLeftAsTheyAre() throws Exception {
+        this.track.fireGameTrackEvents(this.team, CURRENT_DISTANCE);
+
+        ArgumentCaptor<AbstractTeamEvent> dispatched = ArgumentCaptor.forClass(AbstractTeamEvent.class);
+        verify(this.dispatcher, atLeastOnce()).dispatch(dispatched.capture());
+        for (AbstractTeamEvent event : dispatched.getAllValues()) {
+            assertEquals(this.team.getId(), event.getTeam());
+            assertFalse(this.levelMap.containsValue(event));
+        }
+        for (AbstractTeamEvent event : this.levelMap.values()) {
+            assertEquals(Event.BROADCAST, event.getTeam());
+        }
+    }
+
     @Test
     public void testGetTeams() throws Exception {
         Collection<Team> teams = this.track.getTeams();
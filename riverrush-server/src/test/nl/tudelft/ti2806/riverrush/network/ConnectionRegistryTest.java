@@ -0,0 +1,68 @@
+package nl.tudelft.ti2806.riverrush.network;
+
+import nl.tudelft.ti2806.riverrush.controller.Controller;
+import org.java_websocket.WebSocket;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link ConnectionRegistry}.
+ */
+public class ConnectionRegistryTest {
+
+    /**
+     * Class under test.
+     */
+    private ConnectionRegistry registry;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        this.registry = new ConnectionRegistry();
+    }
+
+    /**
+     * A socket keeps its connection, a new socket gets its own.
+     */
+    @Test
+    public void registerOnce() {
+        WebSocket first = mock(WebSocket.class);
+        ConnectionRegistry.Connection connection = this.registry.register(first);
+
+        assertSame(connection, this.registry.register(first));
+        assertSame(first, connection.getSocket());
+        assertNotSame(connection, this.registry.register(mock(WebSocket.class)));
+        assertEquals(2, this.registry.getConnectionCount());
+        assertEquals(0, this.registry.getControllerCount());
+    }
+
+    /**
+     * Releasing a socket forgets its connection and its controller.
+     */
+    @Test
+    public void releaseForgets() {
+        WebSocket socket = mock(WebSocket.class);
+        Controller controller = mock(Controller.class);
+        ConnectionRegistry.Connection connection = this.registry.register(socket);
+        this.registry.attach(connection, controller);
+        this.registry.register(mock(WebSocket.class));
+
+        assertSame(connection, this.registry.of(socket));
+        assertSame(connection, this.registry.of(controller));
+        assertSame(controller, connection.getController());
+        assertSame(connection, this.registry.release(socket));
+        assertNull(this.registry.of(socket));
+        assertNull(this.registry.of(controller));
+        assertNull(this.registry.release(socket));
+        assertEquals(0, this.registry.getControllerCount());
+        assertEquals(1, this.registry.getConnectionCount());
+    }
+}
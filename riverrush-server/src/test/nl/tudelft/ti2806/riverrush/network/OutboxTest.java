@@ -0,0 +1,250 @@
+package nl.tudelft.ti2806.riverrush.network;
+
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalJumpedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalMovedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalRemovedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.Direction;
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
+import nl.tudelft.ti2806.riverrush.domain.event.TeamProgressEvent;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link Outbox}.
+ */
+public class OutboxTest {
+
+    private static final int CAPACITY = 8;
+
+    private static final long TIMEOUT_MILLIS = 1000;
+
+    /**
+     * The send tasks, only run when a test runs them.
+     * A paused outbox adds its task from another thread.
+     */
+    private Queue<Runnable> tasks;
+
+    /**
+     * The events that were sent.
+     */
+    private List<Event> sent;
+
+    private AtomicInteger cutOffs;
+
+    /**
+     * Whether the socket wrote out everything it was sent.
+     */
+    private AtomicBoolean writable;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        this.tasks = new ConcurrentLinkedQueue<>();
+        this.sent = new ArrayList<>();
+        this.cutOffs = new AtomicInteger();
+        this.writable = new AtomicBoolean(true);
+    }
+
+    /**
+     * @param policy          - What to do with a connection that stays behind.
+     * @param maxBehindMillis - How long it may stay behind.
+     * @return An outbox that only sends when {@link #runTasks()} is called.
+     */
+    private Outbox create(final SlowClientPolicy policy, final long maxBehindMillis) {
+        return new Outbox(this.sent::addAll, this.writable::get, CAPACITY, policy, maxBehindMillis,
+                this.cutOffs::incrementAndGet, this.tasks::add);
+    }
+
+    /**
+     * Run the queued send tasks.
+     */
+    private void runTasks() {
+        while (!this.tasks.isEmpty()) {
+            this.tasks.poll().run();
+        }
+    }
+
+    /**
+     * Run the send tasks until the expected amount of events was sent.
+     *
+     * @param expected - The amount of events.
+     * @throws InterruptedException When the test is interrupted.
+     */
+    private void awaitSent(final int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+        while (this.sent.size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+            this.runTasks();
+        }
+    }
+
+    /**
+     * @param team     - The team.
+     * @param progress - How far it is.
+     * @return The progress of the team.
+     */
+    private static Event progress(final int team, final double progress) {
+        return new TeamProgressEvent(team, progress, 0.0);
+    }
+
+    /**
+     * @param animal - The animal that jumped.
+     * @return The jump of the animal.
+     */
+    private static Event jumped(final int animal) {
+        return new AnimalJumpedEvent(animal, Event.BROADCAST);
+    }
+
+    /**
+     * @param animal    - The animal that moved.
+     * @param direction - Where it moved.
+     * @return The move of the animal.
+     */
+    private static Event moved(final int animal, final Direction direction) {
+        return new AnimalMovedEvent(animal, Event.BROADCAST, direction);
+    }
+
+    /**
+     * Only the latest progress of a team waits, the other events are all sent.
+     */
+    @Test
+    public void latestProgress() {
+        Outbox outbox = this.create(SlowClientPolicy.DISCONNECT, Outbox.MAX_BEHIND_MILLIS);
+        Event latest = progress(0, 2);
+        outbox.handle(progress(0, 1));
+        outbox.handle(progress(1, 1));
+        outbox.handle(jumped(1));
+        outbox.handle(jumped(1));
+        outbox.handle(latest);
+        this.runTasks();
+
+        assertEquals(4, this.sent.size());
+        assertTrue(this.sent.contains(latest));
+        assertEquals(1, outbox.getCoalescedCount());
+    }
+
+    /**
+     * Only the latest move of an animal is sent, before the removal that followed it.
+     */
+    @Test
+    public void latestMoveBeforeRemoval() {
+        Outbox outbox = this.create(SlowClientPolicy.DISCONNECT, Outbox.MAX_BEHIND_MILLIS);
+        Event latest = moved(1, Direction.RIGHT);
+        Event removed = new AnimalRemovedEvent(1, Event.BROADCAST);
+        outbox.handle(moved(1, Direction.LEFT));
+        outbox.handle(latest);
+        outbox.handle(removed);
+        this.runTasks();
+
+        assertEquals(2, this.sent.size());
+        assertEquals(latest, this.sent.get(0));
+        assertEquals(removed, this.sent.get(1));
+    }
+
+    /**
+     * A queue over the high watermark is behind until it drains to the low one.
+     */
+    @Test
+    public void watermarks() {
+        Outbox outbox = this.create(SlowClientPolicy.SHED, 0);
+        for (int i = 0; i < CAPACITY; i++) {
+            outbox.handle(jumped(i));
+        }
+        assertTrue(outbox.isBehind());
+
+        this.runTasks();
+        outbox.handle(jumped(0));
+        assertFalse(outbox.isBehind());
+        assertEquals(1, outbox.getBehindCount());
+        assertEquals(CAPACITY, outbox.getPeakDepth());
+        assertEquals(0, this.cutOffs.get());
+    }
+
+    /**
+     * A connection that stays behind too long is cut off once.
+     */
+    @Test
+    public void disconnectWhenBehind() {
+        Outbox outbox = this.create(SlowClientPolicy.DISCONNECT, 0);
+        for (int i = 0; i < CAPACITY; i++) {
+            outbox.handle(jumped(i));
+        }
+        this.runTasks();
+
+        assertTrue(outbox.isClosed());
+        assertEquals(1, this.cutOffs.get());
+        assertTrue(this.sent.isEmpty());
+    }
+
+    /**
+     * A connection that sheds keeps its latest events when its queue is full.
+     */
+    @Test
+    public void shedWhenFull() {
+        Outbox outbox = this.create(SlowClientPolicy.SHED, 0);
+        for (int i = 0; i <= CAPACITY; i++) {
+            outbox.handle(jumped(i));
+        }
+        this.runTasks();
+
+        assertFalse(outbox.isClosed());
+        assertEquals(CAPACITY, this.sent.size());
+        assertEquals(CAPACITY, this.sent.get(CAPACITY - 1).getAnimal());
+    }
+
+    /**
+     * The events wait in the outbox while the socket still has data to write,
+     * and go out once it wrote it.
+     *
+     * @throws InterruptedException When the test is interrupted.
+     */
+    @Test
+    public void waitWhileSocketIsFull() throws InterruptedException {
+        Outbox outbox = this.create(SlowClientPolicy.SHED, 0);
+        this.writable.set(false);
+        for (int i = 0; i < CAPACITY; i++) {
+            outbox.handle(jumped(i));
+            this.runTasks();
+        }
+
+        assertTrue(this.sent.isEmpty());
+        assertTrue(outbox.isBehind());
+        assertEquals(CAPACITY, outbox.getPeakDepth());
+
+        this.writable.set(true);
+        this.awaitSent(CAPACITY);
+        assertEquals(CAPACITY, this.sent.size());
+        outbox.close();
+    }
+
+    /**
+     * A socket that does not write out what it was sent is cut off, even though it takes every frame.
+     */
+    @Test
+    public void disconnectWhenSocketStaysFull() {
+        Outbox outbox = this.create(SlowClientPolicy.DISCONNECT, 0);
+        this.writable.set(false);
+        for (int i = 0; i < CAPACITY; i++) {
+            outbox.handle(jumped(i));
+            this.runTasks();
+        }
+
+        assertTrue(outbox.isClosed());
+        assertEquals(1, this.cutOffs.get());
+        assertTrue(this.sent.isEmpty());
+    }
+}
@@ -0,0 +1,133 @@
+package nl.tudelft.ti2806.riverrush.network;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link ServerRegistration} and the file registry.
+ */
+public class ServerRegistrationTest {
+
+    private static final int PORT = 41337;
+    private static final int ATTEMPTS = 3;
+    private static final long RETRY_MILLIS = 1;
+    private static final long TIMEOUT_SECONDS = 5;
+
+    /**
+     * The attempts the registry got.
+     */
+    private AtomicInteger attempts;
+
+    /**
+     * Counted down on every attempt.
+     */
+    private CountDownLatch attempted;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        this.attempts = new AtomicInteger();
+        this.attempted = new CountDownLatch(ATTEMPTS);
+    }
+
+    /**
+     * @param failures - The amount of attempts that fail.
+     * @return A registry in this process that fails the first attempts.
+     */
+    private ServerRegistry failing(final int failures) {
+        return (port) -> {
+            int attempt = this.attempts.incrementAndGet();
+            this.attempted.countDown();
+            if (attempt <= failures) {
+                throw new IOException("Lobby is down");
+            }
+        };
+    }
+
+    /**
+     * Starting returns before the registry is reached.
+     */
+    @Test
+    public void startDoesNotWait() {
+        CountDownLatch release = new CountDownLatch(1);
+        ServerRegistration registration = new ServerRegistration((port) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, PORT);
+        registration.start();
+
+        assertFalse(registration.isRegistered());
+        release.countDown();
+    }
+
+    /**
+     * A failed attempt is tried again until it succeeds.
+     *
+     * @throws InterruptedException when the test is interrupted.
+     */
+    @Test
+    public void retries() throws InterruptedException {
+        ServerRegistration registration = new ServerRegistration(this.failing(ATTEMPTS - 1), PORT,
+                ATTEMPTS, RETRY_MILLIS);
+        registration.start();
+
+        assertTrue(this.attempted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        for (int i = 0; i < TIMEOUT_SECONDS * 100 && !registration.isRegistered(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(registration.isRegistered());
+    }
+
+    /**
+     * Registration gives up after the last attempt.
+     *
+     * @throws InterruptedException when the test is interrupted.
+     */
+    @Test
+    public void givesUp() throws InterruptedException {
+        ServerRegistration registration = new ServerRegistration(this.failing(ATTEMPTS + 1), PORT,
+                ATTEMPTS, RETRY_MILLIS);
+        registration.start();
+
+        assertTrue(this.attempted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Thread.sleep(RETRY_MILLIS * 100);
+        assertEquals(ATTEMPTS, this.attempts.get());
+        assertFalse(registration.isRegistered());
+    }
+
+    /**
+     * The file registry writes the host and the port on one line.
+     *
+     * @throws IOException when the file can not be used.
+     */
+    @Test
+    public void file() throws IOException {
+        Path file = Files.createTempFile("registry", ".txt");
+        try {
+            new FileServerRegistry(file).register(PORT);
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            assertEquals(1, lines.size());
+            assertTrue(lines.get(0).endsWith(":" + PORT));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -7,19 +7,31 @@ import com.google.inject.Provider;
 import nl.tudelft.ti2806.riverrush.controller.Controller;
 import nl.tudelft.ti2806.riverrush.domain.event.Event;
 import nl.tudelft.ti2806.riverrush.domain.event.EventDispatcher;
+import nl.tudelft.ti2806.riverrush.domain.event.GameStartedEvent;
+import nl.tudelft.ti2806.riverrush.network.protocol.BufferPool;
+import nl.tudelft.ti2806.riverrush.network.protocol.CompactProtocol;
 import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
 import org.java_websocket.WebSocket;
+import org.java_websocket.exceptions.InvalidDataException;
+import org.java_websocket.handshake.ClientHandshake;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -28,6 +40,11 @@ import static org.mockito.Mockito.when;
  */
 public abstract class ServerTest extends AbstractModule {
 
+    /**
+     * How long to wait for an event to leave the queue of a connection.
+     */
+    private static final long TIMEOUT_MILLIS = 1000;
+
     /**
      * Placeholder socket for server calls.
      */
@@ -162,6 +179,211 @@ public abstract class ServerTest extends AbstractModule {
         verify(this.protocolMock).serialize(eventMock);
     }
 
+    /**
+     * When the same event is sent to several controllers,
+     * it is serialized once and every socket gets the same text.
+     */
+    @Test
+    public void sendEvent_serializesOnce() {
+        WebSocket other = mock(WebSocket.class);
+        this.server.onOpen(this.webSocketMock, null);
+        this.server.onOpen(other, null);
+
+        Event event = new GameStartedEvent();
+        when(this.protocolMock.serialize(event))
+                .thenReturn("serialized-event");
+
+        this.server.sendEvent(event, this.controllerMocks.get(0));
+        this.server.sendEvent(event, this.controllerMocks.get(1));
+        verify(this.protocolMock, times(1)).serialize(event);
+        verify(this.webSocketMock).send("serialized-event");
+        verify(other).send("serialized-event");
+    }
+
+    /**
+     * When a controller sends several events at once,
+     * and its socket agreed on binary frames in the handshake,
+     * the socket gets one frame with the frames of all events.
+     *
+     * @throws InvalidDataException when the handshake is refused.
+     */
+    @Test
+    public void sendEvents_binaryInOneFrame() throws InvalidDataException {
+        Event first = mock(Event.class);
+        Event second = mock(Event.class);
+        this.encodeAs(first, new byte[]{1});
+        this.encodeAs(second, new byte[]{2});
+        this.openBinary();
+
+        this.server.sendEvents(Arrays.asList(first, second), this.controllerMocks.get(0));
+        verify(this.webSocketMock, times(1)).send(any(ByteBuffer.class));
+        verify(this.webSocketMock).send(ByteBuffer.wrap(new byte[]{1, 2}));
+    }
+
+    /**
+     * When the binary frames of a batch do not fit in a buffer of the pool,
+     * they are sent in several frames, in order, without a larger buffer.
+     *
+     * @throws InvalidDataException when the handshake is refused.
+     */
+    @Test
+    public void sendEvents_binarySplitAcrossBuffers() throws InvalidDataException {
+        Event first = mock(Event.class);
+        Event second = mock(Event.class);
+        byte[] full = new byte[BufferPool.DEFAULT_BUFFER_SIZE];
+        this.encodeAs(first, full);
+        this.encodeAs(second, new byte[]{2});
+        this.openBinary();
+        List<ByteBuffer> sent = this.recordFrames();
+
+        this.server.sendEvents(Arrays.asList(first, second), this.controllerMocks.get(0));
+        assertEquals(Arrays.asList(ByteBuffer.wrap(full), ByteBuffer.wrap(new byte[]{2})), sent);
+        verify(this.protocolMock, never()).encode(any(Event.class));
+    }
+
+    /**
+     * An event that is larger than a buffer of the pool on its own is encoded by the protocol
+     * and sent in a frame of its own, between the frames of the events around it.
+     *
+     * @throws InvalidDataException when the handshake is refused.
+     */
+    @Test
+    public void sendEvents_binaryEventLargerThanBuffer() throws InvalidDataException {
+        Event first = mock(Event.class);
+        Event large = mock(Event.class);
+        Event last = mock(Event.class);
+        byte[] frame = new byte[BufferPool.DEFAULT_BUFFER_SIZE + 1];
+        this.encodeAs(first, new byte[]{1});
+        this.encodeAs(large, frame);
+        this.encodeAs(last, new byte[]{3});
+        when(this.protocolMock.encode(large)).thenReturn(ByteBuffer.wrap(frame));
+        this.openBinary();
+        List<ByteBuffer> sent = this.recordFrames();
+
+        this.server.sendEvents(Arrays.asList(first, large, last), this.controllerMocks.get(0));
+        assertEquals(Arrays.asList(ByteBuffer.wrap(new byte[]{1}), ByteBuffer.wrap(frame),
+                ByteBuffer.wrap(new byte[]{3})), sent);
+    }
+
+    /**
+     * Keep a copy of every binary frame sent over the socket, as the buffer is reused after.
+     *
+     * @return The frames sent, in order.
+     */
+    private List<ByteBuffer> recordFrames() {
+        List<ByteBuffer> sent = new ArrayList<>();
+        doAnswer(invocation -> {
+            ByteBuffer frame = ((ByteBuffer) invocation.getArguments()[0]).duplicate();
+            ByteBuffer copy = ByteBuffer.allocate(frame.remaining());
+            copy.put(frame).flip();
+            sent.add(copy);
+            return null;
+        }).when(this.webSocketMock).send(any(ByteBuffer.class));
+        return sent;
+    }
+
+    /**
+     * Let the protocol write fixed bytes for an event.
+     *
+     * @param event - The event.
+     * @param frame - The bytes of its binary frame.
+     */
+    private void encodeAs(final Event event, final byte[] frame) {
+        when(this.protocolMock.isBinarySupported()).thenReturn(true);
+        doAnswer(invocation -> {
+            ((ByteBuffer) invocation.getArguments()[1]).put(frame);
+            return null;
+        }).when(this.protocolMock).encode(eq(event), any(ByteBuffer.class));
+    }
+
+    /**
+     * Open the socket after it agreed on binary frames.
+     *
+     * @throws InvalidDataException when the handshake is refused.
+     */
+    private void openBinary() throws InvalidDataException {
+        ClientHandshake handshake = mock(ClientHandshake.class);
+        when(handshake.getFieldValue(CompactProtocol.HANDSHAKE_FIELD)).thenReturn(CompactProtocol.BINARY);
+        this.server.onWebsocketHandshakeReceivedAsServer(this.webSocketMock, null, handshake);
+        this.server.onOpen(this.webSocketMock, null);
+    }
+
+    /**
+     * When a controller sends several events at once,
+     * and its socket did not agree on binary frames,
+     * the socket gets one text frame per event.
+     */
+    @Test
+    public void sendEvents_textPerEvent() {
+        this.server.onOpen(this.webSocketMock, null);
+
+        Event eventMock = mock(Event.class);
+        when(eventMock.serialize(any()))
+                .thenReturn("serialized-event");
+
+        this.server.sendEvents(Arrays.asList(eventMock, eventMock), this.controllerMocks.get(0));
+        verify(this.webSocketMock, times(2)).send("serialized-event");
+    }
+
+    /**
+     * When a binary frame with several events is received,
+     * every event goes to the controller of the connection.
+     */
+    @Test
+    public void onMessage_binaryBatch() {
+        ByteBuffer frame = ByteBuffer.wrap(new byte[]{1, 2});
+        when(this.protocolMock.decodeBatch(frame))
+                .thenReturn(Arrays.asList(mock(Event.class), mock(Event.class)));
+
+        this.server.onOpen(this.webSocketMock, null);
+        this.server.onMessage(this.webSocketMock, frame);
+        verify(this.controllerMocks.get(0), times(2)).onSocketMessage(any(Event.class));
+    }
+
+    /**
+     * When an event is published to a group,
+     * only the sockets in it get the event, from their queues,
+     * and a socket that closed is no longer in it.
+     */
+    @Test
+    public void publish_sendsToMembers() {
+        WebSocket closed = mock(WebSocket.class);
+        this.server.onOpen(this.webSocketMock, null);
+        this.server.onOpen(closed, null);
+        this.server.joinGroup(1, this.controllerMocks.get(0));
+        this.server.joinGroup(1, this.controllerMocks.get(1));
+        this.server.onClose(closed, 0, "", true);
+
+        Event eventMock = mock(Event.class);
+        when(eventMock.serialize(any()))
+                .thenReturn("serialized-event");
+
+        this.server.publish(1, eventMock);
+        this.server.publish(2, eventMock);
+        verify(this.webSocketMock, timeout(TIMEOUT_MILLIS).times(1)).send("serialized-event");
+        verify(closed, never()).send("serialized-event");
+    }
+
+    /**
+     * When an event is broadcast,
+     * every socket with a controller gets it once, and a socket that closed does not.
+     */
+    @Test
+    public void broadcast_sendsToEveryone() {
+        WebSocket closed = mock(WebSocket.class);
+        this.server.onOpen(this.webSocketMock, null);
+        this.server.onOpen(closed, null);
+        this.server.onClose(closed, 0, "", true);
+
+        Event eventMock = mock(Event.class);
+        when(eventMock.serialize(any()))
+                .thenReturn("serialized-event");
+
+        this.server.broadcast(eventMock);
+        verify(this.webSocketMock, timeout(TIMEOUT_MILLIS).times(1)).send("serialized-event");
+        verify(closed, never()).send("serialized-event");
+    }
+
     /**
      * When a controller calls sendEvent,
      * but there is no connection associates with the controller,
@@ -0,0 +1,129 @@
+package nl.tudelft.ti2806.riverrush.network;
+
+import nl.tudelft.ti2806.riverrush.domain.event.AbstractTeamAnimalEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalAddedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalFellOffEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalJumpedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AnimalMovedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.Direction;
+import nl.tudelft.ti2806.riverrush.domain.event.Event;
+import nl.tudelft.ti2806.riverrush.domain.event.TeamProgressEvent;
+import nl.tudelft.ti2806.riverrush.network.event.WorldSnapshotEvent;
+import nl.tudelft.ti2806.riverrush.network.snapshot.WorldSnapshot.Position;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link SnapshotStream}.
+ */
+public class SnapshotStreamTest {
+
+    private static final int TEAM = 1;
+    private static final int ANIMAL = 7;
+
+    /**
+     * The events that reached the outbox.
+     */
+    private List<Event> sent;
+
+    /**
+     * Class under test.
+     */
+    private SnapshotStream stream;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        this.sent = new ArrayList<>();
+        this.stream = new SnapshotStream(this.sent::add);
+    }
+
+    /**
+     * Create an event of the animal.
+     *
+     * @param event - The empty event.
+     * @return A copy of the event for the animal.
+     */
+    private static AbstractTeamAnimalEvent of(final AbstractTeamAnimalEvent event) {
+        return event.withAnimal(ANIMAL).withTeam(TEAM);
+    }
+
+    /**
+     * @return The last event that was sent, as a snapshot.
+     */
+    private WorldSnapshotEvent lastSnapshot() {
+        return (WorldSnapshotEvent) this.sent.get(this.sent.size() - 1);
+    }
+
+    /**
+     * Until the renderer asks for snapshots every event goes through, and none are sent.
+     */
+    @Test
+    public void disabled() {
+        this.stream.handle(of(new AnimalJumpedEvent()));
+        this.stream.sendSnapshot();
+
+        assertEquals(1, this.sent.size());
+        assertFalse(this.stream.isEnabled());
+    }
+
+    /**
+     * The events of the state are held back, the others still go through.
+     */
+    @Test
+    public void holdsBackState() {
+        this.stream.acknowledge(WorldSnapshotEvent.NO_BASELINE);
+        this.stream.handle(of(new AnimalAddedEvent()));
+        this.stream.handle(of(new AnimalJumpedEvent()));
+        TeamProgressEvent progress = new TeamProgressEvent(TEAM, 0.0, 0.0);
+        this.stream.handle(progress);
+
+        assertEquals(1, this.sent.size());
+        assertTrue(this.sent.get(0) instanceof AnimalAddedEvent);
+    }
+
+    /**
+     * The first snapshot is against the empty world, the next against the acknowledged one
+     * and only with what changed.
+     */
+    @Test
+    public void deltaAgainstAcknowledged() {
+        this.stream.handle(of(new AnimalAddedEvent()));
+        this.stream.acknowledge(WorldSnapshotEvent.NO_BASELINE);
+        this.stream.sendSnapshot();
+        WorldSnapshotEvent full = this.lastSnapshot();
+        assertEquals(WorldSnapshotEvent.NO_BASELINE, full.getBaseline());
+        assertEquals(Position.ON_BOAT, full.getAnimals().get(ANIMAL).getPosition());
+
+        this.stream.acknowledge(full.getSequence());
+        this.stream.handle(new AnimalMovedEvent(ANIMAL, TEAM, Direction.LEFT));
+        this.stream.handle(of(new AnimalFellOffEvent()));
+        this.stream.sendSnapshot();
+
+        WorldSnapshotEvent delta = this.lastSnapshot();
+        assertEquals(full.getSequence(), delta.getBaseline());
+        assertEquals(Position.IN_WATER, delta.getAnimals().get(ANIMAL).getPosition());
+        assertEquals(Direction.LEFT, delta.getAnimals().get(ANIMAL).getVote());
+    }
+
+    /**
+     * Nothing is sent when nothing changed since the last snapshot.
+     */
+    @Test
+    public void unchanged() {
+        this.stream.acknowledge(WorldSnapshotEvent.NO_BASELINE);
+        this.stream.sendSnapshot();
+        this.stream.sendSnapshot();
+
+        assertEquals(1, this.sent.size());
+    }
+}
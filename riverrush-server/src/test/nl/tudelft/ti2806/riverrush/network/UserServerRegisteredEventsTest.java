@@ -0,0 +1,72 @@
+package nl.tudelft.ti2806.riverrush.network;
+
+import com.google.inject.Provider;
+import nl.tudelft.ti2806.riverrush.controller.Controller;
+import nl.tudelft.ti2806.riverrush.controller.RegisteredEventsTest;
+import nl.tudelft.ti2806.riverrush.domain.event.AddObstacleEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.AddRockEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.GameAboutToStartEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.GameFinishedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.GameStartedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.GameStoppedEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.GameWaitingEvent;
+import nl.tudelft.ti2806.riverrush.domain.event.TeamProgressEvent;
+import nl.tudelft.ti2806.riverrush.network.protocol.Protocol;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Tests whether the user server registers the events it publishes to the players.
+ */
+@RunWith(Parameterized.class)
+public class UserServerRegisteredEventsTest extends RegisteredEventsTest {
+
+    @Mock
+    private Protocol protocolMock;
+
+    @Mock
+    private Provider<Controller> controllerProviderMock;
+
+    /**
+     * UserServer should attach handlers for at least
+     * these events, to broadcast the game state changes to every player
+     * and the team events to the players of the team.
+     *
+     * @return The collection of events that have to be registered.
+     */
+    @Parameters(name = "{0}")
+    public static Collection<Class<?>> parameters() {
+        Collection<Class<?>> events = new ArrayList<>();
+        events.add(GameStartedEvent.class);
+        events.add(GameStoppedEvent.class);
+        events.add(GameFinishedEvent.class);
+        events.add(GameWaitingEvent.class);
+        events.add(GameAboutToStartEvent.class);
+        events.add(AddObstacleEvent.class);
+        events.add(AddRockEvent.class);
+        events.add(TeamProgressEvent.class);
+        return events;
+    }
+
+    /**
+     * The server attaches its handlers when it is created.
+     */
+    @Override
+    protected void register() {
+        new UserServer(this.protocolMock, this.controllerProviderMock, this.dispatcherMock);
+    }
+
+    /**
+     * Constructor for parameterized testing.
+     *
+     * @param eventClass The collection of events that have to be registered.
+     */
+    public UserServerRegisteredEventsTest(final Class<?> eventClass) {
+        super(eventClass);
+    }
+}